@@ -0,0 +1,59 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.webauthn4j.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the authentication ceremony for credentials registered with each attestation statement format,
+ * split into the parse stage, the validate stage and the whole ceremony.
+ * Apple Anonymous attestation is not covered as there is no emulator that can create assertions for it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class AuthenticationBenchmark {
+
+    @Param({"none", "packed", "fido-u2f", "tpm", "android-key", "android-safetynet", "apple-appattest"})
+    public String format;
+
+    private CeremonyFixture<?> fixture;
+
+    @Setup
+    public void setup() {
+        fixture = AuthenticationFixtures.create(format);
+    }
+
+    @Benchmark
+    public Object parse() {
+        return fixture.parse();
+    }
+
+    @Benchmark
+    public Object validate() {
+        return fixture.validateParsed();
+    }
+
+    @Benchmark
+    public Object parseAndValidate() {
+        return fixture.parseAndValidate();
+    }
+
+}
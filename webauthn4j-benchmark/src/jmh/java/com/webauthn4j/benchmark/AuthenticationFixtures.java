@@ -0,0 +1,221 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.webauthn4j.benchmark;
+
+import com.webauthn4j.WebAuthnManager;
+import com.webauthn4j.appattest.DeviceCheckManager;
+import com.webauthn4j.appattest.authenticator.DCAppleDevice;
+import com.webauthn4j.appattest.authenticator.DCAppleDeviceImpl;
+import com.webauthn4j.appattest.data.DCAssertionData;
+import com.webauthn4j.appattest.data.DCAssertionParameters;
+import com.webauthn4j.appattest.data.DCAssertionRequest;
+import com.webauthn4j.appattest.server.DCServerProperty;
+import com.webauthn4j.appattest.validator.DCRegistrationObject;
+import com.webauthn4j.authenticator.Authenticator;
+import com.webauthn4j.converter.AttestationObjectConverter;
+import com.webauthn4j.converter.util.ObjectConverter;
+import com.webauthn4j.data.*;
+import com.webauthn4j.data.attestation.AttestationObject;
+import com.webauthn4j.data.attestation.authenticator.AuthenticatorData;
+import com.webauthn4j.data.attestation.statement.COSEAlgorithmIdentifier;
+import com.webauthn4j.data.client.challenge.Challenge;
+import com.webauthn4j.data.client.challenge.DefaultChallenge;
+import com.webauthn4j.data.extension.authenticator.AuthenticationExtensionsAuthenticatorOutputs;
+import com.webauthn4j.data.extension.authenticator.RegistrationExtensionAuthenticatorOutput;
+import com.webauthn4j.data.extension.client.AuthenticationExtensionClientOutput;
+import com.webauthn4j.server.ServerProperty;
+import com.webauthn4j.test.TestDataUtil;
+import com.webauthn4j.test.authenticator.AuthenticatorAdaptor;
+import com.webauthn4j.test.authenticator.u2f.FIDOU2FAuthenticatorAdaptor;
+import com.webauthn4j.test.authenticator.webauthn.*;
+import com.webauthn4j.test.client.ClientPlatform;
+import com.webauthn4j.util.Base64Util;
+
+import java.util.Collections;
+
+import static com.webauthn4j.benchmark.RegistrationFixtures.ORIGIN;
+import static com.webauthn4j.benchmark.RegistrationFixtures.RP_ID;
+
+/**
+ * Creates authentication ceremony fixtures for credentials registered with each attestation statement format
+ */
+final class AuthenticationFixtures {
+
+    /**
+     * Recorded App Attest assertion made with the key attested in {@link TestDataUtil#createRegistrationObjectWithAppleAppAttestAttestation()}
+     */
+    private static final String APPLE_APP_ATTEST_ASSERTION = "omlzaWduYXR1cmVYRjBEAiB4zR/olM8j24vmT3fGVA1eykitnp/jpMG9sM6CNsF2lQIgVCK5x6m/jkocPmX6wuPqlJ8tzbvI9bQnd8XYebJ8XuBxYXV0aGVudGljYXRvckRhdGFYJTBgAsoFXgbFiKUuxqpUgvU2jgKvMIex6dMJ0EDK9dlaQAAAAAE=";
+
+    private AuthenticationFixtures() {
+    }
+
+    static CeremonyFixture<?> create(String format) {
+        switch (format) {
+            case "none":
+                return createEmulated(new WebAuthnAuthenticatorAdaptor(new PackedAuthenticator()), AttestationConveyancePreference.NONE);
+            case "packed":
+                return createEmulated(new WebAuthnAuthenticatorAdaptor(new PackedAuthenticator()), AttestationConveyancePreference.DIRECT);
+            case "fido-u2f":
+                return createEmulated(new FIDOU2FAuthenticatorAdaptor(), AttestationConveyancePreference.DIRECT);
+            case "tpm":
+                return createEmulated(new WebAuthnAuthenticatorAdaptor(new TPMAuthenticator()), AttestationConveyancePreference.DIRECT);
+            case "android-key":
+                return createEmulated(new WebAuthnAuthenticatorAdaptor(new AndroidKeyAuthenticator()), AttestationConveyancePreference.DIRECT);
+            case "android-safetynet":
+                return createEmulated(new WebAuthnAuthenticatorAdaptor(new AndroidSafetyNetAuthenticator()), AttestationConveyancePreference.DIRECT);
+            case "apple-appattest":
+                return createAppleAppAttest();
+            default:
+                throw new IllegalArgumentException(String.format("Unknown attestation statement format: %s", format));
+        }
+    }
+
+    private static CeremonyFixture<?> createEmulated(AuthenticatorAdaptor authenticatorAdaptor, AttestationConveyancePreference attestationConveyancePreference) {
+        ObjectConverter objectConverter = new ObjectConverter();
+        ClientPlatform clientPlatform = new ClientPlatform(ORIGIN, authenticatorAdaptor);
+        Challenge challenge = new DefaultChallenge();
+
+        // create
+        PublicKeyCredentialCreationOptions credentialCreationOptions = new PublicKeyCredentialCreationOptions(
+                new PublicKeyCredentialRpEntity(RP_ID, "example.com"),
+                new PublicKeyCredentialUserEntity(new byte[32], "username", "displayName"),
+                challenge,
+                Collections.singletonList(new PublicKeyCredentialParameters(PublicKeyCredentialType.PUBLIC_KEY, COSEAlgorithmIdentifier.ES256)),
+                null,
+                Collections.emptyList(),
+                null,
+                attestationConveyancePreference,
+                null
+        );
+        AuthenticatorAttestationResponse attestationResponse = clientPlatform.create(credentialCreationOptions).getAuthenticatorResponse();
+        AttestationObject attestationObject = new AttestationObjectConverter(objectConverter).convert(attestationResponse.getAttestationObject());
+        Authenticator authenticator = TestDataUtil.createAuthenticator(attestationObject);
+        byte[] credentialId = authenticator.getAttestedCredentialData().getCredentialId();
+
+        // get
+        PublicKeyCredentialRequestOptions credentialRequestOptions = new PublicKeyCredentialRequestOptions(
+                challenge,
+                0L,
+                RP_ID,
+                Collections.singletonList(new PublicKeyCredentialDescriptor(PublicKeyCredentialType.PUBLIC_KEY, credentialId, null)),
+                UserVerificationRequirement.DISCOURAGED,
+                null
+        );
+        PublicKeyCredential<AuthenticatorAssertionResponse, AuthenticationExtensionClientOutput> credential = clientPlatform.get(credentialRequestOptions);
+        AuthenticatorAssertionResponse assertionResponse = credential.getAuthenticatorResponse();
+
+        AuthenticationRequest authenticationRequest = new AuthenticationRequest(
+                credential.getRawId(),
+                assertionResponse.getAuthenticatorData(),
+                assertionResponse.getClientDataJSON(),
+                assertionResponse.getSignature()
+        );
+        AuthenticationParameters authenticationParameters = new AuthenticationParameters(
+                new ServerProperty(ORIGIN, RP_ID, challenge, null),
+                authenticator,
+                Collections.singletonList(credentialId),
+                false,
+                true
+        );
+        WebAuthnManager webAuthnManager = WebAuthnManager.createNonStrictWebAuthnManager(objectConverter);
+        // The same assertion is replayed on every invocation, so the signature counter doesn't advance
+        webAuthnManager.getAuthenticationDataValidator().setMaliciousCounterValueHandler(authenticationObject -> {
+        });
+        return new WebAuthnAuthenticationFixture(webAuthnManager, authenticationRequest, authenticationParameters).prepare();
+    }
+
+    private static CeremonyFixture<?> createAppleAppAttest() {
+        DCRegistrationObject registrationObject = TestDataUtil.createRegistrationObjectWithAppleAppAttestAttestation();
+        AttestationObject attestationObject = registrationObject.getAttestationObject();
+        AuthenticatorData<RegistrationExtensionAuthenticatorOutput> authenticatorData = attestationObject.getAuthenticatorData();
+        DCAppleDevice dcAppleDevice = new DCAppleDeviceImpl(
+                authenticatorData.getAttestedCredentialData(),
+                attestationObject.getAttestationStatement(),
+                authenticatorData.getSignCount(),
+                new AuthenticationExtensionsAuthenticatorOutputs<>()
+        );
+
+        DCAssertionRequest dcAssertionRequest = new DCAssertionRequest(
+                registrationObject.getKeyId(),
+                Base64Util.decode(APPLE_APP_ATTEST_ASSERTION),
+                registrationObject.getClientDataHash()
+        );
+        DCAssertionParameters dcAssertionParameters = new DCAssertionParameters((DCServerProperty) registrationObject.getServerProperty(), dcAppleDevice);
+        DeviceCheckManager deviceCheckManager = DeviceCheckManager.createNonStrictDeviceCheckManager();
+        // The same assertion is replayed on every invocation, so the signature counter doesn't advance
+        deviceCheckManager.getAssertionDataValidator().setMaliciousCounterValueHandler(authenticationObject -> {
+        });
+        return new DeviceCheckAssertionFixture(deviceCheckManager, dcAssertionRequest, dcAssertionParameters).prepare();
+    }
+
+    static final class WebAuthnAuthenticationFixture extends CeremonyFixture<AuthenticationData> {
+
+        private final WebAuthnManager webAuthnManager;
+        private final AuthenticationRequest authenticationRequest;
+        private final AuthenticationParameters authenticationParameters;
+
+        WebAuthnAuthenticationFixture(WebAuthnManager webAuthnManager, AuthenticationRequest authenticationRequest, AuthenticationParameters authenticationParameters) {
+            this.webAuthnManager = webAuthnManager;
+            this.authenticationRequest = authenticationRequest;
+            this.authenticationParameters = authenticationParameters;
+        }
+
+        @Override
+        AuthenticationData parse() {
+            return webAuthnManager.parse(authenticationRequest);
+        }
+
+        @Override
+        AuthenticationData validate(AuthenticationData data) {
+            return webAuthnManager.validate(data, authenticationParameters);
+        }
+
+        @Override
+        AuthenticationData parseAndValidate() {
+            return webAuthnManager.validate(authenticationRequest, authenticationParameters);
+        }
+    }
+
+    static final class DeviceCheckAssertionFixture extends CeremonyFixture<DCAssertionData> {
+
+        private final DeviceCheckManager deviceCheckManager;
+        private final DCAssertionRequest dcAssertionRequest;
+        private final DCAssertionParameters dcAssertionParameters;
+
+        DeviceCheckAssertionFixture(DeviceCheckManager deviceCheckManager, DCAssertionRequest dcAssertionRequest, DCAssertionParameters dcAssertionParameters) {
+            this.deviceCheckManager = deviceCheckManager;
+            this.dcAssertionRequest = dcAssertionRequest;
+            this.dcAssertionParameters = dcAssertionParameters;
+        }
+
+        @Override
+        DCAssertionData parse() {
+            return deviceCheckManager.parse(dcAssertionRequest);
+        }
+
+        @Override
+        DCAssertionData validate(DCAssertionData data) {
+            return deviceCheckManager.validate(data, dcAssertionParameters);
+        }
+
+        @Override
+        DCAssertionData parseAndValidate() {
+            return deviceCheckManager.validate(dcAssertionRequest, dcAssertionParameters);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.webauthn4j.benchmark;
+
+/**
+ * A prepared request, its parameters and the manager to process it, split into the parse and validate stages
+ * so that each stage can be measured separately.
+ *
+ * @param <D> parsed data type
+ */
+abstract class CeremonyFixture<D> {
+
+    private D parsedData;
+
+    /**
+     * Parses and validates the request once, so that a broken fixture fails in the benchmark setup
+     * instead of being measured as an exception path.
+     *
+     * @return this fixture
+     */
+    CeremonyFixture<D> prepare() {
+        parsedData = parseAndValidate();
+        return this;
+    }
+
+    abstract D parse();
+
+    abstract D validate(D data);
+
+    abstract D parseAndValidate();
+
+    D validateParsed() {
+        return validate(parsedData);
+    }
+
+}
@@ -0,0 +1,233 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.webauthn4j.benchmark;
+
+import com.webauthn4j.WebAuthnManager;
+import com.webauthn4j.anchor.TrustAnchorsResolver;
+import com.webauthn4j.appattest.DeviceCheckManager;
+import com.webauthn4j.appattest.data.DCAttestationData;
+import com.webauthn4j.appattest.data.DCAttestationParameters;
+import com.webauthn4j.appattest.data.DCAttestationRequest;
+import com.webauthn4j.appattest.server.DCServerProperty;
+import com.webauthn4j.appattest.validator.DCRegistrationObject;
+import com.webauthn4j.data.*;
+import com.webauthn4j.data.attestation.statement.COSEAlgorithmIdentifier;
+import com.webauthn4j.data.client.Origin;
+import com.webauthn4j.data.client.challenge.Challenge;
+import com.webauthn4j.data.client.challenge.DefaultChallenge;
+import com.webauthn4j.data.extension.client.AuthenticationExtensionsClientInputs;
+import com.webauthn4j.data.extension.client.RegistrationExtensionClientOutput;
+import com.webauthn4j.server.ServerProperty;
+import com.webauthn4j.test.TestAttestationUtil;
+import com.webauthn4j.test.TestDataUtil;
+import com.webauthn4j.test.authenticator.AuthenticatorAdaptor;
+import com.webauthn4j.test.authenticator.u2f.FIDOU2FAuthenticatorAdaptor;
+import com.webauthn4j.test.authenticator.webauthn.*;
+import com.webauthn4j.test.client.ClientPlatform;
+import com.webauthn4j.validator.RegistrationObject;
+import com.webauthn4j.validator.attestation.statement.AttestationStatementValidator;
+import com.webauthn4j.validator.attestation.statement.androidkey.AndroidKeyAttestationStatementValidator;
+import com.webauthn4j.validator.attestation.statement.androidsafetynet.AndroidSafetyNetAttestationStatementValidator;
+import com.webauthn4j.validator.attestation.statement.apple.AppleAnonymousAttestationStatementValidator;
+import com.webauthn4j.validator.attestation.statement.none.NoneAttestationStatementValidator;
+import com.webauthn4j.validator.attestation.statement.packed.PackedAttestationStatementValidator;
+import com.webauthn4j.validator.attestation.statement.tpm.TPMAttestationStatementValidator;
+import com.webauthn4j.validator.attestation.statement.u2f.FIDOU2FAttestationStatementValidator;
+import com.webauthn4j.validator.attestation.trustworthiness.certpath.NullCertPathTrustworthinessValidator;
+import com.webauthn4j.validator.attestation.trustworthiness.certpath.TrustAnchorCertPathTrustworthinessValidator;
+import com.webauthn4j.validator.attestation.trustworthiness.self.DefaultSelfAttestationTrustworthinessValidator;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Creates registration ceremony fixtures for each attestation statement format
+ */
+final class RegistrationFixtures {
+
+    static final String RP_ID = "example.com";
+    static final Origin ORIGIN = new Origin("http://localhost");
+
+    private RegistrationFixtures() {
+    }
+
+    static CeremonyFixture<?> create(String format) {
+        switch (format) {
+            case "none":
+                return createEmulated(new WebAuthnAuthenticatorAdaptor(new PackedAuthenticator()), AttestationConveyancePreference.NONE,
+                        new NoneAttestationStatementValidator(), TestAttestationUtil.createTrustAnchorProviderWith3tierTestRootCACertificate());
+            case "packed":
+                return createEmulated(new WebAuthnAuthenticatorAdaptor(new PackedAuthenticator()), AttestationConveyancePreference.DIRECT,
+                        new PackedAttestationStatementValidator(), TestAttestationUtil.createTrustAnchorProviderWith3tierTestRootCACertificate());
+            case "fido-u2f":
+                return createEmulated(new FIDOU2FAuthenticatorAdaptor(), AttestationConveyancePreference.DIRECT,
+                        new FIDOU2FAttestationStatementValidator(), TestAttestationUtil.createTrustAnchorProviderWith2tierTestRootCACertificate());
+            case "tpm":
+                return createEmulated(new WebAuthnAuthenticatorAdaptor(new TPMAuthenticator()), AttestationConveyancePreference.DIRECT,
+                        new TPMAttestationStatementValidator(), TestAttestationUtil.createTrustAnchorProviderWith3tierTestRootCACertificate());
+            case "android-key":
+                return createEmulated(new WebAuthnAuthenticatorAdaptor(new AndroidKeyAuthenticator()), AttestationConveyancePreference.DIRECT,
+                        new AndroidKeyAttestationStatementValidator(), TestAttestationUtil.createTrustAnchorProviderWith3tierTestRootCACertificate());
+            case "android-safetynet":
+                AndroidSafetyNetAttestationStatementValidator androidSafetyNetAttestationStatementValidator = new AndroidSafetyNetAttestationStatementValidator();
+                // The emulated response is created once in the setup, so its timestampMs must stay acceptable for the whole run
+                androidSafetyNetAttestationStatementValidator.setBackwardThreshold(Integer.MAX_VALUE);
+                return createEmulated(new WebAuthnAuthenticatorAdaptor(new AndroidSafetyNetAuthenticator()), AttestationConveyancePreference.DIRECT,
+                        androidSafetyNetAttestationStatementValidator, TestAttestationUtil.createTrustAnchorProviderWith3tierTestRootCACertificate());
+            case "apple":
+                return createApple();
+            case "apple-appattest":
+                return createAppleAppAttest();
+            default:
+                throw new IllegalArgumentException(String.format("Unknown attestation statement format: %s", format));
+        }
+    }
+
+    private static CeremonyFixture<?> createEmulated(AuthenticatorAdaptor authenticatorAdaptor,
+                                                     AttestationConveyancePreference attestationConveyancePreference,
+                                                     AttestationStatementValidator attestationStatementValidator,
+                                                     TrustAnchorsResolver trustAnchorsResolver) {
+        ClientPlatform clientPlatform = new ClientPlatform(ORIGIN, authenticatorAdaptor);
+        Challenge challenge = new DefaultChallenge();
+        List<PublicKeyCredentialParameters> pubKeyCredParams = Collections.singletonList(
+                new PublicKeyCredentialParameters(PublicKeyCredentialType.PUBLIC_KEY, COSEAlgorithmIdentifier.ES256));
+        PublicKeyCredentialCreationOptions credentialCreationOptions = new PublicKeyCredentialCreationOptions(
+                new PublicKeyCredentialRpEntity(RP_ID, "example.com"),
+                new PublicKeyCredentialUserEntity(new byte[32], "username", "displayName"),
+                challenge,
+                pubKeyCredParams,
+                null,
+                Collections.emptyList(),
+                new AuthenticatorSelectionCriteria(AuthenticatorAttachment.CROSS_PLATFORM, true, UserVerificationRequirement.DISCOURAGED),
+                attestationConveyancePreference,
+                new AuthenticationExtensionsClientInputs<>()
+        );
+        PublicKeyCredential<AuthenticatorAttestationResponse, RegistrationExtensionClientOutput> credential = clientPlatform.create(credentialCreationOptions);
+        AuthenticatorAttestationResponse response = credential.getAuthenticatorResponse();
+
+        RegistrationRequest registrationRequest = new RegistrationRequest(response.getAttestationObject(), response.getClientDataJSON());
+        RegistrationParameters registrationParameters = new RegistrationParameters(
+                new ServerProperty(ORIGIN, RP_ID, challenge, null),
+                pubKeyCredParams,
+                false,
+                true
+        );
+        WebAuthnManager webAuthnManager = new WebAuthnManager(
+                Collections.singletonList(attestationStatementValidator),
+                new TrustAnchorCertPathTrustworthinessValidator(trustAnchorsResolver),
+                new DefaultSelfAttestationTrustworthinessValidator()
+        );
+        return new WebAuthnRegistrationFixture(webAuthnManager, registrationRequest, registrationParameters).prepare();
+    }
+
+    /**
+     * There is no emulator for Apple Anonymous attestation, so a recorded registration is used.
+     * Its attestation certificate has already expired, so certificate path validation is not part of this fixture.
+     */
+    private static CeremonyFixture<?> createApple() {
+        RegistrationObject registrationObject = TestDataUtil.createRegistrationObjectWithAppleAttestation();
+        RegistrationRequest registrationRequest = new RegistrationRequest(
+                registrationObject.getAttestationObjectBytes(),
+                registrationObject.getCollectedClientDataBytes()
+        );
+        RegistrationParameters registrationParameters = new RegistrationParameters(
+                registrationObject.getServerProperty(),
+                null,
+                false,
+                true
+        );
+        WebAuthnManager webAuthnManager = new WebAuthnManager(
+                Collections.singletonList(new AppleAnonymousAttestationStatementValidator()),
+                new NullCertPathTrustworthinessValidator(),
+                new DefaultSelfAttestationTrustworthinessValidator()
+        );
+        return new WebAuthnRegistrationFixture(webAuthnManager, registrationRequest, registrationParameters).prepare();
+    }
+
+    /**
+     * There is no emulator for Apple App Attest, so a recorded attestation is used.
+     * Its attestation certificate has already expired, so certificate path validation is not part of this fixture.
+     */
+    private static CeremonyFixture<?> createAppleAppAttest() {
+        DCRegistrationObject registrationObject = TestDataUtil.createRegistrationObjectWithAppleAppAttestAttestation();
+        DCAttestationRequest dcAttestationRequest = new DCAttestationRequest(
+                registrationObject.getKeyId(),
+                registrationObject.getAttestationObjectBytes(),
+                registrationObject.getClientDataHash()
+        );
+        DCAttestationParameters dcAttestationParameters = new DCAttestationParameters((DCServerProperty) registrationObject.getServerProperty());
+        DeviceCheckManager deviceCheckManager = DeviceCheckManager.createNonStrictDeviceCheckManager();
+        return new DeviceCheckAttestationFixture(deviceCheckManager, dcAttestationRequest, dcAttestationParameters).prepare();
+    }
+
+    static final class WebAuthnRegistrationFixture extends CeremonyFixture<RegistrationData> {
+
+        private final WebAuthnManager webAuthnManager;
+        private final RegistrationRequest registrationRequest;
+        private final RegistrationParameters registrationParameters;
+
+        WebAuthnRegistrationFixture(WebAuthnManager webAuthnManager, RegistrationRequest registrationRequest, RegistrationParameters registrationParameters) {
+            this.webAuthnManager = webAuthnManager;
+            this.registrationRequest = registrationRequest;
+            this.registrationParameters = registrationParameters;
+        }
+
+        @Override
+        RegistrationData parse() {
+            return webAuthnManager.parse(registrationRequest);
+        }
+
+        @Override
+        RegistrationData validate(RegistrationData data) {
+            return webAuthnManager.validate(data, registrationParameters);
+        }
+
+        @Override
+        RegistrationData parseAndValidate() {
+            return webAuthnManager.validate(registrationRequest, registrationParameters);
+        }
+    }
+
+    static final class DeviceCheckAttestationFixture extends CeremonyFixture<DCAttestationData> {
+
+        private final DeviceCheckManager deviceCheckManager;
+        private final DCAttestationRequest dcAttestationRequest;
+        private final DCAttestationParameters dcAttestationParameters;
+
+        DeviceCheckAttestationFixture(DeviceCheckManager deviceCheckManager, DCAttestationRequest dcAttestationRequest, DCAttestationParameters dcAttestationParameters) {
+            this.deviceCheckManager = deviceCheckManager;
+            this.dcAttestationRequest = dcAttestationRequest;
+            this.dcAttestationParameters = dcAttestationParameters;
+        }
+
+        @Override
+        DCAttestationData parse() {
+            return deviceCheckManager.parse(dcAttestationRequest);
+        }
+
+        @Override
+        DCAttestationData validate(DCAttestationData data) {
+            return deviceCheckManager.validate(data, dcAttestationParameters);
+        }
+
+        @Override
+        DCAttestationData parseAndValidate() {
+            return deviceCheckManager.validate(dcAttestationRequest, dcAttestationParameters);
+        }
+    }
+}
@@ -24,24 +24,45 @@ import com.webauthn4j.converter.util.ObjectConverter;
 import com.webauthn4j.data.AuthenticationData;
 import com.webauthn4j.data.AuthenticationParameters;
 import com.webauthn4j.data.AuthenticationRequest;
+import com.webauthn4j.data.AuthenticationResult;
 import com.webauthn4j.data.attestation.authenticator.AuthenticatorData;
 import com.webauthn4j.data.client.CollectedClientData;
+import com.webauthn4j.data.client.challenge.Challenge;
 import com.webauthn4j.data.extension.authenticator.AuthenticationExtensionAuthenticatorOutput;
 import com.webauthn4j.data.extension.client.AuthenticationExtensionClientOutput;
 import com.webauthn4j.data.extension.client.AuthenticationExtensionsClientOutputs;
+import com.webauthn4j.metrics.Ceremony;
+import com.webauthn4j.metrics.CeremonyObserver;
+import com.webauthn4j.metrics.CeremonyStage;
+import com.webauthn4j.metrics.CeremonyTimer;
+import com.webauthn4j.metrics.NullCeremonyObserver;
+import com.webauthn4j.server.ChallengeRepository;
+import com.webauthn4j.server.ServerProperty;
 import com.webauthn4j.util.AssertUtil;
 import com.webauthn4j.validator.AuthenticationDataValidator;
 import com.webauthn4j.validator.CustomAuthenticationValidator;
+import com.webauthn4j.validator.RawAuthenticationRequestValidator;
+import com.webauthn4j.validator.exception.BadChallengeException;
 import com.webauthn4j.validator.exception.ValidationException;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
 
 public class WebAuthnAuthenticationManager {
 
+    private static final String CHALLENGE_NOT_AVAILABLE_MESSAGE = "The challenge was not issued by the server, has expired or has already been used";
+
     // ~ Instance fields
     // ================================================================================================
     private final Logger logger = LoggerFactory.getLogger(WebAuthnAuthenticationManager.class);
@@ -51,6 +72,11 @@ public class WebAuthnAuthenticationManager {
     private final AuthenticationExtensionsClientOutputsConverter authenticationExtensionsClientOutputsConverter;
 
     private final AuthenticationDataValidator authenticationDataValidator;
+    private final RawAuthenticationRequestValidator rawAuthenticationRequestValidator = new RawAuthenticationRequestValidator();
+
+    private ChallengeRepository challengeRepository;
+    private CeremonyObserver ceremonyObserver = new NullCeremonyObserver();
+    private boolean fastRejectEnabled = false;
 
     public WebAuthnAuthenticationManager(
             @NonNull List<CustomAuthenticationValidator> customAuthenticationValidators,
@@ -74,6 +100,16 @@ public class WebAuthnAuthenticationManager {
         this(Collections.emptyList(), new ObjectConverter());
     }
 
+    /**
+     * Parses the authentication request.
+     * The authenticatorData is converted with {@link AuthenticatorDataConverter#convertLazily(byte[])}: its byte layout
+     * is checked here, but attestedCredentialData and extensions are converted into objects on first access, so an
+     * error converting them is thrown as {@link DataConversionException} from {@link #validate(AuthenticationData, AuthenticationParameters)}.
+     *
+     * @param authenticationRequest authentication request
+     * @return the parsed {@link AuthenticationData}
+     * @throws DataConversionException if the request is malformed
+     */
     @SuppressWarnings("squid:S1130")
     public @NonNull AuthenticationData parse(@NonNull AuthenticationRequest authenticationRequest) throws DataConversionException {
         AssertUtil.notNull(authenticationRequest, "authenticationRequest must not be null");
@@ -84,31 +120,42 @@ public class WebAuthnAuthenticationManager {
         byte[] signature = authenticationRequest.getSignature();
         byte[] userHandle = authenticationRequest.getUserHandle();
         byte[] clientDataBytes = authenticationRequest.getClientDataJSON();
-        CollectedClientData collectedClientData =
-                clientDataBytes == null ? null : collectedClientDataConverter.convert(clientDataBytes);
         byte[] authenticatorDataBytes = authenticationRequest.getAuthenticatorData();
-        AuthenticatorData<AuthenticationExtensionAuthenticatorOutput> authenticatorData =
-                authenticatorDataBytes == null ? null : authenticatorDataConverter.convert(authenticatorDataBytes);
-        AuthenticationExtensionsClientOutputs<AuthenticationExtensionClientOutput> clientExtensions =
-                authenticationRequest.getClientExtensionsJSON() == null ? null : authenticationExtensionsClientOutputsConverter.convert(authenticationRequest.getClientExtensionsJSON());
 
-        return new AuthenticationData(
-                credentialId,
-                userHandle,
-                authenticatorData,
-                authenticatorDataBytes,
-                collectedClientData,
-                clientDataBytes,
-                clientExtensions,
-                signature
-        );
+        CeremonyTimer timer = CeremonyTimer.start(ceremonyObserver, Ceremony.AUTHENTICATION);
+        timer.stage(CeremonyStage.PARSE);
+        try {
+            CollectedClientData collectedClientData =
+                    clientDataBytes == null ? null : collectedClientDataConverter.convert(clientDataBytes);
+            AuthenticatorData<AuthenticationExtensionAuthenticatorOutput> authenticatorData =
+                    authenticatorDataBytes == null ? null : authenticatorDataConverter.convertLazily(authenticatorDataBytes);
+            AuthenticationExtensionsClientOutputs<AuthenticationExtensionClientOutput> clientExtensions =
+                    authenticationRequest.getClientExtensionsJSON() == null ? null : authenticationExtensionsClientOutputsConverter.convert(authenticationRequest.getClientExtensionsJSON());
 
+            timer.complete();
+            return new AuthenticationData(
+                    credentialId,
+                    userHandle,
+                    authenticatorData,
+                    authenticatorDataBytes,
+                    collectedClientData,
+                    clientDataBytes,
+                    clientExtensions,
+                    signature
+            );
+        } catch (RuntimeException e) {
+            timer.fail(e);
+            throw e;
+        }
     }
 
     @SuppressWarnings("squid:S1130")
     public @NonNull AuthenticationData validate(
             @NonNull AuthenticationRequest authenticationRequest,
             @NonNull AuthenticationParameters authenticationParameters) throws DataConversionException, ValidationException {
+        if (fastRejectEnabled) {
+            rawAuthenticationRequestValidator.validate(authenticationRequest, authenticationParameters);
+        }
         AuthenticationData authenticationData = parse(authenticationRequest);
         validate(authenticationData, authenticationParameters);
         return authenticationData;
@@ -119,11 +166,208 @@ public class WebAuthnAuthenticationManager {
             @NonNull AuthenticationData authenticationData,
             @NonNull AuthenticationParameters authenticationParameters) throws ValidationException {
         logger.trace("Validate: {}, {}", authenticationData, authenticationParameters);
-        authenticationDataValidator.validate(authenticationData, authenticationParameters);
+        ChallengeRepository repository = challengeRepository;
+        CollectedClientData collectedClientData = authenticationData.getCollectedClientData();
+        if (repository == null || collectedClientData == null) {
+            authenticationDataValidator.validate(authenticationData, authenticationParameters);
+            return authenticationData;
+        }
+        ServerProperty serverProperty = authenticationParameters.getServerProperty();
+        Challenge challenge = resolveChallenge(repository, collectedClientData, serverProperty);
+        AuthenticationParameters resolvedParameters = authenticationParameters;
+        if (serverProperty.getChallenge() == null) {
+            resolvedParameters = new AuthenticationParameters(
+                    serverProperty.withChallenge(challenge),
+                    authenticationParameters.getAuthenticator(),
+                    authenticationParameters.getAllowCredentials(),
+                    authenticationParameters.isUserVerificationRequired(),
+                    authenticationParameters.isUserPresenceRequired()
+            );
+        }
+        authenticationDataValidator.validate(authenticationData, resolvedParameters);
+        // consumed only once the response is proven genuine, so that a forged response cannot use up a live challenge
+        consume(repository, challenge);
         return authenticationData;
     }
 
+    /**
+     * Asynchronously parses and validates the authentication request on the given {@link Executor}.
+     *
+     * @param executor executor that runs both parsing and validation
+     * @return future completed with the validated {@link AuthenticationData}, or completed exceptionally with
+     * {@link DataConversionException} or {@link ValidationException}
+     */
+    public @NonNull CompletableFuture<AuthenticationData> validateAsync(
+            @NonNull AuthenticationRequest authenticationRequest,
+            @NonNull AuthenticationParameters authenticationParameters,
+            @NonNull Executor executor) {
+        AssertUtil.notNull(executor, "executor must not be null");
+        return CompletableFuture.supplyAsync(() -> validate(authenticationRequest, authenticationParameters), executor);
+    }
+
+    /**
+     * Asynchronously validates the parsed authentication data on the given {@link Executor}.
+     *
+     * @param executor executor that runs validation
+     * @return future completed with the validated {@link AuthenticationData}, or completed exceptionally with {@link ValidationException}
+     */
+    public @NonNull CompletableFuture<AuthenticationData> validateAsync(
+            @NonNull AuthenticationData authenticationData,
+            @NonNull AuthenticationParameters authenticationParameters,
+            @NonNull Executor executor) {
+        AssertUtil.notNull(executor, "executor must not be null");
+        return CompletableFuture.supplyAsync(() -> validate(authenticationData, authenticationParameters), executor);
+    }
+
+    /**
+     * Parses and validates a batch of authentication requests in the calling thread.
+     * Each request is handled as by {@link #validate(AuthenticationRequest, AuthenticationParameters)}, one after another.
+     *
+     * @param authenticationRequests requests to validate
+     * @param parametersResolver resolves {@link AuthenticationParameters} for each parsed request, typically by looking up
+     *                           the authenticator with {@link AuthenticationData#getCredentialId()}
+     * @return one {@link AuthenticationResult} per request, in the same order. A failure of one request does not affect the others
+     */
+    public @NonNull List<AuthenticationResult> validateAll(
+            @NonNull List<AuthenticationRequest> authenticationRequests,
+            @NonNull Function<AuthenticationData, AuthenticationParameters> parametersResolver) {
+        return validateAll(authenticationRequests, parametersResolver, null);
+    }
+
+    /**
+     * Parses and validates a batch of authentication requests, fanning them out across the given {@link Executor}.
+     * Each request is handled as by {@link #validate(AuthenticationRequest, AuthenticationParameters)}; no state is
+     * shared between the requests of a batch.
+     *
+     * @param authenticationRequests requests to validate
+     * @param parametersResolver resolves {@link AuthenticationParameters} for each parsed request
+     * @param executor executor to run validations on. If null, or if it rejects a task, the calling thread is used
+     * @return one {@link AuthenticationResult} per request, in the same order. A failure of one request does not affect the others
+     */
+    public @NonNull List<AuthenticationResult> validateAll(
+            @NonNull List<AuthenticationRequest> authenticationRequests,
+            @NonNull Function<AuthenticationData, AuthenticationParameters> parametersResolver,
+            @Nullable Executor executor) {
+        AssertUtil.notNull(authenticationRequests, "authenticationRequests must not be null");
+        AssertUtil.notNull(parametersResolver, "parametersResolver must not be null");
+
+        for (AuthenticationRequest authenticationRequest : authenticationRequests) {
+            AssertUtil.notNull(authenticationRequest, "authenticationRequests must not contain null");
+        }
+
+        AuthenticationResult[] results = new AuthenticationResult[authenticationRequests.size()];
+        if (executor == null || results.length <= 1) {
+            for (int i = 0; i < results.length; i++) {
+                results[i] = validateItem(authenticationRequests.get(i), parametersResolver);
+            }
+        }
+        else {
+            List<CompletableFuture<Void>> futures = new ArrayList<>(results.length);
+            for (int i = 0; i < results.length; i++) {
+                int index = i;
+                AuthenticationRequest authenticationRequest = authenticationRequests.get(i);
+                Runnable task = () -> results[index] = validateItem(authenticationRequest, parametersResolver);
+                try {
+                    futures.add(CompletableFuture.runAsync(task, executor));
+                } catch (RejectedExecutionException e) {
+                    logger.debug("Executor rejected a batch item. It is validated in the calling thread.", e);
+                    task.run();
+                }
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+        }
+        return Collections.unmodifiableList(Arrays.asList(results));
+    }
+
+    private @NonNull AuthenticationResult validateItem(
+            @NonNull AuthenticationRequest authenticationRequest,
+            @NonNull Function<AuthenticationData, AuthenticationParameters> parametersResolver) {
+        try {
+            AuthenticationData authenticationData = parse(authenticationRequest);
+            AuthenticationParameters authenticationParameters = parametersResolver.apply(authenticationData);
+            validate(authenticationData, authenticationParameters);
+            return AuthenticationResult.success(authenticationRequest, authenticationData);
+        } catch (RuntimeException e) {
+            return AuthenticationResult.failure(authenticationRequest, e);
+        }
+    }
+
+    /**
+     * Resolves the challenge the response is validated against, without consuming it.
+     * When the server property carries a challenge, the collected challenge must match it. Otherwise, the collected
+     * challenge becomes the expected challenge, so that callers don't need to look up the challenge they issued
+     * themselves. Either way, the challenge must be held by the {@link ChallengeRepository}; it is consumed only after the
+     * response has been validated.
+     */
+    private static @NonNull Challenge resolveChallenge(
+            @NonNull ChallengeRepository repository,
+            @NonNull CollectedClientData collectedClientData,
+            @NonNull ServerProperty serverProperty) {
+        Challenge collectedChallenge = collectedClientData.getChallenge();
+        Challenge expectedChallenge = serverProperty.getChallenge();
+        if (expectedChallenge != null && !MessageDigest.isEqual(expectedChallenge.getValue(), collectedChallenge.getValue())) {
+            throw new BadChallengeException("The actual challenge does not match the expected challenge");
+        }
+        if (!repository.contains(collectedChallenge)) {
+            throw new BadChallengeException(CHALLENGE_NOT_AVAILABLE_MESSAGE);
+        }
+        return collectedChallenge;
+    }
+
+    private static void consume(@NonNull ChallengeRepository repository, @NonNull Challenge challenge) {
+        if (!repository.consume(challenge)) {
+            throw new BadChallengeException(CHALLENGE_NOT_AVAILABLE_MESSAGE);
+        }
+    }
+
     public @NonNull AuthenticationDataValidator getAuthenticationDataValidator() {
         return authenticationDataValidator;
     }
+
+    public @NonNull CeremonyObserver getCeremonyObserver() {
+        return ceremonyObserver;
+    }
+
+    /**
+     * Sets the {@link CeremonyObserver} notified of the latency and the outcome of parsing and of each validation stage.
+     * It is also set to the {@link AuthenticationDataValidator}.
+     *
+     * @param ceremonyObserver ceremony observer
+     */
+    public void setCeremonyObserver(@NonNull CeremonyObserver ceremonyObserver) {
+        AssertUtil.notNull(ceremonyObserver, "ceremonyObserver must not be null");
+        this.ceremonyObserver = ceremonyObserver;
+        authenticationDataValidator.setCeremonyObserver(ceremonyObserver);
+    }
+
+    public boolean isFastRejectEnabled() {
+        return fastRejectEnabled;
+    }
+
+    /**
+     * Sets whether {@link #validate(AuthenticationRequest, AuthenticationParameters)} rejects requests by cheap checks on
+     * the raw request before parsing it, so that floods of garbage or replayed assertions cost little CPU.
+     * See {@link RawAuthenticationRequestValidator} for the checks.
+     *
+     * @param fastRejectEnabled true to enable the fast reject
+     */
+    public void setFastRejectEnabled(boolean fastRejectEnabled) {
+        this.fastRejectEnabled = fastRejectEnabled;
+    }
+
+    public @Nullable ChallengeRepository getChallengeRepository() {
+        return challengeRepository;
+    }
+
+    /**
+     * Sets the {@link ChallengeRepository} holding the challenges issued for authentication ceremonies. When it is set,
+     * the challenge presented by the client must be held by it, and is consumed once the response has been validated,
+     * which rejects replayed responses. As the repository is not bound to a user or session, callers that need that
+     * binding should still set the challenge they issued to the {@link ServerProperty}.
+     *
+     * @param challengeRepository challenge repository, or null to leave challenge storage to the caller
+     */
+    public void setChallengeRepository(@Nullable ChallengeRepository challengeRepository) {
+        this.challengeRepository = challengeRepository;
+    }
 }
@@ -19,6 +19,7 @@ package com.webauthn4j;
 import com.webauthn4j.converter.exception.DataConversionException;
 import com.webauthn4j.converter.util.ObjectConverter;
 import com.webauthn4j.data.*;
+import com.webauthn4j.metrics.CeremonyObserver;
 import com.webauthn4j.validator.AuthenticationDataValidator;
 import com.webauthn4j.validator.CustomAuthenticationValidator;
 import com.webauthn4j.validator.CustomRegistrationValidator;
@@ -41,6 +42,8 @@ import org.checkerframework.checker.nullness.qual.NonNull;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 public class WebAuthnManager {
 
@@ -161,6 +164,18 @@ public class WebAuthnManager {
         return this.webAuthnRegistrationManager.validate(registrationData, registrationParameters);
     }
 
+    public @NonNull CompletableFuture<RegistrationData> validateAsync(@NonNull RegistrationRequest registrationRequest, @NonNull RegistrationParameters registrationParameters, @NonNull Executor executor) {
+        return this.webAuthnRegistrationManager.validateAsync(registrationRequest, registrationParameters, executor);
+    }
+
+    public @NonNull CompletableFuture<RegistrationData> validateAsync(@NonNull RegistrationRequest registrationRequest, @NonNull RegistrationParameters registrationParameters, @NonNull Executor parseExecutor, @NonNull Executor validationExecutor) {
+        return this.webAuthnRegistrationManager.validateAsync(registrationRequest, registrationParameters, parseExecutor, validationExecutor);
+    }
+
+    public @NonNull CompletableFuture<RegistrationData> validateAsync(@NonNull RegistrationData registrationData, @NonNull RegistrationParameters registrationParameters, @NonNull Executor executor) {
+        return this.webAuthnRegistrationManager.validateAsync(registrationData, registrationParameters, executor);
+    }
+
     @SuppressWarnings("squid:S1130")
     public @NonNull AuthenticationData parse(@NonNull AuthenticationRequest authenticationRequest) throws DataConversionException {
         return this.webAuthnAuthenticationManager.parse(authenticationRequest);
@@ -176,6 +191,14 @@ public class WebAuthnManager {
         return this.webAuthnAuthenticationManager.validate(authenticationData, authenticationParameters);
     }
 
+    public @NonNull CompletableFuture<AuthenticationData> validateAsync(@NonNull AuthenticationRequest authenticationRequest, @NonNull AuthenticationParameters authenticationParameters, @NonNull Executor executor) {
+        return this.webAuthnAuthenticationManager.validateAsync(authenticationRequest, authenticationParameters, executor);
+    }
+
+    public @NonNull CompletableFuture<AuthenticationData> validateAsync(@NonNull AuthenticationData authenticationData, @NonNull AuthenticationParameters authenticationParameters, @NonNull Executor executor) {
+        return this.webAuthnAuthenticationManager.validateAsync(authenticationData, authenticationParameters, executor);
+    }
+
 
     public @NonNull RegistrationDataValidator getRegistrationDataValidator() {
         return this.webAuthnRegistrationManager.getRegistrationDataValidator();
@@ -184,4 +207,14 @@ public class WebAuthnManager {
     public @NonNull AuthenticationDataValidator getAuthenticationDataValidator() {
         return this.webAuthnAuthenticationManager.getAuthenticationDataValidator();
     }
+
+    /**
+     * Sets the {@link CeremonyObserver} to both registration and authentication
+     *
+     * @param ceremonyObserver ceremony observer
+     */
+    public void setCeremonyObserver(@NonNull CeremonyObserver ceremonyObserver) {
+        this.webAuthnRegistrationManager.setCeremonyObserver(ceremonyObserver);
+        this.webAuthnAuthenticationManager.setCeremonyObserver(ceremonyObserver);
+    }
 }
@@ -30,6 +30,11 @@ import com.webauthn4j.data.attestation.AttestationObject;
 import com.webauthn4j.data.client.CollectedClientData;
 import com.webauthn4j.data.extension.client.AuthenticationExtensionsClientOutputs;
 import com.webauthn4j.data.extension.client.RegistrationExtensionClientOutput;
+import com.webauthn4j.metrics.Ceremony;
+import com.webauthn4j.metrics.CeremonyObserver;
+import com.webauthn4j.metrics.CeremonyStage;
+import com.webauthn4j.metrics.CeremonyTimer;
+import com.webauthn4j.metrics.NullCeremonyObserver;
 import com.webauthn4j.util.AssertUtil;
 import com.webauthn4j.validator.CustomRegistrationValidator;
 import com.webauthn4j.validator.RegistrationDataValidator;
@@ -54,6 +59,8 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 public class WebAuthnRegistrationManager {
 
@@ -68,6 +75,8 @@ public class WebAuthnRegistrationManager {
 
     private final RegistrationDataValidator registrationDataValidator;
 
+    private CeremonyObserver ceremonyObserver = new NullCeremonyObserver();
+
     public WebAuthnRegistrationManager(
             @NonNull List<AttestationStatementValidator> attestationStatementValidators,
             @NonNull CertPathTrustworthinessValidator certPathTrustworthinessValidator,
@@ -177,24 +186,31 @@ public class WebAuthnRegistrationManager {
 
         logger.trace("Parse: {}", registrationRequest);
 
-        CollectedClientData collectedClientData =
-                clientDataBytes == null ? null : collectedClientDataConverter.convert(clientDataBytes);
-        AttestationObject attestationObject =
-                attestationObjectBytes == null ? null : attestationObjectConverter.convert(attestationObjectBytes);
-        Set<AuthenticatorTransport> transports =
-                registrationRequest.getTransports() == null ? null : authenticatorTransportConverter.convertSet(registrationRequest.getTransports());
-        AuthenticationExtensionsClientOutputs<RegistrationExtensionClientOutput> clientExtensions =
-                registrationRequest.getClientExtensionsJSON() == null ? null : authenticationExtensionsClientOutputsConverter.convert(registrationRequest.getClientExtensionsJSON());
-
-        return new RegistrationData(
-                attestationObject,
-                attestationObjectBytes,
-                collectedClientData,
-                clientDataBytes,
-                clientExtensions,
-                transports
-        );
+        CeremonyTimer timer = CeremonyTimer.start(ceremonyObserver, Ceremony.REGISTRATION);
+        timer.stage(CeremonyStage.PARSE);
+        try {
+            CollectedClientData collectedClientData =
+                    clientDataBytes == null ? null : collectedClientDataConverter.convert(clientDataBytes);
+            AttestationObject attestationObject =
+                    attestationObjectBytes == null ? null : attestationObjectConverter.convert(attestationObjectBytes);
+            Set<AuthenticatorTransport> transports =
+                    registrationRequest.getTransports() == null ? null : authenticatorTransportConverter.convertSet(registrationRequest.getTransports());
+            AuthenticationExtensionsClientOutputs<RegistrationExtensionClientOutput> clientExtensions =
+                    registrationRequest.getClientExtensionsJSON() == null ? null : authenticationExtensionsClientOutputsConverter.convert(registrationRequest.getClientExtensionsJSON());
 
+            timer.complete();
+            return new RegistrationData(
+                    attestationObject,
+                    attestationObjectBytes,
+                    collectedClientData,
+                    clientDataBytes,
+                    clientExtensions,
+                    transports
+            );
+        } catch (RuntimeException e) {
+            timer.fail(e);
+            throw e;
+        }
     }
 
     @SuppressWarnings("squid:S1130")
@@ -210,8 +226,63 @@ public class WebAuthnRegistrationManager {
         return registrationData;
     }
 
+    /**
+     * Asynchronously parses and validates the registration request on the given {@link Executor}.
+     *
+     * @param executor executor that runs both parsing and validation
+     * @return future completed with the validated {@link RegistrationData}, or completed exceptionally with
+     * {@link DataConversionException} or {@link ValidationException}
+     */
+    public @NonNull CompletableFuture<RegistrationData> validateAsync(@NonNull RegistrationRequest registrationRequest, @NonNull RegistrationParameters registrationParameters, @NonNull Executor executor) {
+        return validateAsync(registrationRequest, registrationParameters, executor, executor);
+    }
+
+    /**
+     * Asynchronously parses the registration request on {@code parseExecutor}, then validates it on {@code validationExecutor}.
+     * Validation may block on certificate path building, revocation checking and metadata lookups, so a dedicated
+     * executor for blocking work is recommended for it.
+     *
+     * @param parseExecutor executor that runs parsing
+     * @param validationExecutor executor that runs validation
+     * @return future completed with the validated {@link RegistrationData}, or completed exceptionally with
+     * {@link DataConversionException} or {@link ValidationException}
+     */
+    public @NonNull CompletableFuture<RegistrationData> validateAsync(@NonNull RegistrationRequest registrationRequest, @NonNull RegistrationParameters registrationParameters, @NonNull Executor parseExecutor, @NonNull Executor validationExecutor) {
+        AssertUtil.notNull(parseExecutor, "parseExecutor must not be null");
+        AssertUtil.notNull(validationExecutor, "validationExecutor must not be null");
+        return CompletableFuture.supplyAsync(() -> parse(registrationRequest), parseExecutor)
+                .thenApplyAsync(registrationData -> validate(registrationData, registrationParameters), validationExecutor);
+    }
+
+    /**
+     * Asynchronously validates the parsed registration data on the given {@link Executor}.
+     *
+     * @param executor executor that runs validation
+     * @return future completed with the validated {@link RegistrationData}, or completed exceptionally with {@link ValidationException}
+     */
+    public @NonNull CompletableFuture<RegistrationData> validateAsync(@NonNull RegistrationData registrationData, @NonNull RegistrationParameters registrationParameters, @NonNull Executor executor) {
+        AssertUtil.notNull(executor, "executor must not be null");
+        return CompletableFuture.supplyAsync(() -> validate(registrationData, registrationParameters), executor);
+    }
+
     public @NonNull RegistrationDataValidator getRegistrationDataValidator() {
         return registrationDataValidator;
     }
 
+    public @NonNull CeremonyObserver getCeremonyObserver() {
+        return ceremonyObserver;
+    }
+
+    /**
+     * Sets the {@link CeremonyObserver} notified of the latency and the outcome of parsing and of each validation stage.
+     * It is also set to the {@link RegistrationDataValidator}.
+     *
+     * @param ceremonyObserver ceremony observer
+     */
+    public void setCeremonyObserver(@NonNull CeremonyObserver ceremonyObserver) {
+        AssertUtil.notNull(ceremonyObserver, "ceremonyObserver must not be null");
+        this.ceremonyObserver = ceremonyObserver;
+        registrationDataValidator.setCeremonyObserver(ceremonyObserver);
+    }
+
 }
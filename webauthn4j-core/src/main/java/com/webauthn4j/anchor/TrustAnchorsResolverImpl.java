@@ -25,6 +25,8 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * A {@link TrustAnchorsResolver} implementation that loads {@link TrustAnchor}s with {@link TrustAnchorsProvider}
@@ -38,6 +40,10 @@ public class TrustAnchorsResolverImpl implements TrustAnchorsResolver {
 
     private final TrustAnchorsProvider trustAnchorsProvider;
 
+    // merged NULL-AAGUID and per-AAGUID trust anchors, valid while the provider returns the same map instance
+    // and the sets in it keep the same elements
+    private volatile MergedTrustAnchors mergedTrustAnchors;
+
     // ~ Constructor
     // ========================================================================================================
 
@@ -58,10 +64,55 @@ public class TrustAnchorsResolverImpl implements TrustAnchorsResolver {
 
         Map<AAGUID, Set<TrustAnchor>> trustAnchors = trustAnchorsProvider.provide();
 
-        HashSet<TrustAnchor> set = new HashSet<>();
-        set.addAll(trustAnchors.getOrDefault(AAGUID.NULL, Collections.emptySet()));
-        set.addAll(trustAnchors.getOrDefault(aaguid, Collections.emptySet()));
-        return set;
+        MergedTrustAnchors merged = mergedTrustAnchors;
+        if (merged == null || merged.source != trustAnchors) {
+            merged = new MergedTrustAnchors(trustAnchors);
+            mergedTrustAnchors = merged;
+        }
+        return merged.get(aaguid);
+    }
+
+    private static class MergedTrustAnchors {
+
+        private final Map<AAGUID, Set<TrustAnchor>> source;
+        private final ConcurrentMap<AAGUID, Entry> merged = new ConcurrentHashMap<>();
+
+        MergedTrustAnchors(@NonNull Map<AAGUID, Set<TrustAnchor>> source) {
+            this.source = source;
+        }
+
+        @NonNull Set<TrustAnchor> get(@NonNull AAGUID aaguid) {
+            // unknown AAGUIDs share the NULL-AAGUID entry so that arbitrary AAGUIDs cannot grow the map
+            AAGUID key = source.containsKey(aaguid) ? aaguid : AAGUID.NULL;
+            Set<TrustAnchor> commonTrustAnchors = source.getOrDefault(AAGUID.NULL, Collections.emptySet());
+            Set<TrustAnchor> aaguidTrustAnchors = source.getOrDefault(key, Collections.emptySet());
+            Entry entry = merged.get(key);
+            // providers may change their sets in place, e.g. to remove a compromised root, so the snapshots are compared
+            if (entry == null || !entry.matches(commonTrustAnchors, aaguidTrustAnchors)) {
+                entry = new Entry(commonTrustAnchors, aaguidTrustAnchors);
+                merged.put(key, entry);
+            }
+            return entry.trustAnchors;
+        }
+    }
+
+    private static class Entry {
+
+        private final Set<TrustAnchor> commonTrustAnchors;
+        private final Set<TrustAnchor> aaguidTrustAnchors;
+        private final Set<TrustAnchor> trustAnchors;
+
+        Entry(@NonNull Set<TrustAnchor> commonTrustAnchors, @NonNull Set<TrustAnchor> aaguidTrustAnchors) {
+            this.commonTrustAnchors = new HashSet<>(commonTrustAnchors);
+            this.aaguidTrustAnchors = new HashSet<>(aaguidTrustAnchors);
+            HashSet<TrustAnchor> set = new HashSet<>(this.commonTrustAnchors);
+            set.addAll(this.aaguidTrustAnchors);
+            this.trustAnchors = Collections.unmodifiableSet(set);
+        }
+
+        boolean matches(@NonNull Set<TrustAnchor> commonTrustAnchors, @NonNull Set<TrustAnchor> aaguidTrustAnchors) {
+            return this.commonTrustAnchors.equals(commonTrustAnchors) && this.aaguidTrustAnchors.equals(aaguidTrustAnchors);
+        }
     }
 
 }
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.webauthn4j.authenticator;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Stores registered authenticators, keyed by credentialId
+ */
+public interface CredentialRepository {
+
+    /**
+     * Saves the authenticator, replacing the one with the same credentialId if exists
+     *
+     * @param authenticator authenticator
+     */
+    void save(@NonNull Authenticator authenticator);
+
+    /**
+     * Finds the authenticator
+     *
+     * @param credentialId credentialId
+     * @return authenticator, or null if not found
+     */
+    @Nullable Authenticator find(@NonNull byte[] credentialId);
+
+    /**
+     * Removes the authenticator
+     *
+     * @param credentialId credentialId
+     * @return true if the authenticator was removed
+     */
+    boolean remove(@NonNull byte[] credentialId);
+}
@@ -0,0 +1,258 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.webauthn4j.authenticator;
+
+import com.webauthn4j.converter.AuthenticatorConverter;
+import com.webauthn4j.converter.util.ObjectConverter;
+import com.webauthn4j.data.attestation.authenticator.AttestedCredentialData;
+import com.webauthn4j.util.AssertUtil;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * In-memory {@link CredentialRepository} that holds each authenticator as a single byte array in the compact format of
+ * {@link AuthenticatorConverter}, so that millions of credentials cost millions of objects rather than tens of millions.
+ * <p>
+ * Credentials are distributed over lock-striped segments. Each segment is an open addressing table indexed by a
+ * primitive 64-bit hash of the credentialId, and hash collisions are resolved by comparing the credentialId held in the
+ * encoded authenticator, so that no key object is allocated on lookup.
+ */
+public class InMemoryCredentialRepository implements CredentialRepository {
+
+    private static final int SEGMENT_COUNT = 64;
+    private static final int INITIAL_CAPACITY = 16;
+    private static final String CREDENTIAL_ID_MUST_NOT_BE_NULL = "credentialId must not be null";
+
+    private final AuthenticatorConverter authenticatorConverter;
+    private final Segment[] segments = new Segment[SEGMENT_COUNT];
+    private final SignCounterStore signCounterStore = new SegmentSignCounterStore();
+
+    private boolean attestationStatementDecoded = true;
+
+    public InMemoryCredentialRepository(@NonNull ObjectConverter objectConverter) {
+        AssertUtil.notNull(objectConverter, "objectConverter must not be null");
+        this.authenticatorConverter = new AuthenticatorConverter(objectConverter);
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            segments[i] = new Segment();
+        }
+    }
+
+    public InMemoryCredentialRepository() {
+        this(new ObjectConverter());
+    }
+
+    @Override
+    public void save(@NonNull Authenticator authenticator) {
+        AssertUtil.notNull(authenticator, "authenticator must not be null");
+        AttestedCredentialData attestedCredentialData = authenticator.getAttestedCredentialData();
+        AssertUtil.notNull(attestedCredentialData, "attestedCredentialData must not be null");
+        byte[] credentialId = attestedCredentialData.getCredentialId();
+        byte[] value = authenticatorConverter.convert(authenticator);
+        long hash = hash(credentialId);
+        segmentFor(hash).put(hash, credentialId, value);
+    }
+
+    @Override
+    public @Nullable Authenticator find(@NonNull byte[] credentialId) {
+        AssertUtil.notNull(credentialId, CREDENTIAL_ID_MUST_NOT_BE_NULL);
+        long hash = hash(credentialId);
+        byte[] value = segmentFor(hash).get(hash, credentialId);
+        return value == null ? null : authenticatorConverter.convert(value, attestationStatementDecoded);
+    }
+
+    @Override
+    public boolean remove(@NonNull byte[] credentialId) {
+        AssertUtil.notNull(credentialId, CREDENTIAL_ID_MUST_NOT_BE_NULL);
+        long hash = hash(credentialId);
+        return segmentFor(hash).remove(hash, credentialId);
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    /**
+     * Returns a {@link SignCounterStore} view, which advances the counters held in this repository in place
+     *
+     * @return sign counter store
+     */
+    public @NonNull SignCounterStore getSignCounterStore() {
+        return signCounterStore;
+    }
+
+    public boolean isAttestationStatementDecoded() {
+        return attestationStatementDecoded;
+    }
+
+    /**
+     * Sets whether {@link #find(byte[])} decodes the attestation statement. Authentication doesn't use it, so
+     * login-heavy services can skip decoding it.
+     *
+     * @param attestationStatementDecoded false to skip decoding the attestation statement
+     */
+    public void setAttestationStatementDecoded(boolean attestationStatementDecoded) {
+        this.attestationStatementDecoded = attestationStatementDecoded;
+    }
+
+    private @NonNull Segment segmentFor(long hash) {
+        return segments[(int) (hash >>> 58)];
+    }
+
+    /**
+     * FNV-1a hash finished with the murmur3 mixer, so that the high bits used to select the segment and the low bits used
+     * to select the slot are both well distributed
+     */
+    static long hash(@NonNull byte[] credentialId) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : credentialId) {
+            hash ^= b & 0xFF;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    private class Segment {
+
+        private long[] hashes = new long[INITIAL_CAPACITY];
+        private byte[][] values = new byte[INITIAL_CAPACITY][];
+        private int size;
+
+        synchronized @Nullable byte[] get(long hash, @NonNull byte[] credentialId) {
+            int index = indexOf(hash, credentialId);
+            return index < 0 ? null : values[index];
+        }
+
+        synchronized void put(long hash, @NonNull byte[] credentialId, @NonNull byte[] value) {
+            int index = indexOf(hash, credentialId);
+            if (index >= 0) {
+                values[index] = value;
+                return;
+            }
+            if ((size + 1) * 4 > values.length * 3) {
+                resize();
+            }
+            insert(hash, value);
+            size++;
+        }
+
+        synchronized boolean remove(long hash, @NonNull byte[] credentialId) {
+            int index = indexOf(hash, credentialId);
+            if (index < 0) {
+                return false;
+            }
+            // backward shift deletion keeps probe sequences intact without tombstones
+            int mask = values.length - 1;
+            int hole = index;
+            int next = (hole + 1) & mask;
+            while (values[next] != null) {
+                int home = (int) hashes[next] & mask;
+                if (((next - home) & mask) >= ((next - hole) & mask)) {
+                    hashes[hole] = hashes[next];
+                    values[hole] = values[next];
+                    hole = next;
+                }
+                next = (next + 1) & mask;
+            }
+            hashes[hole] = 0;
+            values[hole] = null;
+            size--;
+            return true;
+        }
+
+        synchronized boolean compareAndAdvance(long hash, @NonNull byte[] credentialId, long storedSignCount, long presentedSignCount) {
+            int index = indexOf(hash, credentialId);
+            if (index < 0) {
+                return presentedSignCount > storedSignCount;
+            }
+            byte[] value = values[index];
+            long current = authenticatorConverter.extractCounter(value);
+            if (presentedSignCount <= Math.max(current, storedSignCount)) {
+                return false;
+            }
+            // published arrays are never mutated, so that readers can decode them outside the lock
+            byte[] updated = value.clone();
+            authenticatorConverter.writeCounter(updated, presentedSignCount);
+            values[index] = updated;
+            return true;
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        private int indexOf(long hash, @NonNull byte[] credentialId) {
+            int mask = values.length - 1;
+            int index = (int) hash & mask;
+            while (values[index] != null) {
+                if (hashes[index] == hash && authenticatorConverter.matchesCredentialId(values[index], credentialId)) {
+                    return index;
+                }
+                index = (index + 1) & mask;
+            }
+            return -1;
+        }
+
+        private void insert(long hash, @NonNull byte[] value) {
+            int mask = values.length - 1;
+            int index = (int) hash & mask;
+            while (values[index] != null) {
+                index = (index + 1) & mask;
+            }
+            hashes[index] = hash;
+            values[index] = value;
+        }
+
+        private void resize() {
+            long[] oldHashes = hashes;
+            byte[][] oldValues = values;
+            hashes = new long[oldValues.length * 2];
+            values = new byte[oldValues.length * 2][];
+            for (int i = 0; i < oldValues.length; i++) {
+                if (oldValues[i] != null) {
+                    insert(oldHashes[i], oldValues[i]);
+                }
+            }
+        }
+    }
+
+    private class SegmentSignCounterStore implements SignCounterStore {
+
+        @Override
+        public @Nullable Long find(@NonNull byte[] credentialId) {
+            AssertUtil.notNull(credentialId, CREDENTIAL_ID_MUST_NOT_BE_NULL);
+            long hash = hash(credentialId);
+            byte[] value = segmentFor(hash).get(hash, credentialId);
+            return value == null ? null : authenticatorConverter.extractCounter(value);
+        }
+
+        @Override
+        public boolean compareAndAdvance(@NonNull byte[] credentialId, long storedSignCount, long presentedSignCount) {
+            AssertUtil.notNull(credentialId, CREDENTIAL_ID_MUST_NOT_BE_NULL);
+            long hash = hash(credentialId);
+            return segmentFor(hash).compareAndAdvance(hash, credentialId, storedSignCount, presentedSignCount);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.webauthn4j.authenticator;
+
+import com.webauthn4j.util.AssertUtil;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free in-memory {@link SignCounterStore}. Each credential's counter is advanced with compare-and-set, so
+ * assertions for different credentials never contend, and assertions for the same credential never block each other.
+ */
+public class InMemorySignCounterStore implements SignCounterStore {
+
+    private final ConcurrentMap<ByteBuffer, AtomicLong> counters = new ConcurrentHashMap<>();
+
+    @Override
+    public @Nullable Long find(@NonNull byte[] credentialId) {
+        AssertUtil.notNull(credentialId, "credentialId must not be null");
+        AtomicLong counter = counters.get(ByteBuffer.wrap(credentialId));
+        return counter == null ? null : counter.get();
+    }
+
+    @Override
+    public boolean compareAndAdvance(@NonNull byte[] credentialId, long storedSignCount, long presentedSignCount) {
+        AssertUtil.notNull(credentialId, "credentialId must not be null");
+        ByteBuffer key = ByteBuffer.wrap(credentialId);
+        AtomicLong counter = counters.get(key);
+        if (counter == null) {
+            if (presentedSignCount <= storedSignCount) {
+                return false;
+            }
+            // copy the key as the caller owns the array
+            counter = counters.computeIfAbsent(ByteBuffer.wrap(credentialId.clone()), k -> new AtomicLong(storedSignCount));
+        }
+        while (true) {
+            long current = counter.get();
+            if (presentedSignCount <= Math.max(current, storedSignCount)) {
+                return false;
+            }
+            if (counter.compareAndSet(current, presentedSignCount)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Removes the counter of the credential, e.g. when the credential is deregistered
+     *
+     * @param credentialId credentialId
+     */
+    public void remove(@NonNull byte[] credentialId) {
+        AssertUtil.notNull(credentialId, "credentialId must not be null");
+        counters.remove(ByteBuffer.wrap(credentialId));
+    }
+
+    public int size() {
+        return counters.size();
+    }
+}
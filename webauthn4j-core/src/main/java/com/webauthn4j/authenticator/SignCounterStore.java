@@ -0,0 +1,46 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.webauthn4j.authenticator;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Stores signature counters of credentials, and advances them atomically so that concurrent assertions for the same
+ * credential cannot both pass the clone detection of the authentication ceremony.
+ */
+public interface SignCounterStore {
+
+    /**
+     * Finds the stored signature counter
+     *
+     * @param credentialId credentialId
+     * @return stored signature counter, or null if the store doesn't hold the credential
+     */
+    @Nullable Long find(@NonNull byte[] credentialId);
+
+    /**
+     * Atomically advances the stored signature counter to the presented value if it is greater than the stored value.
+     *
+     * @param credentialId       credentialId
+     * @param storedSignCount    signature counter known to the caller, used as the stored value if the store doesn't
+     *                           hold the credential or holds a smaller value
+     * @param presentedSignCount signature counter presented by the authenticator
+     * @return true if the counter is advanced. false if the presented value is less than or equal to the stored value
+     */
+    boolean compareAndAdvance(@NonNull byte[] credentialId, long storedSignCount, long presentedSignCount);
+}
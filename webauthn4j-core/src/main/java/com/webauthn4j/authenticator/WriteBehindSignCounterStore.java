@@ -0,0 +1,201 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.webauthn4j.authenticator;
+
+import com.webauthn4j.util.AssertUtil;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link SignCounterStore} that advances counters in memory and writes them to a persistent store in batches.
+ * <p>
+ * Counters are advanced atomically by an {@link InMemorySignCounterStore}. Advanced counters are collected, coalesced
+ * per credential, and handed to the {@link Writer} when {@link #flush()} is called, either explicitly or periodically
+ * after {@link #startPeriodicFlush(ScheduledExecutorService, Duration)}. Counters that fail to be written are kept
+ * for the next flush.
+ * <p>
+ * Counters not flushed yet are lost if the process stops, so call {@link #flush()} on shutdown.
+ */
+public class WriteBehindSignCounterStore implements SignCounterStore {
+
+    public static final int DEFAULT_MAX_BATCH_SIZE = 500;
+
+    private final Logger logger = LoggerFactory.getLogger(WriteBehindSignCounterStore.class);
+
+    private final InMemorySignCounterStore inMemorySignCounterStore = new InMemorySignCounterStore();
+    private final ConcurrentMap<ByteBuffer, Long> pendingCounters = new ConcurrentHashMap<>();
+    private final Writer writer;
+    private final int maxBatchSize;
+
+    private ScheduledFuture<?> periodicFlush;
+
+    public WriteBehindSignCounterStore(@NonNull Writer writer, int maxBatchSize) {
+        AssertUtil.notNull(writer, "writer must not be null");
+        AssertUtil.isTrue(maxBatchSize > 0, "maxBatchSize must be positive");
+        this.writer = writer;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public WriteBehindSignCounterStore(@NonNull Writer writer) {
+        this(writer, DEFAULT_MAX_BATCH_SIZE);
+    }
+
+    @Override
+    public @Nullable Long find(@NonNull byte[] credentialId) {
+        return inMemorySignCounterStore.find(credentialId);
+    }
+
+    @Override
+    public boolean compareAndAdvance(@NonNull byte[] credentialId, long storedSignCount, long presentedSignCount) {
+        if (!inMemorySignCounterStore.compareAndAdvance(credentialId, storedSignCount, presentedSignCount)) {
+            return false;
+        }
+        pendingCounters.merge(ByteBuffer.wrap(credentialId.clone()), presentedSignCount, Math::max);
+        return true;
+    }
+
+    /**
+     * Writes the pending counters in batches of at most maxBatchSize
+     *
+     * @return the number of written counters
+     */
+    public synchronized int flush() {
+        int written = 0;
+        Iterator<Map.Entry<ByteBuffer, Long>> iterator = pendingCounters.entrySet().iterator();
+        while (iterator.hasNext()) {
+            List<Update> batch = new ArrayList<>(Math.min(maxBatchSize, pendingCounters.size()));
+            while (iterator.hasNext() && batch.size() < maxBatchSize) {
+                Map.Entry<ByteBuffer, Long> entry = iterator.next();
+                // remove only if not advanced meanwhile. Otherwise, the newer value is written by a later batch or flush
+                if (pendingCounters.remove(entry.getKey(), entry.getValue())) {
+                    batch.add(new Update(entry.getKey().array(), entry.getValue()));
+                }
+            }
+            if (batch.isEmpty()) {
+                continue;
+            }
+            try {
+                writer.write(Collections.unmodifiableList(batch));
+            } catch (RuntimeException e) {
+                for (Update update : batch) {
+                    pendingCounters.merge(ByteBuffer.wrap(update.credentialId), update.counter, Math::max);
+                }
+                throw e;
+            }
+            written += batch.size();
+        }
+        return written;
+    }
+
+    /**
+     * Returns the number of counters waiting to be written
+     *
+     * @return the number of pending counters
+     */
+    public int getPendingCount() {
+        return pendingCounters.size();
+    }
+
+    /**
+     * Starts flushing pending counters periodically on the executor
+     *
+     * @param executor executor running the flush
+     * @param interval flush interval
+     */
+    public synchronized void startPeriodicFlush(@NonNull ScheduledExecutorService executor, @NonNull Duration interval) {
+        AssertUtil.notNull(executor, "executor must not be null");
+        AssertUtil.notNull(interval, "interval must not be null");
+        AssertUtil.isTrue(!interval.isNegative() && !interval.isZero(), "interval must be positive");
+        if (periodicFlush != null) {
+            throw new IllegalStateException("Periodic flush is already started");
+        }
+        long intervalMillis = interval.toMillis();
+        periodicFlush = executor.scheduleWithFixedDelay(this::flushQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the periodic flush, and flushes the pending counters
+     */
+    public void stopPeriodicFlush() {
+        synchronized (this) {
+            if (periodicFlush != null) {
+                periodicFlush.cancel(false);
+                periodicFlush = null;
+            }
+        }
+        flush();
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            logger.warn("Failed to write signature counters. They are retried on the next flush.", e);
+        }
+    }
+
+    /**
+     * Writes signature counters to a persistent store
+     */
+    @FunctionalInterface
+    public interface Writer {
+
+        /**
+         * Writes the counters. Each credential appears at most once in a batch.
+         *
+         * @param updates counters to write
+         */
+        void write(@NonNull List<Update> updates);
+    }
+
+    /**
+     * Signature counter of a credential to be written
+     */
+    public static class Update {
+
+        private final byte[] credentialId;
+        private final long counter;
+
+        Update(@NonNull byte[] credentialId, long counter) {
+            this.credentialId = credentialId;
+            this.counter = counter;
+        }
+
+        public @NonNull byte[] getCredentialId() {
+            return credentialId.clone();
+        }
+
+        public long getCounter() {
+            return counter;
+        }
+    }
+}
@@ -89,6 +89,11 @@ public class AttestedCredentialDataConverter implements Serializable {
             int length = UnsignedNumberUtil.getUnsignedShort(attestedCredentialData);
             byte[] credentialId = new byte[length];
             attestedCredentialData.get(credentialId, 0, length);
+            COSEKey decodedCOSEKey = decodeCOSEKey(attestedCredentialData);
+            if (decodedCOSEKey != null) {
+                return createAttestedCredentialData(aaguid, credentialId, decodedCOSEKey);
+            }
+            // fallback to Jackson for COSE keys the in-place decoder doesn't handle
             byte[] remaining = new byte[attestedCredentialData.remaining()];
             attestedCredentialData.get(remaining);
             ByteArrayInputStream byteArrayInputStream = new ByteArrayInputStream(remaining);
@@ -127,6 +132,24 @@ public class AttestedCredentialDataConverter implements Serializable {
         return Arrays.copyOfRange(attestedCredentialData, CREDENTIAL_ID_INDEX, CREDENTIAL_ID_INDEX + credentialIdLength);
     }
 
+    /**
+     * Decodes COSE key in place with {@link COSEKeyDecoder}, advancing the buffer position on success
+     *
+     * @param byteBuffer buffer positioned at the COSE key
+     * @return decoded COSE key, or null if the COSE key needs to be converted by Jackson
+     */
+    private static @Nullable COSEKey decodeCOSEKey(@NonNull ByteBuffer byteBuffer) {
+        try {
+            CborReader cborReader = new CborReader(byteBuffer);
+            COSEKey coseKey = COSEKeyDecoder.decode(cborReader);
+            //This cast is necessary to be complied with JDK 17 when targeting JDK 8
+            ((Buffer) byteBuffer).position(cborReader.getPosition());
+            return coseKey;
+        } catch (CborReader.UnsupportedCborException e) {
+            return null;
+        }
+    }
+
     @NonNull COSEKeyEnvelope convertToCredentialPublicKey(@NonNull InputStream inputStream) {
         AssertUtil.notNull(inputStream, "inputStream must not be null");
         //noinspection ConstantConditions as input stream is not null
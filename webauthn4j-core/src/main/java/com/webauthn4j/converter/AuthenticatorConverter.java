@@ -0,0 +1,318 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.webauthn4j.converter;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.webauthn4j.authenticator.Authenticator;
+import com.webauthn4j.authenticator.AuthenticatorImpl;
+import com.webauthn4j.converter.exception.DataConversionException;
+import com.webauthn4j.converter.util.CborConverter;
+import com.webauthn4j.converter.util.ObjectConverter;
+import com.webauthn4j.data.AuthenticatorTransport;
+import com.webauthn4j.data.attestation.authenticator.AttestedCredentialData;
+import com.webauthn4j.data.attestation.statement.AttestationStatement;
+import com.webauthn4j.data.extension.authenticator.AuthenticationExtensionsAuthenticatorOutputs;
+import com.webauthn4j.data.extension.authenticator.RegistrationExtensionAuthenticatorOutput;
+import com.webauthn4j.data.extension.client.AuthenticationExtensionsClientOutputs;
+import com.webauthn4j.data.extension.client.RegistrationExtensionClientOutput;
+import com.webauthn4j.util.AssertUtil;
+import com.webauthn4j.util.UnsignedNumberUtil;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.nio.Buffer;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Converter for compact, versioned binary representation of {@link Authenticator}, intended for persisting
+ * credentials.
+ * <p>
+ * Layout (version 1, big endian):
+ * <pre>
+ * version(1) | flags(1) | counter(4) | attestedCredentialData length(4) | attestedCredentialData
+ *   | [transports length(4) | transports]
+ *   | [authenticator extensions length(4) | authenticator extensions CBOR]
+ *   | [client extensions length(4) | client extensions JSON]
+ *   | [attestation statement length(4) | attestation statement CBOR]
+ * </pre>
+ * attestedCredentialData has the same layout as in authenticator data, so that the credentialId is at a fixed offset.
+ * Transports are written one after another as {@code transport length(4) | transport UTF-8}, as a transport may be any
+ * string supplied by the client.
+ * Optional sections are present only if the corresponding flag is set. The attestation statement is the last section,
+ * so that it can be skipped on decoding when it is not needed, e.g. on authentication.
+ */
+public class AuthenticatorConverter {
+
+    public static final int VERSION = 1;
+
+    private static final int FLAG_ATTESTATION_STATEMENT = 0x01;
+    private static final int FLAG_TRANSPORTS = 0x02;
+    private static final int FLAG_AUTHENTICATOR_EXTENSIONS = 0x04;
+    private static final int FLAG_CLIENT_EXTENSIONS = 0x08;
+
+    private static final int COUNTER_INDEX = 2;
+    private static final int ATTESTED_CREDENTIAL_DATA_LENGTH_INDEX = COUNTER_INDEX + 4;
+    private static final int ATTESTED_CREDENTIAL_DATA_INDEX = ATTESTED_CREDENTIAL_DATA_LENGTH_INDEX + 4;
+    private static final int CREDENTIAL_ID_LENGTH_INDEX = ATTESTED_CREDENTIAL_DATA_INDEX + 16;
+    private static final int CREDENTIAL_ID_INDEX = CREDENTIAL_ID_LENGTH_INDEX + 2;
+
+    private static final String VALUE_MUST_NOT_BE_NULL = "value must not be null";
+
+    private final CborConverter cborConverter;
+    private final AttestedCredentialDataConverter attestedCredentialDataConverter;
+    private final AuthenticatorDataConverter authenticatorDataConverter;
+    private final AuthenticationExtensionsClientOutputsConverter authenticationExtensionsClientOutputsConverter;
+
+    public AuthenticatorConverter(@NonNull ObjectConverter objectConverter) {
+        AssertUtil.notNull(objectConverter, "objectConverter must not be null");
+        this.cborConverter = objectConverter.getCborConverter();
+        this.attestedCredentialDataConverter = new AttestedCredentialDataConverter(objectConverter);
+        this.authenticatorDataConverter = new AuthenticatorDataConverter(objectConverter);
+        this.authenticationExtensionsClientOutputsConverter = new AuthenticationExtensionsClientOutputsConverter(objectConverter);
+    }
+
+    public @NonNull byte[] convert(@NonNull Authenticator authenticator) {
+        AssertUtil.notNull(authenticator, "authenticator must not be null");
+        try {
+            byte[] attestedCredentialData = attestedCredentialDataConverter.convert(authenticator.getAttestedCredentialData());
+            byte[] transports = null;
+            byte[] authenticatorExtensions = null;
+            byte[] clientExtensions = null;
+            byte[] attestationStatement = null;
+            int flags = 0;
+            int length = ATTESTED_CREDENTIAL_DATA_INDEX + attestedCredentialData.length;
+            if (authenticator.getTransports() != null) {
+                flags |= FLAG_TRANSPORTS;
+                transports = convertTransports(authenticator.getTransports());
+                length += 4 + transports.length;
+            }
+            if (authenticator.getAuthenticatorExtensions() != null) {
+                flags |= FLAG_AUTHENTICATOR_EXTENSIONS;
+                authenticatorExtensions = authenticatorDataConverter.convert(authenticator.getAuthenticatorExtensions());
+                length += 4 + authenticatorExtensions.length;
+            }
+            if (authenticator.getClientExtensions() != null) {
+                flags |= FLAG_CLIENT_EXTENSIONS;
+                clientExtensions = authenticationExtensionsClientOutputsConverter.convertToString(authenticator.getClientExtensions()).getBytes(StandardCharsets.UTF_8);
+                length += 4 + clientExtensions.length;
+            }
+            if (authenticator.getAttestationStatement() != null) {
+                flags |= FLAG_ATTESTATION_STATEMENT;
+                attestationStatement = cborConverter.writeValueAsBytes(new AttestationStatementEnvelope(authenticator.getAttestationStatement()));
+                length += 4 + attestationStatement.length;
+            }
+
+            ByteBuffer byteBuffer = ByteBuffer.allocate(length);
+            byteBuffer.put((byte) VERSION);
+            byteBuffer.put((byte) flags);
+            byteBuffer.put(UnsignedNumberUtil.toBytes(authenticator.getCounter()));
+            putSection(byteBuffer, attestedCredentialData);
+            putSection(byteBuffer, transports);
+            putSection(byteBuffer, authenticatorExtensions);
+            putSection(byteBuffer, clientExtensions);
+            putSection(byteBuffer, attestationStatement);
+            return byteBuffer.array();
+        } catch (IllegalArgumentException e) {
+            throw new DataConversionException(e);
+        }
+    }
+
+    public @NonNull AuthenticatorImpl convert(@NonNull byte[] value) {
+        return convert(value, true);
+    }
+
+    /**
+     * Converts from a byte array to {@link AuthenticatorImpl}
+     *
+     * @param value                       the source byte array to convert
+     * @param attestationStatementDecoded false to skip decoding the attestation statement, which is not used on authentication
+     * @return converted authenticator
+     */
+    public @NonNull AuthenticatorImpl convert(@NonNull byte[] value, boolean attestationStatementDecoded) {
+        AssertUtil.notNull(value, VALUE_MUST_NOT_BE_NULL);
+        try {
+            ByteBuffer byteBuffer = ByteBuffer.wrap(value);
+            checkVersion(value);
+            byteBuffer.get();
+            int flags = byteBuffer.get();
+            long counter = UnsignedNumberUtil.getUnsignedInt(byteBuffer);
+            AttestedCredentialData attestedCredentialData = attestedCredentialDataConverter.convert(getSection(byteBuffer));
+
+            Set<AuthenticatorTransport> transports = null;
+            if ((flags & FLAG_TRANSPORTS) != 0) {
+                transports = convertToTransports(getSection(byteBuffer));
+            }
+            AuthenticationExtensionsAuthenticatorOutputs<RegistrationExtensionAuthenticatorOutput> authenticatorExtensions = null;
+            if ((flags & FLAG_AUTHENTICATOR_EXTENSIONS) != 0) {
+                authenticatorExtensions = authenticatorDataConverter.convertToExtensions(getSection(byteBuffer));
+            }
+            AuthenticationExtensionsClientOutputs<RegistrationExtensionClientOutput> clientExtensions = null;
+            if ((flags & FLAG_CLIENT_EXTENSIONS) != 0) {
+                clientExtensions = authenticationExtensionsClientOutputsConverter.convert(new String(getSectionBytes(byteBuffer), StandardCharsets.UTF_8));
+            }
+            AttestationStatement attestationStatement = null;
+            if (attestationStatementDecoded && (flags & FLAG_ATTESTATION_STATEMENT) != 0) {
+                AttestationStatementEnvelope envelope = cborConverter.readValue(getSectionBytes(byteBuffer), AttestationStatementEnvelope.class);
+                attestationStatement = envelope == null ? null : envelope.getAttestationStatement();
+            }
+            return new AuthenticatorImpl(attestedCredentialData, attestationStatement, counter, transports, clientExtensions, authenticatorExtensions);
+        } catch (IllegalArgumentException | BufferUnderflowException | IndexOutOfBoundsException | NegativeArraySizeException e) {
+            throw new DataConversionException(e);
+        }
+    }
+
+    /**
+     * Extracts the credentialId from a converted byte array without decoding it
+     *
+     * @param value converted byte array
+     * @return credentialId
+     */
+    public @NonNull byte[] extractCredentialId(@NonNull byte[] value) {
+        AssertUtil.notNull(value, VALUE_MUST_NOT_BE_NULL);
+        checkVersion(value);
+        int length = getCredentialIdLength(value);
+        return Arrays.copyOfRange(value, CREDENTIAL_ID_INDEX, CREDENTIAL_ID_INDEX + length);
+    }
+
+    /**
+     * Checks whether the converted byte array holds the credentialId, without copying it
+     *
+     * @param value        converted byte array
+     * @param credentialId credentialId
+     * @return true if the byte array holds the credentialId
+     */
+    public boolean matchesCredentialId(@NonNull byte[] value, @NonNull byte[] credentialId) {
+        AssertUtil.notNull(value, VALUE_MUST_NOT_BE_NULL);
+        AssertUtil.notNull(credentialId, "credentialId must not be null");
+        int length = getCredentialIdLength(value);
+        if (length != credentialId.length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (value[CREDENTIAL_ID_INDEX + i] != credentialId[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long extractCounter(@NonNull byte[] value) {
+        AssertUtil.notNull(value, VALUE_MUST_NOT_BE_NULL);
+        return UnsignedNumberUtil.getUnsignedInt(ByteBuffer.wrap(value, COUNTER_INDEX, 4));
+    }
+
+    /**
+     * Overwrites the counter of the converted byte array in place
+     *
+     * @param value   converted byte array
+     * @param counter new counter value
+     */
+    public void writeCounter(@NonNull byte[] value, long counter) {
+        AssertUtil.notNull(value, VALUE_MUST_NOT_BE_NULL);
+        System.arraycopy(UnsignedNumberUtil.toBytes(counter), 0, value, COUNTER_INDEX, 4);
+    }
+
+    private static void checkVersion(@NonNull byte[] value) {
+        if (value.length < CREDENTIAL_ID_INDEX || value[0] != VERSION) {
+            throw new DataConversionException("Unsupported authenticator format");
+        }
+    }
+
+    private static int getCredentialIdLength(@NonNull byte[] value) {
+        return ((value[CREDENTIAL_ID_LENGTH_INDEX] & 0xFF) << 8) | (value[CREDENTIAL_ID_LENGTH_INDEX + 1] & 0xFF);
+    }
+
+    private static void putSection(@NonNull ByteBuffer byteBuffer, @Nullable byte[] section) {
+        if (section == null) {
+            return;
+        }
+        byteBuffer.putInt(section.length);
+        byteBuffer.put(section);
+    }
+
+    private static @NonNull ByteBuffer getSection(@NonNull ByteBuffer byteBuffer) {
+        int length = byteBuffer.getInt();
+        ByteBuffer section = byteBuffer.slice();
+        ((Buffer) section).limit(length);
+        ((Buffer) byteBuffer).position(byteBuffer.position() + length);
+        return section;
+    }
+
+    private static @NonNull byte[] getSectionBytes(@NonNull ByteBuffer byteBuffer) {
+        byte[] section = new byte[byteBuffer.getInt()];
+        byteBuffer.get(section);
+        return section;
+    }
+
+    private static @NonNull byte[] convertTransports(@NonNull Set<AuthenticatorTransport> transports) {
+        List<byte[]> values = new ArrayList<>(transports.size());
+        int length = 0;
+        for (AuthenticatorTransport transport : transports) {
+            byte[] value = transport.getValue().getBytes(StandardCharsets.UTF_8);
+            values.add(value);
+            length += 4 + value.length;
+        }
+        ByteBuffer byteBuffer = ByteBuffer.allocate(length);
+        for (byte[] value : values) {
+            putSection(byteBuffer, value);
+        }
+        return byteBuffer.array();
+    }
+
+    private static @NonNull Set<AuthenticatorTransport> convertToTransports(@NonNull ByteBuffer section) {
+        Set<AuthenticatorTransport> transports = new HashSet<>();
+        AuthenticatorTransportConverter authenticatorTransportConverter = new AuthenticatorTransportConverter();
+        while (section.hasRemaining()) {
+            transports.add(authenticatorTransportConverter.convert(new String(getSectionBytes(section), StandardCharsets.UTF_8)));
+        }
+        return transports;
+    }
+
+    static class AttestationStatementEnvelope {
+
+        @JsonProperty("attStmt")
+        @JsonTypeInfo(
+                use = JsonTypeInfo.Id.NAME,
+                include = JsonTypeInfo.As.EXTERNAL_PROPERTY,
+                property = "fmt"
+        )
+        private final AttestationStatement attestationStatement;
+
+        @JsonCreator
+        AttestationStatementEnvelope(@JsonProperty("attStmt") AttestationStatement attestationStatement) {
+            this.attestationStatement = attestationStatement;
+        }
+
+        @JsonProperty("fmt")
+        public String getFormat() {
+            return attestationStatement.getFormat();
+        }
+
+        public AttestationStatement getAttestationStatement() {
+            return attestationStatement;
+        }
+    }
+}
@@ -148,6 +148,52 @@ public class AuthenticatorDataConverter {
         }
     }
 
+    /**
+     * Converts from a byte array to {@link AuthenticatorData} which decodes attestedCredentialData and extensions
+     * when their getters are called for the first time.
+     * The framing is checked here: the flags must match the remaining length, the credential public key and the
+     * extensions must each be a single well-formed CBOR map, and they must end exactly at the end of the source.
+     * Input failing these checks is handed to {@link #convert(byte[])}, so it is rejected with
+     * {@link DataConversionException} at parse time. Only converting the CBOR maps into objects is deferred, so
+     * a well-framed map which cannot be converted, e.g. a COSE key with an unsupported key type, is reported as
+     * {@link DataConversionException} from the getters of attestedCredentialData and extensions, and from
+     * {@link AuthenticatorData#equals(Object)}, {@link AuthenticatorData#hashCode()} and {@link AuthenticatorData#toString()}.
+     *
+     * @param <T>    ExtensionAuthenticatorOutput
+     * @param source the source byte array to convert, which is retained and must not be modified afterwards
+     * @return the converted object
+     */
+    public <T extends ExtensionAuthenticatorOutput> @NonNull AuthenticatorData<T> convertLazily(@NonNull byte[] source) {
+        AssertUtil.notNull(source, "source must not be null");
+        if (source.length < ATTESTED_CREDENTIAL_DATA_INDEX) {
+            // let the eager conversion report the error
+            return convert(source);
+        }
+        try {
+            // any framing error falls back to the eager conversion below, which reports it
+            byte flags = source[RPID_HASH_LENGTH];
+            int position = ATTESTED_CREDENTIAL_DATA_INDEX;
+            int attestedCredentialDataIndex = -1;
+            if (AuthenticatorData.checkFlagAT(flags) && position < source.length) {
+                attestedCredentialDataIndex = position;
+                position = skipAttestedCredentialData(source, position);
+            }
+            int extensionsIndex = -1;
+            if (AuthenticatorData.checkFlagED(flags) && position < source.length) {
+                extensionsIndex = position;
+                position = skipCborMap(source, position);
+            }
+            if (position != source.length) {
+                return convert(source);
+            }
+            byte[] rpIdHash = Arrays.copyOf(source, RPID_HASH_LENGTH);
+            long counter = UnsignedNumberUtil.getUnsignedInt(ByteBuffer.wrap(source, COUNTER_INDEX, COUNTER_LENGTH));
+            return AuthenticatorData.createLazily(rpIdHash, flags, counter, new LazyDecoder<>(source, attestedCredentialDataIndex, extensionsIndex));
+        } catch (CborReader.UnsupportedCborException e) {
+            return convert(source);
+        }
+    }
+
     /**
      * Extract attestedCredData byte array from a authenticatorData byte array.
      *
@@ -159,10 +205,17 @@ public class AuthenticatorDataConverter {
         int credentialIdLength = UnsignedNumberUtil.getUnsignedShort(lengthBytes);
         int credentialPublicKeyIndex = CREDENTIAL_ID_INDEX + credentialIdLength;
 
-        byte[] attestedCredentialDataBytes = Arrays.copyOfRange(authenticatorData, credentialPublicKeyIndex, authenticatorData.length);
-        ByteArrayInputStream byteArrayInputStream = new ByteArrayInputStream(attestedCredentialDataBytes);
-        COSEKeyEnvelope coseKeyEnvelope = attestedCredentialDataConverter.convertToCredentialPublicKey(byteArrayInputStream);
-        int credentialPublicKeyLength = coseKeyEnvelope.getLength();
+        int credentialPublicKeyLength;
+        try {
+            CborReader cborReader = new CborReader(ByteBuffer.wrap(authenticatorData, credentialPublicKeyIndex, authenticatorData.length - credentialPublicKeyIndex));
+            cborReader.skipItem();
+            credentialPublicKeyLength = cborReader.getPosition() - credentialPublicKeyIndex;
+        } catch (CborReader.UnsupportedCborException e) {
+            byte[] attestedCredentialDataBytes = Arrays.copyOfRange(authenticatorData, credentialPublicKeyIndex, authenticatorData.length);
+            ByteArrayInputStream byteArrayInputStream = new ByteArrayInputStream(attestedCredentialDataBytes);
+            COSEKeyEnvelope coseKeyEnvelope = attestedCredentialDataConverter.convertToCredentialPublicKey(byteArrayInputStream);
+            credentialPublicKeyLength = coseKeyEnvelope.getLength();
+        }
         int attestedCredentialDataLength = AAGUID_LENGTH + L_LENGTH + credentialIdLength + credentialPublicKeyLength;
         return Arrays.copyOfRange(authenticatorData, ATTESTED_CREDENTIAL_DATA_INDEX, ATTESTED_CREDENTIAL_DATA_INDEX + attestedCredentialDataLength);
     }
@@ -179,6 +232,28 @@ public class AuthenticatorDataConverter {
     }
 
 
+    private static int skipAttestedCredentialData(@NonNull byte[] source, int index) {
+        int lengthIndex = index + AAGUID_LENGTH;
+        if (lengthIndex + L_LENGTH > source.length) {
+            throw new CborReader.UnsupportedCborException();
+        }
+        int credentialIdLength = ((source[lengthIndex] & 0xFF) << 8) | (source[lengthIndex + 1] & 0xFF);
+        int credentialPublicKeyIndex = lengthIndex + L_LENGTH + credentialIdLength;
+        if (credentialPublicKeyIndex >= source.length) {
+            throw new CborReader.UnsupportedCborException();
+        }
+        return skipCborMap(source, credentialPublicKeyIndex);
+    }
+
+    private static int skipCborMap(@NonNull byte[] source, int index) {
+        if (((source[index] & 0xFF) >>> 5) != CborReader.MAJOR_TYPE_MAP) {
+            throw new CborReader.UnsupportedCborException();
+        }
+        CborReader cborReader = new CborReader(ByteBuffer.wrap(source, index, source.length - index));
+        cborReader.skipItem();
+        return cborReader.getPosition();
+    }
+
     @NonNull <T extends ExtensionAuthenticatorOutput> byte[] convert(@Nullable AuthenticationExtensionsAuthenticatorOutputs<T> extensions) {
         if (extensions == null || extensions.getKeys().isEmpty()) {
             return new byte[0];
@@ -194,6 +269,13 @@ public class AuthenticatorDataConverter {
         if (byteBuffer.remaining() == 0) {
             return new AuthenticationExtensionsAuthenticatorOutputs<>();
         }
+        if (byteBuffer.hasArray()) {
+            try {
+                return convertToExtensionsInPlace(byteBuffer);
+            } catch (CborReader.UnsupportedCborException e) {
+                // fallback to the stream based conversion below
+            }
+        }
         byte[] remaining = new byte[byteBuffer.remaining()];
         byteBuffer.get(remaining);
         ByteArrayInputStream byteArrayInputStream = new ByteArrayInputStream(remaining);
@@ -209,5 +291,61 @@ public class AuthenticatorDataConverter {
         return envelope.getAuthenticationExtensionsAuthenticatorOutputs();
     }
 
+    /**
+     * Converts the extension map without copying the buffer. Its extent is determined by {@link CborReader},
+     * and only a non-empty map is handed to Jackson, as a slice of the backing array.
+     */
+    private <T extends ExtensionAuthenticatorOutput> @Nullable AuthenticationExtensionsAuthenticatorOutputs<T> convertToExtensionsInPlace(@NonNull ByteBuffer byteBuffer) {
+        int start = byteBuffer.position();
+        CborReader cborReader = new CborReader(byteBuffer);
+        boolean isMap = cborReader.peekMajorType() == CborReader.MAJOR_TYPE_MAP;
+        cborReader.skipItem();
+        int length = cborReader.getPosition() - start;
+        AuthenticationExtensionsAuthenticatorOutputs<T> extensions;
+        if (isMap && length == 1) {
+            extensions = new AuthenticationExtensionsAuthenticatorOutputs<>();
+        }
+        else {
+            AuthenticationExtensionsAuthenticatorOutputsEnvelope<T> envelope =
+                    cborConverter.readValue(byteBuffer.array(), byteBuffer.arrayOffset() + start, length, new TypeReference<AuthenticationExtensionsAuthenticatorOutputsEnvelope<T>>() {
+                    });
+            extensions = envelope == null ? null : envelope.getAuthenticationExtensionsAuthenticatorOutputs();
+        }
+        //This cast is necessary to be complied with JDK 17 when targeting JDK 8
+        ((Buffer) byteBuffer).position(cborReader.getPosition());
+        return extensions;
+    }
 
+    /**
+     * Decodes attestedCredentialData and extensions from the retained authenticatorData bytes whose framing is already checked
+     */
+    private class LazyDecoder<T extends ExtensionAuthenticatorOutput> implements AuthenticatorData.Decoder<T> {
+
+        private final byte[] bytes;
+        private final int attestedCredentialDataIndex;
+        private final int extensionsIndex;
+
+        LazyDecoder(@NonNull byte[] bytes, int attestedCredentialDataIndex, int extensionsIndex) {
+            this.bytes = bytes;
+            this.attestedCredentialDataIndex = attestedCredentialDataIndex;
+            this.extensionsIndex = extensionsIndex;
+        }
+
+        @Override
+        public @Nullable AttestedCredentialData decodeAttestedCredentialData() {
+            if (attestedCredentialDataIndex < 0) {
+                return null;
+            }
+            int end = extensionsIndex < 0 ? bytes.length : extensionsIndex;
+            return attestedCredentialDataConverter.convert(ByteBuffer.wrap(bytes, attestedCredentialDataIndex, end - attestedCredentialDataIndex));
+        }
+
+        @Override
+        public @Nullable AuthenticationExtensionsAuthenticatorOutputs<T> decodeExtensions() {
+            if (extensionsIndex < 0) {
+                return new AuthenticationExtensionsAuthenticatorOutputs<>();
+            }
+            return convertToExtensions(ByteBuffer.wrap(bytes, extensionsIndex, bytes.length - extensionsIndex));
+        }
+    }
 }
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.webauthn4j.converter;
+
+import com.webauthn4j.data.attestation.authenticator.COSEKey;
+import com.webauthn4j.data.attestation.authenticator.Curve;
+import com.webauthn4j.data.attestation.authenticator.EC2COSEKey;
+import com.webauthn4j.data.attestation.authenticator.EdDSACOSEKey;
+import com.webauthn4j.data.attestation.authenticator.RSACOSEKey;
+import com.webauthn4j.data.attestation.statement.COSEAlgorithmIdentifier;
+import com.webauthn4j.data.attestation.statement.COSEKeyType;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Decodes a credential public key in COSE_Key format with {@link CborReader}, without going through Jackson.
+ * <p>
+ * Only the labels WebAuthn4J maps (kty, kid, alg and the key type specific parameters) are handled.
+ * Keys with other labels, duplicated labels or unexpected value types raise {@link CborReader.UnsupportedCborException}
+ * so that the caller falls back to Jackson.
+ */
+class COSEKeyDecoder {
+
+    private static final int LABEL_KTY = 1;
+    private static final int LABEL_KID = 2;
+    private static final int LABEL_ALG = 3;
+    // key type specific parameters use labels from -1 to -8
+    private static final int MAX_PARAMETER_INDEX = 8;
+
+    private COSEKeyDecoder() {
+    }
+
+    static @NonNull COSEKey decode(@NonNull CborReader reader) {
+        int size = reader.readMapHead();
+        Long keyType = null;
+        byte[] keyId = null;
+        COSEAlgorithmIdentifier algorithm = null;
+        Object[] parameters = new Object[MAX_PARAMETER_INDEX + 1];
+        for (int i = 0; size < 0 || i < size; i++) {
+            if (size < 0 && reader.tryReadBreak()) {
+                break;
+            }
+            // Jackson writes labels as text, and the key type twice: as the textual type id and as the keyType property
+            long label = reader.readIntegerOrDecimalText();
+            if (label == LABEL_KTY && keyType != null) {
+                // like Jackson, the key type is resolved from the first occurrence
+                reader.skipItem();
+            }
+            else if (label == LABEL_KTY) {
+                keyType = reader.readIntegerOrDecimalText();
+            }
+            else if (reader.tryReadNull()) {
+                // null is equivalent to absence, as long as the label doesn't appear twice
+                if (isPresent(label, keyId, algorithm, parameters)) {
+                    throw new CborReader.UnsupportedCborException();
+                }
+            }
+            else if (label == LABEL_KID && keyId == null) {
+                keyId = reader.readByteString();
+            }
+            else if (label == LABEL_ALG && algorithm == null) {
+                algorithm = COSEAlgorithmIdentifier.create(reader.readInteger());
+            }
+            else if (label < 0 && label >= -MAX_PARAMETER_INDEX && parameters[(int) -label] == null) {
+                parameters[(int) -label] = reader.peekMajorType() == CborReader.MAJOR_TYPE_BYTE_STRING ? reader.readByteString() : (Object) reader.readInteger();
+            }
+            else {
+                throw new CborReader.UnsupportedCborException();
+            }
+        }
+        if (keyType == null) {
+            throw new CborReader.UnsupportedCborException();
+        }
+
+        if (keyType == COSEKeyType.EC2.getValue()) {
+            assertAbsent(parameters, 5, 6, 7, 8);
+            return new EC2COSEKey(keyId, algorithm, null, getCurve(parameters), getBytes(parameters, 2), getBytes(parameters, 3), getBytes(parameters, 4));
+        }
+        else if (keyType == COSEKeyType.OKP.getValue()) {
+            assertAbsent(parameters, 3, 5, 6, 7, 8);
+            return new EdDSACOSEKey(keyId, algorithm, null, getCurve(parameters), getBytes(parameters, 2), getBytes(parameters, 4));
+        }
+        else if (keyType == COSEKeyType.RSA.getValue()) {
+            return new RSACOSEKey(keyId, algorithm, null,
+                    getBytes(parameters, 1), getBytes(parameters, 2), getBytes(parameters, 3), getBytes(parameters, 4),
+                    getBytes(parameters, 5), getBytes(parameters, 6), getBytes(parameters, 7), getBytes(parameters, 8));
+        }
+        throw new CborReader.UnsupportedCborException();
+    }
+
+    private static boolean isPresent(long label, @Nullable byte[] keyId, @Nullable COSEAlgorithmIdentifier algorithm, @NonNull Object[] parameters) {
+        if (label == LABEL_KID) {
+            return keyId != null;
+        }
+        else if (label == LABEL_ALG) {
+            return algorithm != null;
+        }
+        else if (label < 0 && label >= -MAX_PARAMETER_INDEX) {
+            return parameters[(int) -label] != null;
+        }
+        return false;
+    }
+
+    private static @Nullable Curve getCurve(@NonNull Object[] parameters) {
+        Object value = parameters[1];
+        if (value == null) {
+            return null;
+        }
+        if (!(value instanceof Long) || (Long) value < Integer.MIN_VALUE || (Long) value > Integer.MAX_VALUE) {
+            throw new CborReader.UnsupportedCborException();
+        }
+        try {
+            return Curve.create(((Long) value).intValue());
+        } catch (IllegalArgumentException e) {
+            throw new CborReader.UnsupportedCborException();
+        }
+    }
+
+    private static @Nullable byte[] getBytes(@NonNull Object[] parameters, int index) {
+        Object value = parameters[index];
+        if (value == null) {
+            return null;
+        }
+        if (!(value instanceof byte[])) {
+            throw new CborReader.UnsupportedCborException();
+        }
+        return (byte[]) value;
+    }
+
+    private static void assertAbsent(@NonNull Object[] parameters, int... indexes) {
+        for (int index : indexes) {
+            if (parameters[index] != null) {
+                throw new CborReader.UnsupportedCborException();
+            }
+        }
+    }
+}
@@ -0,0 +1,300 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.webauthn4j.converter;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Minimal CBOR reader working in place over a {@link ByteBuffer}.
+ * <p>
+ * Indefinite-length encoding, which Jackson emits when WebAuthn4J serializes data, is only supported for maps and arrays.
+ * Anything it doesn't handle raises {@link UnsupportedCborException} so that callers can fall back to Jackson,
+ * which then reports malformed input in the usual way.
+ */
+class CborReader {
+
+    static final int MAJOR_TYPE_UNSIGNED_INTEGER = 0;
+    static final int MAJOR_TYPE_NEGATIVE_INTEGER = 1;
+    static final int MAJOR_TYPE_BYTE_STRING = 2;
+    static final int MAJOR_TYPE_TEXT_STRING = 3;
+    static final int MAJOR_TYPE_ARRAY = 4;
+    static final int MAJOR_TYPE_MAP = 5;
+    static final int MAJOR_TYPE_TAG = 6;
+    static final int MAJOR_TYPE_SIMPLE = 7;
+
+    private static final int BREAK = 0xFF;
+    private static final int NULL = 0xF6;
+    private static final int INDEFINITE_LENGTH = 31;
+    // keeps the parsed decimal text within the range of long
+    private static final int MAX_DECIMAL_TEXT_LENGTH = 18;
+
+    private static final int MAX_NESTING_DEPTH = 16;
+
+    private final ByteBuffer buffer;
+    private final int limit;
+    private int position;
+
+    /**
+     * @param buffer buffer to read. Its position and limit are not modified.
+     */
+    CborReader(@NonNull ByteBuffer buffer) {
+        this.buffer = buffer;
+        this.position = buffer.position();
+        this.limit = buffer.limit();
+    }
+
+    int getPosition() {
+        return position;
+    }
+
+    int peekMajorType() {
+        ensureRemaining(1);
+        return (buffer.get(position) & 0xFF) >>> 5;
+    }
+
+    /**
+     * Reads the head of a data item of the expected major type and returns its argument
+     *
+     * @param expectedMajorType expected major type
+     * @return argument of the head, which is the value, length or count depending on the major type
+     */
+    long readHead(int expectedMajorType) {
+        ensureRemaining(1);
+        int initialByte = buffer.get(position) & 0xFF;
+        if (initialByte >>> 5 != expectedMajorType) {
+            throw new UnsupportedCborException();
+        }
+        position++;
+        return readArgument(initialByte & 0x1F);
+    }
+
+    long readInteger() {
+        int majorType = peekMajorType();
+        if (majorType == MAJOR_TYPE_UNSIGNED_INTEGER) {
+            return readHead(MAJOR_TYPE_UNSIGNED_INTEGER);
+        }
+        else if (majorType == MAJOR_TYPE_NEGATIVE_INTEGER) {
+            return -1 - readHead(MAJOR_TYPE_NEGATIVE_INTEGER);
+        }
+        throw new UnsupportedCborException();
+    }
+
+    /**
+     * Reads an integer, or a text string holding a decimal integer like Jackson's textual map keys
+     *
+     * @return the integer value
+     */
+    long readIntegerOrDecimalText() {
+        if (peekMajorType() != MAJOR_TYPE_TEXT_STRING) {
+            return readInteger();
+        }
+        int length = toLength(readHead(MAJOR_TYPE_TEXT_STRING));
+        boolean negative = length > 0 && buffer.get(position) == '-';
+        int digitsStart = negative ? 1 : 0;
+        if (length == digitsStart || length - digitsStart > MAX_DECIMAL_TEXT_LENGTH) {
+            throw new UnsupportedCborException();
+        }
+        long value = 0;
+        for (int i = digitsStart; i < length; i++) {
+            int c = buffer.get(position + i);
+            if (c < '0' || c > '9') {
+                throw new UnsupportedCborException();
+            }
+            value = value * 10 + (c - '0');
+        }
+        position += length;
+        return negative ? -value : value;
+    }
+
+    @NonNull byte[] readByteString() {
+        int length = toLength(readHead(MAJOR_TYPE_BYTE_STRING));
+        ensureRemaining(length);
+        byte[] value = new byte[length];
+        if (buffer.hasArray()) {
+            System.arraycopy(buffer.array(), buffer.arrayOffset() + position, value, 0, length);
+        }
+        else {
+            for (int i = 0; i < length; i++) {
+                value[i] = buffer.get(position + i);
+            }
+        }
+        position += length;
+        return value;
+    }
+
+    /**
+     * Reads the head of a map
+     *
+     * @return the number of entries, or -1 for an indefinite-length map terminated by a break
+     */
+    int readMapHead() {
+        ensureRemaining(1);
+        if ((buffer.get(position) & 0xFF) == ((MAJOR_TYPE_MAP << 5) | INDEFINITE_LENGTH)) {
+            position++;
+            return -1;
+        }
+        return toLength(readHead(MAJOR_TYPE_MAP));
+    }
+
+    /**
+     * Consumes a break if it is the next byte
+     *
+     * @return true if a break was consumed
+     */
+    boolean tryReadBreak() {
+        return tryRead(BREAK);
+    }
+
+    /**
+     * Consumes a null if it is the next byte
+     *
+     * @return true if a null was consumed
+     */
+    boolean tryReadNull() {
+        return tryRead(NULL);
+    }
+
+    private boolean tryRead(int value) {
+        ensureRemaining(1);
+        if ((buffer.get(position) & 0xFF) == value) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Skips a whole data item including nested items
+     */
+    void skipItem() {
+        skipItem(0);
+    }
+
+    private void skipItem(int depth) {
+        if (depth > MAX_NESTING_DEPTH) {
+            throw new UnsupportedCborException();
+        }
+        ensureRemaining(1);
+        int initialByte = buffer.get(position) & 0xFF;
+        int majorType = initialByte >>> 5;
+        int additionalInfo = initialByte & 0x1F;
+        position++;
+        if (additionalInfo == INDEFINITE_LENGTH && (majorType == MAJOR_TYPE_ARRAY || majorType == MAJOR_TYPE_MAP)) {
+            while (!tryReadBreak()) {
+                skipItem(depth + 1);
+                if (majorType == MAJOR_TYPE_MAP) {
+                    skipItem(depth + 1);
+                }
+            }
+            return;
+        }
+        if (majorType == MAJOR_TYPE_SIMPLE) {
+            // simple values and floats: no nested items, argument width is the payload
+            readArgument(additionalInfo);
+            return;
+        }
+        long argument = readArgument(additionalInfo);
+        switch (majorType) {
+            case MAJOR_TYPE_UNSIGNED_INTEGER:
+            case MAJOR_TYPE_NEGATIVE_INTEGER:
+                return;
+            case MAJOR_TYPE_BYTE_STRING:
+            case MAJOR_TYPE_TEXT_STRING:
+                int length = toLength(argument);
+                ensureRemaining(length);
+                position += length;
+                return;
+            case MAJOR_TYPE_ARRAY:
+                for (long i = 0; i < argument; i++) {
+                    skipItem(depth + 1);
+                }
+                return;
+            case MAJOR_TYPE_MAP:
+                for (long i = 0; i < argument; i++) {
+                    skipItem(depth + 1);
+                    skipItem(depth + 1);
+                }
+                return;
+            case MAJOR_TYPE_TAG:
+                skipItem(depth + 1);
+                return;
+            default:
+                throw new UnsupportedCborException();
+        }
+    }
+
+    private long readArgument(int additionalInfo) {
+        if (additionalInfo < 24) {
+            return additionalInfo;
+        }
+        int width;
+        switch (additionalInfo) {
+            case 24:
+                width = 1;
+                break;
+            case 25:
+                width = 2;
+                break;
+            case 26:
+                width = 4;
+                break;
+            case 27:
+                width = 8;
+                break;
+            default:
+                // indefinite length (31) and reserved values
+                throw new UnsupportedCborException();
+        }
+        ensureRemaining(width);
+        long value = 0;
+        for (int i = 0; i < width; i++) {
+            value = (value << 8) | (buffer.get(position + i) & 0xFF);
+        }
+        position += width;
+        if (value < 0) {
+            // exceeds the range of long
+            throw new UnsupportedCborException();
+        }
+        return value;
+    }
+
+    private int toLength(long argument) {
+        if (argument > limit - position) {
+            throw new UnsupportedCborException();
+        }
+        return (int) argument;
+    }
+
+    private void ensureRemaining(int length) {
+        if (length > limit - position) {
+            throw new UnsupportedCborException();
+        }
+    }
+
+    /**
+     * Signals input the reader doesn't handle. Stack trace is not filled as it is used for control flow.
+     */
+    static class UnsupportedCborException extends RuntimeException {
+
+        UnsupportedCborException() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -16,25 +16,42 @@
 
 package com.webauthn4j.converter;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.webauthn4j.converter.exception.DataConversionException;
 import com.webauthn4j.converter.util.JsonConverter;
 import com.webauthn4j.converter.util.ObjectConverter;
+import com.webauthn4j.data.client.ClientDataType;
 import com.webauthn4j.data.client.CollectedClientData;
+import com.webauthn4j.data.client.Origin;
+import com.webauthn4j.data.client.challenge.DefaultChallenge;
 import com.webauthn4j.util.AssertUtil;
 import com.webauthn4j.util.Base64UrlUtil;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  * Converter for {@link CollectedClientData}
+ * <p>
+ * Client data in the usual form is read with a streaming parser straight from the bytes: the challenge is decoded
+ * from the parser buffer without an intermediate {@link String}, and {@link Origin}s are reused from a small cache,
+ * as a relying party sees only a handful of distinct origins. Anything else, like tokenBinding members or malformed
+ * input, is converted by data binding, so the result and the errors are the same either way.
  */
 public class CollectedClientDataConverter {
 
     //~ Instance fields
     // ================================================================================================
+
+    private static final int ORIGIN_CACHE_SIZE = 64;
+    private static final int ORIGIN_CACHE_MAX_LENGTH = 256;
+
     private final JsonConverter jsonConverter;
+    private final AtomicReferenceArray<OriginCacheEntry> originCache = new AtomicReferenceArray<>(ORIGIN_CACHE_SIZE);
 
     //~ Constructors
     // ================================================================================================
@@ -73,6 +90,10 @@ public class CollectedClientDataConverter {
     public @Nullable CollectedClientData convert(@NonNull byte[] source) {
         try {
             AssertUtil.notNull(source, "source must not be null");
+            CollectedClientData collectedClientData = decode(source);
+            if (collectedClientData != null) {
+                return collectedClientData;
+            }
             String jsonString = new String(source, StandardCharsets.UTF_8);
             return jsonConverter.readValue(jsonString, CollectedClientData.class);
         } catch (IllegalArgumentException e) {
@@ -110,4 +131,173 @@ public class CollectedClientDataConverter {
         }
     }
 
+    /**
+     * Decodes the client data with a streaming parser
+     *
+     * @param source the source byte array to convert
+     * @return the converted object, or null if the source needs to be converted by data binding
+     */
+    @Nullable CollectedClientData decode(@NonNull byte[] source) {
+        try (JsonParser parser = jsonConverter.createParser(source)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            ClientDataType type = null;
+            DefaultChallenge challenge = null;
+            Origin origin = null;
+            Boolean crossOrigin = null;
+            String fieldName;
+            while ((fieldName = parser.nextFieldName()) != null) {
+                JsonToken token = parser.nextToken();
+                switch (fieldName) {
+                    case "type":
+                        if (token != JsonToken.VALUE_STRING) {
+                            return null;
+                        }
+                        type = ClientDataType.create(parser.getText());
+                        break;
+                    case "challenge":
+                        if (token != JsonToken.VALUE_STRING) {
+                            return null;
+                        }
+                        byte[] value = decodeBase64Url(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+                        if (value == null) {
+                            return null;
+                        }
+                        challenge = new DefaultChallenge(value);
+                        break;
+                    case "origin":
+                        if (token != JsonToken.VALUE_STRING) {
+                            return null;
+                        }
+                        origin = getOrigin(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+                        break;
+                    case "crossOrigin":
+                        if (token == JsonToken.VALUE_TRUE) {
+                            crossOrigin = Boolean.TRUE;
+                        }
+                        else if (token == JsonToken.VALUE_FALSE) {
+                            crossOrigin = Boolean.FALSE;
+                        }
+                        else if (token == JsonToken.VALUE_NULL) {
+                            crossOrigin = null;
+                        }
+                        else {
+                            return null;
+                        }
+                        break;
+                    case "tokenBinding":
+                        return null;
+                    default:
+                        parser.skipChildren();
+                        break;
+                }
+            }
+            if (parser.currentToken() != JsonToken.END_OBJECT || type == null || challenge == null || origin == null) {
+                return null;
+            }
+            return new CollectedClientData(type, challenge, origin, crossOrigin, null);
+        } catch (IOException | IllegalArgumentException e) {
+            // left to data binding, which reports the error
+            return null;
+        }
+    }
+
+    private @NonNull Origin getOrigin(@NonNull char[] chars, int offset, int length) {
+        if (length > ORIGIN_CACHE_MAX_LENGTH) {
+            return new Origin(new String(chars, offset, length));
+        }
+        int hash = 0;
+        for (int i = offset; i < offset + length; i++) {
+            hash = 31 * hash + chars[i];
+        }
+        int index = (hash ^ (hash >>> 16)) & (ORIGIN_CACHE_SIZE - 1);
+        OriginCacheEntry entry = originCache.get(index);
+        if (entry != null && entry.matches(chars, offset, length)) {
+            return entry.origin;
+        }
+        String value = new String(chars, offset, length);
+        Origin origin = new Origin(value);
+        originCache.set(index, new OriginCacheEntry(value, origin));
+        return origin;
+    }
+
+    /**
+     * Decodes base64url characters, with or without padding, into a buffer sized for the result
+     *
+     * @return decoded bytes, or null if the characters are not valid base64url
+     */
+    static @Nullable byte[] decodeBase64Url(@NonNull char[] chars, int offset, int length) {
+        int end = offset + length;
+        int padding = 0;
+        while (end > offset && chars[end - 1] == '=' && padding < 2) {
+            end--;
+            padding++;
+        }
+        int dataLength = end - offset;
+        if (dataLength % 4 == 1 || (padding > 0 && (dataLength + padding) % 4 != 0)) {
+            return null;
+        }
+        byte[] result = new byte[dataLength * 3 / 4];
+        int bits = 0;
+        int bitCount = 0;
+        int position = 0;
+        for (int i = offset; i < end; i++) {
+            int sextet = decodeBase64UrlChar(chars[i]);
+            if (sextet == -1) {
+                return null;
+            }
+            bits = (bits << 6) | sextet;
+            bitCount += 6;
+            if (bitCount >= 8) {
+                bitCount -= 8;
+                result[position++] = (byte) (bits >> bitCount);
+                bits &= (1 << bitCount) - 1;
+            }
+        }
+        return result;
+    }
+
+    private static int decodeBase64UrlChar(char c) {
+        if (c >= 'A' && c <= 'Z') {
+            return c - 'A';
+        }
+        if (c >= 'a' && c <= 'z') {
+            return c - 'a' + 26;
+        }
+        if (c >= '0' && c <= '9') {
+            return c - '0' + 52;
+        }
+        if (c == '-') {
+            return 62;
+        }
+        if (c == '_') {
+            return 63;
+        }
+        return -1;
+    }
+
+    private static class OriginCacheEntry {
+
+        private final String value;
+        private final Origin origin;
+
+        OriginCacheEntry(@NonNull String value, @NonNull Origin origin) {
+            this.value = value;
+            this.origin = origin;
+        }
+
+        boolean matches(@NonNull char[] chars, int offset, int length) {
+            if (value.length() != length) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (value.charAt(i) != chars[offset + i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
 }
@@ -80,6 +80,16 @@ public class CborConverter implements Serializable {
         }
     }
 
+    public @Nullable <T> T readValue(@NonNull byte[] src, int offset, int length, @NonNull TypeReference<T> valueTypeRef) {
+        try {
+            return cborMapper.readValue(src, offset, length, cborMapper.getTypeFactory().constructType(valueTypeRef));
+        } catch (MismatchedInputException | ValueInstantiationException | JsonParseException e) {
+            throw new DataConversionException(INPUT_MISMATCH_ERROR_MESSAGE, e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     public @Nullable <T> T readValue(@NonNull InputStream src, @NonNull TypeReference<T> valueTypeRef) {
         try {
             return cborMapper.readValue(src, valueTypeRef);
@@ -17,6 +17,7 @@
 package com.webauthn4j.converter.util;
 
 import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -89,6 +90,21 @@ public class JsonConverter implements Serializable {
         }
     }
 
+    /**
+     * Creates a streaming parser for the source, using the {@link com.fasterxml.jackson.core.JsonFactory} shared by
+     * this converter
+     *
+     * @param src source
+     * @return parser
+     */
+    public @NonNull JsonParser createParser(@NonNull byte[] src) {
+        try {
+            return jsonMapper.getFactory().createParser(src);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     public @NonNull byte[] writeValueAsBytes(@Nullable Object value) {
         try {
             return jsonMapper.writeValueAsBytes(value);
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.webauthn4j.data;
+
+import com.webauthn4j.util.AssertUtil;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Outcome of validating a single {@link AuthenticationRequest} in a batch.
+ * Exactly one of {@link #getAuthenticationData()} and {@link #getException()} is non-null.
+ */
+public class AuthenticationResult {
+
+    private final AuthenticationRequest authenticationRequest;
+    private final AuthenticationData authenticationData;
+    private final RuntimeException exception;
+
+    private AuthenticationResult(@NonNull AuthenticationRequest authenticationRequest, @Nullable AuthenticationData authenticationData, @Nullable RuntimeException exception) {
+        this.authenticationRequest = authenticationRequest;
+        this.authenticationData = authenticationData;
+        this.exception = exception;
+    }
+
+    public static @NonNull AuthenticationResult success(@NonNull AuthenticationRequest authenticationRequest, @NonNull AuthenticationData authenticationData) {
+        AssertUtil.notNull(authenticationRequest, "authenticationRequest must not be null");
+        AssertUtil.notNull(authenticationData, "authenticationData must not be null");
+        return new AuthenticationResult(authenticationRequest, authenticationData, null);
+    }
+
+    public static @NonNull AuthenticationResult failure(@NonNull AuthenticationRequest authenticationRequest, @NonNull RuntimeException exception) {
+        AssertUtil.notNull(authenticationRequest, "authenticationRequest must not be null");
+        AssertUtil.notNull(exception, "exception must not be null");
+        return new AuthenticationResult(authenticationRequest, null, exception);
+    }
+
+    public @NonNull AuthenticationRequest getAuthenticationRequest() {
+        return authenticationRequest;
+    }
+
+    public @Nullable AuthenticationData getAuthenticationData() {
+        return authenticationData;
+    }
+
+    public @Nullable RuntimeException getException() {
+        return exception;
+    }
+
+    public boolean isSuccess() {
+        return exception == null;
+    }
+
+    @Override
+    public String toString() {
+        return "AuthenticationResult(" +
+                "authenticationData=" + authenticationData +
+                ", exception=" + exception +
+                ')';
+    }
+}
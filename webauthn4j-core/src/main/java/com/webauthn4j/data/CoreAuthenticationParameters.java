@@ -40,7 +40,8 @@ public class CoreAuthenticationParameters implements Serializable {
     /**
      * {@link CoreAuthenticationParameters} constructor
      * @param serverProperty server property
-     * @param allowCredentials allowed credentialId list. If all credentialId(s) are allowed, pass null
+     * @param allowCredentials allowed credentialId list. If all credentialId(s) are allowed, pass null.
+     *                         Pass {@link CredentialIdSet} for constant time lookup
      * @param userVerificationRequired true if user verification is required. Otherwise, false
      * @param userPresenceRequired true if user presence is required. Otherwise, false
      */
@@ -54,7 +55,8 @@ public class CoreAuthenticationParameters implements Serializable {
         AssertUtil.notNull(authenticator, "authenticator must not be null");
         this.serverProperty = serverProperty;
         this.authenticator = authenticator;
-        this.allowCredentials = CollectionUtil.unmodifiableList(allowCredentials);
+        // CredentialIdSet is immutable, and is kept as is for its constant time lookup
+        this.allowCredentials = allowCredentials instanceof CredentialIdSet ? allowCredentials : CollectionUtil.unmodifiableList(allowCredentials);
         this.userVerificationRequired = userVerificationRequired;
         this.userPresenceRequired = userPresenceRequired;
     }
@@ -23,6 +23,9 @@ import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 
@@ -31,6 +34,8 @@ public class CoreRegistrationParameters implements Serializable {
     // server property
     private final CoreServerProperty serverProperty;
     private final List<PublicKeyCredentialParameters> pubKeyCredParams;
+    // sorted values of the allowed algorithms, precomputed for lookup. null if all algorithms are allowed
+    private final long[] allowedAlgorithms;
 
     // verification condition
     private final boolean userVerificationRequired;
@@ -39,7 +44,8 @@ public class CoreRegistrationParameters implements Serializable {
     /**
      * {@link CoreRegistrationParameters} constructor
      * @param serverProperty server property
-     * @param pubKeyCredParams allowed {@link PublicKeyCredentialParameters}. If all {@link COSEAlgorithmIdentifier} are allowed, pass null
+     * @param pubKeyCredParams allowed {@link PublicKeyCredentialParameters}. If all {@link COSEAlgorithmIdentifier} are allowed, pass null.
+     *                         The list is copied, so later changes to it are not reflected
      * @param userVerificationRequired true if user verification is required. Otherwise, false
      * @param userPresenceRequired true if user presence is required. Otherwise, false
      */
@@ -48,7 +54,14 @@ public class CoreRegistrationParameters implements Serializable {
                                       boolean userVerificationRequired, boolean userPresenceRequired) {
         AssertUtil.notNull(serverProperty, "serverProperty must not be null");
         this.serverProperty = serverProperty;
-        this.pubKeyCredParams = pubKeyCredParams;
+        // copied, as the allowed algorithms are precomputed from it
+        this.pubKeyCredParams = pubKeyCredParams == null ? null : Collections.unmodifiableList(new ArrayList<>(pubKeyCredParams));
+        this.allowedAlgorithms = pubKeyCredParams == null ? null : pubKeyCredParams.stream()
+                .filter(item -> item != null && item.getAlg() != null)
+                .mapToLong(item -> item.getAlg().getValue())
+                .sorted()
+                .distinct()
+                .toArray();
         this.userVerificationRequired = userVerificationRequired;
         this.userPresenceRequired = userPresenceRequired;
     }
@@ -93,6 +106,19 @@ public class CoreRegistrationParameters implements Serializable {
         return pubKeyCredParams;
     }
 
+    /**
+     * Checks whether the algorithm is listed in pubKeyCredParams
+     *
+     * @param alg algorithm
+     * @return true if the algorithm is listed, or if all algorithms are allowed
+     */
+    public boolean isAllowedAlgorithm(@Nullable COSEAlgorithmIdentifier alg) {
+        if (allowedAlgorithms == null) {
+            return true;
+        }
+        return alg != null && Arrays.binarySearch(allowedAlgorithms, alg.getValue()) >= 0;
+    }
+
     public boolean isUserVerificationRequired() {
         return userVerificationRequired;
     }
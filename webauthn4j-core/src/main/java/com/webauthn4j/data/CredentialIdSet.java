@@ -0,0 +1,153 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.webauthn4j.data;
+
+import com.webauthn4j.util.AssertUtil;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Immutable list of distinct credentialIds with constant time lookup by content via {@link #containsCredentialId(byte[])}.
+ * <p>
+ * It is a {@link List}, so that it can be passed as allowCredentials of {@link CoreAuthenticationParameters}.
+ * Building it once per account and reusing it saves the linear scan over allowCredentials on each ceremony.
+ * As a {@link List}, it follows the {@link List} contract like a list of the given arrays: {@link #get(int)} returns the
+ * given arrays, and {@link #contains(Object)}, {@link #equals(Object)} and {@link #hashCode()} compare them by identity.
+ * The lookup uses copies of the given arrays taken at construction.
+ */
+public final class CredentialIdSet extends AbstractList<byte[]> implements RandomAccess, Serializable {
+
+    private final byte[][] elements;
+    private final byte[][] credentialIds;
+    private final int[] hashes;
+    private final int[] table;
+
+    private CredentialIdSet(@NonNull Collection<byte[]> credentialIds) {
+        int capacity = Integer.highestOneBit(Math.max(credentialIds.size(), 1) * 2 - 1) << 1;
+        byte[][] originals = new byte[credentialIds.size()][];
+        byte[][] copies = new byte[credentialIds.size()][];
+        int[] elementHashes = new int[credentialIds.size()];
+        int[] slots = new int[capacity];
+        int size = 0;
+        for (byte[] credentialId : credentialIds) {
+            AssertUtil.notNull(credentialId, "credentialIds must not contain null");
+            int hash = hash(credentialId);
+            int slot = find(slots, copies, elementHashes, credentialId, hash);
+            if (slots[slot] != 0) {
+                // duplicate
+                continue;
+            }
+            originals[size] = credentialId;
+            copies[size] = credentialId.clone();
+            elementHashes[size] = hash;
+            size++;
+            slots[slot] = size;
+        }
+        this.elements = Arrays.copyOf(originals, size);
+        this.credentialIds = Arrays.copyOf(copies, size);
+        this.hashes = Arrays.copyOf(elementHashes, size);
+        this.table = slots;
+    }
+
+    public static @NonNull CredentialIdSet of(@NonNull Collection<byte[]> credentialIds) {
+        AssertUtil.notNull(credentialIds, "credentialIds must not be null");
+        if (credentialIds instanceof CredentialIdSet) {
+            return (CredentialIdSet) credentialIds;
+        }
+        return new CredentialIdSet(credentialIds);
+    }
+
+    public static @NonNull CredentialIdSet of(@NonNull byte[]... credentialIds) {
+        AssertUtil.notNull(credentialIds, "credentialIds must not be null");
+        return new CredentialIdSet(Arrays.asList(credentialIds));
+    }
+
+    /**
+     * Checks whether the list of credentialIds contains the credentialId, in constant time if the list is a
+     * {@link CredentialIdSet}, and by a linear scan otherwise
+     *
+     * @param credentialIds list of credentialIds
+     * @param credentialId  credentialId
+     * @return true if the list contains the credentialId
+     */
+    public static boolean contains(@NonNull List<byte[]> credentialIds, @NonNull byte[] credentialId) {
+        if (credentialIds instanceof CredentialIdSet) {
+            return ((CredentialIdSet) credentialIds).containsCredentialId(credentialId);
+        }
+        // As credentialIds are known data to client side(potential attacker),
+        // there is no need to prevent timing attack and it is OK to use `Arrays.equals` instead of `MessageDigest.isEqual` here.
+        for (byte[] item : credentialIds) {
+            if (Arrays.equals(item, credentialId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether the set contains the credentialId, comparing the content of the arrays
+     *
+     * @param credentialId credentialId
+     * @return true if the set contains the credentialId
+     */
+    public boolean containsCredentialId(@Nullable byte[] credentialId) {
+        if (credentialId == null) {
+            return false;
+        }
+        return table[find(table, credentialIds, hashes, credentialId, hash(credentialId))] != 0;
+    }
+
+    @Override
+    public @NonNull byte[] get(int index) {
+        return elements[index];
+    }
+
+    @Override
+    public int size() {
+        return credentialIds.length;
+    }
+
+    /**
+     * Returns the slot holding the credentialId, or the empty slot where it would be inserted
+     */
+    private static int find(@NonNull int[] table, @NonNull byte[][] elements, @NonNull int[] elementHashes, @NonNull byte[] credentialId, int hash) {
+        int mask = table.length - 1;
+        int slot = hash & mask;
+        while (table[slot] != 0) {
+            int element = table[slot] - 1;
+            if (elementHashes[element] == hash && Arrays.equals(elements[element], credentialId)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private static int hash(@NonNull byte[] credentialId) {
+        int hash = Arrays.hashCode(credentialId);
+        // spread the bits, as credentialIds of some authenticators share long prefixes
+        hash *= 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+}
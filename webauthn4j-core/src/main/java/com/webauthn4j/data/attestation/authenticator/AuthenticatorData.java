@@ -23,6 +23,8 @@ import com.webauthn4j.util.AssertUtil;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.Arrays;
 import java.util.Objects;
@@ -49,8 +51,10 @@ public class AuthenticatorData<T extends ExtensionAuthenticatorOutput> implement
     private final byte[] rpIdHash;
     private final byte flags;
     private final long signCount;
-    private final AttestedCredentialData attestedCredentialData;
-    private final AuthenticationExtensionsAuthenticatorOutputs<T> extensions;
+    private AttestedCredentialData attestedCredentialData;
+    private AuthenticationExtensionsAuthenticatorOutputs<T> extensions;
+    // set while attestedCredentialData and extensions are not decoded yet, and cleared after decoding them
+    private transient volatile Decoder<T> decoder;
 
     public AuthenticatorData(@NonNull byte[] rpIdHash, byte flags, long counter,
                              @Nullable AttestedCredentialData attestedCredentialData,
@@ -92,6 +96,33 @@ public class AuthenticatorData<T extends ExtensionAuthenticatorOutput> implement
         this.extensions = new AuthenticationExtensionsAuthenticatorOutputs<>();
     }
 
+    private AuthenticatorData(@NonNull byte[] rpIdHash, byte flags, long counter, @NonNull Decoder<T> decoder) {
+        assertRpIdHash(rpIdHash);
+        AssertUtil.notNull(decoder, "decoder must not be null");
+        this.rpIdHash = rpIdHash;
+        this.flags = flags;
+        this.signCount = counter;
+        this.decoder = decoder;
+    }
+
+    /**
+     * Creates {@link AuthenticatorData} which decodes attestedCredentialData and extensions with the given {@link Decoder}
+     * when either of them is accessed for the first time. The decoded values are kept, so the decoder is called only once.
+     * Errors thrown by the decoder surface from the getters, and from {@link #equals(Object)}, {@link #hashCode()} and
+     * {@link #toString()}, which use them.
+     *
+     * @param <T>      extension type
+     * @param rpIdHash rpIdHash
+     * @param flags    flags
+     * @param counter  signCount
+     * @param decoder  decoder of attestedCredentialData and extensions
+     * @return the {@link AuthenticatorData}
+     */
+    public static <T extends ExtensionAuthenticatorOutput> @NonNull AuthenticatorData<T> createLazily(@NonNull byte[] rpIdHash, byte flags, long counter,
+                                                                                                      @NonNull Decoder<T> decoder) {
+        return new AuthenticatorData<>(rpIdHash, flags, counter, decoder);
+    }
+
     @SuppressWarnings("WeakerAccess")
     public static boolean checkFlagUP(byte flags) {
         return (flags & BIT_UP) != 0;
@@ -155,18 +186,41 @@ public class AuthenticatorData<T extends ExtensionAuthenticatorOutput> implement
     }
 
     public @Nullable AttestedCredentialData getAttestedCredentialData() {
+        decode();
         return attestedCredentialData;
     }
 
     public @Nullable AuthenticationExtensionsAuthenticatorOutputs<T> getExtensions() {
+        decode();
         return extensions;
     }
 
+    private void decode() {
+        if (decoder != null) {
+            synchronized (this) {
+                Decoder<T> current = decoder;
+                if (current != null) {
+                    attestedCredentialData = current.decodeAttestedCredentialData();
+                    extensions = current.decodeExtensions();
+                    // the volatile write publishes the decoded fields to readers checking the decoder
+                    decoder = null;
+                }
+            }
+        }
+    }
+
+    private void writeObject(@NonNull ObjectOutputStream objectOutputStream) throws IOException {
+        decode();
+        objectOutputStream.defaultWriteObject();
+    }
+
     @Override
     public boolean equals(@Nullable Object o) {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         AuthenticatorData<?> that = (AuthenticatorData<?>) o;
+        decode();
+        that.decode();
         return flags == that.flags &&
                 signCount == that.signCount &&
                 Arrays.equals(rpIdHash, that.rpIdHash) &&
@@ -176,6 +230,7 @@ public class AuthenticatorData<T extends ExtensionAuthenticatorOutput> implement
 
     @Override
     public int hashCode() {
+        decode();
         int result = Objects.hash(flags, signCount, attestedCredentialData, extensions);
         result = 31 * result + Arrays.hashCode(rpIdHash);
         return result;
@@ -183,6 +238,7 @@ public class AuthenticatorData<T extends ExtensionAuthenticatorOutput> implement
 
     @Override
     public String toString() {
+        decode();
         return "AuthenticatorData(" +
                 "rpIdHash=" + ArrayUtil.toHexString(rpIdHash) +
                 ", flags=" + String.format("%02X", flags) +
@@ -195,4 +251,16 @@ public class AuthenticatorData<T extends ExtensionAuthenticatorOutput> implement
     private void assertRpIdHash(@Nullable @NonNull byte[] rpIdHash) {
         AssertUtil.notNull(rpIdHash, "rpIdHash must not be null");
     }
+
+    /**
+     * Decodes attestedCredentialData and extensions of {@link AuthenticatorData} created by {@link #createLazily}
+     *
+     * @param <T> extension type
+     */
+    public interface Decoder<T extends ExtensionAuthenticatorOutput> {
+
+        @Nullable AttestedCredentialData decodeAttestedCredentialData();
+
+        @Nullable AuthenticationExtensionsAuthenticatorOutputs<T> decodeExtensions();
+    }
 }
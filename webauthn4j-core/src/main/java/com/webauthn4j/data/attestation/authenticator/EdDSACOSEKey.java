@@ -37,6 +37,9 @@ public class EdDSACOSEKey extends AbstractCOSEKey implements Serializable {
     @JsonProperty("-4")
     private byte[] d;
 
+    // PublicKey is immutable and derived from the key parameters, so it is safe to share across threads
+    private transient volatile PublicKey publicKey;
+
     /**
      * Constructor for key pair
      *
@@ -170,6 +173,15 @@ public class EdDSACOSEKey extends AbstractCOSEKey implements Serializable {
 
     @Override
     public @Nullable PublicKey getPublicKey() {
+        PublicKey cached = publicKey;
+        if (cached == null) {
+            cached = createPublicKey();
+            publicKey = cached;
+        }
+        return cached;
+    }
+
+    private @Nullable PublicKey createPublicKey() {
         if (!hasPublicKey()) {
             return null;
         }
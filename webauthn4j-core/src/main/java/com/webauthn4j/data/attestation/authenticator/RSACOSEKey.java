@@ -58,6 +58,9 @@ public class RSACOSEKey extends AbstractCOSEKey {
     @JsonProperty("-8")
     private byte[] qInv;
 
+    // PublicKey is immutable and derived from the key parameters, so it is safe to share across threads
+    private transient volatile PublicKey publicKey;
+
     /**
      * Constructor for key pair
      *
@@ -234,6 +237,15 @@ public class RSACOSEKey extends AbstractCOSEKey {
 
     @Override
     public @Nullable PublicKey getPublicKey() {
+        PublicKey cached = publicKey;
+        if (cached == null) {
+            cached = createPublicKey();
+            publicKey = cached;
+        }
+        return cached;
+    }
+
+    private @Nullable PublicKey createPublicKey() {
         if (!hasPublicKey()) {
             return null;
         }
@@ -38,6 +38,9 @@ public class Origin implements Serializable {
     private static final String SCHEME_HTTPS = "https";
     private static final String SCHEME_HTTP = "http";
 
+    private static final int PORT_NONE = -1;
+    private static final int PORT_INVALID = -2;
+
     private final String scheme;
     private String host;
     private final Integer port;
@@ -46,6 +49,22 @@ public class Origin implements Serializable {
 
     public Origin(@NonNull String originUrl) {
         AssertUtil.notNull(originUrl, "originUrl must not be null");
+
+        // Fast path for the common "scheme://host[:port]" form of web origins, which gives the same result as the
+        // java.net.URI based parsing below without its overhead. Anything else falls back to java.net.URI.
+        String webScheme = parseWebScheme(originUrl);
+        int hostStart = webScheme == null ? -1 : webScheme.length() + 3;
+        int hostEnd = hostStart == -1 ? -1 : scanHostname(originUrl, hostStart);
+        int explicitPort = hostEnd == -1 ? PORT_INVALID : scanPort(originUrl, hostEnd);
+        if (explicitPort != PORT_INVALID) {
+            this.scheme = webScheme;
+            this.host = toLowerCase(originUrl.substring(hostStart, hostEnd));
+            this.explicitPortNotation = explicitPort != PORT_NONE;
+            this.port = explicitPortNotation ? explicitPort : getDefaultPort(webScheme);
+            this.schemeSpecificPart = createWebSchemeSpecificPart(this.host, this.port, explicitPortNotation);
+            return;
+        }
+
         URI uri = URI.create(originUrl);
 
         //https://www.ietf.org/rfc/rfc1738.txt  section 2.1
@@ -62,24 +81,14 @@ public class Origin implements Serializable {
             int originPort = uri.getPort();
             if (originPort == -1) {
                 explicitPortNotation = false;
-                if (SCHEME_HTTPS.equals(this.scheme)) {
-                    originPort = 443;
-                }
-                else { // SCHEME_HTTP
-                    originPort = 80;
-                }
+                originPort = getDefaultPort(this.scheme);
             }
             else {
                 explicitPortNotation = true;
             }
 
-            //https://tools.ietf.org/html/rfc2396#section-3
             this.port = originPort;
-            String schemeSpecificPartStr = "//" + this.host;
-            if (explicitPortNotation) {
-                schemeSpecificPartStr += ":" + this.port;
-            }
-            this.schemeSpecificPart = schemeSpecificPartStr;
+            this.schemeSpecificPart = createWebSchemeSpecificPart(this.host, this.port, explicitPortNotation);
         }
         else {
             this.explicitPortNotation = uri.getPort() != -1;
@@ -110,6 +119,95 @@ public class Origin implements Serializable {
         return s == null ? null : s.toLowerCase();
     }
 
+    private static int getDefaultPort(@NonNull String scheme) {
+        if (SCHEME_HTTPS.equals(scheme)) {
+            return 443;
+        }
+        else { // SCHEME_HTTP
+            return 80;
+        }
+    }
+
+    private static @NonNull String createWebSchemeSpecificPart(@Nullable String host, int port, boolean explicitPortNotation) {
+        //https://tools.ietf.org/html/rfc2396#section-3
+        String schemeSpecificPart = "//" + host;
+        if (explicitPortNotation) {
+            schemeSpecificPart += ":" + port;
+        }
+        return schemeSpecificPart;
+    }
+
+    /**
+     * Returns the lower-cased scheme if the value starts with "https://" or "http://" (case insensitive), otherwise null
+     */
+    private static @Nullable String parseWebScheme(@NonNull String value) {
+        if (value.regionMatches(true, 0, "https://", 0, 8)) {
+            return SCHEME_HTTPS;
+        }
+        if (value.regionMatches(true, 0, "http://", 0, 7)) {
+            return SCHEME_HTTP;
+        }
+        return null;
+    }
+
+    /**
+     * Scans a hostname conforming to RFC 2396 section 3.2.2, which is what {@link URI} accepts as a server-based host.
+     *
+     * @return the end index of the hostname, or -1 if the hostname needs to be parsed by {@link URI}
+     */
+    private static int scanHostname(@NonNull String value, int start) {
+        int labelStart = start;
+        int index = start;
+        while (true) {
+            char c = index < value.length() ? value.charAt(index) : ':';
+            if (c == '.' || c == ':') {
+                int labelEnd = index;
+                if (labelEnd == labelStart || value.charAt(labelStart) == '-' || value.charAt(labelEnd - 1) == '-') {
+                    return -1;
+                }
+                if (c == ':') {
+                    // the rightmost label must start with an alpha character. IPv4 addresses are left to URI.
+                    return isAlpha(value.charAt(labelStart)) ? labelEnd : -1;
+                }
+                labelStart = index + 1;
+            }
+            else if (!isAlpha(c) && !(c >= '0' && c <= '9') && c != '-') {
+                return -1;
+            }
+            index++;
+        }
+    }
+
+    /**
+     * Scans an optional port notation following the host
+     *
+     * @return the port, {@link #PORT_NONE} if there is no port notation,
+     * or {@link #PORT_INVALID} if the remainder needs to be parsed by {@link URI}
+     */
+    private static int scanPort(@NonNull String value, int hostEnd) {
+        if (hostEnd == value.length()) {
+            return PORT_NONE;
+        }
+        // value.charAt(hostEnd) is ':' here
+        int digits = value.length() - hostEnd - 1;
+        if (digits < 1 || digits > 5) {
+            return PORT_INVALID;
+        }
+        int result = 0;
+        for (int i = hostEnd + 1; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return PORT_INVALID;
+            }
+            result = result * 10 + (c - '0');
+        }
+        return result;
+    }
+
+    private static boolean isAlpha(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
     public @NonNull String getScheme() {
         return scheme;
     }
@@ -27,7 +27,6 @@ import java.io.Serializable;
 import java.nio.charset.StandardCharsets;
 import java.security.InvalidKeyException;
 import java.security.PublicKey;
-import java.security.Signature;
 import java.security.SignatureException;
 import java.security.interfaces.ECPublicKey;
 
@@ -39,17 +38,22 @@ public class JWS<T extends Serializable> implements Serializable {
     private final T payload;
     private final byte[] signature;
 
-    private final String headerString;
-    private final String payloadString;
+    /**
+     * ASCII bytes of the encoded header and payload joined by a period, which is the JWS signing input.
+     */
+    private final byte[] signedData;
 
     JWS(@NonNull JWSHeader header, @NonNull String headerString, @NonNull T payload, @NonNull String payloadString, @NonNull byte[] signature) {
+        this(header, payload, (headerString + "." + payloadString).getBytes(StandardCharsets.US_ASCII), signature);
+    }
+
+    JWS(@NonNull JWSHeader header, @NonNull T payload, @NonNull byte[] signedData, @NonNull byte[] signature) {
         logger = LoggerFactory.getLogger(JWS.class);
 
         this.header = header;
         this.payload = payload;
         this.signature = signature;
-        this.headerString = headerString;
-        this.payloadString = payloadString;
+        this.signedData = signedData;
     }
 
     public @NonNull JWSHeader getHeader() {
@@ -70,15 +74,11 @@ public class JWS<T extends Serializable> implements Serializable {
      * @return true if it pass validation
      */
     public boolean isValidSignature() {
-        String signedData = headerString + "." + payloadString;
         try {
             if (header.getAlg() == null || header.getX5c() == null || header.getX5c().getCertificates().isEmpty()) {
                 return false;
             }
-            Signature signatureObj = SignatureUtil.createSignature(header.getAlg().getJcaName());
             PublicKey publicKey = header.getX5c().getCertificates().get(0).getPublicKey();
-            signatureObj.initVerify(publicKey);
-            signatureObj.update(signedData.getBytes());
             byte[] sig;
             if (publicKey instanceof ECPublicKey) {
                 sig = JWSSignatureUtil.convertJwsSignatureToDerSignature(signature);
@@ -86,7 +86,7 @@ public class JWS<T extends Serializable> implements Serializable {
             else {
                 sig = signature;
             }
-            return signatureObj.verify(sig);
+            return SignatureUtil.verify(header.getAlg().getJcaName(), publicKey, signedData, sig);
         } catch (SignatureException | InvalidKeyException e) {
             logger.debug("Signature verification failed", e);
             return false;
@@ -99,7 +99,7 @@ public class JWS<T extends Serializable> implements Serializable {
 
     @Override
     public @NonNull String toString() {
-        return headerString + "." + payloadString + "." + Base64UrlUtil.encodeToString(signature);
+        return new String(signedData, StandardCharsets.US_ASCII) + "." + Base64UrlUtil.encodeToString(signature);
     }
 
 }
@@ -23,17 +23,26 @@ import com.webauthn4j.util.Base64UrlUtil;
 import com.webauthn4j.util.SignatureUtil;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.io.Serializable;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
 import java.security.InvalidKeyException;
 import java.security.PrivateKey;
 import java.security.Signature;
 import java.security.SignatureException;
+import java.util.Arrays;
+import java.util.Base64;
 
 public class JWSFactory {
 
     private static final String HEADER_MUST_NOT_BE_NULL = "header must not be null";
     private static final String PAYLOAD_MUST_NOT_BE_NULL = "payload must not be null";
+    private static final String NOT_DIVIDED_BY_TWO_PERIOD = "JWS value is not divided by two period.";
+    private static final int BUFFER_SIZE = 8192;
 
     private final JsonConverter jsonConverter;
 
@@ -85,7 +94,7 @@ public class JWSFactory {
 
         String[] data = value.split("\\.");
         if (data.length != 3) {
-            throw new IllegalArgumentException("JWS value is not divided by two period.");
+            throw new IllegalArgumentException(NOT_DIVIDED_BY_TWO_PERIOD);
         }
         String headerString = data[0];
         String payloadString = data[1];
@@ -100,4 +109,89 @@ public class JWSFactory {
         return new JWS<>(header, headerString, payload, payloadString, signature);
     }
 
+    /**
+     * Parses a JWS compact serialization from its bytes. Unlike {@link #parse(String, Class)}, the payload is
+     * deserialized directly from the base64url encoded bytes, so that no decoded copy of a large payload is held on heap.
+     *
+     * @param value       JWS compact serialization bytes. Leading and trailing whitespaces are ignored
+     * @param payloadType payload type
+     * @param <T>         payload type
+     * @return parsed JWS
+     */
+    public <T extends Serializable> @NonNull JWS<T> parse(@NonNull byte[] value, @NonNull Class<T> payloadType) {
+        AssertUtil.notNull(value, "value must not be null");
+        AssertUtil.notNull(payloadType, "payloadType must not be null");
+
+        int start = 0;
+        int end = value.length;
+        while (start < end && Character.isWhitespace(value[start])) {
+            start++;
+        }
+        while (end > start && Character.isWhitespace(value[end - 1])) {
+            end--;
+        }
+        int firstPeriod = indexOfPeriod(value, start, end);
+        int secondPeriod = firstPeriod < 0 ? -1 : indexOfPeriod(value, firstPeriod + 1, end);
+        if (secondPeriod < 0 || indexOfPeriod(value, secondPeriod + 1, end) >= 0) {
+            throw new IllegalArgumentException(NOT_DIVIDED_BY_TWO_PERIOD);
+        }
+
+        JWSHeader header = jsonConverter.readValue(decode(value, start, firstPeriod), JWSHeader.class);
+        T payload = jsonConverter.readValue(decode(value, firstPeriod + 1, secondPeriod), payloadType);
+        byte[] signature = Base64UrlUtil.decode(Arrays.copyOfRange(value, secondPeriod + 1, end));
+
+        AssertUtil.notNull(header, HEADER_MUST_NOT_BE_NULL);
+        AssertUtil.notNull(payload, PAYLOAD_MUST_NOT_BE_NULL);
+
+        return new JWS<>(header, payload, Arrays.copyOfRange(value, start, secondPeriod), signature);
+    }
+
+    /**
+     * Parses a JWS compact serialization read from the stream. The stream is read to the end, but not closed.
+     * Line terminators are ignored, so that a JWS wrapped over several lines, e.g. in a file, can be parsed.
+     *
+     * @param inputStream stream of JWS compact serialization bytes
+     * @param payloadType payload type
+     * @param <T>         payload type
+     * @return parsed JWS
+     */
+    public <T extends Serializable> @NonNull JWS<T> parse(@NonNull InputStream inputStream, @NonNull Class<T> payloadType) {
+        AssertUtil.notNull(inputStream, "inputStream must not be null");
+        try {
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream(BUFFER_SIZE);
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int length;
+            while ((length = inputStream.read(buffer)) != -1) {
+                writeWithoutLineTerminators(outputStream, buffer, length);
+            }
+            return parse(outputStream.toByteArray(), payloadType);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeWithoutLineTerminators(@NonNull ByteArrayOutputStream outputStream, @NonNull byte[] buffer, int length) {
+        int from = 0;
+        for (int i = 0; i < length; i++) {
+            if (buffer[i] == '\r' || buffer[i] == '\n') {
+                outputStream.write(buffer, from, i - from);
+                from = i + 1;
+            }
+        }
+        outputStream.write(buffer, from, length - from);
+    }
+
+    private static int indexOfPeriod(byte[] value, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (value[i] == '.') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static InputStream decode(byte[] value, int from, int to) {
+        return Base64.getUrlDecoder().wrap(new ByteArrayInputStream(value, from, to - from));
+    }
+
 }
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.webauthn4j.metrics;
+
+import com.webauthn4j.data.attestation.statement.COSEAlgorithmIdentifier;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Receives the latency and the outcome of each stage of WebAuthn ceremonies.
+ * Implementations are called on the validating thread, so they must be thread-safe and must not block.
+ */
+public interface CeremonyObserver {
+
+    /**
+     * Called when a stage is completed
+     *
+     * @param ceremony          ceremony
+     * @param stage             completed stage
+     * @param elapsedNanos      elapsed time of the stage in nanoseconds
+     * @param failure           exception which failed the stage, or null if the stage succeeded
+     * @param attestationFormat attestation statement format, or null if not known at the stage
+     * @param algorithm         credential public key algorithm, or null if not known at the stage
+     */
+    void stageCompleted(
+            @NonNull Ceremony ceremony,
+            @NonNull CeremonyStage stage,
+            long elapsedNanos,
+            @Nullable Throwable failure,
+            @Nullable String attestationFormat,
+            @Nullable COSEAlgorithmIdentifier algorithm);
+
+    /**
+     * Returns whether the observer receives events. If false, stages are not even timed.
+     *
+     * @return true if the observer receives events
+     */
+    default boolean isEnabled() {
+        return true;
+    }
+}
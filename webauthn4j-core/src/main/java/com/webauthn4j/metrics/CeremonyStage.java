@@ -0,0 +1,48 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.webauthn4j.metrics;
+
+/**
+ * Stage of a WebAuthn ceremony reported to {@link CeremonyObserver}
+ */
+public enum CeremonyStage {
+
+    /**
+     * Decoding of client data JSON, attestation object or authenticator data, and client extensions JSON
+     */
+    PARSE,
+    /**
+     * Structural checks of the parsed data and the client data type. It may be reported more than once in a ceremony.
+     */
+    PRECONDITION,
+    CREDENTIAL_ID,
+    CHALLENGE,
+    ORIGIN,
+    TOKEN_BINDING,
+    RP_ID_HASH,
+    FLAGS,
+    ALGORITHM,
+    EXTENSIONS,
+    ATTESTATION_STATEMENT,
+    /**
+     * Trustworthiness of the attestation, including certificate path validation and metadata lookups
+     */
+    TRUSTWORTHINESS,
+    SIGNATURE,
+    COUNTER,
+    CUSTOM
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.webauthn4j.metrics;
+
+import com.webauthn4j.authenticator.CoreAuthenticator;
+import com.webauthn4j.data.attestation.authenticator.AttestedCredentialData;
+import com.webauthn4j.data.attestation.statement.AttestationStatement;
+import com.webauthn4j.data.attestation.statement.COSEAlgorithmIdentifier;
+import com.webauthn4j.util.AssertUtil;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Times the stages of a single ceremony and reports them to {@link CeremonyObserver}.
+ * Stages are contiguous: starting a stage completes the previous one. An instance is confined to the validating thread.
+ */
+public class CeremonyTimer {
+
+    private static final Logger logger = LoggerFactory.getLogger(CeremonyTimer.class);
+
+    private static final CeremonyTimer DISABLED = new CeremonyTimer(null, Ceremony.REGISTRATION);
+
+    private final @Nullable CeremonyObserver observer;
+    private final @NonNull Ceremony ceremony;
+
+    private @Nullable CeremonyStage stage;
+    private long stageStartedAt;
+    private @Nullable String attestationFormat;
+    private @Nullable COSEAlgorithmIdentifier algorithm;
+
+    private CeremonyTimer(@Nullable CeremonyObserver observer, @NonNull Ceremony ceremony) {
+        this.observer = observer;
+        this.ceremony = ceremony;
+    }
+
+    /**
+     * Starts timing a ceremony. If the observer is disabled, a shared timer which does nothing is returned.
+     *
+     * @param observer observer to report to
+     * @param ceremony ceremony
+     * @return timer
+     */
+    public static @NonNull CeremonyTimer start(@NonNull CeremonyObserver observer, @NonNull Ceremony ceremony) {
+        AssertUtil.notNull(observer, "observer must not be null");
+        AssertUtil.notNull(ceremony, "ceremony must not be null");
+        if (!observer.isEnabled()) {
+            return DISABLED;
+        }
+        return new CeremonyTimer(observer, ceremony);
+    }
+
+    /**
+     * Returns the shared timer which does nothing
+     *
+     * @return disabled timer
+     */
+    public static @NonNull CeremonyTimer disabled() {
+        return DISABLED;
+    }
+
+    /**
+     * Returns whether this timer reports to an observer. Callers should check it before computing values only passed to
+     * the timer, as a disabled timer ignores them.
+     *
+     * @return false if this timer does nothing
+     */
+    public boolean isEnabled() {
+        return observer != null;
+    }
+
+    /**
+     * Completes the current stage if exists, and starts the next stage
+     *
+     * @param next stage to start
+     */
+    public void stage(@NonNull CeremonyStage next) {
+        if (observer == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (stage != null) {
+            report(stage, now - stageStartedAt, null);
+        }
+        stage = next;
+        stageStartedAt = now;
+    }
+
+    /**
+     * Completes the current stage as succeeded
+     */
+    public void complete() {
+        if (observer == null || stage == null) {
+            return;
+        }
+        report(stage, System.nanoTime() - stageStartedAt, null);
+        stage = null;
+    }
+
+    /**
+     * Completes the current stage as failed
+     *
+     * @param failure exception which failed the stage
+     */
+    public void fail(@NonNull Throwable failure) {
+        if (observer == null || stage == null) {
+            return;
+        }
+        report(stage, System.nanoTime() - stageStartedAt, failure);
+        stage = null;
+    }
+
+    public void setAttestationFormat(@Nullable String attestationFormat) {
+        if (observer == null) {
+            return;
+        }
+        this.attestationFormat = attestationFormat;
+    }
+
+    public void setAlgorithm(@Nullable COSEAlgorithmIdentifier algorithm) {
+        if (observer == null) {
+            return;
+        }
+        this.algorithm = algorithm;
+    }
+
+    /**
+     * Sets the attestation format and the algorithm of the authenticator used in the ceremony
+     *
+     * @param authenticator authenticator
+     */
+    public void setAuthenticator(@Nullable CoreAuthenticator authenticator) {
+        if (observer == null || authenticator == null) {
+            return;
+        }
+        AttestationStatement attestationStatement = authenticator.getAttestationStatement();
+        this.attestationFormat = attestationStatement == null ? null : attestationStatement.getFormat();
+        AttestedCredentialData attestedCredentialData = authenticator.getAttestedCredentialData();
+        //noinspection ConstantConditions as it may be null if the authenticator is not validated yet
+        this.algorithm = attestedCredentialData == null ? null : attestedCredentialData.getCOSEKey().getAlgorithm();
+    }
+
+    private void report(@NonNull CeremonyStage completedStage, long elapsedNanos, @Nullable Throwable failure) {
+        try {
+            //noinspection ConstantConditions as null check is done in caller
+            observer.stageCompleted(ceremony, completedStage, elapsedNanos, failure, attestationFormat, algorithm);
+        } catch (RuntimeException e) {
+            // instrumentation must not fail the ceremony
+            logger.warn("CeremonyObserver threw an exception", e);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.webauthn4j.metrics;
+
+import com.webauthn4j.data.attestation.statement.COSEAlgorithmIdentifier;
+import com.webauthn4j.util.AssertUtil;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * {@link CeremonyObserver} which records stage latencies into {@link LatencyHistogram}s, broken down by ceremony,
+ * stage, outcome, attestation format and algorithm.
+ * <p>
+ * As the algorithm is chosen by the client, the number of histograms is bounded. Once the bound is reached, new
+ * breakdowns are recorded without the attestation format and algorithm.
+ */
+public class HistogramCeremonyObserver implements CeremonyObserver {
+
+    public static final int DEFAULT_MAX_HISTOGRAMS = 1024;
+
+    private final ConcurrentMap<Key, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+    private final int maxHistograms;
+
+    public HistogramCeremonyObserver(int maxHistograms) {
+        AssertUtil.isTrue(maxHistograms > 0, "maxHistograms must be positive");
+        this.maxHistograms = maxHistograms;
+    }
+
+    public HistogramCeremonyObserver() {
+        this(DEFAULT_MAX_HISTOGRAMS);
+    }
+
+    @Override
+    public void stageCompleted(
+            @NonNull Ceremony ceremony,
+            @NonNull CeremonyStage stage,
+            long elapsedNanos,
+            @Nullable Throwable failure,
+            @Nullable String attestationFormat,
+            @Nullable COSEAlgorithmIdentifier algorithm) {
+        Key key = new Key(ceremony, stage, failure == null, attestationFormat, algorithm);
+        LatencyHistogram histogram = histograms.get(key);
+        if (histogram == null) {
+            if (histograms.size() >= maxHistograms) {
+                key = new Key(ceremony, stage, failure == null, null, null);
+            }
+            histogram = histograms.computeIfAbsent(key, k -> new LatencyHistogram());
+        }
+        histogram.record(elapsedNanos);
+    }
+
+    /**
+     * Returns the histogram of the breakdown
+     *
+     * @param ceremony          ceremony
+     * @param stage             stage
+     * @param succeeded         true for succeeded stages, false for failed stages
+     * @param attestationFormat attestation statement format
+     * @param algorithm         credential public key algorithm
+     * @return histogram, or null if nothing is recorded for the breakdown
+     */
+    public @Nullable LatencyHistogram getHistogram(
+            @NonNull Ceremony ceremony,
+            @NonNull CeremonyStage stage,
+            boolean succeeded,
+            @Nullable String attestationFormat,
+            @Nullable COSEAlgorithmIdentifier algorithm) {
+        return histograms.get(new Key(ceremony, stage, succeeded, attestationFormat, algorithm));
+    }
+
+    /**
+     * Returns all histograms, keyed by breakdown
+     *
+     * @return unmodifiable live view of the histograms
+     */
+    public @NonNull Map<Key, LatencyHistogram> getHistograms() {
+        return Collections.unmodifiableMap(histograms);
+    }
+
+    /**
+     * Breakdown of the recorded stages
+     */
+    public static class Key {
+
+        private final Ceremony ceremony;
+        private final CeremonyStage stage;
+        private final boolean succeeded;
+        private final String attestationFormat;
+        private final COSEAlgorithmIdentifier algorithm;
+
+        Key(@NonNull Ceremony ceremony, @NonNull CeremonyStage stage, boolean succeeded, @Nullable String attestationFormat, @Nullable COSEAlgorithmIdentifier algorithm) {
+            this.ceremony = ceremony;
+            this.stage = stage;
+            this.succeeded = succeeded;
+            this.attestationFormat = attestationFormat;
+            this.algorithm = algorithm;
+        }
+
+        public @NonNull Ceremony getCeremony() {
+            return ceremony;
+        }
+
+        public @NonNull CeremonyStage getStage() {
+            return stage;
+        }
+
+        public boolean isSucceeded() {
+            return succeeded;
+        }
+
+        public @Nullable String getAttestationFormat() {
+            return attestationFormat;
+        }
+
+        public @Nullable COSEAlgorithmIdentifier getAlgorithm() {
+            return algorithm;
+        }
+
+        @Override
+        public boolean equals(@Nullable Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key key = (Key) o;
+            return succeeded == key.succeeded &&
+                    ceremony == key.ceremony &&
+                    stage == key.stage &&
+                    Objects.equals(attestationFormat, key.attestationFormat) &&
+                    Objects.equals(algorithm, key.algorithm);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(ceremony, stage, succeeded, attestationFormat, algorithm);
+        }
+
+        @Override
+        public String toString() {
+            return "Key(" +
+                    "ceremony=" + ceremony +
+                    ", stage=" + stage +
+                    ", succeeded=" + succeeded +
+                    ", attestationFormat=" + attestationFormat +
+                    ", algorithm=" + algorithm +
+                    ')';
+        }
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.webauthn4j.metrics;
+
+import com.webauthn4j.data.attestation.statement.COSEAlgorithmIdentifier;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * {@link CeremonyObserver} which observes nothing. It is the default, and costs no clock reads.
+ */
+public class NullCeremonyObserver implements CeremonyObserver {
+
+    @Override
+    public void stageCompleted(
+            @NonNull Ceremony ceremony,
+            @NonNull CeremonyStage stage,
+            long elapsedNanos,
+            @Nullable Throwable failure,
+            @Nullable String attestationFormat,
+            @Nullable COSEAlgorithmIdentifier algorithm) {
+        // nop
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return false;
+    }
+}
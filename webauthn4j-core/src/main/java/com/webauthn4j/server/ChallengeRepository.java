@@ -0,0 +1,61 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.webauthn4j.server;
+
+import com.webauthn4j.data.client.challenge.Challenge;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Stores challenges issued by the relying party until they are used by a WebAuthn ceremony.
+ * <p>
+ * A challenge can be consumed only once, so that a replayed response cannot be validated against the same challenge.
+ * Challenges are not bound to a user or session: any stored challenge is accepted, whichever ceremony it was issued for.
+ * Relying parties that need that binding should keep the issued challenge in the session and set it to the
+ * {@link ServerProperty} as well.
+ */
+public interface ChallengeRepository {
+
+    /**
+     * Generates a new challenge and stores it
+     *
+     * @return issued challenge
+     */
+    @NonNull Challenge issue();
+
+    /**
+     * Stores a challenge generated by the caller
+     *
+     * @param challenge challenge to store
+     */
+    void save(@NonNull Challenge challenge);
+
+    /**
+     * Checks whether the challenge is stored and has not expired, without removing it
+     *
+     * @param challenge challenge to look up
+     * @return true if the challenge was stored and has not expired. false if it was not issued, already consumed or expired
+     */
+    boolean contains(@NonNull Challenge challenge);
+
+    /**
+     * Atomically removes the challenge
+     *
+     * @param challenge challenge to consume
+     * @return true if the challenge was stored and has not expired. false if it was not issued, already consumed or expired
+     */
+    boolean consume(@NonNull Challenge challenge);
+}
@@ -17,17 +17,21 @@
 package com.webauthn4j.server;
 
 import com.webauthn4j.data.client.challenge.Challenge;
+import com.webauthn4j.util.ArrayUtil;
 import com.webauthn4j.util.AssertUtil;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.io.Serializable;
+import java.util.Arrays;
 import java.util.Objects;
 
 public class CoreServerProperty implements Serializable {
 
     private final String rpId;
     private final Challenge challenge;
+    // derived from rpId, so it is excluded from equals/hashCode and recalculated after deserialization
+    private transient volatile byte[] rpIdHash;
 
     public CoreServerProperty(@NonNull String rpId, @Nullable Challenge challenge) {
         AssertUtil.notNull(rpId, "rpId must not be null");
@@ -35,6 +39,38 @@ public class CoreServerProperty implements Serializable {
         this.challenge = challenge;
     }
 
+    /**
+     * Constructs {@link CoreServerProperty} reusing the rpId and rpIdHash precomputed in {@link RelyingPartyContext}
+     *
+     * @param relyingPartyContext relying party context
+     * @param challenge           challenge
+     */
+    public CoreServerProperty(@NonNull RelyingPartyContext relyingPartyContext, @Nullable Challenge challenge) {
+        this(getRpId(relyingPartyContext), challenge);
+        this.rpIdHash = relyingPartyContext.getRpIdHashWithoutCopy();
+    }
+
+    /**
+     * Constructs {@link CoreServerProperty} with the rpId and the cached rpIdHash of another instance and the given challenge
+     *
+     * @param source    the instance to copy the rpId from
+     * @param challenge challenge
+     */
+    protected CoreServerProperty(@NonNull CoreServerProperty source, @Nullable Challenge challenge) {
+        this(getRpId(source), challenge);
+        this.rpIdHash = source.getRpIdHashWithoutCopy();
+    }
+
+    private static @NonNull String getRpId(@NonNull CoreServerProperty source) {
+        AssertUtil.notNull(source, "source must not be null");
+        return source.getRpId();
+    }
+
+    private static @NonNull String getRpId(@NonNull RelyingPartyContext relyingPartyContext) {
+        AssertUtil.notNull(relyingPartyContext, "relyingPartyContext must not be null");
+        return relyingPartyContext.getRpId();
+    }
+
     /**
      * Returns the rpId
      *
@@ -44,6 +80,62 @@ public class CoreServerProperty implements Serializable {
         return rpId;
     }
 
+    /**
+     * Returns SHA-256 hash of the rpId. It is calculated on first access and cached.
+     *
+     * @return the rpIdHash
+     */
+    public @NonNull byte[] getRpIdHash() {
+        return ArrayUtil.clone(getRpIdHashWithoutCopy());
+    }
+
+    /**
+     * Returns whether the given rpIdHash equals the SHA-256 hash of the rpId. The cached rpIdHash is compared without copying.
+     *
+     * @param rpIdHash rpIdHash to compare
+     * @return true if the given rpIdHash matches
+     */
+    public boolean matchesRpIdHash(@Nullable byte[] rpIdHash) {
+        return Arrays.equals(getRpIdHashWithoutCopy(), rpIdHash);
+    }
+
+    /**
+     * Returns whether the rpIdHash at the offset of the given array, e.g. authenticator data, equals the SHA-256 hash of
+     * the rpId. Neither the cached rpIdHash nor the given array is copied.
+     *
+     * @param value  array holding the rpIdHash
+     * @param offset offset of the rpIdHash in the array
+     * @return true if the rpIdHash matches. false if it doesn't, or if the array is too short
+     */
+    public boolean matchesRpIdHash(@NonNull byte[] value, int offset) {
+        AssertUtil.notNull(value, "value must not be null");
+        byte[] hash = getRpIdHashWithoutCopy();
+        if (offset < 0 || value.length - offset < hash.length) {
+            return false;
+        }
+        for (int i = 0; i < hash.length; i++) {
+            if (value[offset + i] != hash[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the cached rpIdHash without defensive copy. Callers must not modify the returned array.
+     *
+     * @return the rpIdHash
+     */
+    @NonNull byte[] getRpIdHashWithoutCopy() {
+        byte[] hash = rpIdHash;
+        if (hash == null) {
+            // benign race: concurrent callers calculate the same value
+            hash = RelyingPartyContext.calculateRpIdHash(rpId);
+            rpIdHash = hash;
+        }
+        return hash;
+    }
+
     /**
      * Returns the {@link Challenge}
      *
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.webauthn4j.server;
+
+import com.webauthn4j.data.client.challenge.Challenge;
+import com.webauthn4j.data.client.challenge.DefaultChallenge;
+import com.webauthn4j.util.AssertUtil;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.nio.ByteBuffer;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * In-memory {@link ChallengeRepository}.
+ * <p>
+ * Challenges are spread over lock stripes to keep contention low. As every challenge lives for the same time to live,
+ * each stripe keeps its challenges in issue order, which is also expiry order: expired challenges are evicted from the
+ * head of the stripe as new ones are issued, and when a stripe is full its oldest challenge is evicted. Issue and consume
+ * are O(1), and memory is bounded by the maximum size.
+ */
+public class InMemoryChallengeRepository implements ChallengeRepository {
+
+    // ~ Instance fields
+    // ================================================================================================
+
+    public static final Duration DEFAULT_TIME_TO_LIVE = Duration.ofMinutes(5);
+    public static final int DEFAULT_MAX_SIZE = 1_000_000;
+    private static final int STRIPE_COUNT = 64;
+
+    private final long timeToLiveMillis;
+    private final Clock clock;
+    private final Stripe[] stripes;
+
+    // ~ Constructor
+    // ========================================================================================================
+
+    public InMemoryChallengeRepository(@NonNull Duration timeToLive, int maxSize, @NonNull Clock clock) {
+        AssertUtil.notNull(timeToLive, "timeToLive must not be null");
+        AssertUtil.isTrue(!timeToLive.isNegative() && !timeToLive.isZero(), "timeToLive must be positive");
+        AssertUtil.isTrue(maxSize > 0, "maxSize must be positive");
+        AssertUtil.notNull(clock, "clock must not be null");
+        this.timeToLiveMillis = timeToLive.toMillis();
+        this.clock = clock;
+        int stripeMaxSize = Math.max(1, maxSize / STRIPE_COUNT);
+        this.stripes = new Stripe[STRIPE_COUNT];
+        for (int i = 0; i < STRIPE_COUNT; i++) {
+            stripes[i] = new Stripe(stripeMaxSize);
+        }
+    }
+
+    public InMemoryChallengeRepository(@NonNull Duration timeToLive, int maxSize) {
+        this(timeToLive, maxSize, Clock.systemUTC());
+    }
+
+    public InMemoryChallengeRepository() {
+        this(DEFAULT_TIME_TO_LIVE, DEFAULT_MAX_SIZE);
+    }
+
+    // ~ Methods
+    // ========================================================================================================
+
+    @Override
+    public @NonNull Challenge issue() {
+        Challenge challenge = new DefaultChallenge();
+        save(challenge);
+        return challenge;
+    }
+
+    @Override
+    public void save(@NonNull Challenge challenge) {
+        AssertUtil.notNull(challenge, "challenge must not be null");
+        ByteBuffer key = ByteBuffer.wrap(challenge.getValue());
+        long now = clock.millis();
+        Stripe stripe = stripeFor(key);
+        synchronized (stripe) {
+            stripe.evictExpired(now);
+            // re-insert so that the entry moves to the tail, keeping the stripe in expiry order
+            stripe.entries.remove(key);
+            stripe.entries.put(key, now + timeToLiveMillis);
+        }
+    }
+
+    @Override
+    public boolean contains(@NonNull Challenge challenge) {
+        AssertUtil.notNull(challenge, "challenge must not be null");
+        ByteBuffer key = ByteBuffer.wrap(challenge.getValue());
+        long now = clock.millis();
+        Stripe stripe = stripeFor(key);
+        Long expiresAt;
+        synchronized (stripe) {
+            expiresAt = stripe.entries.get(key);
+        }
+        return expiresAt != null && now < expiresAt;
+    }
+
+    @Override
+    public boolean consume(@NonNull Challenge challenge) {
+        AssertUtil.notNull(challenge, "challenge must not be null");
+        ByteBuffer key = ByteBuffer.wrap(challenge.getValue());
+        long now = clock.millis();
+        Stripe stripe = stripeFor(key);
+        Long expiresAt;
+        synchronized (stripe) {
+            expiresAt = stripe.entries.remove(key);
+        }
+        return expiresAt != null && now < expiresAt;
+    }
+
+    /**
+     * Returns the number of stored challenges, including expired ones not evicted yet
+     *
+     * @return the number of stored challenges
+     */
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.entries.size();
+            }
+        }
+        return size;
+    }
+
+    private @NonNull Stripe stripeFor(@NonNull ByteBuffer key) {
+        int hash = key.hashCode();
+        hash ^= (hash >>> 16);
+        return stripes[hash & (STRIPE_COUNT - 1)];
+    }
+
+    private static class Stripe {
+
+        private final Map<ByteBuffer, Long> entries;
+
+        Stripe(int maxSize) {
+            this.entries = new LinkedHashMap<ByteBuffer, Long>(16, 0.75f, false) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<ByteBuffer, Long> eldest) {
+                    return size() > maxSize;
+                }
+            };
+        }
+
+        void evictExpired(long now) {
+            Iterator<Long> iterator = entries.values().iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next() > now) {
+                    break;
+                }
+                iterator.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.webauthn4j.server;
+
+import com.webauthn4j.data.client.Origin;
+import com.webauthn4j.util.AssertUtil;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Precompiled set of origin patterns, which is built once and shared across requests.
+ * <p>
+ * A pattern is either an exact origin like "https://example.com", "android:apk-key-hash:..." or "ios:bundle-id:...",
+ * or a wildcard web origin like "https://*.example.com" or "https://*.example.com:8443". A wildcard matches any
+ * subdomain of the suffix with the same scheme and port, but not the suffix itself.
+ * Exact origins are looked up by hash, and wildcard origins cost one hash lookup per label of the client origin host,
+ * regardless of the number of patterns.
+ */
+public class OriginMatcher implements Serializable {
+
+    // ~ Instance fields
+    // ================================================================================================
+
+    private static final String WILDCARD_PREFIX = "*.";
+    private static final String SCHEME_SEPARATOR = "://";
+
+    private final Set<String> patterns;
+    private final Set<Origin> origins;
+    // host suffix -> "scheme:port" the wildcard patterns are defined for
+    private final Map<String, Set<String>> wildcardSuffixes;
+
+    // ~ Constructor
+    // ========================================================================================================
+
+    /**
+     * @param patterns origin patterns
+     */
+    public OriginMatcher(@NonNull Collection<String> patterns) {
+        AssertUtil.notNull(patterns, "patterns must not be null");
+        Set<String> patternSet = new LinkedHashSet<>();
+        Set<Origin> originSet = new HashSet<>();
+        Map<String, Set<String>> wildcardMap = new HashMap<>();
+        for (String pattern : patterns) {
+            AssertUtil.notNull(pattern, "patterns must not contain null");
+            patternSet.add(pattern);
+            int wildcardIndex = pattern.indexOf('*');
+            if (wildcardIndex == -1) {
+                originSet.add(new Origin(pattern));
+            }
+            else {
+                Origin suffix = parseWildcardPattern(pattern, wildcardIndex);
+                wildcardMap.computeIfAbsent(suffix.getHost(), key -> new HashSet<>()).add(getSchemePort(suffix));
+            }
+        }
+        this.patterns = Collections.unmodifiableSet(patternSet);
+        this.origins = Collections.unmodifiableSet(originSet);
+        this.wildcardSuffixes = wildcardMap;
+    }
+
+    /**
+     * @param patterns origin patterns
+     */
+    public OriginMatcher(@NonNull String... patterns) {
+        this(Arrays.asList(validatePatterns(patterns)));
+    }
+
+    // ~ Methods
+    // ========================================================================================================
+
+    private static @NonNull String[] validatePatterns(@NonNull String[] patterns) {
+        AssertUtil.notNull(patterns, "patterns must not be null");
+        return patterns;
+    }
+
+    private static @NonNull Origin parseWildcardPattern(@NonNull String pattern, int wildcardIndex) {
+        int schemeEnd = pattern.indexOf(SCHEME_SEPARATOR);
+        if (schemeEnd == -1 || wildcardIndex != schemeEnd + SCHEME_SEPARATOR.length()
+                || !pattern.startsWith(WILDCARD_PREFIX, wildcardIndex) || pattern.indexOf('*', wildcardIndex + 1) != -1) {
+            throw new IllegalArgumentException("wildcard is only allowed as the leftmost label of the host: '" + pattern + "'");
+        }
+        Origin suffix = new Origin(pattern.substring(0, wildcardIndex) + pattern.substring(wildcardIndex + WILDCARD_PREFIX.length()));
+        if (suffix.getHost() == null || suffix.getPort() == null) {
+            throw new IllegalArgumentException("wildcard is only allowed for http or https origins: '" + pattern + "'");
+        }
+        return suffix;
+    }
+
+    private static @NonNull String getSchemePort(@NonNull Origin origin) {
+        return origin.getScheme() + ":" + origin.getPort();
+    }
+
+    /**
+     * Checks whether the origin matches any of the patterns
+     *
+     * @param origin origin
+     * @return true if the origin matches
+     */
+    public boolean matches(@Nullable Origin origin) {
+        if (origin == null) {
+            return false;
+        }
+        if (origins.contains(origin)) {
+            return true;
+        }
+        String host = origin.getHost();
+        if (wildcardSuffixes.isEmpty() || host == null || origin.getPort() == null) {
+            return false;
+        }
+        String schemePort = null;
+        for (int index = host.indexOf('.'); index != -1; index = host.indexOf('.', index + 1)) {
+            Set<String> schemePorts = wildcardSuffixes.get(host.substring(index + 1));
+            if (schemePorts != null) {
+                if (schemePort == null) {
+                    schemePort = getSchemePort(origin);
+                }
+                if (schemePorts.contains(schemePort)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the patterns
+     *
+     * @return the patterns
+     */
+    public @NonNull Set<String> getPatterns() {
+        return patterns;
+    }
+
+    /**
+     * Returns the exact (non-wildcard) origins
+     *
+     * @return the exact origins
+     */
+    public @NonNull Set<Origin> getOrigins() {
+        return origins;
+    }
+
+    @Override
+    public boolean equals(@Nullable Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        OriginMatcher that = (OriginMatcher) o;
+        return origins.equals(that.origins) &&
+                wildcardSuffixes.equals(that.wildcardSuffixes);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * origins.hashCode() + wildcardSuffixes.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "OriginMatcher(" +
+                "patterns=" + patterns +
+                ')';
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.webauthn4j.server;
+
+import com.webauthn4j.data.client.Origin;
+import com.webauthn4j.util.ArrayUtil;
+import com.webauthn4j.util.AssertUtil;
+import com.webauthn4j.util.MessageDigestUtil;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Relying party settings which don't change between ceremonies.
+ * <p>
+ * As rpIdHash is calculated at construction, build an instance once at startup and share it across requests,
+ * then create a {@link ServerProperty} per ceremony with only the challenge.
+ */
+public class RelyingPartyContext implements Serializable {
+
+    // ~ Instance fields
+    // ================================================================================================
+
+    private final String rpId;
+    private final byte[] rpIdHash;
+    private final Set<Origin> origins;
+    private final OriginMatcher originMatcher;
+
+    // ~ Constructor
+    // ========================================================================================================
+
+    /**
+     * @param rpId    rpId
+     * @param origins origins, which are copied so that later changes to the given set don't affect this context
+     */
+    public RelyingPartyContext(@NonNull String rpId, @NonNull Set<Origin> origins) {
+        AssertUtil.notNull(rpId, "rpId must not be null");
+        AssertUtil.notNull(origins, "origins must not be null");
+        this.rpId = rpId;
+        this.rpIdHash = calculateRpIdHash(rpId);
+        this.origins = Collections.unmodifiableSet(new HashSet<>(origins));
+        this.originMatcher = null;
+    }
+
+    /**
+     * Constructs {@link RelyingPartyContext} accepting origins which match the {@link OriginMatcher}.
+     * The exact origins of the originMatcher are also exposed as origins.
+     *
+     * @param rpId          rpId
+     * @param originMatcher origin matcher
+     */
+    public RelyingPartyContext(@NonNull String rpId, @NonNull OriginMatcher originMatcher) {
+        AssertUtil.notNull(rpId, "rpId must not be null");
+        AssertUtil.notNull(originMatcher, "originMatcher must not be null");
+        this.rpId = rpId;
+        this.rpIdHash = calculateRpIdHash(rpId);
+        this.origins = originMatcher.getOrigins();
+        this.originMatcher = originMatcher;
+    }
+
+    /**
+     * @param rpId   rpId
+     * @param origin origin
+     */
+    public RelyingPartyContext(@NonNull String rpId, @NonNull Origin origin) {
+        this(rpId, Collections.singleton(validateOrigin(origin)));
+    }
+
+    /**
+     * @param rpId rpId
+     */
+    public RelyingPartyContext(@NonNull String rpId) {
+        this(rpId, Collections.emptySet());
+    }
+
+    // ~ Methods
+    // ========================================================================================================
+
+    static @NonNull byte[] calculateRpIdHash(@NonNull String rpId) {
+        return MessageDigestUtil.digestSHA256(rpId.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static @NonNull Origin validateOrigin(@NonNull Origin origin) {
+        AssertUtil.notNull(origin, "origin must not be null");
+        return origin;
+    }
+
+    /**
+     * Returns the rpId
+     *
+     * @return the rpId
+     */
+    public @NonNull String getRpId() {
+        return rpId;
+    }
+
+    /**
+     * Returns SHA-256 hash of the rpId
+     *
+     * @return the rpIdHash
+     */
+    public @NonNull byte[] getRpIdHash() {
+        return ArrayUtil.clone(rpIdHash);
+    }
+
+    @NonNull byte[] getRpIdHashWithoutCopy() {
+        return rpIdHash;
+    }
+
+    public @NonNull Set<Origin> getOrigins() {
+        return origins;
+    }
+
+    /**
+     * Returns the origin matcher
+     *
+     * @return the origin matcher, or null if only origins are accepted
+     */
+    public @Nullable OriginMatcher getOriginMatcher() {
+        return originMatcher;
+    }
+
+    @Override
+    public boolean equals(@Nullable Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        RelyingPartyContext that = (RelyingPartyContext) o;
+        return Objects.equals(rpId, that.rpId) &&
+                Objects.equals(origins, that.origins) &&
+                Objects.equals(originMatcher, that.originMatcher);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(rpId, origins, originMatcher);
+    }
+
+    @Override
+    public String toString() {
+        return "RelyingPartyContext(" +
+                "rpId=" + rpId +
+                ", origins=" + origins +
+                ", originMatcher=" + originMatcher +
+                ')';
+    }
+}
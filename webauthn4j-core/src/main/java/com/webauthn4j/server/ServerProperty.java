@@ -37,6 +37,7 @@ public class ServerProperty extends CoreServerProperty {
     // ================================================================================================
 
     private final Set<Origin> origins;
+    private final OriginMatcher originMatcher;
     private final byte[] tokenBindingId;
 
     // ~ Constructor
@@ -52,6 +53,7 @@ public class ServerProperty extends CoreServerProperty {
         super(rpId, challenge);
         AssertUtil.notNull(origin, "origin must not be null");
         this.origins = Collections.singleton(origin);
+        this.originMatcher = null;
         this.tokenBindingId = tokenBindingId;
     }
 
@@ -65,16 +67,72 @@ public class ServerProperty extends CoreServerProperty {
         super(rpId, challenge);
         AssertUtil.notNull(origins, "origins must not be null");
         this.origins = Collections.unmodifiableSet(origins);
+        this.originMatcher = null;
         this.tokenBindingId = tokenBindingId;
     }
 
+    /**
+     * @param originMatcher  origin matcher
+     * @param rpId           rpId
+     * @param challenge      challenge
+     * @param tokenBindingId tokenBindingId
+     */
+    public ServerProperty(@NonNull OriginMatcher originMatcher, @NonNull String rpId, @Nullable Challenge challenge, @Nullable byte[] tokenBindingId) {
+        super(rpId, challenge);
+        AssertUtil.notNull(originMatcher, "originMatcher must not be null");
+        this.origins = originMatcher.getOrigins();
+        this.originMatcher = originMatcher;
+        this.tokenBindingId = tokenBindingId;
+    }
+
+    /**
+     * Constructs {@link ServerProperty} reusing the rpId, rpIdHash and origins held by a shared {@link RelyingPartyContext}
+     *
+     * @param relyingPartyContext relying party context
+     * @param challenge           challenge
+     * @param tokenBindingId      tokenBindingId
+     */
+    public ServerProperty(@NonNull RelyingPartyContext relyingPartyContext, @Nullable Challenge challenge, @Nullable byte[] tokenBindingId) {
+        super(relyingPartyContext, challenge);
+        this.origins = relyingPartyContext.getOrigins();
+        this.originMatcher = relyingPartyContext.getOriginMatcher();
+        this.tokenBindingId = tokenBindingId;
+    }
+
+    private ServerProperty(@NonNull ServerProperty source, @Nullable Challenge challenge) {
+        super(source, challenge);
+        this.origins = source.origins;
+        this.originMatcher = source.originMatcher;
+        this.tokenBindingId = source.tokenBindingId;
+    }
+
     // ~ Methods
     // ========================================================================================================
 
+    /**
+     * Returns a {@link ServerProperty} with the same settings and the given challenge.
+     * The rpIdHash is shared with this instance rather than calculated again.
+     *
+     * @param challenge challenge
+     * @return the {@link ServerProperty} with the given challenge
+     */
+    public @NonNull ServerProperty withChallenge(@Nullable Challenge challenge) {
+        return new ServerProperty(this, challenge);
+    }
+
     public @NonNull Set<Origin> getOrigins() {
         return this.origins;
     }
 
+    /**
+     * Returns the origin matcher, which accepts origins in addition to the origins
+     *
+     * @return the origin matcher, or null if only origins are accepted
+     */
+    public @Nullable OriginMatcher getOriginMatcher() {
+        return originMatcher;
+    }
+
     /**
      * Returns the tokenBindingId
      *
@@ -92,12 +150,13 @@ public class ServerProperty extends CoreServerProperty {
         ServerProperty that = (ServerProperty) o;
 
         return Objects.equals(origins, that.origins) &&
+                Objects.equals(originMatcher, that.originMatcher) &&
                 Arrays.equals(tokenBindingId, that.tokenBindingId);
     }
 
     @Override
     public int hashCode() {
-        int result = Objects.hash(super.hashCode(), origins);
+        int result = Objects.hash(super.hashCode(), origins, originMatcher);
         result = 31 * result + Arrays.hashCode(tokenBindingId);
         return result;
     }
@@ -108,6 +167,7 @@ public class ServerProperty extends CoreServerProperty {
                 "rpId=" + getRpId() +
                 ", challenge=" + getChallenge() +
                 "origins=" + origins +
+                ", originMatcher=" + originMatcher +
                 ", tokenBindingId=" + ArrayUtil.toHexString(tokenBindingId) +
                 '}';
     }
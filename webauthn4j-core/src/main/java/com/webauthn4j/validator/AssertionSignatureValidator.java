@@ -21,8 +21,10 @@ import com.webauthn4j.data.CoreAuthenticationData;
 import com.webauthn4j.data.SignatureAlgorithm;
 import com.webauthn4j.data.attestation.authenticator.COSEKey;
 import com.webauthn4j.util.AssertUtil;
+import com.webauthn4j.util.SignatureUtil;
 import com.webauthn4j.validator.exception.BadSignatureException;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -40,12 +42,23 @@ public class AssertionSignatureValidator {
     // ========================================================================================================
 
     public void validate(@NonNull CoreAuthenticationData authenticationData, @NonNull COSEKey coseKey) {
+        validate(authenticationData, coseKey, null);
+    }
+
+    /**
+     * Validates the assertion signature, looking up the decoded public key from {@link CredentialPublicKeyCache} if specified
+     *
+     * @param authenticationData       authentication data
+     * @param coseKey                  credential public key
+     * @param credentialPublicKeyCache cache of decoded public keys. If null, the public key is derived from coseKey.
+     */
+    public void validate(@NonNull CoreAuthenticationData authenticationData, @NonNull COSEKey coseKey, @Nullable CredentialPublicKeyCache credentialPublicKeyCache) {
         AssertUtil.notNull(authenticationData, "authenticationData must not be null");
         AssertUtil.notNull(coseKey, "coseKey must not be null");
 
         byte[] signedData = getSignedData(authenticationData);
         byte[] signature = authenticationData.getSignature();
-        if (!verifySignature(coseKey, signature, signedData)) {
+        if (!verifySignature(authenticationData.getCredentialId(), coseKey, credentialPublicKeyCache, signature, signedData)) {
             throw new BadSignatureException("Assertion signature is not valid.");
         }
     }
@@ -56,20 +69,17 @@ public class AssertionSignatureValidator {
         return ByteBuffer.allocate(rawAuthenticatorData.length + clientDataHash.length).put(rawAuthenticatorData).put(clientDataHash).array();
     }
 
-    private boolean verifySignature(@NonNull COSEKey coseKey, @NonNull byte[] signature, @NonNull byte[] data) {
+    private boolean verifySignature(@NonNull byte[] credentialId, @NonNull COSEKey coseKey, @Nullable CredentialPublicKeyCache credentialPublicKeyCache, @NonNull byte[] signature, @NonNull byte[] data) {
         try {
-            PublicKey publicKey = coseKey.getPublicKey();
+            PublicKey publicKey = credentialPublicKeyCache == null ? coseKey.getPublicKey() : credentialPublicKeyCache.getPublicKey(credentialId, coseKey);
             //noinspection ConstantConditions as null check is already done in caller
             SignatureAlgorithm signatureAlgorithm = coseKey.getAlgorithm().toSignatureAlgorithm();
             String jcaName = signatureAlgorithm.getJcaName();
-            Signature verifier = Signature.getInstance(jcaName);
-            verifier.initVerify(publicKey);
-            verifier.update(data);
-            return verifier.verify(signature);
+            return SignatureUtil.verify(jcaName, publicKey, data, signature);
         } catch (IllegalArgumentException e) {
             logger.debug("COSE key alg must be signature algorithm.", e);
             return false;
-        } catch (NoSuchAlgorithmException | SignatureException | InvalidKeyException | RuntimeException e) {
+        } catch (SignatureException | InvalidKeyException | RuntimeException e) {
             logger.debug("Unexpected exception is thrown during signature verification.", e);
             return false;
         }
@@ -22,6 +22,8 @@ import com.webauthn4j.data.attestation.statement.AttestationStatement;
 import com.webauthn4j.data.attestation.statement.AttestationType;
 import com.webauthn4j.data.attestation.statement.CertificateBaseAttestationStatement;
 import com.webauthn4j.data.attestation.statement.FIDOU2FAttestationStatement;
+import com.webauthn4j.metrics.CeremonyStage;
+import com.webauthn4j.metrics.CeremonyTimer;
 import com.webauthn4j.util.AssertUtil;
 import com.webauthn4j.validator.attestation.statement.AttestationStatementValidator;
 import com.webauthn4j.validator.attestation.trustworthiness.certpath.CertPathTrustworthinessValidator;
@@ -67,6 +69,10 @@ class AttestationValidator {
 
 
     public void validate(@NonNull CoreRegistrationObject registrationObject) {
+        validate(registrationObject, CeremonyTimer.disabled());
+    }
+
+    void validate(@NonNull CoreRegistrationObject registrationObject, @NonNull CeremonyTimer timer) {
         AssertUtil.notNull(registrationObject, "registrationObject must not be null");
 
         AttestationObject attestationObject = registrationObject.getAttestationObject();
@@ -80,6 +86,7 @@ class AttestationValidator {
         //spec| Verify that attStmt is a correct attestation statement, conveying a valid attestation signature,
         //spec| by using the attestation statement format fmt’s verification procedure given attStmt, authData and hash.
 
+        timer.stage(CeremonyStage.ATTESTATION_STATEMENT);
         AttestationType attestationType = validateAttestationStatement(registrationObject);
 
         validateAAGUID(attestationObject);
@@ -94,6 +101,7 @@ class AttestationValidator {
         //spec| If no attestation was provided, verify that None attestation is acceptable under Relying Party policy.
         //      (This is already done in validateAttestationStatement method)
 
+        timer.stage(CeremonyStage.TRUSTWORTHINESS);
         AttestationStatement attestationStatement = attestationObject.getAttestationStatement();
         switch (attestationType) {
             //spec| If self attestation was used, check if self attestation is acceptable under Relying Party policy.
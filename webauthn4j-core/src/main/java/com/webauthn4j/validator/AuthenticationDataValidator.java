@@ -17,8 +17,10 @@
 package com.webauthn4j.validator;
 
 import com.webauthn4j.authenticator.Authenticator;
+import com.webauthn4j.authenticator.SignCounterStore;
 import com.webauthn4j.data.AuthenticationData;
 import com.webauthn4j.data.AuthenticationParameters;
+import com.webauthn4j.data.CredentialIdSet;
 import com.webauthn4j.data.attestation.authenticator.AuthenticatorData;
 import com.webauthn4j.data.client.ClientDataType;
 import com.webauthn4j.data.client.CollectedClientData;
@@ -26,6 +28,11 @@ import com.webauthn4j.data.extension.authenticator.AuthenticationExtensionAuthen
 import com.webauthn4j.data.extension.authenticator.AuthenticationExtensionsAuthenticatorOutputs;
 import com.webauthn4j.data.extension.client.AuthenticationExtensionClientOutput;
 import com.webauthn4j.data.extension.client.AuthenticationExtensionsClientOutputs;
+import com.webauthn4j.metrics.Ceremony;
+import com.webauthn4j.metrics.CeremonyObserver;
+import com.webauthn4j.metrics.CeremonyStage;
+import com.webauthn4j.metrics.CeremonyTimer;
+import com.webauthn4j.metrics.NullCeremonyObserver;
 import com.webauthn4j.server.ServerProperty;
 import com.webauthn4j.util.AssertUtil;
 import com.webauthn4j.validator.exception.*;
@@ -33,7 +40,6 @@ import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 
@@ -50,6 +56,9 @@ public class AuthenticationDataValidator {
 
     private OriginValidator originValidator = new OriginValidatorImpl();
     private CoreMaliciousCounterValueHandler maliciousCounterValueHandler = new DefaultCoreMaliciousCounterValueHandler();
+    private CredentialPublicKeyCache credentialPublicKeyCache;
+    private SignCounterStore signCounterStore;
+    private CeremonyObserver ceremonyObserver = new NullCeremonyObserver();
 
     private boolean crossOriginAllowed = false;
 
@@ -62,9 +71,21 @@ public class AuthenticationDataValidator {
         this.customAuthenticationValidators = new ArrayList<>();
     }
 
-    @SuppressWarnings("ConstantConditions") // as null check is done by BeanAssertUtil#validate
     public void validate(@NonNull AuthenticationData authenticationData, @NonNull AuthenticationParameters authenticationParameters) {
+        CeremonyTimer timer = CeremonyTimer.start(ceremonyObserver, Ceremony.AUTHENTICATION);
+        try {
+            validate(authenticationData, authenticationParameters, timer);
+            timer.complete();
+        } catch (RuntimeException e) {
+            timer.fail(e);
+            throw e;
+        }
+    }
 
+    @SuppressWarnings("ConstantConditions") // as null check is done by BeanAssertUtil#validate
+    private void validate(@NonNull AuthenticationData authenticationData, @NonNull AuthenticationParameters authenticationParameters, @NonNull CeremonyTimer timer) {
+
+        timer.stage(CeremonyStage.PRECONDITION);
         BeanAssertUtil.validate(authenticationData);
         AssertUtil.notNull(authenticationParameters, "authenticationParameters must not be null");
 
@@ -91,6 +112,7 @@ public class AuthenticationDataValidator {
         //spec| If options.allowCredentials is not empty, verify that credential.id identifies one of the public key credentials listed in options.allowCredentials.
         byte[] credentialId = authenticationData.getCredentialId();
         List<byte[]> allowCredentials = authenticationParameters.getAllowCredentials();
+        timer.stage(CeremonyStage.CREDENTIAL_ID);
         validateCredentialId(credentialId, allowCredentials);
 
         //spec| Step6
@@ -125,12 +147,14 @@ public class AuthenticationDataValidator {
         AuthenticatorData<AuthenticationExtensionAuthenticatorOutput> authenticatorData = authenticationData.getAuthenticatorData();
         ServerProperty serverProperty = authenticationParameters.getServerProperty();
 
+        timer.stage(CeremonyStage.PRECONDITION);
         BeanAssertUtil.validate(collectedClientData);
         BeanAssertUtil.validate(authenticatorData);
 
         validateAuthenticatorData(authenticatorData);
 
         Authenticator authenticator = authenticationParameters.getAuthenticator();
+        timer.setAuthenticator(authenticator);
 
         AuthenticationObject authenticationObject = new AuthenticationObject(
                 credentialId, authenticatorData, aData, collectedClientData, cData, clientExtensions,
@@ -146,10 +170,12 @@ public class AuthenticationDataValidator {
         //spec| Step12
         //spec| Verify that the value of C.challenge matches the challenge that was sent to the authenticator in
         //spec| the PublicKeyCredentialRequestOptions passed to the get() call.
+        timer.stage(CeremonyStage.CHALLENGE);
         challengeValidator.validate(collectedClientData, serverProperty);
 
         //spec| Step13
         //spec| Verify that the value of C.origin matches the Relying Party's origin.
+        timer.stage(CeremonyStage.ORIGIN);
         originValidator.validate(authenticationObject);
 
         // Verify cross origin, which is not defined in the spec
@@ -159,14 +185,17 @@ public class AuthenticationDataValidator {
         //spec| Verify that the value of C.tokenBinding.status matches the state of Token Binding for the TLS connection over
         //spec| which the attestation was obtained. If Token Binding was used on that TLS connection,
         //spec| also verify that C.tokenBinding.id matches the base64url encoding of the Token Binding ID for the connection.
+        timer.stage(CeremonyStage.TOKEN_BINDING);
         tokenBindingValidator.validate(collectedClientData.getTokenBinding(), serverProperty.getTokenBindingId());
 
         //spec| Step15
         //spec| Verify that the rpIdHash in authData is the SHA-256 hash of the RP ID expected by the Relying Party.
+        timer.stage(CeremonyStage.RP_ID_HASH);
         rpIdHashValidator.validate(authenticatorData.getRpIdHash(), serverProperty);
 
         //spec| Step16
         //spec| Verify that the User Present bit of the flags in authData is set.
+        timer.stage(CeremonyStage.FLAGS);
         if (authenticationParameters.isUserPresenceRequired() && !authenticatorData.isFlagUP()) {
             throw new UserNotPresentException("Validator is configured to check user present, but UP flag in authenticatorData is not set.");
         }
@@ -184,6 +213,7 @@ public class AuthenticationDataValidator {
         //spec| values in the clientExtensionResults and the extensions in authData MUST be also be present as extension
         //spec| identifier values in the extensions member of options, i.e., no extensions are present that were not requested.
         //spec| In the general case, the meaning of "are as expected" is specific to the Relying Party and which extensions are in use.
+        timer.stage(CeremonyStage.EXTENSIONS);
         AuthenticationExtensionsAuthenticatorOutputs<AuthenticationExtensionAuthenticatorOutput> authenticationExtensionsAuthenticatorOutputs = authenticatorData.getExtensions();
         clientExtensionValidator.validate(clientExtensions);
         authenticatorExtensionValidator.validate(authenticationExtensionsAuthenticatorOutputs);
@@ -193,17 +223,19 @@ public class AuthenticationDataValidator {
         //spec| Step20
         //spec| Using the credential public key, validate that sig is a valid signature over
         //spec| the binary concatenation of the authenticatorData and the hash of the collectedClientData.
-        assertionSignatureValidator.validate(authenticationData, authenticator.getAttestedCredentialData().getCOSEKey());
+        timer.stage(CeremonyStage.SIGNATURE);
+        assertionSignatureValidator.validate(authenticationData, authenticator.getAttestedCredentialData().getCOSEKey(), credentialPublicKeyCache);
 
         //spec| Step21
         //spec| Let storedSignCount be the stored signature counter value associated with credential.id.
         //spec| If authData.signCount is nonzero or storedSignCount is nonzero, then run the following sub-step:
+        timer.stage(CeremonyStage.COUNTER);
         long presentedSignCount = authenticatorData.getSignCount();
-        long storedSignCount = authenticator.getCounter();
+        long storedSignCount = resolveStoredSignCount(credentialId, authenticator.getCounter());
         if (presentedSignCount > 0 || storedSignCount > 0) {
             //spec| If authData.signCount is
             //spec| greater than storedSignCount:
-            if (presentedSignCount > storedSignCount) {
+            if (advanceSignCount(credentialId, storedSignCount, presentedSignCount)) {
 
                 //spec| Update storedSignCount to be the value of authData.signCount.
                 //      (caller need to update the signature counter value based on the value set in the Authenticator instance)
@@ -218,6 +250,7 @@ public class AuthenticationDataValidator {
             }
         }
 
+        timer.stage(CeremonyStage.CUSTOM);
         for (CustomAuthenticationValidator customAuthenticationValidator : customAuthenticationValidators) {
             customAuthenticationValidator.validate(authenticationObject);
         }
@@ -230,8 +263,8 @@ public class AuthenticationDataValidator {
 
     void validateCredentialId(byte[] credentialId, @Nullable List<byte[]> allowCredentials) {
         // As allowCredentials are known data to client side(potential attacker),
-        // there is no need to prevent timing attack and it is OK to use `Arrays.equals` instead of `MessageDigest.isEqual` here.
-        if(allowCredentials != null && allowCredentials.stream().noneMatch(item -> Arrays.equals(item, credentialId))){
+        // there is no need to prevent timing attack and it is OK to look it up with `CredentialIdSet` instead of `MessageDigest.isEqual` here.
+        if(allowCredentials != null && !CredentialIdSet.contains(allowCredentials, credentialId)){
             throw new NotAllowedCredentialIdException("credentialId not listed in allowCredentials is used.");
         }
     }
@@ -242,6 +275,22 @@ public class AuthenticationDataValidator {
         }
     }
 
+    private long resolveStoredSignCount(@NonNull byte[] credentialId, long authenticatorCounter) {
+        if (signCounterStore == null) {
+            return authenticatorCounter;
+        }
+        Long storedCounter = signCounterStore.find(credentialId);
+        return storedCounter == null ? authenticatorCounter : Math.max(storedCounter, authenticatorCounter);
+    }
+
+    private boolean advanceSignCount(@NonNull byte[] credentialId, long storedSignCount, long presentedSignCount) {
+        if (signCounterStore == null) {
+            return presentedSignCount > storedSignCount;
+        }
+        // compare and advance atomically, so that only one of concurrent assertions presenting the same counter passes
+        return signCounterStore.compareAndAdvance(credentialId, storedSignCount, presentedSignCount);
+    }
+
     void validateAuthenticatorData(@NonNull AuthenticatorData<AuthenticationExtensionAuthenticatorOutput> authenticatorData) {
         if (authenticatorData.getAttestedCredentialData() != null) {
             throw new ConstraintViolationException("attestedCredentialData must be null on authentication");
@@ -257,6 +306,20 @@ public class AuthenticationDataValidator {
         this.maliciousCounterValueHandler = maliciousCounterValueHandler;
     }
 
+    public @Nullable CredentialPublicKeyCache getCredentialPublicKeyCache() {
+        return credentialPublicKeyCache;
+    }
+
+    /**
+     * Sets the cache of decoded credential public keys consulted on assertion signature validation.
+     * If null, the public key is derived from the {@link com.webauthn4j.data.attestation.authenticator.COSEKey} on each validation.
+     *
+     * @param credentialPublicKeyCache cache of decoded credential public keys
+     */
+    public void setCredentialPublicKeyCache(@Nullable CredentialPublicKeyCache credentialPublicKeyCache) {
+        this.credentialPublicKeyCache = credentialPublicKeyCache;
+    }
+
     public OriginValidator getOriginValidator() {
         return originValidator;
     }
@@ -276,4 +339,32 @@ public class AuthenticationDataValidator {
     public void setCrossOriginAllowed(boolean crossOriginAllowed) {
         this.crossOriginAllowed = crossOriginAllowed;
     }
+
+    public @NonNull CeremonyObserver getCeremonyObserver() {
+        return ceremonyObserver;
+    }
+
+    /**
+     * Sets the {@link CeremonyObserver} notified of the latency and the outcome of each validation stage
+     *
+     * @param ceremonyObserver ceremony observer
+     */
+    public void setCeremonyObserver(@NonNull CeremonyObserver ceremonyObserver) {
+        AssertUtil.notNull(ceremonyObserver, "ceremonyObserver must not be null");
+        this.ceremonyObserver = ceremonyObserver;
+    }
+
+    public @Nullable SignCounterStore getSignCounterStore() {
+        return signCounterStore;
+    }
+
+    /**
+     * Sets the {@link SignCounterStore} whose counters are advanced atomically on authentication.
+     * If null, the counter held by the {@link com.webauthn4j.authenticator.CoreAuthenticator} is compared and updated.
+     *
+     * @param signCounterStore signature counter store
+     */
+    public void setSignCounterStore(@Nullable SignCounterStore signCounterStore) {
+        this.signCounterStore = signCounterStore;
+    }
 }
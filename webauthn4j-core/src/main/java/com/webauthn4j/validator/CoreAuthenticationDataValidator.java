@@ -17,11 +17,18 @@
 package com.webauthn4j.validator;
 
 import com.webauthn4j.authenticator.CoreAuthenticator;
+import com.webauthn4j.authenticator.SignCounterStore;
 import com.webauthn4j.data.CoreAuthenticationData;
 import com.webauthn4j.data.CoreAuthenticationParameters;
+import com.webauthn4j.data.CredentialIdSet;
 import com.webauthn4j.data.attestation.authenticator.AuthenticatorData;
 import com.webauthn4j.data.extension.authenticator.AuthenticationExtensionAuthenticatorOutput;
 import com.webauthn4j.data.extension.authenticator.AuthenticationExtensionsAuthenticatorOutputs;
+import com.webauthn4j.metrics.Ceremony;
+import com.webauthn4j.metrics.CeremonyObserver;
+import com.webauthn4j.metrics.CeremonyStage;
+import com.webauthn4j.metrics.CeremonyTimer;
+import com.webauthn4j.metrics.NullCeremonyObserver;
 import com.webauthn4j.server.CoreServerProperty;
 import com.webauthn4j.util.AssertUtil;
 import com.webauthn4j.validator.exception.ConstraintViolationException;
@@ -32,7 +39,6 @@ import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 
 public class CoreAuthenticationDataValidator {
@@ -43,6 +49,9 @@ public class CoreAuthenticationDataValidator {
 
     private AssertionSignatureValidator assertionSignatureValidator = new AssertionSignatureValidator();
     private CoreMaliciousCounterValueHandler coreMaliciousCounterValueHandler = new DefaultCoreMaliciousCounterValueHandler();
+    private CredentialPublicKeyCache credentialPublicKeyCache;
+    private SignCounterStore signCounterStore;
+    private CeremonyObserver ceremonyObserver = new NullCeremonyObserver();
 
     public CoreAuthenticationDataValidator(@NonNull List<CustomCoreAuthenticationValidator> customAuthenticationValidators) {
         this.customAuthenticationValidators = customAuthenticationValidators;
@@ -69,9 +78,21 @@ public class CoreAuthenticationDataValidator {
      * @param authenticationData       authentication data
      * @param authenticationParameters authentication parameters
      */
-    @SuppressWarnings("ConstantConditions") // as null check is done by BeanAssertUtil#validate
     public void validate(@NonNull CoreAuthenticationData authenticationData, @NonNull CoreAuthenticationParameters authenticationParameters) {
+        CeremonyTimer timer = CeremonyTimer.start(ceremonyObserver, Ceremony.AUTHENTICATION);
+        try {
+            validate(authenticationData, authenticationParameters, timer);
+            timer.complete();
+        } catch (RuntimeException e) {
+            timer.fail(e);
+            throw e;
+        }
+    }
+
+    @SuppressWarnings("ConstantConditions") // as null check is done by BeanAssertUtil#validate
+    private void validate(@NonNull CoreAuthenticationData authenticationData, @NonNull CoreAuthenticationParameters authenticationParameters, @NonNull CeremonyTimer timer) {
 
+        timer.stage(CeremonyStage.PRECONDITION);
         BeanAssertUtil.validate(authenticationData);
         AssertUtil.notNull(authenticationParameters, "authenticationParameters must not be null");
 
@@ -98,6 +119,7 @@ public class CoreAuthenticationDataValidator {
         //spec| If options.allowCredentials is not empty, verify that credential.id identifies one of the public key credentials listed in options.allowCredentials.
         byte[] credentialId = authenticationData.getCredentialId();
         List<byte[]> allowCredentials = authenticationParameters.getAllowCredentials();
+        timer.stage(CeremonyStage.CREDENTIAL_ID);
         validateCredentialId(credentialId, allowCredentials);
 
         //spec| Step6
@@ -130,11 +152,13 @@ public class CoreAuthenticationDataValidator {
         AuthenticatorData<AuthenticationExtensionAuthenticatorOutput> authenticatorData = authenticationData.getAuthenticatorData();
         CoreServerProperty serverProperty = authenticationParameters.getServerProperty();
 
+        timer.stage(CeremonyStage.PRECONDITION);
         BeanAssertUtil.validate(authenticatorData);
 
         validateAuthenticatorData(authenticatorData);
 
         CoreAuthenticator authenticator = authenticationParameters.getAuthenticator();
+        timer.setAuthenticator(authenticator);
 
         CoreAuthenticationObject authenticationObject = createCoreAuthenticationObject(authenticationData, authenticationParameters);
 
@@ -162,10 +186,12 @@ public class CoreAuthenticationDataValidator {
 
         //spec| Step15
         //spec| Verify that the rpIdHash in authData is the SHA-256 hash of the RP ID expected by the Relying Party.
+        timer.stage(CeremonyStage.RP_ID_HASH);
         rpIdHashValidator.validate(authenticatorData.getRpIdHash(), serverProperty);
 
         //spec| Step16
         //spec| Verify that the User Present bit of the flags in authData is set.
+        timer.stage(CeremonyStage.FLAGS);
         if (authenticationParameters.isUserPresenceRequired() && !authenticatorData.isFlagUP()) {
             throw new UserNotPresentException("Validator is configured to check user present, but UP flag in authenticatorData is not set.");
         }
@@ -183,6 +209,7 @@ public class CoreAuthenticationDataValidator {
         //spec| values in the clientExtensionResults and the extensions in authData MUST be also be present as extension
         //spec| identifier values in the extensions member of options, i.e., no extensions are present that were not requested.
         //spec| In the general case, the meaning of "are as expected" is specific to the Relying Party and which extensions are in use.
+        timer.stage(CeremonyStage.EXTENSIONS);
         AuthenticationExtensionsAuthenticatorOutputs<AuthenticationExtensionAuthenticatorOutput> authenticationExtensionsAuthenticatorOutputs = authenticatorData.getExtensions();
         //      (This clientExtensionResults verification is only applicable to WebAuthn)
         authenticatorExtensionValidator.validate(authenticationExtensionsAuthenticatorOutputs);
@@ -192,17 +219,19 @@ public class CoreAuthenticationDataValidator {
         //spec| Step20
         //spec| Using the credential public key, validate that sig is a valid signature over
         //spec| the binary concatenation of the authenticatorData and the hash of the collectedClientData.
-        assertionSignatureValidator.validate(authenticationData, authenticator.getAttestedCredentialData().getCOSEKey());
+        timer.stage(CeremonyStage.SIGNATURE);
+        assertionSignatureValidator.validate(authenticationData, authenticator.getAttestedCredentialData().getCOSEKey(), credentialPublicKeyCache);
 
         //spec| Step21
         //spec| Let storedSignCount be the stored signature counter value associated with credential.id.
         //spec| If authData.signCount is nonzero or storedSignCount is nonzero, then run the following sub-step:
+        timer.stage(CeremonyStage.COUNTER);
         long presentedSignCount = authenticatorData.getSignCount();
-        long storedSignCount = authenticator.getCounter();
+        long storedSignCount = resolveStoredSignCount(credentialId, authenticator.getCounter());
         if (presentedSignCount > 0 || storedSignCount > 0) {
             //spec| If authData.signCount is
             //spec| greater than storedSignCount:
-            if (presentedSignCount > storedSignCount) {
+            if (advanceSignCount(credentialId, storedSignCount, presentedSignCount)) {
 
                 //spec| Update storedSignCount to be the value of authData.signCount.
                 //      (caller need to update the signature counter value based on the value set in the Authenticator instance)
@@ -217,6 +246,7 @@ public class CoreAuthenticationDataValidator {
             }
         }
 
+        timer.stage(CeremonyStage.CUSTOM);
         for (CustomCoreAuthenticationValidator customAuthenticationValidator : customAuthenticationValidators) {
             customAuthenticationValidator.validate(authenticationObject);
         }
@@ -243,12 +273,28 @@ public class CoreAuthenticationDataValidator {
     }
 
     void validateCredentialId(byte[] credentialId, @Nullable List<byte[]> allowCredentials) {
-        // As allowCredentials is public data(not secret data), there is no risk of timing attack and it is OK to use `Arrays.equals` instead of `MessageDigest.isEqual`
-        if(allowCredentials != null && allowCredentials.stream().noneMatch(item -> Arrays.equals(item, credentialId))){
+        // As allowCredentials is public data(not secret data), there is no risk of timing attack and it is OK to look it up with `CredentialIdSet` instead of `MessageDigest.isEqual`
+        if(allowCredentials != null && !CredentialIdSet.contains(allowCredentials, credentialId)){
             throw new NotAllowedCredentialIdException("credentialId not listed in allowCredentials is used.");
         }
     }
 
+    private long resolveStoredSignCount(@NonNull byte[] credentialId, long authenticatorCounter) {
+        if (signCounterStore == null) {
+            return authenticatorCounter;
+        }
+        Long storedCounter = signCounterStore.find(credentialId);
+        return storedCounter == null ? authenticatorCounter : Math.max(storedCounter, authenticatorCounter);
+    }
+
+    private boolean advanceSignCount(@NonNull byte[] credentialId, long storedSignCount, long presentedSignCount) {
+        if (signCounterStore == null) {
+            return presentedSignCount > storedSignCount;
+        }
+        // compare and advance atomically, so that only one of concurrent assertions presenting the same counter passes
+        return signCounterStore.compareAndAdvance(credentialId, storedSignCount, presentedSignCount);
+    }
+
     void validateAuthenticatorData(@NonNull AuthenticatorData<AuthenticationExtensionAuthenticatorOutput> authenticatorData) {
         if (authenticatorData.getAttestedCredentialData() != null) {
             throw new ConstraintViolationException("attestedCredentialData must be null on authentication");
@@ -264,7 +310,49 @@ public class CoreAuthenticationDataValidator {
         this.coreMaliciousCounterValueHandler = coreMaliciousCounterValueHandler;
     }
 
+    public @Nullable CredentialPublicKeyCache getCredentialPublicKeyCache() {
+        return credentialPublicKeyCache;
+    }
+
+    /**
+     * Sets the cache of decoded credential public keys consulted on assertion signature validation.
+     * If null, the public key is derived from the {@link com.webauthn4j.data.attestation.authenticator.COSEKey} on each validation.
+     *
+     * @param credentialPublicKeyCache cache of decoded credential public keys
+     */
+    public void setCredentialPublicKeyCache(@Nullable CredentialPublicKeyCache credentialPublicKeyCache) {
+        this.credentialPublicKeyCache = credentialPublicKeyCache;
+    }
+
     public @NonNull List<CustomCoreAuthenticationValidator> getCustomAuthenticationValidators() {
         return customAuthenticationValidators;
     }
+
+    public @NonNull CeremonyObserver getCeremonyObserver() {
+        return ceremonyObserver;
+    }
+
+    /**
+     * Sets the {@link CeremonyObserver} notified of the latency and the outcome of each validation stage
+     *
+     * @param ceremonyObserver ceremony observer
+     */
+    public void setCeremonyObserver(@NonNull CeremonyObserver ceremonyObserver) {
+        AssertUtil.notNull(ceremonyObserver, "ceremonyObserver must not be null");
+        this.ceremonyObserver = ceremonyObserver;
+    }
+
+    public @Nullable SignCounterStore getSignCounterStore() {
+        return signCounterStore;
+    }
+
+    /**
+     * Sets the {@link SignCounterStore} whose counters are advanced atomically on authentication.
+     * If null, the counter held by the {@link com.webauthn4j.authenticator.CoreAuthenticator} is compared and updated.
+     *
+     * @param signCounterStore signature counter store
+     */
+    public void setSignCounterStore(@Nullable SignCounterStore signCounterStore) {
+        this.signCounterStore = signCounterStore;
+    }
 }
@@ -19,7 +19,6 @@ package com.webauthn4j.validator;
 import com.webauthn4j.converter.util.ObjectConverter;
 import com.webauthn4j.data.CoreRegistrationData;
 import com.webauthn4j.data.CoreRegistrationParameters;
-import com.webauthn4j.data.PublicKeyCredentialParameters;
 import com.webauthn4j.data.attestation.AttestationObject;
 import com.webauthn4j.data.attestation.authenticator.AuthenticatorData;
 import com.webauthn4j.data.attestation.authenticator.COSEKey;
@@ -164,8 +163,7 @@ public class CoreRegistrationDataValidator {
         //spec| Step16
         //spec| Verify that the "alg" parameter in the credential public key in authData matches the alg attribute of one of the items in options.pubKeyCredParams.
         COSEAlgorithmIdentifier alg = authenticatorData.getAttestedCredentialData().getCOSEKey().getAlgorithm();
-        List<PublicKeyCredentialParameters> pubKeyCredParams = registrationParameters.getPubKeyCredParams();
-        validateAlg(alg, pubKeyCredParams);
+        validateAlg(alg, registrationParameters);
 
         //spec| Step17
         //spec| Verify that the values of the client extension outputs in clientExtensionResults and the authenticator extension outputs in the extensions in authData are as expected,
@@ -210,8 +208,8 @@ public class CoreRegistrationDataValidator {
         }
     }
 
-    void validateAlg(COSEAlgorithmIdentifier alg, List<PublicKeyCredentialParameters> pubKeyCredParams) {
-        if(pubKeyCredParams != null && pubKeyCredParams.stream().noneMatch(item -> item.getAlg().equals(alg))){
+    void validateAlg(COSEAlgorithmIdentifier alg, CoreRegistrationParameters registrationParameters) {
+        if(!registrationParameters.isAllowedAlgorithm(alg)){
             throw new NotAllowedAlgorithmException("alg not listed in options.pubKeyCredParams is used.");
         }
     }
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.webauthn4j.validator;
+
+import com.webauthn4j.data.attestation.authenticator.COSEKey;
+import com.webauthn4j.util.AssertUtil;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.nio.ByteBuffer;
+import java.security.PublicKey;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of {@link PublicKey} decoded from credential {@link COSEKey}, keyed by credentialId.
+ * <p>
+ * Useful when {@link COSEKey} instances are re-created for each ceremony (e.g. loaded from a database),
+ * so the {@link PublicKey} memoized inside the {@link COSEKey} is lost.
+ * A cached entry is used only when the stored {@link COSEKey} equals the presented one,
+ * so a credentialId re-registered with another key never returns a stale public key.
+ * <p>
+ * Lookups don't take a lock. When the cache is full, entries are evicted in second-chance order, an approximation of
+ * LRU: an entry used since the last eviction pass is kept once, and an unused one is evicted.
+ */
+public class CredentialPublicKeyCache {
+
+    public static final int DEFAULT_MAX_SIZE = 10000;
+
+    private final int maxSize;
+    private final Map<ByteBuffer, Entry> entries = new ConcurrentHashMap<>();
+    private final Object evictionLock = new Object();
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+
+    public CredentialPublicKeyCache(int maxSize) {
+        AssertUtil.isTrue(maxSize > 0, "maxSize must be positive");
+        this.maxSize = maxSize;
+    }
+
+    public CredentialPublicKeyCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * Returns the {@link PublicKey} for the credential, decoding it from coseKey on cache miss
+     *
+     * @param credentialId credentialId
+     * @param coseKey      credential public key
+     * @return the {@link PublicKey}, or null if coseKey doesn't contain a public key
+     */
+    public @Nullable PublicKey getPublicKey(@NonNull byte[] credentialId, @NonNull COSEKey coseKey) {
+        AssertUtil.notNull(credentialId, "credentialId must not be null");
+        AssertUtil.notNull(coseKey, "coseKey must not be null");
+
+        Entry entry = entries.get(ByteBuffer.wrap(credentialId));
+        if (entry != null && (entry.coseKey == coseKey || entry.coseKey.equals(coseKey))) {
+            if (!entry.referenced) {
+                entry.referenced = true;
+            }
+            hitCount.increment();
+            return entry.publicKey;
+        }
+        missCount.increment();
+        // concurrent misses for the same credential produce equivalent keys
+        PublicKey publicKey = coseKey.getPublicKey();
+        if (publicKey != null) {
+            // copy the key as the caller owns the array
+            Entry inserted = new Entry(coseKey, publicKey);
+            entries.put(ByteBuffer.wrap(credentialId.clone()), inserted);
+            if (entries.size() > maxSize) {
+                evict(inserted);
+            }
+        }
+        return publicKey;
+    }
+
+    /**
+     * Removes the cached entry of the credential
+     *
+     * @param credentialId credentialId
+     */
+    public void invalidate(@NonNull byte[] credentialId) {
+        AssertUtil.notNull(credentialId, "credentialId must not be null");
+        entries.remove(ByteBuffer.wrap(credentialId));
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * Evicts entries until the cache fits in maxSize. The first pass gives entries used since the previous pass a
+     * second chance, the second pass evicts whatever it meets. The entry just inserted is never evicted.
+     */
+    private void evict(@NonNull Entry inserted) {
+        synchronized (evictionLock) {
+            for (int pass = 0; pass < 2 && entries.size() > maxSize; pass++) {
+                Iterator<Entry> iterator = entries.values().iterator();
+                while (iterator.hasNext() && entries.size() > maxSize) {
+                    Entry entry = iterator.next();
+                    if (entry == inserted) {
+                        continue;
+                    }
+                    if (pass == 0 && entry.referenced) {
+                        entry.referenced = false;
+                    }
+                    else {
+                        iterator.remove();
+                    }
+                }
+            }
+        }
+    }
+
+    private static class Entry {
+
+        private final COSEKey coseKey;
+        private final PublicKey publicKey;
+        private volatile boolean referenced;
+
+        private Entry(@NonNull COSEKey coseKey, @NonNull PublicKey publicKey) {
+            this.coseKey = coseKey;
+            this.publicKey = publicKey;
+        }
+    }
+}
@@ -18,6 +18,7 @@ package com.webauthn4j.validator;
 
 import com.webauthn4j.data.client.CollectedClientData;
 import com.webauthn4j.data.client.Origin;
+import com.webauthn4j.server.OriginMatcher;
 import com.webauthn4j.server.ServerProperty;
 import com.webauthn4j.util.AssertUtil;
 import com.webauthn4j.validator.exception.BadOriginException;
@@ -53,7 +54,11 @@ public class OriginValidatorImpl implements OriginValidator {
         AssertUtil.notNull(serverProperty, "serverProperty must not be null");
 
         final Origin clientOrigin = collectedClientData.getOrigin();
-        if (!serverProperty.getOrigins().contains(clientOrigin)) {
+        if (serverProperty.getOrigins().contains(clientOrigin)) {
+            return;
+        }
+        final OriginMatcher originMatcher = serverProperty.getOriginMatcher();
+        if (originMatcher == null || !originMatcher.matches(clientOrigin)) {
             throw new BadOriginException("The collectedClientData '" + clientOrigin + "' origin doesn't match any of the preconfigured server origin.");
         }
     }
@@ -0,0 +1,219 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.webauthn4j.validator;
+
+import com.webauthn4j.data.AuthenticationParameters;
+import com.webauthn4j.data.AuthenticationRequest;
+import com.webauthn4j.data.CredentialIdSet;
+import com.webauthn4j.data.attestation.authenticator.AuthenticatorData;
+import com.webauthn4j.data.client.challenge.Challenge;
+import com.webauthn4j.server.ServerProperty;
+import com.webauthn4j.util.AssertUtil;
+import com.webauthn4j.util.Base64UrlUtil;
+import com.webauthn4j.validator.exception.BadChallengeException;
+import com.webauthn4j.validator.exception.BadRpIdException;
+import com.webauthn4j.validator.exception.NotAllowedCredentialIdException;
+import com.webauthn4j.validator.exception.UserNotPresentException;
+import com.webauthn4j.validator.exception.UserNotVerifiedException;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Rejects authentication requests by cheap checks on the raw request buffers, before client data JSON, extensions
+ * and authenticator data are parsed and the signature is verified.
+ * <p>
+ * It checks the credentialId against allowCredentials, the rpIdHash, the UP and UV flags, and the challenge.
+ * It never accepts a request: a request which passes it, or which is too malformed to check, must still be fully
+ * validated. As checks run in a different order from the full validation, a request failing several checks may be
+ * rejected with a different exception.
+ */
+public class RawAuthenticationRequestValidator {
+
+    private static final int RP_ID_HASH_LENGTH = 32;
+    private static final int FLAGS_INDEX = RP_ID_HASH_LENGTH;
+    private static final byte[] CHALLENGE_KEY = "\"challenge\"".getBytes(StandardCharsets.US_ASCII);
+
+    // ~ Methods
+    // ========================================================================================================
+
+    public void validate(@NonNull AuthenticationRequest authenticationRequest, @NonNull AuthenticationParameters authenticationParameters) {
+        AssertUtil.notNull(authenticationRequest, "authenticationRequest must not be null");
+        AssertUtil.notNull(authenticationParameters, "authenticationParameters must not be null");
+
+        ServerProperty serverProperty = authenticationParameters.getServerProperty();
+
+        validateCredentialId(authenticationRequest.getCredentialId(), authenticationParameters.getAllowCredentials());
+
+        byte[] authenticatorData = authenticationRequest.getAuthenticatorData();
+        if (authenticatorData != null && authenticatorData.length > FLAGS_INDEX) {
+            validateRpIdHash(authenticatorData, serverProperty);
+            validateFlags(authenticatorData[FLAGS_INDEX], authenticationParameters);
+        }
+
+        byte[] clientDataJSON = authenticationRequest.getClientDataJSON();
+        Challenge expectedChallenge = serverProperty == null ? null : serverProperty.getChallenge();
+        if (clientDataJSON != null && expectedChallenge != null) {
+            validateChallenge(clientDataJSON, expectedChallenge);
+        }
+    }
+
+    void validateCredentialId(@Nullable byte[] credentialId, @Nullable List<byte[]> allowCredentials) {
+        if (credentialId == null || allowCredentials == null) {
+            return;
+        }
+        if (!CredentialIdSet.contains(allowCredentials, credentialId)) {
+            throw new NotAllowedCredentialIdException("credentialId not listed in allowCredentials is used.");
+        }
+    }
+
+    void validateRpIdHash(@NonNull byte[] authenticatorData, @Nullable ServerProperty serverProperty) {
+        if (serverProperty == null || serverProperty.getRpId() == null) {
+            return;
+        }
+        if (!serverProperty.matchesRpIdHash(authenticatorData, 0)) {
+            throw new BadRpIdException("rpIdHash doesn't match the hash of preconfigured rpId.");
+        }
+    }
+
+    void validateFlags(byte flags, @NonNull AuthenticationParameters authenticationParameters) {
+        if (authenticationParameters.isUserPresenceRequired() && (flags & AuthenticatorData.BIT_UP) == 0) {
+            throw new UserNotPresentException("Validator is configured to check user present, but UP flag in authenticatorData is not set.");
+        }
+        if (authenticationParameters.isUserVerificationRequired() && (flags & AuthenticatorData.BIT_UV) == 0) {
+            throw new UserNotVerifiedException("Validator is configured to check user verified, but UV flag in authenticatorData is not set.");
+        }
+    }
+
+    void validateChallenge(@NonNull byte[] clientDataJSON, @NonNull Challenge expectedChallenge) {
+        byte[] actualChallenge = extractChallenge(clientDataJSON);
+        if (actualChallenge != null && !MessageDigest.isEqual(expectedChallenge.getValue(), actualChallenge)) {
+            throw new BadChallengeException("The actual challenge does not match the expected challenge");
+        }
+    }
+
+    /**
+     * Extracts the challenge from client data JSON without parsing it as a whole.
+     * Only the top-level "challenge" member is extracted, as data binding does; like data binding, the last one wins if
+     * the member is repeated.
+     *
+     * @param clientDataJSON client data JSON
+     * @return decoded challenge, or null if it cannot be extracted by a simple scan
+     */
+    static @Nullable byte[] extractChallenge(@NonNull byte[] clientDataJSON) {
+        byte[] challenge = null;
+        int depth = 0;
+        int index = 0;
+        while (index < clientDataJSON.length) {
+            byte b = clientDataJSON[index];
+            if (b == '"') {
+                int end = indexOfStringEnd(clientDataJSON, index + 1);
+                if (end < 0) {
+                    return null;
+                }
+                int next = skipWhitespace(clientDataJSON, end + 1);
+                if (depth == 1 && next < clientDataJSON.length && clientDataJSON[next] == ':') {
+                    if (indexOfBackslash(clientDataJSON, index + 1, end) >= 0) {
+                        // an escaped key may spell "challenge", which is left to the JSON parser
+                        return null;
+                    }
+                    if (isChallengeKey(clientDataJSON, index, end + 1)) {
+                        challenge = extractStringValue(clientDataJSON, skipWhitespace(clientDataJSON, next + 1));
+                        if (challenge == null) {
+                            return null;
+                        }
+                    }
+                }
+                index = end + 1;
+                continue;
+            }
+            if (b == '{' || b == '[') {
+                depth++;
+            }
+            else if (b == '}' || b == ']') {
+                depth--;
+            }
+            index++;
+        }
+        return challenge;
+    }
+
+    private static @Nullable byte[] extractStringValue(@NonNull byte[] source, int index) {
+        if (index >= source.length || source[index] != '"') {
+            return null;
+        }
+        int end = indexOfStringEnd(source, index + 1);
+        if (end < 0 || indexOfBackslash(source, index + 1, end) >= 0) {
+            // escaped values are left to the JSON parser
+            return null;
+        }
+        try {
+            return Base64UrlUtil.decode(Arrays.copyOfRange(source, index + 1, end));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static boolean isChallengeKey(@NonNull byte[] source, int from, int to) {
+        if (to - from != CHALLENGE_KEY.length) {
+            return false;
+        }
+        for (int i = 0; i < CHALLENGE_KEY.length; i++) {
+            if (source[from + i] != CHALLENGE_KEY[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the index of the quote closing the string starting at the index, skipping escaped characters
+     */
+    private static int indexOfStringEnd(@NonNull byte[] source, int index) {
+        while (index < source.length) {
+            if (source[index] == '\\') {
+                index += 2;
+                continue;
+            }
+            if (source[index] == '"') {
+                return index;
+            }
+            index++;
+        }
+        return -1;
+    }
+
+    private static int indexOfBackslash(@NonNull byte[] source, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (source[i] == '\\') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int skipWhitespace(@NonNull byte[] source, int index) {
+        while (index < source.length && (source[index] == ' ' || source[index] == '\t' || source[index] == '\n' || source[index] == '\r')) {
+            index++;
+        }
+        return index;
+    }
+}
@@ -18,7 +18,7 @@ package com.webauthn4j.validator;
 
 import com.webauthn4j.converter.util.ObjectConverter;
 import com.webauthn4j.data.AuthenticatorTransport;
-import com.webauthn4j.data.PublicKeyCredentialParameters;
+import com.webauthn4j.data.CoreRegistrationParameters;
 import com.webauthn4j.data.RegistrationData;
 import com.webauthn4j.data.RegistrationParameters;
 import com.webauthn4j.data.attestation.AttestationObject;
@@ -30,6 +30,11 @@ import com.webauthn4j.data.extension.authenticator.AuthenticationExtensionsAuthe
 import com.webauthn4j.data.extension.authenticator.RegistrationExtensionAuthenticatorOutput;
 import com.webauthn4j.data.extension.client.AuthenticationExtensionsClientOutputs;
 import com.webauthn4j.data.extension.client.RegistrationExtensionClientOutput;
+import com.webauthn4j.metrics.Ceremony;
+import com.webauthn4j.metrics.CeremonyObserver;
+import com.webauthn4j.metrics.CeremonyStage;
+import com.webauthn4j.metrics.CeremonyTimer;
+import com.webauthn4j.metrics.NullCeremonyObserver;
 import com.webauthn4j.server.ServerProperty;
 import com.webauthn4j.util.AssertUtil;
 import com.webauthn4j.validator.attestation.statement.AttestationStatementValidator;
@@ -57,6 +62,7 @@ public class RegistrationDataValidator {
     private final AttestationValidator attestationValidator;
 
     private OriginValidator originValidator = new OriginValidatorImpl();
+    private CeremonyObserver ceremonyObserver = new NullCeremonyObserver();
 
     public RegistrationDataValidator(
             @NonNull List<AttestationStatementValidator> attestationStatementValidators,
@@ -78,8 +84,19 @@ public class RegistrationDataValidator {
         this.customRegistrationValidators = customRegistrationValidators;
     }
 
-    @SuppressWarnings("ConstantConditions") // as null check is done by BeanAssertUtil#validate
     public void validate(@NonNull RegistrationData registrationData, @NonNull RegistrationParameters registrationParameters) {
+        CeremonyTimer timer = CeremonyTimer.start(ceremonyObserver, Ceremony.REGISTRATION);
+        try {
+            validate(registrationData, registrationParameters, timer);
+            timer.complete();
+        } catch (RuntimeException e) {
+            timer.fail(e);
+            throw e;
+        }
+    }
+
+    @SuppressWarnings("ConstantConditions") // as null check is done by BeanAssertUtil#validate
+    private void validate(@NonNull RegistrationData registrationData, @NonNull RegistrationParameters registrationParameters, @NonNull CeremonyTimer timer) {
 
         //spec| Step1
         //spec| Let options be a new PublicKeyCredentialCreationOptions structure configured to the Relying Party's needs for the ceremony.
@@ -105,6 +122,7 @@ public class RegistrationDataValidator {
         //spec| Let JSONtext be the result of running UTF-8 decode on the value of response.clientDataJSON.
         //      (This step is done on caller.)
 
+        timer.stage(CeremonyStage.PRECONDITION);
         BeanAssertUtil.validate(registrationData);
         AssertUtil.notNull(registrationParameters, "registrationParameters must not be null");
 
@@ -121,6 +139,10 @@ public class RegistrationDataValidator {
         AuthenticationExtensionsClientOutputs<RegistrationExtensionClientOutput> clientExtensions = registrationData.getClientExtensions();
 
         validateAuthenticatorDataField(attestationObject.getAuthenticatorData());
+        if (timer.isEnabled()) {
+            timer.setAttestationFormat(attestationObject.getFormat());
+            timer.setAlgorithm(attestationObject.getAuthenticatorData().getAttestedCredentialData().getCOSEKey().getAlgorithm());
+        }
 
         ServerProperty serverProperty = registrationParameters.getServerProperty();
 
@@ -144,16 +166,19 @@ public class RegistrationDataValidator {
 
         //spec| Step8
         //spec| Verify that the value of C.challenge equals the base64url encoding of options.challenge.
+        timer.stage(CeremonyStage.CHALLENGE);
         challengeValidator.validate(collectedClientData, serverProperty);
 
         //spec| Step9
         //spec| Verify that the value of C.origin matches the Relying Party's origin.
+        timer.stage(CeremonyStage.ORIGIN);
         originValidator.validate(registrationObject);
 
         //spec| Step10
         //spec| Verify that the value of C.tokenBinding.status matches the state of Token Binding for the TLS connection over
         //spec| which the assertion was obtained. If Token Binding was used on that TLS connection, also verify that
         //spec| C.tokenBinding.id matches the base64url encoding of the Token Binding ID for the connection.
+        timer.stage(CeremonyStage.TOKEN_BINDING);
         tokenBindingValidator.validate(collectedClientData.getTokenBinding(), serverProperty.getTokenBindingId());
 
         //spec| Step11
@@ -166,30 +191,33 @@ public class RegistrationDataValidator {
 
         //spec| Step13
         //spec| Verify that the rpIdHash in authData is the SHA-256 hash of the RP ID expected by the Relying Party.
+        timer.stage(CeremonyStage.RP_ID_HASH);
         rpIdHashValidator.validate(authenticatorData.getRpIdHash(), serverProperty);
 
         //spec| Step14, 15
         //spec| Verify that the User Present bit of the flags in authData is set.
         //spec| If user verification is required for this registration, verify that the User Verified bit of the flags in authData is set.
+        timer.stage(CeremonyStage.FLAGS);
         validateUVUPFlags(authenticatorData, registrationParameters.isUserVerificationRequired(), registrationParameters.isUserPresenceRequired());
 
         //spec| Step16
         //spec| Verify that the "alg" parameter in the credential public key in authData matches the alg attribute of one of the items in options.pubKeyCredParams.
+        timer.stage(CeremonyStage.ALGORITHM);
         COSEAlgorithmIdentifier alg = authenticatorData.getAttestedCredentialData().getCOSEKey().getAlgorithm();
-        List<PublicKeyCredentialParameters> pubKeyCredParams = registrationParameters.getPubKeyCredParams();
-        validateAlg(alg, pubKeyCredParams);
+        validateAlg(alg, registrationParameters);
 
         //spec| Step17
         //spec| Verify that the values of the client extension outputs in clientExtensionResults and the authenticator extension outputs in the extensions in authData are as expected,
         //spec| considering the client extension input values that were given in options.extensions and any specific policy of the Relying Party regarding unsolicited extensions,
         //spec| i.e., those that were not specified as part of options.extensions.
         //spec| In the general case, the meaning of "are as expected" is specific to the Relying Party and which extensions are in use.
+        timer.stage(CeremonyStage.EXTENSIONS);
         AuthenticationExtensionsAuthenticatorOutputs<RegistrationExtensionAuthenticatorOutput> authenticationExtensionsAuthenticatorOutputs = authenticatorData.getExtensions();
         clientExtensionValidator.validate(clientExtensions);
         authenticatorExtensionValidator.validate(authenticationExtensionsAuthenticatorOutputs);
 
         //spec| Step18-21
-        attestationValidator.validate(registrationObject);
+        attestationValidator.validate(registrationObject, timer);
 
         //spec| Step22
         //spec| Check that the credentialId is not yet registered to any other user.
@@ -218,13 +246,14 @@ public class RegistrationDataValidator {
         //      (This step is out of WebAuthn4J scope. It's caller's responsibility.)
 
         // validate with custom logic
+        timer.stage(CeremonyStage.CUSTOM);
         for (CustomRegistrationValidator customRegistrationValidator : customRegistrationValidators) {
             customRegistrationValidator.validate(registrationObject);
         }
     }
 
-    void validateAlg(COSEAlgorithmIdentifier alg, List<PublicKeyCredentialParameters> pubKeyCredParams) {
-        if(pubKeyCredParams != null && pubKeyCredParams.stream().noneMatch(item -> item.getAlg().equals(alg))){
+    void validateAlg(COSEAlgorithmIdentifier alg, CoreRegistrationParameters registrationParameters) {
+        if(!registrationParameters.isAllowedAlgorithm(alg)){
             throw new NotAllowedAlgorithmException("alg not listed in options.pubKeyCredParams is used.");
         }
     }
@@ -259,6 +288,20 @@ public class RegistrationDataValidator {
         this.originValidator = originValidator;
     }
 
+    public @NonNull CeremonyObserver getCeremonyObserver() {
+        return ceremonyObserver;
+    }
+
+    /**
+     * Sets the {@link CeremonyObserver} notified of the latency and the outcome of each validation stage
+     *
+     * @param ceremonyObserver ceremony observer
+     */
+    public void setCeremonyObserver(@NonNull CeremonyObserver ceremonyObserver) {
+        AssertUtil.notNull(ceremonyObserver, "ceremonyObserver must not be null");
+        this.ceremonyObserver = ceremonyObserver;
+    }
+
     public List<CustomRegistrationValidator> getCustomRegistrationValidators() {
         return customRegistrationValidators;
     }
@@ -60,7 +60,7 @@ public class RegistrationObject extends CoreRegistrationObject {
             @NonNull ServerProperty serverProperty,
             @NonNull Instant timestamp) {
 
-        super(attestationObject, attestationObjectBytes, MessageDigestUtil.createSHA256().digest(collectedClientDataBytes), serverProperty, timestamp);
+        super(attestationObject, attestationObjectBytes, MessageDigestUtil.digestSHA256(collectedClientDataBytes), serverProperty, timestamp);
 
         AssertUtil.notNull(collectedClientData, "collectedClientData must not be null");
         AssertUtil.notNull(collectedClientDataBytes, "collectedClientDataBytes must not be null");
@@ -33,7 +33,6 @@ import org.checkerframework.checker.nullness.qual.NonNull;
 import java.nio.ByteBuffer;
 import java.security.InvalidKeyException;
 import java.security.PublicKey;
-import java.security.Signature;
 import java.security.SignatureException;
 import java.security.cert.Certificate;
 
@@ -98,10 +97,7 @@ public class AndroidKeyAttestationStatementValidator extends AbstractStatementVa
         try {
             String jcaName;
             jcaName = getJcaName(attestationStatement.getAlg());
-            Signature verifier = SignatureUtil.createSignature(jcaName);
-            verifier.initVerify(publicKey);
-            verifier.update(signedData);
-            if (verifier.verify(signature)) {
+            if (SignatureUtil.verify(jcaName, publicKey, signedData, signature)) {
                 return;
             }
             throw new BadSignatureException("`sig` in attestation statement is not valid signature over the concatenation of authenticatorData and clientDataHash.");
@@ -38,7 +38,6 @@ import java.io.UncheckedIOException;
 import java.nio.ByteBuffer;
 import java.security.InvalidKeyException;
 import java.security.PublicKey;
-import java.security.Signature;
 import java.security.SignatureException;
 import java.security.cert.X509Certificate;
 import java.util.Objects;
@@ -145,11 +144,7 @@ public class PackedAttestationStatementValidator extends AbstractStatementValida
     private boolean verifySignature(@NonNull PublicKey publicKey, @NonNull COSEAlgorithmIdentifier algorithmIdentifier, @NonNull byte[] signature, @NonNull byte[] data) {
         try {
             String jcaName = getJcaName(algorithmIdentifier);
-            Signature verifier = SignatureUtil.createSignature(jcaName);
-            verifier.initVerify(publicKey);
-            verifier.update(data);
-
-            return verifier.verify(signature);
+            return SignatureUtil.verify(jcaName, publicKey, data, signature);
         } catch (SignatureException | InvalidKeyException | RuntimeException e) {
             return false;
         }
@@ -34,7 +34,6 @@ import java.math.BigInteger;
 import java.nio.ByteBuffer;
 import java.security.InvalidKeyException;
 import java.security.PublicKey;
-import java.security.Signature;
 import java.security.SignatureException;
 import java.security.cert.CertificateParsingException;
 import java.security.cert.X509Certificate;
@@ -106,7 +105,7 @@ public class TPMAttestationStatementValidator extends AbstractStatementValidator
         String algJcaName;
         algJcaName = getAlgJcaName(hashAlg);
 
-        byte[] pubAreaDigest = MessageDigestUtil.createMessageDigest(algJcaName).digest(pubArea.getBytes());
+        byte[] pubAreaDigest = MessageDigestUtil.digest(algJcaName, pubArea.getBytes());
         // As pubAreaDigest is known data to client side(potential attacker) because it is calculated from parts of a message,
         // there is no need to prevent timing attack and it is OK to use `Arrays.equals` instead of `MessageDigest.isEqual` here.
         if (!Arrays.equals(pubAreaDigest, certifyInfo.getName().getDigest())) {
@@ -149,7 +148,7 @@ public class TPMAttestationStatementValidator extends AbstractStatementValidator
      * Calculate message digest. If alg is null, original data is returned.
      */
     private byte[] calcMessageDigest(byte[] data, MessageDigestAlgorithm alg) {
-        return alg.createMessageDigestObject().digest(data);
+        return MessageDigestUtil.digest(alg.getJcaName(), data);
     }
 
     private void validateX5c(TPMAttestationStatement attestationStatement, TPMSAttest certInfo, AuthenticatorData<RegistrationExtensionAuthenticatorOutput> authenticatorData) {
@@ -158,11 +157,8 @@ public class TPMAttestationStatementValidator extends AbstractStatementValidator
 
         /// Verify the sig is a valid signature over certInfo using the attestation public key in aikCert with the algorithm specified in alg.
         String jcaName = getJcaName(attestationStatement.getAlg());
-        Signature certInfoSignature = SignatureUtil.createSignature(jcaName);
         try {
-            certInfoSignature.initVerify(aikCert.getPublicKey());
-            certInfoSignature.update(certInfo.getBytes());
-            if (!certInfoSignature.verify(attestationStatement.getSig())) {
+            if (!SignatureUtil.verify(jcaName, aikCert.getPublicKey(), certInfo.getBytes(), attestationStatement.getSig())) {
                 throw new BadAttestationStatementException("hash of certInfo doesn't match with sig.");
             }
         } catch (SignatureException | InvalidKeyException e) {
@@ -23,7 +23,7 @@ import com.webauthn4j.data.attestation.statement.AttestationType;
 import com.webauthn4j.data.attestation.statement.FIDOU2FAttestationStatement;
 import com.webauthn4j.util.AssertUtil;
 import com.webauthn4j.util.ECUtil;
-import com.webauthn4j.util.MessageDigestUtil;
+import com.webauthn4j.util.SignatureUtil;
 import com.webauthn4j.validator.CoreRegistrationObject;
 import com.webauthn4j.validator.attestation.statement.AbstractStatementValidator;
 import com.webauthn4j.validator.exception.BadAttestationStatementException;
@@ -32,7 +32,6 @@ import com.webauthn4j.validator.exception.CertificateException;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
 import java.nio.ByteBuffer;
-import java.nio.charset.StandardCharsets;
 import java.security.*;
 import java.security.cert.Certificate;
 import java.security.interfaces.ECPublicKey;
@@ -93,31 +92,24 @@ public class FIDOU2FAttestationStatementValidator extends AbstractStatementValid
         PublicKey publicKey = getPublicKey(attestationStatement);
 
         try {
-            Signature verifier = Signature.getInstance("SHA256withECDSA");
-            verifier.initVerify(publicKey);
-            verifier.update(signedData);
-            if (verifier.verify(signature)) {
+            if (SignatureUtil.verify("SHA256withECDSA", publicKey, signedData, signature)) {
                 return;
             }
             throw new BadSignatureException("`sig` in attestation statement is not valid signature. Please refer U2F Raw Message Formats. https://fidoalliance.org/specs/fido-u2f-v1.1-id-20160915/fido-u2f-raw-message-formats-v1.1-id-20160915.html");
-        } catch (NoSuchAlgorithmException | SignatureException | InvalidKeyException e) {
+        } catch (SignatureException | InvalidKeyException | IllegalArgumentException e) {
+            // IllegalArgumentException is thrown by SignatureUtil.verify when SHA256withECDSA is not available
             throw new BadSignatureException("`sig` in attestation statement is not valid signature. Please refer U2F Raw Message Formats. https://fidoalliance.org/specs/fido-u2f-v1.1-id-20160915/fido-u2f-raw-message-formats-v1.1-id-20160915.html");
         }
     }
 
     private byte[] getSignedData(@NonNull CoreRegistrationObject registrationObject) {
 
-        String rpId = registrationObject.getServerProperty().getRpId();
-        MessageDigest messageDigest = MessageDigestUtil.createSHA256();
-
         AttestationObject attestationObject = registrationObject.getAttestationObject();
         //noinspection ConstantConditions as null check is already done in caller
         EC2COSEKey credentialPublicKey =
                 (EC2COSEKey) attestationObject.getAuthenticatorData().getAttestedCredentialData().getCOSEKey();
 
-        byte[] rpIdBytes = rpId.getBytes(StandardCharsets.UTF_8);
-
-        byte[] applicationParameter = messageDigest.digest(rpIdBytes);
+        byte[] applicationParameter = registrationObject.getServerProperty().getRpIdHash();
         byte[] challengeParameter = registrationObject.getClientDataHash();
         byte[] keyHandle = attestationObject.getAuthenticatorData().getAttestedCredentialData().getCredentialId();
         byte[] userPublicKeyBytes = getPublicKeyBytes(credentialPublicKey);
@@ -32,6 +32,8 @@ import java.util.Set;
 
 public abstract class CertPathTrustworthinessValidatorBase implements CertPathTrustworthinessValidator {
 
+    private final PKIXParametersCache pkixParametersCache = new PKIXParametersCache();
+
     private boolean fullChainProhibited = false;
     private boolean revocationCheckEnabled = false;
     private boolean policyQualifiersRejected = false;
@@ -50,8 +52,7 @@ public abstract class CertPathTrustworthinessValidatorBase implements CertPathTr
             throw new TrustAnchorNotFoundException("TrustAnchors are not found for AAGUID: " + aaguid.toString());
         }
 
-        CertPathValidator certPathValidator = CertificateUtil.createCertPathValidator();
-        PKIXParameters certPathParameters = CertificateUtil.createPKIXParameters(trustAnchors);
+        PKIXParameters certPathParameters = pkixParametersCache.create(trustAnchors);
         certPathParameters.setPolicyQualifiersRejected(policyQualifiersRejected);
 
         certPathParameters.setRevocationEnabled(revocationCheckEnabled);
@@ -59,7 +60,7 @@ public abstract class CertPathTrustworthinessValidatorBase implements CertPathTr
 
         PKIXCertPathValidatorResult result;
         try {
-            result = (PKIXCertPathValidatorResult) certPathValidator.validate(certPath, certPathParameters);
+            result = (PKIXCertPathValidatorResult) CertificateUtil.validateCertPath(certPath, certPathParameters);
         } catch (InvalidAlgorithmParameterException e) {
             throw new com.webauthn4j.validator.exception.CertificateException("invalid algorithm parameter", e);
         } catch (CertPathValidatorException e) {
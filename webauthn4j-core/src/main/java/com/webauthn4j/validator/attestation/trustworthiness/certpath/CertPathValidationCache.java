@@ -0,0 +1,183 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.webauthn4j.validator.attestation.trustworthiness.certpath;
+
+import com.webauthn4j.util.AssertUtil;
+import com.webauthn4j.util.MessageDigestUtil;
+import com.webauthn4j.util.exception.UnexpectedCheckedException;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.security.cert.Certificate;
+import java.security.cert.CertificateEncodingException;
+import java.security.cert.CertPath;
+import java.security.cert.TrustAnchor;
+import java.security.cert.X509Certificate;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Bounded LRU cache of successful PKIX validations of attestation certificate paths.
+ * <p>
+ * An entry is keyed by the SHA-256 of the encoded certificate path, and is only used for a {@link TrustAnchor}
+ * {@link Set} with the same elements and the same policy qualifier setting it was validated with. The entry keeps an
+ * immutable snapshot of the {@link Set}, so both reloading trust anchors and removing one from the {@link Set} in place
+ * invalidate it. The validity window of the path is remembered, and a ceremony timestamp outside of it is always
+ * validated again, so certificate expiry is still enforced. Failed validations are not cached.
+ * Since revocation status may change at any time, this cache must not be used when revocation checking is enabled.
+ */
+public class CertPathValidationCache {
+
+    public static final int DEFAULT_MAX_SIZE = 1000;
+
+    private final Map<ByteBuffer, Entry> entries;
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+
+    public CertPathValidationCache(int maxSize) {
+        AssertUtil.isTrue(maxSize > 0, "maxSize must be positive");
+        this.entries = new LinkedHashMap<ByteBuffer, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ByteBuffer, Entry> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    public CertPathValidationCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * Returns the {@link TrustAnchor} of a previous successful validation of the same certificate path,
+     * or runs the validator and caches its result on cache miss
+     *
+     * @param certPath                 certificate path
+     * @param trustAnchors             trust anchors the path is validated against
+     * @param policyQualifiersRejected policy qualifiers rejected setting the path is validated with
+     * @param timestamp                timestamp the path is validated at
+     * @param validator                performs PKIX validation and returns the matched {@link TrustAnchor}. It must throw on failure
+     * @return the matched {@link TrustAnchor}
+     */
+    public @NonNull TrustAnchor getOrValidate(@NonNull CertPath certPath, @NonNull Set<TrustAnchor> trustAnchors, boolean policyQualifiersRejected,
+                                              @NonNull Instant timestamp, @NonNull Supplier<TrustAnchor> validator) {
+        AssertUtil.notNull(certPath, "certPath must not be null");
+        AssertUtil.notNull(trustAnchors, "trustAnchors must not be null");
+        AssertUtil.notNull(timestamp, "timestamp must not be null");
+        AssertUtil.notNull(validator, "validator must not be null");
+
+        ByteBuffer key = ByteBuffer.wrap(MessageDigestUtil.digestSHA256(encode(certPath)));
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+        }
+        if (entry != null && entry.matches(trustAnchors, policyQualifiersRejected, timestamp)) {
+            hitCount.increment();
+            return entry.trustAnchor;
+        }
+        missCount.increment();
+        TrustAnchor trustAnchor = validator.get();
+        Entry newEntry = new Entry(trustAnchors, policyQualifiersRejected, trustAnchor, certPath);
+        synchronized (entries) {
+            entries.put(key, newEntry);
+        }
+        return trustAnchor;
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    private static @NonNull byte[] encode(@NonNull CertPath certPath) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        for (Certificate certificate : certPath.getCertificates()) {
+            byte[] encoded;
+            try {
+                encoded = certificate.getEncoded();
+            } catch (CertificateEncodingException e) {
+                throw new UnexpectedCheckedException(e);
+            }
+            // length prefix keeps the boundaries of certificates unambiguous
+            outputStream.write(encoded.length >>> 24);
+            outputStream.write(encoded.length >>> 16);
+            outputStream.write(encoded.length >>> 8);
+            outputStream.write(encoded.length);
+            outputStream.write(encoded, 0, encoded.length);
+        }
+        return outputStream.toByteArray();
+    }
+
+    private static class Entry {
+
+        private final TrustAnchorsKey trustAnchorsKey;
+        private final boolean policyQualifiersRejected;
+        private final TrustAnchor trustAnchor;
+        private final Instant notBefore;
+        private final Instant notAfter;
+
+        private Entry(@NonNull Set<TrustAnchor> trustAnchors, boolean policyQualifiersRejected, @NonNull TrustAnchor trustAnchor, @NonNull CertPath certPath) {
+            this.trustAnchorsKey = new TrustAnchorsKey(trustAnchors).snapshot();
+            this.policyQualifiersRejected = policyQualifiersRejected;
+            this.trustAnchor = trustAnchor;
+
+            Instant maxNotBefore = Instant.MIN;
+            Instant minNotAfter = Instant.MAX;
+            for (Certificate certificate : certPath.getCertificates()) {
+                X509Certificate x509Certificate = (X509Certificate) certificate;
+                Instant certificateNotBefore = x509Certificate.getNotBefore().toInstant();
+                Instant certificateNotAfter = x509Certificate.getNotAfter().toInstant();
+                if (certificateNotBefore.isAfter(maxNotBefore)) {
+                    maxNotBefore = certificateNotBefore;
+                }
+                if (certificateNotAfter.isBefore(minNotAfter)) {
+                    minNotAfter = certificateNotAfter;
+                }
+            }
+            this.notBefore = maxNotBefore;
+            this.notAfter = minNotAfter;
+        }
+
+        private boolean matches(@NonNull Set<TrustAnchor> trustAnchors, boolean policyQualifiersRejected, @NonNull Instant timestamp) {
+            return this.policyQualifiersRejected == policyQualifiersRejected &&
+                    !timestamp.isBefore(notBefore) &&
+                    !timestamp.isAfter(notAfter) &&
+                    trustAnchorsKey.equals(new TrustAnchorsKey(trustAnchors));
+        }
+    }
+}
@@ -25,18 +25,21 @@ import com.webauthn4j.util.CertificateUtil;
 import com.webauthn4j.validator.exception.CertificateException;
 import com.webauthn4j.validator.exception.TrustAnchorNotFoundException;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.security.InvalidAlgorithmParameterException;
 import java.security.cert.*;
 import java.time.Instant;
 import java.util.Date;
-import java.util.Objects;
 import java.util.Set;
 
 public class DefaultCertPathTrustworthinessValidator implements CertPathTrustworthinessValidator{
 
     private final TrustAnchorRepository trustAnchorRepository;
 
+    private final PKIXParametersCache pkixParametersCache = new PKIXParametersCache();
+    private CertPathValidationCache certPathValidationCache;
+
     private boolean fullChainProhibited = false;
     private boolean revocationCheckEnabled = false;
     private boolean policyQualifiersRejected = false;
@@ -74,8 +77,22 @@ public class DefaultCertPathTrustworthinessValidator implements CertPathTrustwor
             throw new TrustAnchorNotFoundException("TrustAnchors are not found");
         }
 
-        CertPathValidator certPathValidator = CertificateUtil.createCertPathValidator();
-        PKIXParameters certPathParameters = CertificateUtil.createPKIXParameters(trustAnchors);
+        TrustAnchor trustAnchor;
+        if (certPathValidationCache == null || revocationCheckEnabled) {
+            trustAnchor = validateCertPathWithPKIX(certPath, trustAnchors, timestamp);
+        }
+        else {
+            trustAnchor = certPathValidationCache.getOrValidate(certPath, trustAnchors, policyQualifiersRejected, timestamp,
+                    () -> validateCertPathWithPKIX(certPath, trustAnchors, timestamp));
+        }
+        if (fullChainProhibited && certPath.getCertificates().contains(trustAnchor.getTrustedCert())) {
+            throw new CertificateException("`certpath` must not contain full chain.");
+        }
+        return trustAnchor;
+    }
+
+    private TrustAnchor validateCertPathWithPKIX(CertPath certPath, Set<TrustAnchor> trustAnchors, Instant timestamp){
+        PKIXParameters certPathParameters = pkixParametersCache.create(trustAnchors);
         certPathParameters.setPolicyQualifiersRejected(policyQualifiersRejected);
 
         certPathParameters.setRevocationEnabled(revocationCheckEnabled);
@@ -83,18 +100,14 @@ public class DefaultCertPathTrustworthinessValidator implements CertPathTrustwor
 
         PKIXCertPathValidatorResult result;
         try {
-            result = (PKIXCertPathValidatorResult) certPathValidator.validate(certPath, certPathParameters);
+            result = (PKIXCertPathValidatorResult) CertificateUtil.validateCertPath(certPath, certPathParameters);
         } catch (InvalidAlgorithmParameterException e) {
             throw new com.webauthn4j.validator.exception.CertificateException("invalid algorithm parameter", e);
         } catch (CertPathValidatorException e) {
             throw new com.webauthn4j.validator.exception.CertificateException("invalid cert path", e);
         }
-        if (fullChainProhibited && certPath.getCertificates().contains(result.getTrustAnchor().getTrustedCert())) {
-            throw new CertificateException("`certpath` must not contain full chain.");
-        }
-        return trustAnchors.stream()
-                .filter(item -> Objects.equals(item, result.getTrustAnchor()))
-                .findFirst().orElseThrow(()-> new IllegalStateException("Matching TrustAnchor is not found."));
+        // PKIXParameters keeps the TrustAnchor instances of the given set, so the matched one is returned as is
+        return result.getTrustAnchor();
     }
 
     public boolean isFullChainProhibited() {
@@ -120,4 +133,17 @@ public class DefaultCertPathTrustworthinessValidator implements CertPathTrustwor
     public void setPolicyQualifiersRejected(boolean policyQualifiersRejected) {
         this.policyQualifiersRejected = policyQualifiersRejected;
     }
+
+    public @Nullable CertPathValidationCache getCertPathValidationCache() {
+        return certPathValidationCache;
+    }
+
+    /**
+     * Sets the cache of successful certificate path validations. It is bypassed while revocation checking is enabled.
+     *
+     * @param certPathValidationCache cache, or null to validate every certificate path
+     */
+    public void setCertPathValidationCache(@Nullable CertPathValidationCache certPathValidationCache) {
+        this.certPathValidationCache = certPathValidationCache;
+    }
 }
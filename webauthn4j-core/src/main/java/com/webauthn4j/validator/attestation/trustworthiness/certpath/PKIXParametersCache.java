@@ -0,0 +1,90 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.webauthn4j.validator.attestation.trustworthiness.certpath;
+
+import com.webauthn4j.util.AssertUtil;
+import com.webauthn4j.util.CertificateUtil;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.security.cert.PKIXParameters;
+import java.security.cert.TrustAnchor;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bounded LRU cache of prepared {@link PKIXParameters}, keyed by the elements of the resolved {@link TrustAnchor} {@link Set}.
+ * <p>
+ * Constructing {@link PKIXParameters} copies and checks every {@link TrustAnchor}, which is costly with large trust stores.
+ * Entries are keyed by an immutable snapshot of the {@link Set} (see {@link TrustAnchorsKey}), so both a reload and an
+ * in-place change of the {@link Set} invalidate them.
+ */
+class PKIXParametersCache {
+
+    static final int DEFAULT_MAX_SIZE = 256;
+
+    private final Map<TrustAnchorsKey, PKIXParameters> entries;
+
+    PKIXParametersCache(int maxSize) {
+        AssertUtil.isTrue(maxSize > 0, "maxSize must be positive");
+        this.entries = new LinkedHashMap<TrustAnchorsKey, PKIXParameters>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<TrustAnchorsKey, PKIXParameters> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    PKIXParametersCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * Returns a new {@link PKIXParameters} for the trust anchors, which the caller may freely modify
+     *
+     * @param trustAnchors trust anchors
+     * @return {@link PKIXParameters}
+     */
+    @NonNull PKIXParameters create(@NonNull Set<TrustAnchor> trustAnchors) {
+        TrustAnchorsKey key = new TrustAnchorsKey(trustAnchors);
+        PKIXParameters template;
+        synchronized (entries) {
+            template = entries.get(key);
+        }
+        if (template == null) {
+            TrustAnchorsKey snapshot = key.snapshot();
+            template = CertificateUtil.createPKIXParameters(snapshot.getTrustAnchors());
+            synchronized (entries) {
+                entries.put(snapshot, template);
+            }
+        }
+        return (PKIXParameters) template.clone();
+    }
+
+    void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+}
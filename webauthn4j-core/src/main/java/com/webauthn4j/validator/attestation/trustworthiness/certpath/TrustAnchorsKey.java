@@ -0,0 +1,70 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.webauthn4j.validator.attestation.trustworthiness.certpath;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.security.cert.TrustAnchor;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Cache key that compares {@link TrustAnchor} {@link Set}s by their elements rather than by the identity of the {@link Set}.
+ * <p>
+ * Trust anchor sources may hand out a mutable {@link Set} and change it in place, e.g. to remove a compromised root.
+ * Keys stored in a cache hold an immutable snapshot taken by {@link #snapshot()}, so such a change makes lookups miss.
+ * As {@link TrustAnchor} doesn't override {@link Object#equals(Object)}, comparing elements is cheap.
+ */
+class TrustAnchorsKey {
+
+    private final Set<TrustAnchor> trustAnchors;
+    private final int hashCode;
+
+    TrustAnchorsKey(@NonNull Set<TrustAnchor> trustAnchors) {
+        this.trustAnchors = trustAnchors;
+        this.hashCode = trustAnchors.hashCode();
+    }
+
+    /**
+     * Returns a key holding an immutable copy of the trust anchors, which is suitable to be stored in a cache
+     *
+     * @return the key
+     */
+    @NonNull TrustAnchorsKey snapshot() {
+        return new TrustAnchorsKey(Collections.unmodifiableSet(new HashSet<>(trustAnchors)));
+    }
+
+    @NonNull Set<TrustAnchor> getTrustAnchors() {
+        return trustAnchors;
+    }
+
+    @Override
+    public boolean equals(@Nullable Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        TrustAnchorsKey that = (TrustAnchorsKey) o;
+        return hashCode == that.hashCode && trustAnchors.equals(that.trustAnchors);
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+}
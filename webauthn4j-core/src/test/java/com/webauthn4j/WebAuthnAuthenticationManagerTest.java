@@ -16,14 +16,44 @@
 
 package com.webauthn4j;
 
+import com.webauthn4j.converter.exception.DataConversionException;
 import com.webauthn4j.converter.util.ObjectConverter;
+import com.webauthn4j.authenticator.Authenticator;
+import com.webauthn4j.data.AuthenticationData;
+import com.webauthn4j.data.AuthenticationParameters;
+import com.webauthn4j.data.AuthenticationRequest;
+import com.webauthn4j.data.AuthenticationResult;
+import com.webauthn4j.data.client.ClientDataType;
+import com.webauthn4j.data.client.CollectedClientData;
+import com.webauthn4j.data.client.Origin;
+import com.webauthn4j.data.client.challenge.Challenge;
+import com.webauthn4j.data.client.challenge.DefaultChallenge;
+import com.webauthn4j.metrics.Ceremony;
+import com.webauthn4j.metrics.CeremonyStage;
+import com.webauthn4j.metrics.HistogramCeremonyObserver;
+import com.webauthn4j.metrics.LatencyHistogram;
+import com.webauthn4j.server.InMemoryChallengeRepository;
+import com.webauthn4j.server.ServerProperty;
 import com.webauthn4j.validator.CustomAuthenticationValidator;
+import com.webauthn4j.validator.exception.BadChallengeException;
+import com.webauthn4j.validator.exception.NotAllowedCredentialIdException;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
 
 class WebAuthnAuthenticationManagerTest {
 
@@ -36,5 +66,154 @@ class WebAuthnAuthenticationManagerTest {
         assertThatCode(() -> new WebAuthnAuthenticationManager(customAuthenticationValidators, objectConverter)).doesNotThrowAnyException();
     }
 
+    @Test
+    void validateAsync_with_malformed_authenticatorData_test() {
+        WebAuthnAuthenticationManager target = new WebAuthnAuthenticationManager();
+        AuthenticationRequest authenticationRequest = new AuthenticationRequest(new byte[32], new byte[]{0x00}, null, null);
+
+        CompletableFuture<AuthenticationData> future = target.validateAsync(authenticationRequest, null, Runnable::run);
+
+        CompletionException exception = assertThrows(CompletionException.class, future::join);
+        assertThat(exception.getCause()).isInstanceOf(DataConversionException.class);
+    }
+
+    @Test
+    void validateAsync_with_null_executor_test() {
+        WebAuthnAuthenticationManager target = new WebAuthnAuthenticationManager();
+        AuthenticationRequest authenticationRequest = new AuthenticationRequest(new byte[32], null, null, null);
+        assertThrows(IllegalArgumentException.class, () -> target.validateAsync(authenticationRequest, null, null));
+    }
+
+    @Test
+    void validateAll_reports_failures_per_item_test() {
+        WebAuthnAuthenticationManager target = new WebAuthnAuthenticationManager();
+        AuthenticationRequest malformed = new AuthenticationRequest(new byte[32], new byte[]{0x00}, null, null);
+        AuthenticationRequest unknownCredential = new AuthenticationRequest(new byte[32], null, null, null);
+        IllegalStateException resolverException = new IllegalStateException("unknown credential");
+
+        List<AuthenticationResult> results = target.validateAll(Arrays.asList(malformed, unknownCredential), authenticationData -> {
+            throw resolverException;
+        });
+
+        assertThat(results).hasSize(2);
+        assertThat(results.get(0).isSuccess()).isFalse();
+        assertThat(results.get(0).getAuthenticationRequest()).isSameAs(malformed);
+        assertThat(results.get(0).getException()).isInstanceOf(DataConversionException.class);
+        assertThat(results.get(1).isSuccess()).isFalse();
+        assertThat(results.get(1).getAuthenticationData()).isNull();
+        assertThat(results.get(1).getException()).isSameAs(resolverException);
+    }
+
+    @Test
+    void validateAll_with_executor_keeps_request_order_test() {
+        WebAuthnAuthenticationManager target = new WebAuthnAuthenticationManager();
+        List<AuthenticationRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            requests.add(new AuthenticationRequest(new byte[]{(byte) i}, null, null, null));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<AuthenticationResult> results = target.validateAll(requests, authenticationData -> null, executor);
+
+            assertThat(results).hasSize(requests.size());
+            for (int i = 0; i < requests.size(); i++) {
+                assertThat(results.get(i).getAuthenticationRequest()).isSameAs(requests.get(i));
+                assertThat(results.get(i).isSuccess()).isFalse();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void validateAll_with_empty_list_test() {
+        WebAuthnAuthenticationManager target = new WebAuthnAuthenticationManager();
+        assertThat(target.validateAll(Collections.emptyList(), authenticationData -> null)).isEmpty();
+    }
+
+    @Test
+    void validateAll_with_null_request_test() {
+        WebAuthnAuthenticationManager target = new WebAuthnAuthenticationManager();
+        List<AuthenticationRequest> requests = Collections.singletonList(null);
+        assertThrows(IllegalArgumentException.class, () -> target.validateAll(requests, authenticationData -> null));
+    }
+
+    @Test
+    void validate_with_challengeRepository_and_invalid_response_does_not_consume_challenge_test() {
+        WebAuthnAuthenticationManager target = new WebAuthnAuthenticationManager();
+        InMemoryChallengeRepository challengeRepository = new InMemoryChallengeRepository();
+        target.setChallengeRepository(challengeRepository);
+        Challenge challenge = challengeRepository.issue();
+        AuthenticationData authenticationData = createAuthenticationData(challenge);
+        AuthenticationParameters authenticationParameters = createAuthenticationParametersWithoutChallenge();
+
+        Throwable thrown = catchThrowable(() -> target.validate(authenticationData, authenticationParameters));
+        assertThat(thrown).isNotNull().isNotInstanceOf(BadChallengeException.class);
+        assertThat(challengeRepository.consume(challenge)).isTrue();
+    }
+
+    @Test
+    void validate_with_challengeRepository_and_unissued_challenge_test() {
+        WebAuthnAuthenticationManager target = new WebAuthnAuthenticationManager();
+        target.setChallengeRepository(new InMemoryChallengeRepository());
+        AuthenticationData authenticationData = createAuthenticationData(new DefaultChallenge());
+        AuthenticationParameters authenticationParameters = createAuthenticationParametersWithoutChallenge();
+
+        assertThatThrownBy(() -> target.validate(authenticationData, authenticationParameters)).isInstanceOf(BadChallengeException.class);
+    }
+
+    @Test
+    void validate_with_challengeRepository_and_mismatching_expected_challenge_does_not_consume_challenge_test() {
+        WebAuthnAuthenticationManager target = new WebAuthnAuthenticationManager();
+        InMemoryChallengeRepository challengeRepository = new InMemoryChallengeRepository();
+        target.setChallengeRepository(challengeRepository);
+        Challenge otherCeremonyChallenge = challengeRepository.issue();
+        Challenge expectedChallenge = challengeRepository.issue();
+        AuthenticationData authenticationData = createAuthenticationData(otherCeremonyChallenge);
+        ServerProperty serverProperty = new ServerProperty(new Origin("https://example.com"), "example.com", expectedChallenge, null);
+        AuthenticationParameters authenticationParameters = new AuthenticationParameters(serverProperty, mock(Authenticator.class), null, false);
+
+        assertThatThrownBy(() -> target.validate(authenticationData, authenticationParameters)).isInstanceOf(BadChallengeException.class);
+        assertThat(challengeRepository.consume(otherCeremonyChallenge)).isTrue();
+        assertThat(challengeRepository.consume(expectedChallenge)).isTrue();
+    }
+
+    @Test
+    void parse_with_malformed_authenticatorData_reports_failure_to_ceremonyObserver_test() {
+        WebAuthnAuthenticationManager target = new WebAuthnAuthenticationManager();
+        HistogramCeremonyObserver ceremonyObserver = new HistogramCeremonyObserver();
+        target.setCeremonyObserver(ceremonyObserver);
+        AuthenticationRequest authenticationRequest = new AuthenticationRequest(new byte[32], new byte[]{0x00}, null, null);
+
+        assertThrows(DataConversionException.class, () -> target.parse(authenticationRequest));
+
+        LatencyHistogram histogram = ceremonyObserver.getHistogram(Ceremony.AUTHENTICATION, CeremonyStage.PARSE, false, null, null);
+        assertThat(histogram).isNotNull();
+        assertThat(histogram.getCount()).isEqualTo(1);
+        assertThat(target.getAuthenticationDataValidator().getCeremonyObserver()).isSameAs(ceremonyObserver);
+    }
+
+    @Test
+    void validate_with_fastReject_rejects_before_parsing_test() {
+        WebAuthnAuthenticationManager target = new WebAuthnAuthenticationManager();
+        target.setFastRejectEnabled(true);
+        AuthenticationRequest authenticationRequest = new AuthenticationRequest(new byte[]{0x09}, new byte[]{0x00}, null, null);
+        ServerProperty serverProperty = new ServerProperty(new Origin("https://example.com"), "example.com", new DefaultChallenge(), null);
+        AuthenticationParameters authenticationParameters = new AuthenticationParameters(serverProperty, mock(Authenticator.class), Collections.singletonList(new byte[]{0x01}), false);
+
+        assertThat(target.isFastRejectEnabled()).isTrue();
+        // the malformed authenticatorData would fail parsing with DataConversionException without fast reject
+        assertThatThrownBy(() -> target.validate(authenticationRequest, authenticationParameters)).isInstanceOf(NotAllowedCredentialIdException.class);
+    }
+
+    private AuthenticationData createAuthenticationData(Challenge challenge) {
+        CollectedClientData collectedClientData = new CollectedClientData(ClientDataType.WEBAUTHN_GET, challenge, new Origin("https://example.com"), null);
+        return new AuthenticationData(new byte[32], null, null, null, collectedClientData, new byte[0], null, new byte[32]);
+    }
+
+    private AuthenticationParameters createAuthenticationParametersWithoutChallenge() {
+        ServerProperty serverProperty = new ServerProperty(new Origin("https://example.com"), "example.com", null, null);
+        return new AuthenticationParameters(serverProperty, mock(Authenticator.class), null, false);
+    }
 
-}
\ No newline at end of file
+}
@@ -17,6 +17,9 @@
 package com.webauthn4j;
 
 import com.webauthn4j.anchor.TrustAnchorsResolver;
+import com.webauthn4j.converter.exception.DataConversionException;
+import com.webauthn4j.data.RegistrationData;
+import com.webauthn4j.data.RegistrationRequest;
 import com.webauthn4j.test.TestAttestationUtil;
 import com.webauthn4j.validator.attestation.statement.androidkey.AndroidKeyAttestationStatementValidator;
 import com.webauthn4j.validator.attestation.statement.none.NoneAttestationStatementValidator;
@@ -27,8 +30,13 @@ import com.webauthn4j.validator.attestation.trustworthiness.self.DefaultSelfAtte
 import org.junit.jupiter.api.Test;
 
 import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class WebAuthnRegistrationManagerTest {
 
@@ -56,5 +64,38 @@ class WebAuthnRegistrationManagerTest {
         assertThat(WebAuthnRegistrationManager.createNonStrictWebAuthnRegistrationManager()).isNotNull();
     }
 
+    @Test
+    void validateAsync_with_malformed_attestationObject_test() {
+        WebAuthnRegistrationManager target = WebAuthnRegistrationManager.createNonStrictWebAuthnRegistrationManager();
+        RegistrationRequest registrationRequest = new RegistrationRequest(new byte[]{0x00}, null, (String) null);
+
+        CompletableFuture<RegistrationData> future = target.validateAsync(registrationRequest, null, Runnable::run);
+
+        assertThat(future).isCompletedExceptionally();
+        CompletionException exception = assertThrows(CompletionException.class, future::join);
+        assertThat(exception.getCause()).isInstanceOf(DataConversionException.class);
+    }
+
+    @Test
+    void validateAsync_runs_parse_and_validation_on_given_executors_test() {
+        WebAuthnRegistrationManager target = WebAuthnRegistrationManager.createNonStrictWebAuthnRegistrationManager();
+        RegistrationRequest registrationRequest = new RegistrationRequest(null, null, (String) null);
+        AtomicInteger parseCount = new AtomicInteger();
+        AtomicInteger validationCount = new AtomicInteger();
+        Executor parseExecutor = command -> {
+            parseCount.incrementAndGet();
+            command.run();
+        };
+        Executor validationExecutor = command -> {
+            validationCount.incrementAndGet();
+            command.run();
+        };
+
+        CompletableFuture<RegistrationData> future = target.validateAsync(registrationRequest, null, parseExecutor, validationExecutor);
+
+        assertThat(parseCount).hasValue(1);
+        assertThat(validationCount).hasValue(1);
+        assertThat(future).isCompletedExceptionally();
+    }
 
-}
\ No newline at end of file
+}
@@ -17,10 +17,17 @@
 package com.webauthn4j.anchor;
 
 import com.webauthn4j.data.attestation.authenticator.AAGUID;
+import com.webauthn4j.test.TestAttestationUtil;
+import com.webauthn4j.util.CertificateUtil;
 import org.junit.jupiter.api.Test;
 
 import java.security.cert.TrustAnchor;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -35,4 +42,47 @@ class TrustAnchorsResolverImplTest {
         Set<TrustAnchor> trustAnchorsB = target.resolve(AAGUID.ZERO);
         assertThat(trustAnchorsA).isEqualTo(trustAnchorsB);
     }
+
+    @Test
+    void resolve_merges_null_aaguid_and_aaguid_trustAnchors_test() {
+        AAGUID aaguid = new AAGUID("fbfc3007-154e-4ecc-8c0b-6e020557d7bd");
+        Set<TrustAnchor> commonTrustAnchors = CertificateUtil.generateTrustAnchors(Collections.singletonList(TestAttestationUtil.load2tierTestRootCACertificate()));
+        Set<TrustAnchor> aaguidTrustAnchors = CertificateUtil.generateTrustAnchors(Collections.singletonList(TestAttestationUtil.load3tierTestRootCACertificate()));
+        Map<AAGUID, Set<TrustAnchor>> map = new HashMap<>();
+        map.put(AAGUID.NULL, commonTrustAnchors);
+        map.put(aaguid, aaguidTrustAnchors);
+        TrustAnchorsResolverImpl target = new TrustAnchorsResolverImpl(() -> map);
+
+        Set<TrustAnchor> resolved = target.resolve(aaguid);
+
+        assertThat(resolved).containsAll(commonTrustAnchors).containsAll(aaguidTrustAnchors).hasSize(2);
+        assertThat(target.resolve(aaguid)).isSameAs(resolved);
+        assertThat(target.resolve(AAGUID.ZERO)).isEqualTo(commonTrustAnchors);
+    }
+
+    @Test
+    void resolve_after_in_place_change_of_provider_set_test() {
+        Set<TrustAnchor> compromisedTrustAnchors = CertificateUtil.generateTrustAnchors(Collections.singletonList(TestAttestationUtil.load3tierTestRootCACertificate()));
+        Set<TrustAnchor> trustAnchors = new HashSet<>(CertificateUtil.generateTrustAnchors(Collections.singletonList(TestAttestationUtil.load2tierTestRootCACertificate())));
+        trustAnchors.addAll(compromisedTrustAnchors);
+        Map<AAGUID, Set<TrustAnchor>> map = Collections.singletonMap(AAGUID.NULL, trustAnchors);
+        TrustAnchorsResolverImpl target = new TrustAnchorsResolverImpl(() -> map);
+
+        assertThat(target.resolve(AAGUID.ZERO)).hasSize(2);
+        trustAnchors.removeAll(compromisedTrustAnchors);
+
+        assertThat(target.resolve(AAGUID.ZERO)).isEqualTo(trustAnchors).doesNotContainAnyElementsOf(compromisedTrustAnchors);
+    }
+
+    @Test
+    void resolve_after_provider_reload_test() {
+        Set<TrustAnchor> trustAnchorsA = CertificateUtil.generateTrustAnchors(Collections.singletonList(TestAttestationUtil.load2tierTestRootCACertificate()));
+        Set<TrustAnchor> trustAnchorsB = CertificateUtil.generateTrustAnchors(Collections.singletonList(TestAttestationUtil.load3tierTestRootCACertificate()));
+        AtomicReference<Map<AAGUID, Set<TrustAnchor>>> provided = new AtomicReference<>(Collections.singletonMap(AAGUID.NULL, trustAnchorsA));
+        TrustAnchorsResolverImpl target = new TrustAnchorsResolverImpl(provided::get);
+
+        assertThat(target.resolve(AAGUID.ZERO)).isEqualTo(trustAnchorsA);
+        provided.set(Collections.singletonMap(AAGUID.NULL, trustAnchorsB));
+        assertThat(target.resolve(AAGUID.ZERO)).isEqualTo(trustAnchorsB);
+    }
 }
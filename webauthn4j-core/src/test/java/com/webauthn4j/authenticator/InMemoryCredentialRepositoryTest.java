@@ -0,0 +1,141 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.webauthn4j.authenticator;
+
+import com.webauthn4j.data.AuthenticatorTransport;
+import com.webauthn4j.data.attestation.authenticator.AttestedCredentialData;
+import com.webauthn4j.test.TestDataUtil;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryCredentialRepositoryTest {
+
+    private final InMemoryCredentialRepository target = new InMemoryCredentialRepository();
+
+    @Test
+    void save_find_remove_test() {
+        Authenticator authenticator = createAuthenticator(1, 10);
+
+        target.save(authenticator);
+
+        assertThat(target.find(credentialId(1))).isEqualTo(authenticator);
+        assertThat(target.find(credentialId(2))).isNull();
+        assertThat(target.remove(credentialId(1))).isTrue();
+        assertThat(target.remove(credentialId(1))).isFalse();
+        assertThat(target.find(credentialId(1))).isNull();
+    }
+
+    @Test
+    void save_find_with_client_supplied_transports_test() {
+        AuthenticatorTransport commaTransport = AuthenticatorTransport.create("usb,nfc");
+        AuthenticatorTransport emptyTransport = AuthenticatorTransport.create("");
+        Authenticator authenticator = new AuthenticatorImpl(
+                TestDataUtil.createAttestedCredentialData(),
+                null,
+                0,
+                new HashSet<>(Arrays.asList(commaTransport, emptyTransport)),
+                null,
+                null
+        );
+
+        target.save(authenticator);
+
+        Authenticator found = target.find(TestDataUtil.createAttestedCredentialData().getCredentialId());
+        assertThat(found).isNotNull();
+        assertThat(found.getTransports()).containsExactlyInAnyOrder(commaTransport, emptyTransport);
+    }
+
+    @Test
+    void save_replaces_existing_test() {
+        target.save(createAuthenticator(1, 10));
+        target.save(createAuthenticator(1, 20));
+
+        assertThat(target.size()).isEqualTo(1);
+        assertThat(target.find(credentialId(1)).getCounter()).isEqualTo(20);
+    }
+
+    @Test
+    void many_credentials_test() {
+        int count = 10000;
+        for (int i = 0; i < count; i++) {
+            target.save(createAuthenticator(i, i));
+        }
+        assertThat(target.size()).isEqualTo(count);
+
+        for (int i = 0; i < count; i += 2) {
+            assertThat(target.remove(credentialId(i))).isTrue();
+        }
+        assertThat(target.size()).isEqualTo(count / 2);
+        for (int i = 0; i < count; i++) {
+            Authenticator found = target.find(credentialId(i));
+            if (i % 2 == 0) {
+                assertThat(found).isNull();
+            }
+            else {
+                assertThat(found).isNotNull();
+                assertThat(found.getCounter()).isEqualTo(i);
+            }
+        }
+    }
+
+    @Test
+    void find_without_attestation_statement_test() {
+        target.setAttestationStatementDecoded(false);
+        target.save(TestDataUtil.createAuthenticator());
+
+        Authenticator found = target.find(TestDataUtil.createAttestedCredentialData().getCredentialId());
+
+        assertThat(target.isAttestationStatementDecoded()).isFalse();
+        assertThat(found).isNotNull();
+        assertThat(found.getAttestationStatement()).isNull();
+    }
+
+    @Test
+    void signCounterStore_test() {
+        target.save(createAuthenticator(1, 10));
+        SignCounterStore signCounterStore = target.getSignCounterStore();
+
+        assertThat(signCounterStore.find(credentialId(1))).isEqualTo(10);
+        assertThat(signCounterStore.compareAndAdvance(credentialId(1), 10, 11)).isTrue();
+        assertThat(signCounterStore.compareAndAdvance(credentialId(1), 10, 11)).isFalse();
+        assertThat(target.find(credentialId(1)).getCounter()).isEqualTo(11);
+    }
+
+    @Test
+    void signCounterStore_unknown_credential_test() {
+        SignCounterStore signCounterStore = target.getSignCounterStore();
+
+        assertThat(signCounterStore.find(credentialId(1))).isNull();
+        assertThat(signCounterStore.compareAndAdvance(credentialId(1), 10, 11)).isTrue();
+        assertThat(signCounterStore.compareAndAdvance(credentialId(1), 10, 10)).isFalse();
+    }
+
+    private static byte[] credentialId(int id) {
+        return ByteBuffer.allocate(32).putInt(id).array();
+    }
+
+    private static Authenticator createAuthenticator(int id, long counter) {
+        AttestedCredentialData template = TestDataUtil.createAttestedCredentialData();
+        AttestedCredentialData attestedCredentialData = new AttestedCredentialData(template.getAaguid(), credentialId(id), template.getCOSEKey());
+        return new AuthenticatorImpl(attestedCredentialData, null, counter);
+    }
+}
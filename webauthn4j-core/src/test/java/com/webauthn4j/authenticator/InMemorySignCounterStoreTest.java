@@ -0,0 +1,101 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.webauthn4j.authenticator;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemorySignCounterStoreTest {
+
+    @Test
+    void compareAndAdvance_test() {
+        InMemorySignCounterStore target = new InMemorySignCounterStore();
+        byte[] credentialId = new byte[]{0x01, 0x02};
+
+        assertThat(target.find(credentialId)).isNull();
+        assertThat(target.compareAndAdvance(credentialId, 0, 1)).isTrue();
+        assertThat(target.find(credentialId)).isEqualTo(1L);
+        assertThat(target.compareAndAdvance(credentialId, 0, 1)).isFalse();
+        assertThat(target.compareAndAdvance(credentialId, 0, 5)).isTrue();
+        assertThat(target.compareAndAdvance(credentialId, 0, 3)).isFalse();
+        assertThat(target.find(credentialId)).isEqualTo(5L);
+    }
+
+    @Test
+    void compareAndAdvance_respects_caller_counter_test() {
+        InMemorySignCounterStore target = new InMemorySignCounterStore();
+        byte[] credentialId = new byte[]{0x01};
+
+        assertThat(target.compareAndAdvance(credentialId, 10, 10)).isFalse();
+        assertThat(target.find(credentialId)).isNull();
+        assertThat(target.compareAndAdvance(credentialId, 10, 11)).isTrue();
+        assertThat(target.compareAndAdvance(credentialId, 20, 15)).isFalse();
+    }
+
+    @Test
+    void key_is_not_affected_by_caller_array_mutation_test() {
+        InMemorySignCounterStore target = new InMemorySignCounterStore();
+        byte[] credentialId = new byte[]{0x01};
+        target.compareAndAdvance(credentialId, 0, 1);
+        credentialId[0] = 0x02;
+        assertThat(target.find(new byte[]{0x01})).isEqualTo(1L);
+        assertThat(target.find(new byte[]{0x02})).isNull();
+    }
+
+    @Test
+    void remove_test() {
+        InMemorySignCounterStore target = new InMemorySignCounterStore();
+        byte[] credentialId = new byte[]{0x01};
+        target.compareAndAdvance(credentialId, 0, 1);
+        target.remove(credentialId);
+        assertThat(target.find(credentialId)).isNull();
+        assertThat(target.size()).isZero();
+    }
+
+    @Test
+    void concurrent_compareAndAdvance_with_same_counter_succeeds_once_test() throws Exception {
+        InMemorySignCounterStore target = new InMemorySignCounterStore();
+        byte[] credentialId = new byte[]{0x01};
+        AtomicInteger advanced = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                futures.add(executor.submit(() -> {
+                    if (target.compareAndAdvance(credentialId, 0, 1)) {
+                        advanced.incrementAndGet();
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertThat(advanced).hasValue(1);
+    }
+
+}
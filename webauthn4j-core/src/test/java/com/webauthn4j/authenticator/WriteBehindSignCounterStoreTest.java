@@ -0,0 +1,116 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.webauthn4j.authenticator;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class WriteBehindSignCounterStoreTest {
+
+    @Test
+    void flush_coalesces_updates_per_credential_test() {
+        List<List<WriteBehindSignCounterStore.Update>> batches = new ArrayList<>();
+        WriteBehindSignCounterStore target = new WriteBehindSignCounterStore(batches::add);
+        byte[] credentialIdA = new byte[]{0x01};
+        byte[] credentialIdB = new byte[]{0x02};
+
+        assertThat(target.compareAndAdvance(credentialIdA, 0, 1)).isTrue();
+        assertThat(target.compareAndAdvance(credentialIdA, 0, 2)).isTrue();
+        assertThat(target.compareAndAdvance(credentialIdA, 0, 2)).isFalse();
+        assertThat(target.compareAndAdvance(credentialIdB, 0, 7)).isTrue();
+        assertThat(target.getPendingCount()).isEqualTo(2);
+
+        assertThat(target.flush()).isEqualTo(2);
+        assertThat(batches).hasSize(1);
+        assertThat(batches.get(0)).hasSize(2);
+        for (WriteBehindSignCounterStore.Update update : batches.get(0)) {
+            if (update.getCredentialId()[0] == 0x01) {
+                assertThat(update.getCounter()).isEqualTo(2);
+            }
+            else {
+                assertThat(update.getCounter()).isEqualTo(7);
+            }
+        }
+        assertThat(target.getPendingCount()).isZero();
+        assertThat(target.flush()).isZero();
+    }
+
+    @Test
+    void flush_splits_batches_test() {
+        List<List<WriteBehindSignCounterStore.Update>> batches = new ArrayList<>();
+        WriteBehindSignCounterStore target = new WriteBehindSignCounterStore(batches::add, 2);
+        for (int i = 0; i < 5; i++) {
+            target.compareAndAdvance(new byte[]{(byte) i}, 0, 1);
+        }
+        assertThat(target.flush()).isEqualTo(5);
+        assertThat(batches).extracting(List::size).containsExactly(2, 2, 1);
+    }
+
+    @Test
+    void failed_batch_is_kept_for_next_flush_test() {
+        List<List<WriteBehindSignCounterStore.Update>> batches = new ArrayList<>();
+        boolean[] failing = {true};
+        WriteBehindSignCounterStore target = new WriteBehindSignCounterStore(updates -> {
+            if (failing[0]) {
+                throw new IllegalStateException("store unavailable");
+            }
+            batches.add(updates);
+        });
+        target.compareAndAdvance(new byte[]{0x01}, 0, 1);
+
+        assertThatThrownBy(target::flush).isInstanceOf(IllegalStateException.class);
+        assertThat(target.getPendingCount()).isEqualTo(1);
+
+        failing[0] = false;
+        assertThat(target.flush()).isEqualTo(1);
+        assertThat(batches).hasSize(1);
+    }
+
+    @Test
+    void periodic_flush_test() {
+        ScheduledExecutorService executor = mock(ScheduledExecutorService.class);
+        ScheduledFuture<?> future = mock(ScheduledFuture.class);
+        doReturn(future).when(executor).scheduleWithFixedDelay(any(Runnable.class), anyLong(), anyLong(), any(TimeUnit.class));
+        WriteBehindSignCounterStore target = new WriteBehindSignCounterStore(updates -> {
+        });
+
+        target.startPeriodicFlush(executor, Duration.ofSeconds(1));
+        verify(executor).scheduleWithFixedDelay(any(Runnable.class), eq(1000L), eq(1000L), eq(TimeUnit.MILLISECONDS));
+        assertThatThrownBy(() -> target.startPeriodicFlush(executor, Duration.ofSeconds(1))).isInstanceOf(IllegalStateException.class);
+
+        target.compareAndAdvance(new byte[]{0x01}, 0, 1);
+        target.stopPeriodicFlush();
+        verify(future).cancel(false);
+        assertThat(target.getPendingCount()).isZero();
+    }
+
+}
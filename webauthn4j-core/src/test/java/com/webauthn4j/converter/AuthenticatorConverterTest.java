@@ -0,0 +1,149 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.webauthn4j.converter;
+
+import com.webauthn4j.authenticator.Authenticator;
+import com.webauthn4j.authenticator.AuthenticatorImpl;
+import com.webauthn4j.converter.exception.DataConversionException;
+import com.webauthn4j.converter.util.ObjectConverter;
+import com.webauthn4j.data.AuthenticatorTransport;
+import com.webauthn4j.test.TestAttestationStatementUtil;
+import com.webauthn4j.test.TestDataUtil;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AuthenticatorConverterTest {
+
+    private final ObjectConverter objectConverter = new ObjectConverter();
+    private final AuthenticatorConverter target = new AuthenticatorConverter(objectConverter);
+
+    @Test
+    void convert_round_trip_test() {
+        Authenticator authenticator = new AuthenticatorImpl(
+                TestDataUtil.createAttestedCredentialData(),
+                TestAttestationStatementUtil.createFIDOU2FAttestationStatement(),
+                42,
+                new HashSet<>(Arrays.asList(AuthenticatorTransport.USB, AuthenticatorTransport.NFC)),
+                null,
+                null
+        );
+
+        byte[] bytes = target.convert(authenticator);
+        AuthenticatorImpl result = target.convert(bytes);
+
+        assertThat(result).isEqualTo(authenticator);
+        assertThat(result.getTransports()).containsExactlyInAnyOrder(AuthenticatorTransport.USB, AuthenticatorTransport.NFC);
+    }
+
+    @Test
+    void convert_round_trip_with_client_supplied_transports_test() {
+        AuthenticatorTransport commaTransport = AuthenticatorTransport.create("usb,nfc");
+        AuthenticatorTransport emptyTransport = AuthenticatorTransport.create("");
+        Authenticator authenticator = new AuthenticatorImpl(
+                TestDataUtil.createAttestedCredentialData(),
+                null,
+                0,
+                new HashSet<>(Arrays.asList(commaTransport, emptyTransport, AuthenticatorTransport.BLE)),
+                null,
+                null
+        );
+
+        AuthenticatorImpl result = target.convert(target.convert(authenticator));
+
+        assertThat(result.getTransports()).containsExactlyInAnyOrder(commaTransport, emptyTransport, AuthenticatorTransport.BLE);
+    }
+
+    @Test
+    void convert_round_trip_with_empty_transports_test() {
+        Authenticator authenticator = new AuthenticatorImpl(
+                TestDataUtil.createAttestedCredentialData(),
+                null,
+                0,
+                new HashSet<>(),
+                null,
+                null
+        );
+
+        AuthenticatorImpl result = target.convert(target.convert(authenticator));
+
+        assertThat(result.getTransports()).isEmpty();
+    }
+
+    @Test
+    void convert_without_optional_sections_test() {
+        Authenticator authenticator = new AuthenticatorImpl(TestDataUtil.createAttestedCredentialData(), null, 0);
+
+        AuthenticatorImpl result = target.convert(target.convert(authenticator));
+
+        assertThat(result).isEqualTo(authenticator);
+        assertThat(result.getTransports()).isNull();
+    }
+
+    @Test
+    void convert_skipping_attestation_statement_test() {
+        Authenticator authenticator = TestDataUtil.createAuthenticator();
+
+        AuthenticatorImpl result = target.convert(target.convert(authenticator), false);
+
+        assertThat(result.getAttestationStatement()).isNull();
+        assertThat(result.getAttestedCredentialData()).isEqualTo(authenticator.getAttestedCredentialData());
+        assertThat(result.getCounter()).isEqualTo(authenticator.getCounter());
+    }
+
+    @Test
+    void extractCredentialId_test() {
+        Authenticator authenticator = TestDataUtil.createAuthenticator();
+        byte[] credentialId = authenticator.getAttestedCredentialData().getCredentialId();
+
+        byte[] bytes = target.convert(authenticator);
+
+        assertThat(target.extractCredentialId(bytes)).isEqualTo(credentialId);
+        assertThat(target.matchesCredentialId(bytes, credentialId)).isTrue();
+        assertThat(target.matchesCredentialId(bytes, new byte[]{0x01})).isFalse();
+    }
+
+    @Test
+    void writeCounter_test() {
+        byte[] bytes = target.convert(TestDataUtil.createAuthenticator());
+
+        target.writeCounter(bytes, 0xFFFFFFFFL);
+
+        assertThat(target.extractCounter(bytes)).isEqualTo(0xFFFFFFFFL);
+        assertThat(target.convert(bytes).getCounter()).isEqualTo(0xFFFFFFFFL);
+    }
+
+    @Test
+    void convert_unsupported_version_test() {
+        byte[] bytes = target.convert(TestDataUtil.createAuthenticator());
+        bytes[0] = 0x7F;
+
+        assertThatThrownBy(() -> target.convert(bytes)).isInstanceOf(DataConversionException.class);
+    }
+
+    @Test
+    void convert_truncated_test() {
+        byte[] bytes = target.convert(TestDataUtil.createAuthenticator());
+        byte[] truncated = Arrays.copyOf(bytes, bytes.length - 1);
+
+        assertThatThrownBy(() -> target.convert(truncated)).isInstanceOf(DataConversionException.class);
+    }
+}
@@ -27,9 +27,14 @@ import com.webauthn4j.data.extension.authenticator.UserVerificationMethodExtensi
 import com.webauthn4j.util.Base64UrlUtil;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.nio.ByteBuffer;
 import java.util.Arrays;
 
+import static com.webauthn4j.data.attestation.authenticator.AuthenticatorData.BIT_AT;
 import static com.webauthn4j.data.attestation.authenticator.AuthenticatorData.BIT_ED;
 import static com.webauthn4j.data.attestation.authenticator.AuthenticatorData.BIT_UP;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -158,4 +163,112 @@ class AuthenticatorDataConverterTest {
 
     }
 
+    @Test
+    void convertLazily_test() {
+        //noinspection SpellCheckingInspection
+        byte[] input = Base64UrlUtil.decode("SZYN5YgOjGh0NBcPZHZgW4_krrmihjLHmVzzuoMdl2MBAAABRQ");
+        AuthenticatorDataConverter authenticatorDataConverter = new AuthenticatorDataConverter(objectConverter);
+
+        AuthenticatorData<AuthenticationExtensionAuthenticatorOutput> expected = authenticatorDataConverter.convert(input);
+        AuthenticatorData<AuthenticationExtensionAuthenticatorOutput> result = authenticatorDataConverter.convertLazily(input);
+
+        assertThat(result.getSignCount()).isEqualTo(325);
+        assertThat(result.isFlagUP()).isTrue();
+        assertThat(result).isEqualTo(expected);
+        assertThat(expected).isEqualTo(result);
+        assertThat(result).hasSameHashCodeAs(expected);
+    }
+
+    @Test
+    void convertLazily_with_attestedCredentialData_test() {
+        //noinspection SpellCheckingInspection
+        byte[] input = Base64UrlUtil.decode("SZYN5YgOjGh0NBcPZHZgW4_krrmihjLHmVzzuoMdl2NBAAAARlUOS1SqR0CfmpUat2wTATEAIHEiziyGohCFUc_hJJZGdtSu9ThnEb74K6NZC3U-KbwgpQECAyYgASFYICw4xPmHIvquDRz2KUzyyQlZFhZMbi-mc_YylL1o55jPIlggGQI5ESYAOfR8QM6quTQSoyhjZET806A3yOoCUe2AWJE");
+        AuthenticatorDataConverter authenticatorDataConverter = new AuthenticatorDataConverter(objectConverter);
+
+        AuthenticatorData<RegistrationExtensionAuthenticatorOutput> result = authenticatorDataConverter.convertLazily(input);
+
+        assertThat(result).isEqualTo(authenticatorDataConverter.convert(input));
+        assertThat(result.getAttestedCredentialData()).isNotNull();
+    }
+
+    @Test
+    void convertLazily_with_extensions_test() {
+        AuthenticationExtensionsAuthenticatorOutputs.BuilderForRegistration builder = new AuthenticationExtensionsAuthenticatorOutputs.BuilderForRegistration();
+        builder.setUvm(new UvmEntries());
+        AuthenticatorDataConverter authenticatorDataConverter = new AuthenticatorDataConverter(objectConverter);
+        byte[] input = authenticatorDataConverter.convert(new AuthenticatorData<>(new byte[32], BIT_ED, 0, builder.build()));
+
+        AuthenticatorData<RegistrationExtensionAuthenticatorOutput> result = authenticatorDataConverter.convertLazily(input);
+
+        assertThat(result.getExtensions().getKeys()).contains(UserVerificationMethodExtensionAuthenticatorOutput.ID);
+        assertThat(result).isEqualTo(authenticatorDataConverter.convert(input));
+    }
+
+    @Test
+    void convertLazily_with_invalid_layout_test() {
+        //noinspection SpellCheckingInspection
+        byte[] data = Base64UrlUtil.decode("SZYN5YgOjGh0NBcPZHZgW4_krrmihjLHmVzzuoMdl2MBAAABRQ");
+        AuthenticatorDataConverter authenticatorDataConverter = new AuthenticatorDataConverter(objectConverter);
+
+        assertThrows(DataConversionException.class, () -> authenticatorDataConverter.convertLazily(Arrays.copyOf(data, data.length + 1)));
+        assertThrows(DataConversionException.class, () -> authenticatorDataConverter.convertLazily(Arrays.copyOf(data, 16)));
+    }
+
+    @Test
+    void convertLazily_with_invalid_framing_test() {
+        //noinspection SpellCheckingInspection
+        byte[] data = Base64UrlUtil.decode("SZYN5YgOjGh0NBcPZHZgW4_krrmihjLHmVzzuoMdl2MBAAABRQ");
+        AuthenticatorDataConverter authenticatorDataConverter = new AuthenticatorDataConverter(objectConverter);
+
+        // ED flag with a CBOR array instead of a map as extensions
+        byte[] arrayAsExtensions = Arrays.copyOf(data, data.length + 1);
+        arrayAsExtensions[32] |= BIT_ED;
+        arrayAsExtensions[data.length] = (byte) 0x80;
+        assertThrows(DataConversionException.class, () -> authenticatorDataConverter.convertLazily(arrayAsExtensions));
+
+        // ED flag with a truncated extensions map
+        byte[] truncatedExtensions = Arrays.copyOf(data, data.length + 2);
+        truncatedExtensions[32] |= BIT_ED;
+        truncatedExtensions[data.length] = (byte) 0xA1;
+        truncatedExtensions[data.length + 1] = (byte) 0x01;
+        assertThrows(DataConversionException.class, () -> authenticatorDataConverter.convertLazily(truncatedExtensions));
+
+        // AT flag with a credentialId longer than the remaining bytes
+        byte[] truncatedCredentialId = Arrays.copyOf(data, data.length + 18 + 4);
+        truncatedCredentialId[32] |= BIT_AT;
+        truncatedCredentialId[data.length + 17] = (byte) 0x10;
+        assertThrows(DataConversionException.class, () -> authenticatorDataConverter.convertLazily(truncatedCredentialId));
+    }
+
+    @Test
+    void convertLazily_with_unconvertible_extensions_test() {
+        //noinspection SpellCheckingInspection
+        byte[] data = Base64UrlUtil.decode("SZYN5YgOjGh0NBcPZHZgW4_krrmihjLHmVzzuoMdl2MBAAABRQ");
+        AuthenticatorDataConverter authenticatorDataConverter = new AuthenticatorDataConverter(objectConverter);
+        // ED flag with a well-framed map whose "uvm" value is not an array
+        byte[] input = Arrays.copyOf(data, data.length + 6);
+        input[32] |= BIT_ED;
+        System.arraycopy(new byte[]{(byte) 0xA1, 0x63, 'u', 'v', 'm', 0x01}, 0, input, data.length, 6);
+
+        AuthenticatorData<AuthenticationExtensionAuthenticatorOutput> result = authenticatorDataConverter.convertLazily(input);
+
+        assertThat(result.getSignCount()).isEqualTo(325);
+        assertThrows(DataConversionException.class, result::getExtensions);
+    }
+
+    @Test
+    void convertLazily_java_serialization_test() throws Exception {
+        //noinspection SpellCheckingInspection
+        byte[] input = Base64UrlUtil.decode("SZYN5YgOjGh0NBcPZHZgW4_krrmihjLHmVzzuoMdl2MBAAABRQ");
+        AuthenticatorData<AuthenticationExtensionAuthenticatorOutput> authenticatorData = new AuthenticatorDataConverter(objectConverter).convertLazily(input);
+
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        try (ObjectOutputStream objectOutputStream = new ObjectOutputStream(byteArrayOutputStream)) {
+            objectOutputStream.writeObject(authenticatorData);
+        }
+        try (ObjectInputStream objectInputStream = new ObjectInputStream(new ByteArrayInputStream(byteArrayOutputStream.toByteArray()))) {
+            Object result = objectInputStream.readObject();
+            assertThat(result).isExactlyInstanceOf(AuthenticatorData.class).isEqualTo(authenticatorData);
+        }
+    }
 }
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.webauthn4j.converter;
+
+import com.webauthn4j.converter.util.ObjectConverter;
+import com.webauthn4j.data.attestation.authenticator.COSEKey;
+import com.webauthn4j.data.attestation.authenticator.EC2COSEKey;
+import com.webauthn4j.data.attestation.authenticator.RSACOSEKey;
+import com.webauthn4j.test.TestDataUtil;
+import com.webauthn4j.util.HexUtil;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class COSEKeyDecoderTest {
+
+    private final ObjectConverter objectConverter = new ObjectConverter();
+
+    @Test
+    void decode_EC2COSEKey_serialized_by_jackson_test() {
+        EC2COSEKey coseKey = TestDataUtil.createEC2COSEPublicKey();
+        byte[] bytes = objectConverter.getCborConverter().writeValueAsBytes(coseKey);
+
+        assertThat(COSEKeyDecoder.decode(new CborReader(ByteBuffer.wrap(bytes)))).isEqualTo(coseKey);
+    }
+
+    @Test
+    void decode_RSACOSEKey_serialized_by_jackson_test() {
+        RSACOSEKey coseKey = TestDataUtil.createRSACOSEPublicKey();
+        byte[] bytes = objectConverter.getCborConverter().writeValueAsBytes(coseKey);
+
+        assertThat(COSEKeyDecoder.decode(new CborReader(ByteBuffer.wrap(bytes)))).isEqualTo(coseKey);
+    }
+
+    @Test
+    void decode_integer_labeled_COSEKey_test() {
+        // {1: 2, 3: -7, -1: 1, -2: h'01', -3: h'02'}, which is the form authenticators emit
+        byte[] bytes = HexUtil.decode("A50102032620012141012241" + "02");
+        COSEKey coseKey = COSEKeyDecoder.decode(new CborReader(ByteBuffer.wrap(bytes)));
+
+        assertThat(coseKey).isEqualTo(objectConverter.getCborConverter().readValue(bytes, COSEKey.class));
+    }
+
+    @Test
+    void decode_COSEKey_with_unknown_label_test() {
+        // {1: 2, 3: -7, -1: 1, -2: h'01', -3: h'02', 4: [1]}
+        byte[] bytes = HexUtil.decode("A60102032620012141012241020481" + "01");
+        assertThrows(CborReader.UnsupportedCborException.class, () -> COSEKeyDecoder.decode(new CborReader(ByteBuffer.wrap(bytes))));
+    }
+
+    @Test
+    void decode_COSEKey_with_duplicated_label_test() {
+        // {1: 2, 3: -7, 3: -7}
+        byte[] bytes = HexUtil.decode("A3010203260326");
+        assertThrows(CborReader.UnsupportedCborException.class, () -> COSEKeyDecoder.decode(new CborReader(ByteBuffer.wrap(bytes))));
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.webauthn4j.converter;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CborReaderTest {
+
+    @Test
+    void readInteger_test() {
+        assertAll(
+                () -> assertThat(reader(0x17).readInteger()).isEqualTo(23),
+                () -> assertThat(reader(0x18, 0x18).readInteger()).isEqualTo(24),
+                () -> assertThat(reader(0x19, 0x01, 0x00).readInteger()).isEqualTo(256),
+                () -> assertThat(reader(0x26).readInteger()).isEqualTo(-7),
+                () -> assertThat(reader(0x39, 0x01, 0x00).readInteger()).isEqualTo(-257)
+        );
+    }
+
+    @Test
+    void readIntegerOrDecimalText_test() {
+        assertAll(
+                () -> assertThat(reader(0x61, '3').readIntegerOrDecimalText()).isEqualTo(3),
+                () -> assertThat(reader(0x62, '-', '2').readIntegerOrDecimalText()).isEqualTo(-2),
+                () -> assertThat(reader(0x20).readIntegerOrDecimalText()).isEqualTo(-1),
+                () -> assertThrows(CborReader.UnsupportedCborException.class, () -> reader(0x61, 'a').readIntegerOrDecimalText()),
+                () -> assertThrows(CborReader.UnsupportedCborException.class, () -> reader(0x61, '-').readIntegerOrDecimalText())
+        );
+    }
+
+    @Test
+    void readByteString_test() {
+        CborReader reader = reader(0x43, 0x01, 0x02, 0x03, 0x00);
+        assertThat(reader.readByteString()).isEqualTo(new byte[]{0x01, 0x02, 0x03});
+        assertThat(reader.getPosition()).isEqualTo(4);
+    }
+
+    @Test
+    void readByteString_with_truncated_input_test() {
+        assertThrows(CborReader.UnsupportedCborException.class, () -> reader(0x43, 0x01).readByteString());
+    }
+
+    @Test
+    void readMapHead_test() {
+        assertThat(reader(0xA2).readMapHead()).isEqualTo(2);
+        assertThat(reader(0xBF).readMapHead()).isEqualTo(-1);
+        assertThrows(CborReader.UnsupportedCborException.class, () -> reader(0x82).readMapHead());
+    }
+
+    @Test
+    void skipItem_test() {
+        // {"a": [1, h'00'], "b": {1: true}, "c": 1.5} followed by a trailing byte
+        CborReader reader = reader(0xA3, 0x61, 'a', 0x82, 0x01, 0x41, 0x00, 0x61, 'b', 0xA1, 0x01, 0xF5, 0x61, 'c', 0xF9, 0x3E, 0x00, 0xFF);
+        reader.skipItem();
+        assertThat(reader.getPosition()).isEqualTo(17);
+    }
+
+    @Test
+    void skipItem_with_indefinite_length_map_test() {
+        CborReader reader = reader(0xBF, 0x61, 'a', 0x9F, 0x01, 0xFF, 0xFF, 0x00);
+        reader.skipItem();
+        assertThat(reader.getPosition()).isEqualTo(7);
+    }
+
+    @Test
+    void skipItem_with_indefinite_length_string_test() {
+        assertThrows(CborReader.UnsupportedCborException.class, () -> reader(0x5F, 0x41, 0x00, 0xFF).skipItem());
+    }
+
+    @Test
+    void reader_does_not_move_buffer_position_test() {
+        ByteBuffer byteBuffer = ByteBuffer.wrap(new byte[]{0x00, 0x01});
+        byteBuffer.get();
+        CborReader reader = new CborReader(byteBuffer);
+        assertThat(reader.readInteger()).isEqualTo(1);
+        assertThat(byteBuffer.position()).isEqualTo(1);
+    }
+
+    private CborReader reader(int... values) {
+        byte[] bytes = new byte[values.length];
+        for (int i = 0; i < values.length; i++) {
+            bytes[i] = (byte) values[i];
+        }
+        return new CborReader(ByteBuffer.wrap(bytes));
+    }
+}
@@ -120,4 +120,53 @@ class CollectedClientDataConverterTest {
                 () -> assertThat(collectedClientData.getOrigin()).isEqualTo(new Origin("android:apk-key-hash-sha256:xT5ZucZJ9N7oq3j3awG8J/NlKf8trfo6AAJB8deuuNo="))
         );
     }
+
+    @Test
+    void decode_test() {
+        //noinspection SpellCheckingInspection
+        String clientDataJson = "{\"type\":\"webauthn.get\",\"challenge\":\"tk31UH1ETGGTPj33OhOMzw\",\"origin\":\"https://example.com\",\"crossOrigin\":false,\"extra\":{\"a\":[1,{\"b\":null}]}}";
+        CollectedClientData collectedClientData = target.decode(clientDataJson.getBytes(StandardCharsets.UTF_8));
+        assertAll(
+                () -> assertThat(collectedClientData).isNotNull(),
+                () -> assertThat(collectedClientData.getType()).isEqualTo(ClientDataType.WEBAUTHN_GET),
+                () -> assertThat(collectedClientData.getChallenge()).isEqualTo(new DefaultChallenge("tk31UH1ETGGTPj33OhOMzw")),
+                () -> assertThat(collectedClientData.getOrigin()).isEqualTo(new Origin("https://example.com")),
+                () -> assertThat(collectedClientData.getCrossOrigin()).isFalse()
+        );
+    }
+
+    @Test
+    void decode_leaves_tokenBinding_to_data_binding_test() {
+        //noinspection SpellCheckingInspection
+        String clientDataJson = "{\"challenge\":\"tk31UH1ETGGTPj33OhOMzw\",\"origin\":\"http://localhost:8080\",\"tokenBinding\":{\"status\":\"not-supported\"},\"type\":\"webauthn.get\"}";
+        assertThat(target.decode(clientDataJson.getBytes(StandardCharsets.UTF_8))).isNull();
+    }
+
+    @Test
+    void convert_reuses_origin_test() {
+        //noinspection SpellCheckingInspection
+        byte[] clientDataJson = "{\"type\":\"webauthn.get\",\"challenge\":\"tk31UH1ETGGTPj33OhOMzw\",\"origin\":\"https://example.com\"}".getBytes(StandardCharsets.UTF_8);
+        CollectedClientData collectedClientDataA = target.convert(clientDataJson);
+        CollectedClientData collectedClientDataB = target.convert(clientDataJson);
+        assertThat(collectedClientDataA.getOrigin()).isSameAs(collectedClientDataB.getOrigin());
+    }
+
+    @Test
+    void convert_invalid_challenge_test() {
+        byte[] clientDataJson = "{\"type\":\"webauthn.get\",\"challenge\":\"A+A\",\"origin\":\"https://example.com\"}".getBytes(StandardCharsets.UTF_8);
+        assertThatThrownBy(() -> target.convert(clientDataJson)).isInstanceOf(DataConversionException.class);
+    }
+
+    @Test
+    void decodeBase64Url_test() {
+        assertAll(
+                () -> assertThat(CollectedClientDataConverter.decodeBase64Url("AAECAw".toCharArray(), 0, 6)).isEqualTo(new byte[]{0x00, 0x01, 0x02, 0x03}),
+                () -> assertThat(CollectedClientDataConverter.decodeBase64Url("AAECAw==".toCharArray(), 0, 8)).isEqualTo(new byte[]{0x00, 0x01, 0x02, 0x03}),
+                () -> assertThat(CollectedClientDataConverter.decodeBase64Url("\"-_8\"".toCharArray(), 1, 3)).isEqualTo(new byte[]{(byte) 0xFB, (byte) 0xFF}),
+                () -> assertThat(CollectedClientDataConverter.decodeBase64Url(new char[0], 0, 0)).isEmpty(),
+                () -> assertThat(CollectedClientDataConverter.decodeBase64Url("A".toCharArray(), 0, 1)).isNull(),
+                () -> assertThat(CollectedClientDataConverter.decodeBase64Url("AA=".toCharArray(), 0, 3)).isNull(),
+                () -> assertThat(CollectedClientDataConverter.decodeBase64Url("A+/A".toCharArray(), 0, 4)).isNull()
+        );
+    }
 }
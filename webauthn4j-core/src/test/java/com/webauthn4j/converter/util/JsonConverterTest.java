@@ -19,6 +19,8 @@ package com.webauthn4j.converter.util;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonGetter;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.webauthn4j.converter.exception.DataConversionException;
 import com.webauthn4j.util.AssertUtil;
@@ -26,7 +28,9 @@ import com.webauthn4j.util.Base64UrlUtil;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -66,6 +70,15 @@ class JsonConverterTest {
         assertThat(jsonConverter.writeValueAsString(null)).isEqualTo("null");
     }
 
+    @Test
+    void createParser_test() throws IOException {
+        try (JsonParser parser = jsonConverter.createParser("{\"value\":\"dummy\"}".getBytes(StandardCharsets.UTF_8))) {
+            assertThat(parser.nextToken()).isEqualTo(JsonToken.START_OBJECT);
+            assertThat(parser.nextFieldName()).isEqualTo("value");
+            assertThat(parser.nextTextValue()).isEqualTo("dummy");
+        }
+    }
+
     @Test
     void writeValueAsBytes_with_invalid_dto_test() {
         ConverterTestInvalidDto converterTestInvalidDto = new ConverterTestInvalidDto();
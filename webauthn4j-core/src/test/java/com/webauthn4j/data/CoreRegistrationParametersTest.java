@@ -16,11 +16,16 @@
 
 package com.webauthn4j.data;
 
+import com.webauthn4j.data.attestation.statement.COSEAlgorithmIdentifier;
 import com.webauthn4j.data.client.challenge.Challenge;
 import com.webauthn4j.data.client.challenge.DefaultChallenge;
 import com.webauthn4j.server.CoreServerProperty;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 class CoreRegistrationParametersTest {
@@ -65,5 +70,43 @@ class CoreRegistrationParametersTest {
         assertThat(instance.isUserVerificationRequired()).isFalse();
     }
 
+    @Test
+    void isAllowedAlgorithm_test() {
+        CoreServerProperty serverProperty = new CoreServerProperty("example.com", new DefaultChallenge());
+        List<PublicKeyCredentialParameters> pubKeyCredParams = Arrays.asList(
+                new PublicKeyCredentialParameters(PublicKeyCredentialType.PUBLIC_KEY, COSEAlgorithmIdentifier.RS256),
+                new PublicKeyCredentialParameters(PublicKeyCredentialType.PUBLIC_KEY, COSEAlgorithmIdentifier.ES256),
+                new PublicKeyCredentialParameters(PublicKeyCredentialType.PUBLIC_KEY, COSEAlgorithmIdentifier.ES256)
+        );
+
+        CoreRegistrationParameters instance = new CoreRegistrationParameters(serverProperty, pubKeyCredParams, false);
+
+        assertThat(instance.isAllowedAlgorithm(COSEAlgorithmIdentifier.ES256)).isTrue();
+        assertThat(instance.isAllowedAlgorithm(COSEAlgorithmIdentifier.RS256)).isTrue();
+        assertThat(instance.isAllowedAlgorithm(COSEAlgorithmIdentifier.EdDSA)).isFalse();
+        assertThat(instance.isAllowedAlgorithm(null)).isFalse();
+    }
+
+    @Test
+    void pubKeyCredParams_is_copied_test() {
+        CoreServerProperty serverProperty = new CoreServerProperty("example.com", new DefaultChallenge());
+        List<PublicKeyCredentialParameters> pubKeyCredParams = new ArrayList<>();
+        pubKeyCredParams.add(new PublicKeyCredentialParameters(PublicKeyCredentialType.PUBLIC_KEY, COSEAlgorithmIdentifier.ES256));
+
+        CoreRegistrationParameters instance = new CoreRegistrationParameters(serverProperty, pubKeyCredParams, false);
+        pubKeyCredParams.add(new PublicKeyCredentialParameters(PublicKeyCredentialType.PUBLIC_KEY, COSEAlgorithmIdentifier.RS256));
+
+        assertThat(instance.getPubKeyCredParams()).hasSize(1);
+        assertThat(instance.isAllowedAlgorithm(COSEAlgorithmIdentifier.RS256)).isFalse();
+    }
+
+    @Test
+    void isAllowedAlgorithm_without_pubKeyCredParams_test() {
+        CoreServerProperty serverProperty = new CoreServerProperty("example.com", new DefaultChallenge());
+
+        CoreRegistrationParameters instance = new CoreRegistrationParameters(serverProperty, null, false);
+
+        assertThat(instance.isAllowedAlgorithm(COSEAlgorithmIdentifier.EdDSA)).isTrue();
+    }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.webauthn4j.data;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CredentialIdSetTest {
+
+    @Test
+    void contains_test() {
+        CredentialIdSet instance = CredentialIdSet.of(new byte[]{0x01, 0x02}, new byte[]{0x03}, new byte[0]);
+
+        assertThat(instance.containsCredentialId(new byte[]{0x01, 0x02})).isTrue();
+        assertThat(instance.containsCredentialId(new byte[]{0x03})).isTrue();
+        assertThat(instance.containsCredentialId(new byte[0])).isTrue();
+        assertThat(instance.containsCredentialId(new byte[]{0x01})).isFalse();
+        assertThat(instance.containsCredentialId(null)).isFalse();
+    }
+
+    @Test
+    void contains_many_credentialIds_test() {
+        List<byte[]> credentialIds = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            credentialIds.add(new byte[]{0x00, 0x00, (byte) (i >> 8), (byte) i});
+        }
+        CredentialIdSet instance = CredentialIdSet.of(credentialIds);
+
+        assertThat(instance).hasSize(1000);
+        for (byte[] credentialId : credentialIds) {
+            assertThat(instance.containsCredentialId(credentialId)).isTrue();
+        }
+        assertThat(instance.containsCredentialId(new byte[]{0x00, 0x00, 0x10, 0x00})).isFalse();
+    }
+
+    @Test
+    void duplicated_credentialIds_test() {
+        CredentialIdSet instance = CredentialIdSet.of(new byte[]{0x01}, new byte[]{0x01}, new byte[]{0x02});
+
+        assertThat(instance).hasSize(2);
+        assertThat(instance.get(0)).isEqualTo(new byte[]{0x01});
+        assertThat(instance.get(1)).isEqualTo(new byte[]{0x02});
+    }
+
+    @Test
+    void empty_test() {
+        CredentialIdSet instance = CredentialIdSet.of(Collections.emptyList());
+
+        assertThat(instance).isEmpty();
+        assertThat(instance.containsCredentialId(new byte[]{0x01})).isFalse();
+    }
+
+    @Test
+    void null_credentialId_test() {
+        List<byte[]> credentialIds = Arrays.asList(new byte[]{0x01}, null);
+        assertThrows(IllegalArgumentException.class,
+                () -> CredentialIdSet.of(credentialIds)
+        );
+    }
+
+    @Test
+    void immutability_test() {
+        byte[] credentialId = new byte[]{0x01};
+        CredentialIdSet instance = CredentialIdSet.of(credentialId);
+
+        credentialId[0] = 0x02;
+
+        assertThat(instance.containsCredentialId(new byte[]{0x01})).isTrue();
+        assertThrows(UnsupportedOperationException.class,
+                () -> instance.add(new byte[]{0x04})
+        );
+    }
+
+    @Test
+    void of_CredentialIdSet_test() {
+        CredentialIdSet instance = CredentialIdSet.of(new byte[]{0x01});
+        assertThat(CredentialIdSet.of(instance)).isSameAs(instance);
+    }
+
+    @Test
+    void static_contains_test() {
+        List<byte[]> list = Arrays.asList(new byte[]{0x01}, new byte[]{0x02});
+        CredentialIdSet set = CredentialIdSet.of(list);
+
+        assertThat(CredentialIdSet.contains(list, new byte[]{0x02})).isTrue();
+        assertThat(CredentialIdSet.contains(list, new byte[]{0x03})).isFalse();
+        assertThat(CredentialIdSet.contains(set, new byte[]{0x02})).isTrue();
+        assertThat(CredentialIdSet.contains(set, new byte[]{0x03})).isFalse();
+    }
+
+    @Test
+    void list_contract_test() {
+        byte[] credentialIdA = new byte[]{0x01};
+        byte[] credentialIdB = new byte[]{0x02};
+        List<byte[]> list = Arrays.asList(credentialIdA, credentialIdB);
+        CredentialIdSet instance = CredentialIdSet.of(list);
+
+        assertThat(instance.get(0)).isSameAs(credentialIdA);
+        assertThat(instance.contains(credentialIdA)).isTrue();
+        assertThat(instance.contains(new byte[]{0x01})).isFalse();
+        assertThat(instance)
+                .isEqualTo(list)
+                .hasSameHashCodeAs(list);
+        assertThat(list).isEqualTo(instance);
+    }
+
+}
@@ -91,6 +91,21 @@ class OriginTest {
                 .isEqualTo(originC);
     }
 
+    @Test
+    void constructor_test_with_non_fast_path_input() {
+        // inputs which are not in the plain "scheme://host[:port]" form are parsed by java.net.URI
+        assertAll(
+                () -> assertThat(new Origin("https://example.com/path")).isEqualTo(new Origin("https://example.com")),
+                () -> assertThat(new Origin("https://user@example.com")).isEqualTo(new Origin("https://example.com")),
+                () -> assertThat(new Origin("https://example.com:")).hasToString("https://example.com"),
+                () -> assertThat(new Origin("https://192.168.0.1:8443").getHost()).isEqualTo("192.168.0.1"),
+                () -> assertThat(new Origin("https://[::1]:8443").getHost()).isEqualTo("[::1]"),
+                () -> assertThat(new Origin("https://-example.com").getHost()).isNull(),
+                () -> assertThat(new Origin("https://example_com").getHost()).isNull(),
+                () -> assertThat(new Origin("https://example.123").getHost()).isNull()
+        );
+    }
+
     @Test
     void constructor_test_with_non_http_or_https_input() {
         assertThatCode(
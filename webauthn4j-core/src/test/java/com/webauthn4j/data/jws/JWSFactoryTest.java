@@ -16,11 +16,14 @@
 
 package com.webauthn4j.data.jws;
 
+import com.webauthn4j.test.TestAttestationUtil;
 import com.webauthn4j.util.CertificateUtil;
 import com.webauthn4j.util.ECUtil;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
 import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
 import java.security.KeyPair;
 import java.security.PrivateKey;
 import java.util.Collections;
@@ -58,6 +61,75 @@ class JWSFactoryTest {
         assertThatThrownBy(() -> target.create(header, payload, privateKey)).isInstanceOf(IllegalArgumentException.class);
     }
 
+    @Test
+    void parse_bytes_test() {
+        JWS<Payload> jws = createSignedJWS("value");
+        String value = jws.toString();
+
+        JWS<Payload> parsed = target.parse(("\n" + value + "\r\n").getBytes(StandardCharsets.US_ASCII), Payload.class);
+        assertThat(parsed.getPayload().getDummy()).isEqualTo("value");
+        assertThat(parsed.getSignature()).isEqualTo(jws.getSignature());
+        assertThat(parsed.isValidSignature()).isTrue();
+        assertThat(parsed).hasToString(value);
+    }
+
+    @Test
+    void parse_bytes_and_parse_string_equivalence_test() {
+        String value = createSignedJWS("value").toString();
+
+        JWS<Payload> fromBytes = target.parse(value.getBytes(StandardCharsets.US_ASCII), Payload.class);
+        JWS<Payload> fromString = target.parse(value, Payload.class);
+        assertThat(fromBytes.getPayload().getDummy()).isEqualTo(fromString.getPayload().getDummy());
+        assertThat(fromBytes.isValidSignature()).isEqualTo(fromString.isValidSignature()).isTrue();
+        assertThat(fromBytes).hasToString(fromString.toString());
+    }
+
+    @Test
+    void parse_input_stream_test() {
+        String value = createSignedJWS("value").toString();
+
+        JWS<Payload> parsed = target.parse(new ByteArrayInputStream(value.getBytes(StandardCharsets.US_ASCII)), Payload.class);
+        assertThat(parsed.getPayload().getDummy()).isEqualTo("value");
+        assertThat(parsed.isValidSignature()).isTrue();
+    }
+
+    @Test
+    void parse_input_stream_with_wrapped_lines_test() {
+        String value = createSignedJWS("value").toString();
+        StringBuilder wrapped = new StringBuilder();
+        for (int i = 0; i < value.length(); i += 16) {
+            wrapped.append(value, i, Math.min(i + 16, value.length())).append(i % 32 == 0 ? "\r\n" : "\n");
+        }
+
+        JWS<Payload> parsed = target.parse(new ByteArrayInputStream(wrapped.toString().getBytes(StandardCharsets.US_ASCII)), Payload.class);
+        assertThat(parsed.getPayload().getDummy()).isEqualTo("value");
+        assertThat(parsed.isValidSignature()).isTrue();
+    }
+
+    @Test
+    void parse_bytes_with_tampered_payload_test() {
+        String value = createSignedJWS("value").toString();
+        String[] data = value.split("\\.");
+        String tampered = createSignedJWS("tampered").toString().split("\\.")[1];
+
+        JWS<Payload> parsed = target.parse((data[0] + "." + tampered + "." + data[2]).getBytes(StandardCharsets.US_ASCII), Payload.class);
+        assertThat(parsed.isValidSignature()).isFalse();
+    }
+
+    @Test
+    void parse_bytes_with_invalid_period_count_test() {
+        byte[] onePeriod = "abc.def".getBytes(StandardCharsets.US_ASCII);
+        byte[] threePeriods = "abc.def.ghi.jkl".getBytes(StandardCharsets.US_ASCII);
+        assertThatThrownBy(() -> target.parse(onePeriod, Payload.class)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> target.parse(threePeriods, Payload.class)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private JWS<Payload> createSignedJWS(String dummy) {
+        JWSHeader header = new JWSHeader(JWAIdentifier.ES256, TestAttestationUtil.load3tierTestAttestationCertificatePath().createCertPath());
+        Payload payload = new Payload();
+        payload.setDummy(dummy);
+        return target.create(header, payload, TestAttestationUtil.load3tierTestAuthenticatorAttestationPrivateKey());
+    }
 
     private static class Payload implements Serializable {
         private String dummy;
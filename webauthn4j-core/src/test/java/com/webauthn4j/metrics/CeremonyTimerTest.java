@@ -0,0 +1,79 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.webauthn4j.metrics;
+
+import com.webauthn4j.data.attestation.statement.COSEAlgorithmIdentifier;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CeremonyTimerTest {
+
+    @Test
+    void stages_are_reported_in_order_test() {
+        List<String> events = new ArrayList<>();
+        CeremonyObserver observer = (ceremony, stage, elapsedNanos, failure, attestationFormat, algorithm) ->
+                events.add(ceremony + ":" + stage + ":" + (failure == null) + ":" + attestationFormat + ":" + algorithm);
+
+        CeremonyTimer target = CeremonyTimer.start(observer, Ceremony.REGISTRATION);
+        assertThat(target.isEnabled()).isTrue();
+        target.stage(CeremonyStage.PARSE);
+        target.setAttestationFormat("packed");
+        target.setAlgorithm(COSEAlgorithmIdentifier.ES256);
+        target.stage(CeremonyStage.CHALLENGE);
+        target.fail(new IllegalStateException());
+
+        assertThat(events).containsExactly(
+                "REGISTRATION:PARSE:true:packed:ES256",
+                "REGISTRATION:CHALLENGE:false:packed:ES256"
+        );
+    }
+
+    @Test
+    void complete_without_stage_test() {
+        List<CeremonyStage> stages = new ArrayList<>();
+        CeremonyObserver observer = (ceremony, stage, elapsedNanos, failure, attestationFormat, algorithm) -> stages.add(stage);
+
+        CeremonyTimer target = CeremonyTimer.start(observer, Ceremony.AUTHENTICATION);
+        target.complete();
+        target.stage(CeremonyStage.SIGNATURE);
+        target.complete();
+        target.complete();
+
+        assertThat(stages).containsExactly(CeremonyStage.SIGNATURE);
+    }
+
+    @Test
+    void disabled_observer_test() {
+        assertThat(CeremonyTimer.start(new NullCeremonyObserver(), Ceremony.REGISTRATION)).isSameAs(CeremonyTimer.disabled());
+        assertThat(CeremonyTimer.disabled().isEnabled()).isFalse();
+    }
+
+    @Test
+    void observer_exception_is_not_propagated_test() {
+        CeremonyObserver observer = (ceremony, stage, elapsedNanos, failure, attestationFormat, algorithm) -> {
+            throw new IllegalStateException();
+        };
+
+        CeremonyTimer target = CeremonyTimer.start(observer, Ceremony.AUTHENTICATION);
+        target.stage(CeremonyStage.SIGNATURE);
+        target.complete();
+    }
+}
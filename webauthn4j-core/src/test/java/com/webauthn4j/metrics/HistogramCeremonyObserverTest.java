@@ -0,0 +1,58 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.webauthn4j.metrics;
+
+import com.webauthn4j.data.attestation.statement.COSEAlgorithmIdentifier;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HistogramCeremonyObserverTest {
+
+    @Test
+    void stageCompleted_test() {
+        HistogramCeremonyObserver target = new HistogramCeremonyObserver();
+
+        target.stageCompleted(Ceremony.REGISTRATION, CeremonyStage.TRUSTWORTHINESS, 1000, null, "packed", COSEAlgorithmIdentifier.ES256);
+        target.stageCompleted(Ceremony.REGISTRATION, CeremonyStage.TRUSTWORTHINESS, 3000, null, "packed", COSEAlgorithmIdentifier.ES256);
+        target.stageCompleted(Ceremony.REGISTRATION, CeremonyStage.TRUSTWORTHINESS, 2000, new IllegalStateException(), "packed", COSEAlgorithmIdentifier.ES256);
+
+        LatencyHistogram succeeded = target.getHistogram(Ceremony.REGISTRATION, CeremonyStage.TRUSTWORTHINESS, true, "packed", COSEAlgorithmIdentifier.ES256);
+        LatencyHistogram failed = target.getHistogram(Ceremony.REGISTRATION, CeremonyStage.TRUSTWORTHINESS, false, "packed", COSEAlgorithmIdentifier.ES256);
+        assertThat(succeeded).isNotNull();
+        assertThat(succeeded.getCount()).isEqualTo(2);
+        assertThat(succeeded.getMean()).isEqualTo(2000);
+        assertThat(failed).isNotNull();
+        assertThat(failed.getCount()).isEqualTo(1);
+        assertThat(target.getHistogram(Ceremony.REGISTRATION, CeremonyStage.TRUSTWORTHINESS, true, "tpm", COSEAlgorithmIdentifier.ES256)).isNull();
+        assertThat(target.getHistograms()).hasSize(2);
+    }
+
+    @Test
+    void breakdowns_are_bounded_test() {
+        HistogramCeremonyObserver target = new HistogramCeremonyObserver(2);
+
+        for (long alg = 0; alg < 10; alg++) {
+            target.stageCompleted(Ceremony.AUTHENTICATION, CeremonyStage.SIGNATURE, 1000, null, null, COSEAlgorithmIdentifier.create(alg));
+        }
+
+        assertThat(target.getHistograms()).hasSize(3);
+        LatencyHistogram overflow = target.getHistogram(Ceremony.AUTHENTICATION, CeremonyStage.SIGNATURE, true, null, null);
+        assertThat(overflow).isNotNull();
+        assertThat(overflow.getCount()).isEqualTo(8);
+    }
+}
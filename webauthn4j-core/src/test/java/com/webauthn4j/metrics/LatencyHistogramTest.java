@@ -0,0 +1,71 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.webauthn4j.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LatencyHistogramTest {
+
+    @Test
+    void empty_histogram_test() {
+        LatencyHistogram target = new LatencyHistogram();
+        assertThat(target.getCount()).isZero();
+        assertThat(target.getMean()).isZero();
+        assertThat(target.getMax()).isZero();
+        assertThat(target.getValueAtPercentile(99)).isZero();
+    }
+
+    @Test
+    void record_test() {
+        LatencyHistogram target = new LatencyHistogram();
+        for (long value = 1; value <= 1000; value++) {
+            target.record(value * 1000);
+        }
+
+        assertThat(target.getCount()).isEqualTo(1000);
+        assertThat(target.getMax()).isEqualTo(1000_000);
+        assertThat(target.getMean()).isEqualTo(500_500);
+        assertThat(target.getValueAtPercentile(50)).isBetween(500_000L, 500_000L + 500_000L / 64);
+        assertThat(target.getValueAtPercentile(99)).isBetween(990_000L, 990_000L + 990_000L / 64);
+        assertThat(target.getValueAtPercentile(100)).isEqualTo(1000_000);
+    }
+
+    @Test
+    void record_negative_value_test() {
+        LatencyHistogram target = new LatencyHistogram();
+        target.record(-1);
+        assertThat(target.getCount()).isEqualTo(1);
+        assertThat(target.getValueAtPercentile(100)).isZero();
+    }
+
+    @Test
+    void bucket_boundary_test() {
+        assertThat(LatencyHistogram.indexOf(0)).isZero();
+        assertThat(LatencyHistogram.indexOf(127)).isEqualTo(127);
+        assertThat(LatencyHistogram.highestEquivalentValue(LatencyHistogram.indexOf(128))).isEqualTo(129);
+        assertThat(LatencyHistogram.highestEquivalentValue(LatencyHistogram.indexOf(Long.MAX_VALUE))).isEqualTo(Long.MAX_VALUE);
+    }
+
+    @Test
+    void getValueAtPercentile_with_invalid_percentile_test() {
+        LatencyHistogram target = new LatencyHistogram();
+        assertThatThrownBy(() -> target.getValueAtPercentile(101)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
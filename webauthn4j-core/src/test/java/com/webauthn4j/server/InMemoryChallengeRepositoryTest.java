@@ -0,0 +1,145 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.webauthn4j.server;
+
+import com.webauthn4j.data.client.challenge.Challenge;
+import com.webauthn4j.data.client.challenge.DefaultChallenge;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class InMemoryChallengeRepositoryTest {
+
+    @Test
+    void issue_and_consume_test() {
+        InMemoryChallengeRepository target = new InMemoryChallengeRepository();
+        Challenge challenge = target.issue();
+        assertThat(target.consume(new DefaultChallenge(challenge.getValue()))).isTrue();
+        assertThat(target.consume(challenge)).isFalse();
+    }
+
+    @Test
+    void contains_does_not_consume_challenge_test() {
+        InMemoryChallengeRepository target = new InMemoryChallengeRepository();
+        Challenge challenge = target.issue();
+        assertThat(target.contains(challenge)).isTrue();
+        assertThat(target.contains(new DefaultChallenge())).isFalse();
+        assertThat(target.consume(challenge)).isTrue();
+        assertThat(target.contains(challenge)).isFalse();
+    }
+
+    @Test
+    void consume_unissued_challenge_test() {
+        InMemoryChallengeRepository target = new InMemoryChallengeRepository();
+        target.issue();
+        assertThat(target.consume(new DefaultChallenge())).isFalse();
+    }
+
+    @Test
+    void save_test() {
+        InMemoryChallengeRepository target = new InMemoryChallengeRepository();
+        Challenge challenge = new DefaultChallenge(new byte[]{0x01, 0x02, 0x03});
+        target.save(challenge);
+        assertThat(target.size()).isEqualTo(1);
+        assertThat(target.consume(challenge)).isTrue();
+        assertThat(target.size()).isZero();
+    }
+
+    @Test
+    void consume_expired_challenge_test() {
+        Clock clock = mock(Clock.class);
+        when(clock.millis()).thenReturn(0L);
+        InMemoryChallengeRepository target = new InMemoryChallengeRepository(Duration.ofMinutes(5), 100, clock);
+        Challenge challenge = target.issue();
+
+        when(clock.millis()).thenReturn(Duration.ofMinutes(5).toMillis());
+        assertThat(target.consume(challenge)).isFalse();
+    }
+
+    @Test
+    void expired_challenges_are_evicted_on_save_test() {
+        Clock clock = mock(Clock.class);
+        when(clock.millis()).thenReturn(0L);
+        InMemoryChallengeRepository target = new InMemoryChallengeRepository(Duration.ofSeconds(1), 64 * 100, clock);
+        for (int i = 0; i < 1000; i++) {
+            target.issue();
+        }
+        assertThat(target.size()).isEqualTo(1000);
+
+        when(clock.millis()).thenReturn(Duration.ofSeconds(2).toMillis());
+        for (int i = 0; i < 1000; i++) {
+            target.issue();
+        }
+        assertThat(target.size()).isEqualTo(1000);
+    }
+
+    @Test
+    void size_is_bounded_test() {
+        InMemoryChallengeRepository target = new InMemoryChallengeRepository(Duration.ofMinutes(5), 64 * 10, Clock.fixed(Instant.EPOCH, ZoneOffset.UTC));
+        for (int i = 0; i < 10_000; i++) {
+            target.issue();
+        }
+        assertThat(target.size()).isLessThanOrEqualTo(64 * 10);
+    }
+
+    @Test
+    void concurrent_consume_succeeds_once_test() throws Exception {
+        InMemoryChallengeRepository target = new InMemoryChallengeRepository();
+        Challenge challenge = target.issue();
+        AtomicInteger consumed = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 32; i++) {
+                futures.add(executor.submit(() -> {
+                    if (target.consume(challenge)) {
+                        consumed.incrementAndGet();
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertThat(consumed).hasValue(1);
+    }
+
+    @Test
+    void constructor_with_invalid_arguments_test() {
+        Duration zero = Duration.ZERO;
+        Duration fiveMinutes = Duration.ofMinutes(5);
+        assertThatThrownBy(() -> new InMemoryChallengeRepository(zero, 100)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new InMemoryChallengeRepository(fiveMinutes, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.webauthn4j.server;
+
+import com.webauthn4j.data.client.Origin;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class OriginMatcherTest {
+
+    private final OriginMatcher target = new OriginMatcher(
+            "https://example.com",
+            "https://*.example.com",
+            "https://*.tenant.example.net:8443",
+            "android:apk-key-hash:pNiP5iKyQ8JwgGOaKA1zGPUPJIS-0H1xKCQcfIoGLck",
+            "ios:bundle-id:com.example.app"
+    );
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "https://example.com",
+            "https://example.com:443",
+            "HTTPS://EXAMPLE.COM",
+            "https://a.example.com",
+            "https://a.b.example.com",
+            "https://a.tenant.example.net:8443",
+            "android:apk-key-hash:pNiP5iKyQ8JwgGOaKA1zGPUPJIS-0H1xKCQcfIoGLck",
+            "ios:bundle-id:com.example.app"
+    })
+    void matches_test(String origin) {
+        assertThat(target.matches(new Origin(origin))).isTrue();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "http://example.com",
+            "https://example.com:8443",
+            "https://a.example.com:8443",
+            "http://a.example.com",
+            "https://aexample.com",
+            "https://example.com.phish.com",
+            "https://tenant.example.net:8443",
+            "https://a.tenant.example.net",
+            "android:apk-key-hash:0pNiP5iKyQ8JwgGOaKA1zGPUPJIS-0H1xKCQcfIoGLck",
+            "ios:bundle-id:com.example.other"
+    })
+    void not_matches_test(String origin) {
+        assertThat(target.matches(new Origin(origin))).isFalse();
+    }
+
+    @Test
+    void matches_null_test() {
+        assertThat(target.matches(null)).isFalse();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "https://a.*.example.com",
+            "https://*example.com",
+            "https://*.*.example.com",
+            "*.example.com",
+            "android:*.example.com"
+    })
+    void invalid_wildcard_pattern_test(String pattern) {
+        assertThrows(IllegalArgumentException.class,
+                () -> new OriginMatcher(pattern)
+        );
+    }
+
+    @Test
+    void getOrigins_test() {
+        assertThat(target.getOrigins()).containsExactlyInAnyOrder(
+                new Origin("https://example.com"),
+                new Origin("android:apk-key-hash:pNiP5iKyQ8JwgGOaKA1zGPUPJIS-0H1xKCQcfIoGLck"),
+                new Origin("ios:bundle-id:com.example.app")
+        );
+        assertThat(target.getPatterns()).hasSize(5);
+    }
+
+    @Test
+    void empty_test() {
+        OriginMatcher instance = new OriginMatcher(Collections.emptyList());
+        assertThat(instance.matches(new Origin("https://example.com"))).isFalse();
+    }
+
+    @Test
+    void equals_hashCode_test() {
+        OriginMatcher instanceA = new OriginMatcher("https://example.com:443", "https://*.example.com");
+        OriginMatcher instanceB = new OriginMatcher("https://*.example.com:443", "https://example.com");
+        OriginMatcher instanceC = new OriginMatcher("https://*.example.com");
+
+        assertThat(instanceA)
+                .isEqualTo(instanceB)
+                .hasSameHashCodeAs(instanceB)
+                .isNotEqualTo(instanceC);
+    }
+}
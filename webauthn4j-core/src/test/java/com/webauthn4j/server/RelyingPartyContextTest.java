@@ -0,0 +1,139 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.webauthn4j.server;
+
+import com.webauthn4j.data.client.Origin;
+import com.webauthn4j.data.client.challenge.Challenge;
+import com.webauthn4j.data.client.challenge.DefaultChallenge;
+import com.webauthn4j.util.MessageDigestUtil;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SuppressWarnings("ConstantConditions")
+class RelyingPartyContextTest {
+
+    private final String rpId = "example.com";
+    private final Origin origin = new Origin("https://example.com");
+
+    @Test
+    void getter_test() {
+        RelyingPartyContext relyingPartyContext = new RelyingPartyContext(rpId, origin);
+        assertAll(
+                () -> assertThat(relyingPartyContext.getRpId()).isEqualTo(rpId),
+                () -> assertThat(relyingPartyContext.getRpIdHash()).isEqualTo(MessageDigestUtil.createSHA256().digest(rpId.getBytes(StandardCharsets.UTF_8))),
+                () -> assertThat(relyingPartyContext.getOrigins()).containsExactly(origin)
+        );
+    }
+
+    @Test
+    void getRpIdHash_returns_copy_test() {
+        RelyingPartyContext relyingPartyContext = new RelyingPartyContext(rpId);
+        relyingPartyContext.getRpIdHash()[0] ^= 0xFF;
+        assertThat(relyingPartyContext.getRpIdHash()).isEqualTo(MessageDigestUtil.createSHA256().digest(rpId.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void origins_are_copied_test() {
+        Set<Origin> origins = new HashSet<>(Collections.singleton(origin));
+        RelyingPartyContext relyingPartyContext = new RelyingPartyContext(rpId, origins);
+        origins.add(new Origin("https://evil.example.net"));
+
+        assertThat(relyingPartyContext.getOrigins()).containsExactly(origin);
+    }
+
+    @Test
+    void matchesRpIdHash_test() {
+        ServerProperty serverProperty = new ServerProperty(new RelyingPartyContext(rpId), null, null);
+        byte[] rpIdHash = MessageDigestUtil.createSHA256().digest(rpId.getBytes(StandardCharsets.UTF_8));
+
+        assertAll(
+                () -> assertThat(serverProperty.matchesRpIdHash(rpIdHash)).isTrue(),
+                () -> assertThat(serverProperty.matchesRpIdHash(new byte[32])).isFalse(),
+                () -> assertThat(serverProperty.matchesRpIdHash(null)).isFalse()
+        );
+    }
+
+    @Test
+    void matchesRpIdHash_with_offset_test() {
+        ServerProperty serverProperty = new ServerProperty(new RelyingPartyContext(rpId), null, null);
+        byte[] rpIdHash = MessageDigestUtil.createSHA256().digest(rpId.getBytes(StandardCharsets.UTF_8));
+        byte[] authenticatorData = new byte[37];
+        System.arraycopy(rpIdHash, 0, authenticatorData, 0, 32);
+
+        assertAll(
+                () -> assertThat(serverProperty.matchesRpIdHash(authenticatorData, 0)).isTrue(),
+                () -> assertThat(serverProperty.matchesRpIdHash(authenticatorData, 1)).isFalse(),
+                () -> assertThat(serverProperty.matchesRpIdHash(authenticatorData, 6)).isFalse(),
+                () -> assertThat(serverProperty.matchesRpIdHash(rpIdHash, -1)).isFalse()
+        );
+    }
+
+    @Test
+    void constructor_with_null_test() {
+        assertAll(
+                () -> assertThrows(IllegalArgumentException.class, () -> new RelyingPartyContext(null)),
+                () -> assertThrows(IllegalArgumentException.class, () -> new RelyingPartyContext(rpId, (Origin) null))
+        );
+    }
+
+    @Test
+    void serverProperty_shares_context_test() {
+        RelyingPartyContext relyingPartyContext = new RelyingPartyContext(rpId, new HashSet<>(Arrays.asList(origin, new Origin("https://sub.example.com"))));
+        Challenge challenge = new DefaultChallenge();
+        ServerProperty serverProperty = new ServerProperty(relyingPartyContext, challenge, null);
+
+        assertAll(
+                () -> assertThat(serverProperty).isEqualTo(new ServerProperty(relyingPartyContext.getOrigins(), rpId, challenge, null)),
+                () -> assertThat(serverProperty.getRpIdHash()).isEqualTo(relyingPartyContext.getRpIdHash()),
+                () -> assertThat(new CoreServerProperty(relyingPartyContext, challenge)).isEqualTo(new CoreServerProperty(rpId, challenge))
+        );
+    }
+
+    @Test
+    void originMatcher_test() {
+        OriginMatcher originMatcher = new OriginMatcher("https://example.com", "https://*.example.com");
+        RelyingPartyContext relyingPartyContext = new RelyingPartyContext(rpId, originMatcher);
+        ServerProperty serverProperty = new ServerProperty(relyingPartyContext, new DefaultChallenge(), null);
+
+        assertAll(
+                () -> assertThat(relyingPartyContext.getOriginMatcher()).isEqualTo(originMatcher),
+                () -> assertThat(relyingPartyContext.getOrigins()).containsExactly(origin),
+                () -> assertThat(serverProperty.getOriginMatcher()).isEqualTo(originMatcher),
+                () -> assertThat(serverProperty.getOrigins()).containsExactly(origin),
+                () -> assertThat(new RelyingPartyContext(rpId, origin).getOriginMatcher()).isNull()
+        );
+    }
+
+    @Test
+    void equals_hashCode_test() {
+        RelyingPartyContext instanceA = new RelyingPartyContext(rpId, origin);
+        RelyingPartyContext instanceB = new RelyingPartyContext(rpId, Collections.singleton(origin));
+        assertThat(instanceA)
+                .isEqualTo(instanceB)
+                .hasSameHashCodeAs(instanceB);
+    }
+}
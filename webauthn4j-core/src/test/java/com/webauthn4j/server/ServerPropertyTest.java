@@ -20,6 +20,7 @@ import com.webauthn4j.data.client.Origin;
 import com.webauthn4j.data.client.challenge.Challenge;
 import com.webauthn4j.data.client.challenge.DefaultChallenge;
 import com.webauthn4j.test.TestDataUtil;
+import com.webauthn4j.util.MessageDigestUtil;
 import org.junit.jupiter.api.Test;
 
 import java.nio.charset.StandardCharsets;
@@ -49,6 +50,32 @@ class ServerPropertyTest {
         );
     }
 
+    @Test
+    void getRpIdHash_test() {
+        ServerProperty serverProperty = new ServerProperty(webApp1Origin, rpId, null, null);
+        byte[] expected = MessageDigestUtil.createSHA256().digest(rpId.getBytes(StandardCharsets.UTF_8));
+        assertAll(
+                () -> assertThat(serverProperty.getRpIdHash()).isEqualTo(expected),
+                () -> assertThat(serverProperty.getRpIdHash()).isEqualTo(expected)
+        );
+    }
+
+    @Test
+    void withChallenge_test() {
+        OriginMatcher originMatcher = new OriginMatcher("https://*.example.com");
+        ServerProperty serverProperty = new ServerProperty(originMatcher, rpId, null, new byte[32]);
+        Challenge challenge = new DefaultChallenge();
+
+        ServerProperty result = serverProperty.withChallenge(challenge);
+
+        assertAll(
+                () -> assertThat(result.getChallenge()).isEqualTo(challenge),
+                () -> assertThat(result.getRpIdHash()).isEqualTo(serverProperty.getRpIdHash()),
+                () -> assertThat(result.getOriginMatcher()).isSameAs(originMatcher),
+                () -> assertThat(result).isEqualTo(new ServerProperty(originMatcher, rpId, challenge, new byte[32]))
+        );
+    }
+
     @Test
     void equals_hashCode_test() {
         Challenge challenge = new DefaultChallenge();
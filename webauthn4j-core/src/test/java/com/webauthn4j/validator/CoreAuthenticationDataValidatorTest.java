@@ -16,6 +16,8 @@
 
 package com.webauthn4j.validator;
 
+import com.webauthn4j.authenticator.InMemorySignCounterStore;
+import com.webauthn4j.authenticator.SignCounterStore;
 import org.junit.jupiter.api.Test;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -34,6 +36,9 @@ class CoreAuthenticationDataValidatorTest {
         CoreMaliciousCounterValueHandler coreMaliciousCounterValueHandler = new DefaultCoreMaliciousCounterValueHandler();
         coreAuthenticationDataValidator.setMaliciousCounterValueHandler(coreMaliciousCounterValueHandler);
         assertThat(coreAuthenticationDataValidator.getMaliciousCounterValueHandler()).isEqualTo(coreMaliciousCounterValueHandler);
+        SignCounterStore signCounterStore = new InMemorySignCounterStore();
+        coreAuthenticationDataValidator.setSignCounterStore(signCounterStore);
+        assertThat(coreAuthenticationDataValidator.getSignCounterStore()).isSameAs(signCounterStore);
     }
 
 }
\ No newline at end of file
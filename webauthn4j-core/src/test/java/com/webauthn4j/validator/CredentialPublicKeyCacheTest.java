@@ -0,0 +1,116 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.webauthn4j.validator;
+
+import com.webauthn4j.data.attestation.authenticator.EC2COSEKey;
+import com.webauthn4j.test.TestDataUtil;
+import com.webauthn4j.util.ECUtil;
+import org.junit.jupiter.api.Test;
+
+import java.security.PublicKey;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CredentialPublicKeyCacheTest {
+
+    private final byte[] credentialId = new byte[]{0x01, 0x02, 0x03};
+
+    @Test
+    void getPublicKey_test() {
+        CredentialPublicKeyCache target = new CredentialPublicKeyCache();
+        EC2COSEKey coseKey = TestDataUtil.createEC2COSEPublicKey();
+        // equal COSEKey re-created from storage for each ceremony
+        EC2COSEKey reloadedCOSEKey = new EC2COSEKey(coseKey.getKeyId(), coseKey.getAlgorithm(), coseKey.getKeyOps(), coseKey.getCurve(), coseKey.getX(), coseKey.getY());
+
+        PublicKey first = target.getPublicKey(credentialId, coseKey);
+        PublicKey second = target.getPublicKey(credentialId.clone(), reloadedCOSEKey);
+
+        assertThat(first).isEqualTo(coseKey.getPublicKey());
+        assertThat(second).isSameAs(first);
+        assertThat(target.getMissCount()).isEqualTo(1);
+        assertThat(target.getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void getPublicKey_with_different_coseKey_test() {
+        CredentialPublicKeyCache target = new CredentialPublicKeyCache();
+        EC2COSEKey coseKeyA = TestDataUtil.createEC2COSEPublicKey();
+        EC2COSEKey coseKeyB = EC2COSEKey.create(ECUtil.createKeyPair());
+
+        target.getPublicKey(credentialId, coseKeyA);
+        assertThat(target.getPublicKey(credentialId, coseKeyB)).isEqualTo(coseKeyB.getPublicKey());
+        assertThat(target.getMissCount()).isEqualTo(2);
+    }
+
+    @Test
+    void eviction_test() {
+        CredentialPublicKeyCache target = new CredentialPublicKeyCache(1);
+        EC2COSEKey coseKey = TestDataUtil.createEC2COSEPublicKey();
+
+        target.getPublicKey(new byte[]{0x01}, coseKey);
+        target.getPublicKey(new byte[]{0x02}, coseKey);
+        assertThat(target.size()).isEqualTo(1);
+        target.getPublicKey(new byte[]{0x01}, coseKey);
+        assertThat(target.getHitCount()).isZero();
+    }
+
+    @Test
+    void eviction_keeps_recently_used_entry_test() {
+        CredentialPublicKeyCache target = new CredentialPublicKeyCache(2);
+        EC2COSEKey coseKey = TestDataUtil.createEC2COSEPublicKey();
+
+        target.getPublicKey(new byte[]{0x01}, coseKey);
+        target.getPublicKey(new byte[]{0x02}, coseKey);
+        target.getPublicKey(new byte[]{0x01}, coseKey);
+        target.getPublicKey(new byte[]{0x03}, coseKey);
+
+        assertThat(target.size()).isEqualTo(2);
+        target.getPublicKey(new byte[]{0x01}, coseKey);
+        target.getPublicKey(new byte[]{0x03}, coseKey);
+        assertThat(target.getHitCount()).isEqualTo(3);
+    }
+
+    @Test
+    void getPublicKey_does_not_keep_caller_array_test() {
+        CredentialPublicKeyCache target = new CredentialPublicKeyCache();
+        EC2COSEKey coseKey = TestDataUtil.createEC2COSEPublicKey();
+        byte[] mutableCredentialId = credentialId.clone();
+
+        target.getPublicKey(mutableCredentialId, coseKey);
+        mutableCredentialId[0] = 0x09;
+
+        target.getPublicKey(credentialId, coseKey);
+        assertThat(target.getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void invalidate_test() {
+        CredentialPublicKeyCache target = new CredentialPublicKeyCache();
+        EC2COSEKey coseKey = TestDataUtil.createEC2COSEPublicKey();
+
+        target.getPublicKey(credentialId, coseKey);
+        target.invalidate(credentialId);
+        assertThat(target.size()).isZero();
+    }
+
+    @Test
+    void constructor_with_invalid_maxSize_test() {
+        assertThrows(IllegalArgumentException.class, () -> new CredentialPublicKeyCache(0));
+    }
+}
@@ -19,6 +19,7 @@ package com.webauthn4j.validator;
 import com.webauthn4j.data.client.ClientDataType;
 import com.webauthn4j.data.client.CollectedClientData;
 import com.webauthn4j.data.client.Origin;
+import com.webauthn4j.server.OriginMatcher;
 import com.webauthn4j.server.ServerProperty;
 import com.webauthn4j.test.TestDataUtil;
 import com.webauthn4j.validator.exception.BadOriginException;
@@ -117,6 +118,25 @@ class OriginValidatorImplTest {
         );
     }
 
+    @Test
+    void originMatcher_test() {
+        OriginMatcher originMatcher = new OriginMatcher("https://example.com", "https://*.example.com");
+        ServerProperty serverProperty = new ServerProperty(originMatcher, "example.com", TestDataUtil.createChallenge(), null);
+
+        CollectedClientData collectedClientDataA = new CollectedClientData(ClientDataType.WEBAUTHN_GET,
+                TestDataUtil.createChallenge(), new Origin("https://example.com"), null);
+        CollectedClientData collectedClientDataB = new CollectedClientData(ClientDataType.WEBAUTHN_GET,
+                TestDataUtil.createChallenge(), new Origin("https://tenant1.example.com"), null);
+        CollectedClientData badCollectedClientData = new CollectedClientData(ClientDataType.WEBAUTHN_GET,
+                TestDataUtil.createChallenge(), new Origin("https://tenant1.example.com.phish.com"), null);
+
+        target.validate(collectedClientDataA, serverProperty);
+        target.validate(collectedClientDataB, serverProperty);
+        assertThrows(BadOriginException.class,
+                () -> target.validate(badCollectedClientData, serverProperty)
+        );
+    }
+
     @SuppressWarnings("java:S5976")
     @Test
     void test_with_not_equal_origins() {
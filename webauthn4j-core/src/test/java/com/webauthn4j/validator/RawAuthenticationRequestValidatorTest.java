@@ -0,0 +1,129 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.webauthn4j.validator;
+
+import com.webauthn4j.authenticator.Authenticator;
+import com.webauthn4j.data.AuthenticationParameters;
+import com.webauthn4j.data.AuthenticationRequest;
+import com.webauthn4j.data.client.Origin;
+import com.webauthn4j.data.client.challenge.Challenge;
+import com.webauthn4j.data.client.challenge.DefaultChallenge;
+import com.webauthn4j.server.ServerProperty;
+import com.webauthn4j.util.Base64UrlUtil;
+import com.webauthn4j.validator.exception.BadChallengeException;
+import com.webauthn4j.validator.exception.BadRpIdException;
+import com.webauthn4j.validator.exception.NotAllowedCredentialIdException;
+import com.webauthn4j.validator.exception.UserNotPresentException;
+import com.webauthn4j.validator.exception.UserNotVerifiedException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class RawAuthenticationRequestValidatorTest {
+
+    private final RawAuthenticationRequestValidator target = new RawAuthenticationRequestValidator();
+
+    private final Challenge challenge = new DefaultChallenge();
+    private final ServerProperty serverProperty = new ServerProperty(new Origin("https://example.com"), "example.com", challenge, null);
+    private final byte[] credentialId = new byte[]{0x01, 0x02, 0x03};
+
+    @Test
+    void validate_test() {
+        AuthenticationRequest authenticationRequest = new AuthenticationRequest(credentialId, createAuthenticatorData((byte) 0x05), createClientDataJSON(challenge), new byte[32]);
+        assertThatCode(() -> target.validate(authenticationRequest, createAuthenticationParameters(true))).doesNotThrowAnyException();
+    }
+
+    @Test
+    void validate_with_not_allowed_credentialId_test() {
+        AuthenticationRequest authenticationRequest = new AuthenticationRequest(new byte[]{0x09}, createAuthenticatorData((byte) 0x05), createClientDataJSON(challenge), new byte[32]);
+        assertThatThrownBy(() -> target.validate(authenticationRequest, createAuthenticationParameters(true))).isInstanceOf(NotAllowedCredentialIdException.class);
+    }
+
+    @Test
+    void validate_with_bad_rpIdHash_test() {
+        byte[] authenticatorData = createAuthenticatorData((byte) 0x05);
+        authenticatorData[0] ^= 0x01;
+        AuthenticationRequest authenticationRequest = new AuthenticationRequest(credentialId, authenticatorData, createClientDataJSON(challenge), new byte[32]);
+        assertThatThrownBy(() -> target.validate(authenticationRequest, createAuthenticationParameters(true))).isInstanceOf(BadRpIdException.class);
+    }
+
+    @Test
+    void validate_with_flags_test() {
+        AuthenticationRequest notPresent = new AuthenticationRequest(credentialId, createAuthenticatorData((byte) 0x04), createClientDataJSON(challenge), new byte[32]);
+        AuthenticationRequest notVerified = new AuthenticationRequest(credentialId, createAuthenticatorData((byte) 0x01), createClientDataJSON(challenge), new byte[32]);
+        assertThatThrownBy(() -> target.validate(notPresent, createAuthenticationParameters(true))).isInstanceOf(UserNotPresentException.class);
+        assertThatThrownBy(() -> target.validate(notVerified, createAuthenticationParameters(true))).isInstanceOf(UserNotVerifiedException.class);
+        assertThatCode(() -> target.validate(notVerified, createAuthenticationParameters(false))).doesNotThrowAnyException();
+    }
+
+    @Test
+    void validate_with_bad_challenge_test() {
+        AuthenticationRequest authenticationRequest = new AuthenticationRequest(credentialId, createAuthenticatorData((byte) 0x05), createClientDataJSON(new DefaultChallenge()), new byte[32]);
+        assertThatThrownBy(() -> target.validate(authenticationRequest, createAuthenticationParameters(true))).isInstanceOf(BadChallengeException.class);
+    }
+
+    @Test
+    void validate_with_malformed_request_is_left_to_full_validation_test() {
+        AuthenticationRequest authenticationRequest = new AuthenticationRequest(credentialId, new byte[]{0x00}, "{".getBytes(StandardCharsets.UTF_8), new byte[32]);
+        assertThatCode(() -> target.validate(authenticationRequest, createAuthenticationParameters(true))).doesNotThrowAnyException();
+    }
+
+    @Test
+    void extractChallenge_test() {
+        byte[] value = new byte[]{0x01, 0x02, 0x03};
+        String encoded = Base64UrlUtil.encodeToString(value);
+        assertThat(RawAuthenticationRequestValidator.extractChallenge(("{\"type\":\"webauthn.get\",\"challenge\" : \"" + encoded + "\"}").getBytes(StandardCharsets.UTF_8))).isEqualTo(value);
+        assertThat(RawAuthenticationRequestValidator.extractChallenge(("{\"note\":\"challenge\",\"challenge\":\"" + encoded + "\"}").getBytes(StandardCharsets.UTF_8))).isEqualTo(value);
+        assertThat(RawAuthenticationRequestValidator.extractChallenge("{\"challenge\":\"AQ\\u0041\"}".getBytes(StandardCharsets.UTF_8))).isNull();
+        assertThat(RawAuthenticationRequestValidator.extractChallenge("{\"challenge\":1}".getBytes(StandardCharsets.UTF_8))).isNull();
+        assertThat(RawAuthenticationRequestValidator.extractChallenge("{\"type\":\"webauthn.get\"}".getBytes(StandardCharsets.UTF_8))).isNull();
+    }
+
+    @Test
+    void extractChallenge_only_matches_top_level_member_test() {
+        byte[] value = new byte[]{0x01, 0x02, 0x03};
+        String encoded = Base64UrlUtil.encodeToString(value);
+        String other = Base64UrlUtil.encodeToString(new byte[]{0x04});
+        assertThat(RawAuthenticationRequestValidator.extractChallenge(("{\"tokenBinding\":{\"challenge\":\"" + other + "\"},\"challenge\":\"" + encoded + "\"}").getBytes(StandardCharsets.UTF_8))).isEqualTo(value);
+        assertThat(RawAuthenticationRequestValidator.extractChallenge(("{\"list\":[{\"challenge\":\"" + other + "\"}]}").getBytes(StandardCharsets.UTF_8))).isNull();
+        assertThat(RawAuthenticationRequestValidator.extractChallenge(("{\"note\":\"\\\"challenge\\\":\",\"challenge\":\"" + encoded + "\"}").getBytes(StandardCharsets.UTF_8))).isEqualTo(value);
+        assertThat(RawAuthenticationRequestValidator.extractChallenge(("{\"challenge\":\"" + other + "\",\"challenge\":\"" + encoded + "\"}").getBytes(StandardCharsets.UTF_8))).isEqualTo(value);
+        assertThat(RawAuthenticationRequestValidator.extractChallenge(("{\"\\u0063hallenge\":\"" + encoded + "\"}").getBytes(StandardCharsets.UTF_8))).isNull();
+    }
+
+    private AuthenticationParameters createAuthenticationParameters(boolean userVerificationRequired) {
+        return new AuthenticationParameters(serverProperty, mock(Authenticator.class), Collections.singletonList(credentialId), userVerificationRequired, true);
+    }
+
+    private byte[] createAuthenticatorData(byte flags) {
+        byte[] authenticatorData = new byte[37];
+        System.arraycopy(serverProperty.getRpIdHash(), 0, authenticatorData, 0, 32);
+        authenticatorData[32] = flags;
+        return authenticatorData;
+    }
+
+    private byte[] createClientDataJSON(Challenge challenge) {
+        String json = "{\"type\":\"webauthn.get\",\"challenge\":\"" + Base64UrlUtil.encodeToString(challenge.getValue()) + "\",\"origin\":\"https://example.com\"}";
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -17,11 +17,13 @@
 package com.webauthn4j.validator;
 
 import com.webauthn4j.converter.util.ObjectConverter;
+import com.webauthn4j.data.CoreRegistrationParameters;
 import com.webauthn4j.data.PublicKeyCredentialParameters;
 import com.webauthn4j.data.PublicKeyCredentialType;
 import com.webauthn4j.data.attestation.authenticator.AuthenticatorData;
 import com.webauthn4j.data.attestation.statement.COSEAlgorithmIdentifier;
 import com.webauthn4j.data.extension.authenticator.RegistrationExtensionAuthenticatorOutput;
+import com.webauthn4j.server.CoreServerProperty;
 import com.webauthn4j.validator.attestation.statement.androidkey.NullAndroidKeyAttestationStatementValidator;
 import com.webauthn4j.validator.attestation.statement.androidsafetynet.NullAndroidSafetyNetAttestationStatementValidator;
 import com.webauthn4j.validator.attestation.statement.none.NoneAttestationStatementValidator;
@@ -69,14 +71,16 @@ class RegistrationDataValidatorTest {
     @Test
     void validateAlg_test(){
         List<PublicKeyCredentialParameters> pubKeyCredParams = Arrays.asList(new PublicKeyCredentialParameters(PublicKeyCredentialType.PUBLIC_KEY, COSEAlgorithmIdentifier.ES256), new PublicKeyCredentialParameters(PublicKeyCredentialType.PUBLIC_KEY, COSEAlgorithmIdentifier.RS256));
-        target.validateAlg(COSEAlgorithmIdentifier.ES256, pubKeyCredParams);
+        CoreRegistrationParameters registrationParameters = new CoreRegistrationParameters(mock(CoreServerProperty.class), pubKeyCredParams, false);
+        target.validateAlg(COSEAlgorithmIdentifier.ES256, registrationParameters);
     }
 
     @Test
     void validateAlg_not_allowed_alg_test(){
         List<PublicKeyCredentialParameters> pubKeyCredParams = Collections.singletonList(new PublicKeyCredentialParameters(PublicKeyCredentialType.PUBLIC_KEY, COSEAlgorithmIdentifier.RS256));
+        CoreRegistrationParameters registrationParameters = new CoreRegistrationParameters(mock(CoreServerProperty.class), pubKeyCredParams, false);
         assertThrows(NotAllowedAlgorithmException.class,
-                () -> target.validateAlg(COSEAlgorithmIdentifier.ES256, pubKeyCredParams)
+                () -> target.validateAlg(COSEAlgorithmIdentifier.ES256, registrationParameters)
         );
     }
 
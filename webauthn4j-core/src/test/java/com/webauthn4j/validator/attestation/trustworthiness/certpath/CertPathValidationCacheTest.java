@@ -0,0 +1,125 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.webauthn4j.validator.attestation.trustworthiness.certpath;
+
+import com.webauthn4j.test.TestAttestationUtil;
+import com.webauthn4j.util.CertificateUtil;
+import com.webauthn4j.validator.exception.CertificateException;
+import org.junit.jupiter.api.Test;
+
+import java.security.cert.CertPath;
+import java.security.cert.TrustAnchor;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CertPathValidationCacheTest {
+
+    private final CertPath certPath = TestAttestationUtil.load3tierTestAttestationCertificatePath().createCertPath();
+    private final Set<TrustAnchor> trustAnchors = CertificateUtil.generateTrustAnchors(
+            Collections.singletonList(TestAttestationUtil.load3tierTestRootCACertificate()));
+    private final TrustAnchor trustAnchor = trustAnchors.iterator().next();
+    private final Instant timestamp = Instant.parse("2020-01-01T00:00:00Z");
+
+    @Test
+    void getOrValidate_test() {
+        CertPathValidationCache target = new CertPathValidationCache();
+        AtomicInteger validationCount = new AtomicInteger();
+
+        TrustAnchor first = target.getOrValidate(certPath, trustAnchors, false, timestamp, () -> {
+            validationCount.incrementAndGet();
+            return trustAnchor;
+        });
+        TrustAnchor second = target.getOrValidate(certPath, trustAnchors, false, timestamp, () -> {
+            validationCount.incrementAndGet();
+            return trustAnchor;
+        });
+
+        assertThat(first).isSameAs(trustAnchor);
+        assertThat(second).isSameAs(trustAnchor);
+        assertThat(validationCount).hasValue(1);
+        assertThat(target.getHitCount()).isEqualTo(1);
+        assertThat(target.getMissCount()).isEqualTo(1);
+        assertThat(target.size()).isEqualTo(1);
+    }
+
+    @Test
+    void getOrValidate_with_other_trustAnchors_instance_test() {
+        CertPathValidationCache target = new CertPathValidationCache();
+        target.getOrValidate(certPath, trustAnchors, false, timestamp, () -> trustAnchor);
+
+        target.getOrValidate(certPath, new HashSet<>(trustAnchors), false, timestamp, () -> trustAnchor);
+        assertThat(target.getHitCount()).isEqualTo(1);
+
+        target.getOrValidate(certPath, CertificateUtil.generateTrustAnchors(
+                Collections.singletonList(TestAttestationUtil.load3tierTestRootCACertificate())), false, timestamp, () -> trustAnchor);
+        target.getOrValidate(certPath, trustAnchors, true, timestamp, () -> trustAnchor);
+        assertThat(target.getHitCount()).isEqualTo(1);
+        assertThat(target.getMissCount()).isEqualTo(3);
+    }
+
+    @Test
+    void getOrValidate_after_trustAnchor_is_removed_in_place_test() {
+        CertPathValidationCache target = new CertPathValidationCache();
+        Set<TrustAnchor> mutableTrustAnchors = new HashSet<>(trustAnchors);
+        target.getOrValidate(certPath, mutableTrustAnchors, false, timestamp, () -> trustAnchor);
+
+        mutableTrustAnchors.remove(trustAnchor);
+
+        assertThrows(CertificateException.class, () -> target.getOrValidate(certPath, mutableTrustAnchors, false, timestamp, () -> {
+            throw new CertificateException("invalid cert path");
+        }));
+        assertThat(target.getHitCount()).isZero();
+    }
+
+    @Test
+    void getOrValidate_outside_validity_window_test() {
+        CertPathValidationCache target = new CertPathValidationCache();
+        target.getOrValidate(certPath, trustAnchors, false, timestamp, () -> trustAnchor);
+
+        Instant beforeNotBefore = Instant.parse("2000-01-01T00:00:00Z");
+        assertThrows(CertificateException.class, () -> target.getOrValidate(certPath, trustAnchors, false, beforeNotBefore, () -> {
+            throw new CertificateException("expired");
+        }));
+        assertThat(target.getHitCount()).isZero();
+    }
+
+    @Test
+    void getOrValidate_does_not_cache_failure_test() {
+        CertPathValidationCache target = new CertPathValidationCache();
+
+        assertThrows(CertificateException.class, () -> target.getOrValidate(certPath, trustAnchors, false, timestamp, () -> {
+            throw new CertificateException("invalid cert path");
+        }));
+
+        assertThat(target.size()).isZero();
+    }
+
+    @Test
+    void clear_test() {
+        CertPathValidationCache target = new CertPathValidationCache(1);
+        target.getOrValidate(certPath, trustAnchors, false, timestamp, () -> trustAnchor);
+        target.clear();
+        assertThat(target.size()).isZero();
+    }
+}
@@ -28,6 +28,8 @@ import com.webauthn4j.validator.exception.TrustAnchorNotFoundException;
 import org.junit.jupiter.api.Test;
 
 import java.security.cert.TrustAnchor;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Set;
@@ -99,6 +101,60 @@ class DefaultCertPathTrustworthinessValidatorTest {
         );
     }
 
+    @Test
+    void validate_with_certPathValidationCache_test() {
+
+        Set<TrustAnchor> trustAnchors = CertificateUtil.generateTrustAnchors(
+                Collections.singletonList(TestAttestationUtil.load3tierTestRootCACertificate()));
+        when(trustAnchorRepository.find((AAGUID) any())).thenReturn(trustAnchors);
+        CertPathValidationCache certPathValidationCache = new CertPathValidationCache();
+        target.setCertPathValidationCache(certPathValidationCache);
+
+        CertificateBaseAttestationStatement attestationStatement = TestAttestationStatementUtil.createBasicPackedAttestationStatement(TestAttestationUtil.load3tierTestAttestationCertificatePath());
+        target.validate(aaguid, attestationStatement);
+        target.validate(aaguid, attestationStatement);
+
+        assertThat(certPathValidationCache.getMissCount()).isEqualTo(1);
+        assertThat(certPathValidationCache.getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void validate_with_certPathValidationCache_and_expired_timestamp_test() {
+
+        Set<TrustAnchor> trustAnchors = CertificateUtil.generateTrustAnchors(
+                Collections.singletonList(TestAttestationUtil.load3tierTestRootCACertificate()));
+        when(trustAnchorRepository.find((AAGUID) any())).thenReturn(trustAnchors);
+        target.setCertPathValidationCache(new CertPathValidationCache());
+
+        CertificateBaseAttestationStatement attestationStatement = TestAttestationStatementUtil.createBasicPackedAttestationStatement(TestAttestationUtil.load3tierTestAttestationCertificatePath());
+        target.validate(aaguid, attestationStatement);
+        Instant farFuture = Instant.now().plus(365 * 1000L, ChronoUnit.DAYS);
+        assertThrows(CertificateException.class,
+                () -> target.validate(aaguid, attestationStatement, farFuture)
+        );
+    }
+
+    @Test
+    void validate_full_chain_with_certPathValidationCache_test() {
+
+        Set<TrustAnchor> trustAnchors = CertificateUtil.generateTrustAnchors(
+                Collections.singletonList(TestAttestationUtil.load3tierTestRootCACertificate()));
+        when(trustAnchorRepository.find(aaguid)).thenReturn(trustAnchors);
+        target.setCertPathValidationCache(new CertPathValidationCache());
+
+        AttestationCertificatePath attestationCertificatePath
+                = new AttestationCertificatePath(Arrays.asList(
+                TestAttestationUtil.load3tierTestAuthenticatorAttestationCertificate(),
+                TestAttestationUtil.load3tierTestIntermediateCACertificate(),
+                TestAttestationUtil.load3tierTestRootCACertificate()));
+
+        CertificateBaseAttestationStatement attestationStatement = TestAttestationStatementUtil.createBasicPackedAttestationStatement(attestationCertificatePath);
+        target.validate(aaguid, attestationStatement);
+        target.setFullChainProhibited(true);
+        assertThrows(CertificateException.class,
+                () -> target.validate(aaguid, attestationStatement)
+        );
+    }
 
     @Test
     void getter_setter_test() {
@@ -108,6 +164,9 @@ class DefaultCertPathTrustworthinessValidatorTest {
         assertThat(target.isPolicyQualifiersRejected()).isTrue();
         target.setRevocationCheckEnabled(true);
         assertThat(target.isRevocationCheckEnabled()).isTrue();
+        CertPathValidationCache certPathValidationCache = new CertPathValidationCache();
+        target.setCertPathValidationCache(certPathValidationCache);
+        assertThat(target.getCertPathValidationCache()).isSameAs(certPathValidationCache);
     }
 
 
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.webauthn4j.validator.attestation.trustworthiness.certpath;
+
+import com.webauthn4j.test.TestAttestationUtil;
+import com.webauthn4j.util.CertificateUtil;
+import org.junit.jupiter.api.Test;
+
+import java.security.cert.PKIXParameters;
+import java.security.cert.TrustAnchor;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PKIXParametersCacheTest {
+
+    private final Set<TrustAnchor> trustAnchors = CertificateUtil.generateTrustAnchors(
+            Collections.singletonList(TestAttestationUtil.load2tierTestRootCACertificate()));
+    private final Set<TrustAnchor> otherTrustAnchors = CertificateUtil.generateTrustAnchors(
+            Collections.singletonList(TestAttestationUtil.load3tierTestRootCACertificate()));
+
+    @Test
+    void create_returns_independent_copies_test() {
+        PKIXParametersCache target = new PKIXParametersCache();
+
+        PKIXParameters parametersA = target.create(trustAnchors);
+        parametersA.setRevocationEnabled(false);
+        PKIXParameters parametersB = target.create(trustAnchors);
+
+        assertThat(parametersB).isNotSameAs(parametersA);
+        assertThat(parametersB.isRevocationEnabled()).isTrue();
+        assertThat(parametersB.getTrustAnchors()).isEqualTo(trustAnchors);
+        assertThat(target.size()).isEqualTo(1);
+    }
+
+    @Test
+    void create_keys_by_set_elements_test() {
+        PKIXParametersCache target = new PKIXParametersCache();
+
+        target.create(trustAnchors);
+        target.create(new HashSet<>(trustAnchors));
+        assertThat(target.size()).isEqualTo(1);
+
+        target.create(otherTrustAnchors);
+        assertThat(target.size()).isEqualTo(2);
+        target.clear();
+        assertThat(target.size()).isZero();
+    }
+
+    @Test
+    void create_after_in_place_change_of_set_test() {
+        PKIXParametersCache target = new PKIXParametersCache();
+        Set<TrustAnchor> mutableTrustAnchors = new HashSet<>(trustAnchors);
+        mutableTrustAnchors.addAll(otherTrustAnchors);
+
+        assertThat(target.create(mutableTrustAnchors).getTrustAnchors()).hasSize(2);
+        mutableTrustAnchors.removeAll(otherTrustAnchors);
+
+        assertThat(target.create(mutableTrustAnchors).getTrustAnchors()).isEqualTo(trustAnchors);
+    }
+
+    @Test
+    void create_evicts_eldest_entry_test() {
+        PKIXParametersCache target = new PKIXParametersCache(1);
+
+        target.create(trustAnchors);
+        target.create(otherTrustAnchors);
+
+        assertThat(target.size()).isEqualTo(1);
+    }
+
+    @Test
+    void constructor_with_invalid_maxSize_test() {
+        assertThrows(IllegalArgumentException.class, () -> new PKIXParametersCache(0));
+    }
+}
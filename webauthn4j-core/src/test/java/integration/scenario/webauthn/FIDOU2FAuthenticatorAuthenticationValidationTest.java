@@ -16,6 +16,7 @@
 
 package integration.scenario.webauthn;
 
+import com.webauthn4j.WebAuthnAuthenticationManager;
 import com.webauthn4j.WebAuthnManager;
 import com.webauthn4j.authenticator.Authenticator;
 import com.webauthn4j.converter.AttestationObjectConverter;
@@ -31,6 +32,7 @@ import com.webauthn4j.data.client.challenge.Challenge;
 import com.webauthn4j.data.client.challenge.DefaultChallenge;
 import com.webauthn4j.data.extension.client.AuthenticationExtensionClientOutput;
 import com.webauthn4j.data.extension.client.AuthenticationExtensionsClientOutputs;
+import com.webauthn4j.server.InMemoryChallengeRepository;
 import com.webauthn4j.server.ServerProperty;
 import com.webauthn4j.test.TestDataUtil;
 import com.webauthn4j.test.authenticator.u2f.FIDOU2FAuthenticator;
@@ -478,6 +480,78 @@ class FIDOU2FAuthenticatorAuthenticationValidationTest {
         );
     }
 
+    @Test
+    void validate_assertion_with_challengeRepository_consumes_challenge_only_after_validation_test() {
+        String rpId = "example.com";
+        long timeout = 0;
+        InMemoryChallengeRepository challengeRepository = new InMemoryChallengeRepository();
+        WebAuthnAuthenticationManager webAuthnAuthenticationManager = new WebAuthnAuthenticationManager();
+        webAuthnAuthenticationManager.setChallengeRepository(challengeRepository);
+        Challenge challenge = challengeRepository.issue();
+
+        // create
+        AttestationObject attestationObject = createAttestationObject(rpId, challenge);
+        byte[] credentialId = attestationObject.getAuthenticatorData().getAttestedCredentialData().getCredentialId();
+
+        // get
+        PublicKeyCredentialRequestOptions credentialRequestOptions = new PublicKeyCredentialRequestOptions(
+                challenge,
+                timeout,
+                rpId,
+                Collections.singletonList(
+                        new PublicKeyCredentialDescriptor(
+                                PublicKeyCredentialType.PUBLIC_KEY,
+                                credentialId,
+                                CollectionUtil.unmodifiableSet(AuthenticatorTransport.USB, AuthenticatorTransport.NFC, AuthenticatorTransport.BLE)
+                        )
+                ),
+                UserVerificationRequirement.DISCOURAGED,
+                null
+        );
+        PublicKeyCredential<AuthenticatorAssertionResponse, AuthenticationExtensionClientOutput> credential = clientPlatform.get(credentialRequestOptions);
+        AuthenticatorAssertionResponse authenticatorAssertionResponse = credential.getAuthenticatorResponse();
+
+        // the challenge is resolved from the repository, so the server property doesn't carry it
+        ServerProperty serverProperty = new ServerProperty(origin, rpId, null, null);
+        Authenticator authenticator = TestDataUtil.createAuthenticator(attestationObject);
+        AuthenticationParameters authenticationParameters =
+                new AuthenticationParameters(
+                        serverProperty,
+                        authenticator,
+                        Collections.singletonList(credentialId),
+                        false,
+                        true
+                );
+        AuthenticationRequest forgedRequest =
+                new AuthenticationRequest(
+                        credential.getRawId(),
+                        authenticatorAssertionResponse.getAuthenticatorData(),
+                        authenticatorAssertionResponse.getClientDataJSON(),
+                        new byte[32] //bad signature
+                );
+        AuthenticationRequest authenticationRequest =
+                new AuthenticationRequest(
+                        credential.getRawId(),
+                        authenticatorAssertionResponse.getAuthenticatorData(),
+                        authenticatorAssertionResponse.getClientDataJSON(),
+                        authenticatorAssertionResponse.getSignature()
+                );
+
+        // a forged response must not use up the challenge
+        assertThrows(BadSignatureException.class,
+                () -> webAuthnAuthenticationManager.validate(forgedRequest, authenticationParameters)
+        );
+        assertThat(challengeRepository.contains(challenge)).isTrue();
+
+        webAuthnAuthenticationManager.validate(authenticationRequest, authenticationParameters);
+        assertThat(challengeRepository.contains(challenge)).isFalse();
+
+        // a replayed response is rejected
+        assertThrows(BadChallengeException.class,
+                () -> webAuthnAuthenticationManager.validate(authenticationRequest, authenticationParameters)
+        );
+    }
+
     @Test
     void validate_assertion_with_malicious_counter_test() {
         String rpId = "example.com";
@@ -62,6 +62,16 @@ public class DeviceCheckAssertionManager {
         this(Collections.emptyList(), new ObjectConverter());
     }
 
+    /**
+     * Parses the assertion request.
+     * The authenticatorData is converted with {@link AuthenticatorDataConverter#convertLazily(byte[])}: its byte layout
+     * is checked here, but its extensions are converted into objects on first access, so an error converting them is
+     * thrown as {@link DataConversionException} from validation.
+     *
+     * @param dcAssertionRequest assertion request
+     * @return the parsed {@link DCAssertionData}
+     * @throws DataConversionException if the request is malformed
+     */
     @SuppressWarnings("squid:S1130")
     public @NonNull DCAssertionData parse(@NonNull DCAssertionRequest dcAssertionRequest) throws DataConversionException {
         AssertUtil.notNull(dcAssertionRequest, "dcAssertionRequest must not be null");
@@ -69,7 +79,7 @@ public class DeviceCheckAssertionManager {
         byte[] credentialId = dcAssertionRequest.getKeyId();
         DCAssertion assertion = cborConverter.readValue(dcAssertionRequest.getAssertion(), DCAssertion.class);
         byte[] authenticatorDataBytes = assertion == null ? null : assertion.getAuthenticatorData();
-        AuthenticatorData<AuthenticationExtensionAuthenticatorOutput> authenticatorData = authenticatorDataBytes == null ? null : authenticatorDataConverter.convert(authenticatorDataBytes);
+        AuthenticatorData<AuthenticationExtensionAuthenticatorOutput> authenticatorData = authenticatorDataBytes == null ? null : authenticatorDataConverter.convertLazily(authenticatorDataBytes);
         byte[] clientDataHash = dcAssertionRequest.getClientDataHash();
         byte[] signature = assertion == null ? null : assertion.getSignature();
 
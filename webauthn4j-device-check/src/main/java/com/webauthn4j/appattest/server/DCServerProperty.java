@@ -18,6 +18,7 @@ package com.webauthn4j.appattest.server;
 
 import com.webauthn4j.data.client.challenge.Challenge;
 import com.webauthn4j.server.CoreServerProperty;
+import com.webauthn4j.server.RelyingPartyContext;
 import com.webauthn4j.util.AssertUtil;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
@@ -45,6 +46,16 @@ public class DCServerProperty extends CoreServerProperty {
         super(formatRpId(teamIdentifier, cfBundleIdentifier), challenge);
     }
 
+    /**
+     * Constructor of {@link DCServerProperty}
+     *
+     * @param relyingPartyContext relying party context holding App ID as rpId, shared across requests
+     * @param challenge           challenge
+     */
+    public DCServerProperty(@NonNull RelyingPartyContext relyingPartyContext, @Nullable Challenge challenge) {
+        super(relyingPartyContext, challenge);
+    }
+
     private static @NonNull String formatRpId(@NonNull String teamIdentifier, @NonNull String cfBundleIdentifier) {
         AssertUtil.notNull(teamIdentifier, "teamIdentifier must not be null");
         AssertUtil.notNull(cfBundleIdentifier, "cfBundleIdentifier must not be null");
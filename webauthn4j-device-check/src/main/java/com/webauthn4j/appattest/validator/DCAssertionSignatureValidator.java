@@ -33,6 +33,6 @@ public class DCAssertionSignatureValidator extends AssertionSignatureValidator {
         byte[] rawAuthenticatorData = authenticationData.getAuthenticatorDataBytes();
         byte[] clientDataHash = authenticationData.getClientDataHash();
         byte[] concatenated = ByteBuffer.allocate(rawAuthenticatorData.length + clientDataHash.length).put(rawAuthenticatorData).put(clientDataHash).array();
-        return MessageDigestUtil.createSHA256().digest(concatenated);
+        return MessageDigestUtil.digestSHA256(concatenated);
     }
 }
@@ -95,7 +95,7 @@ public class AppleAppAttestAttestationStatementValidator extends AbstractStateme
         byte[] authenticatorData = registrationObject.getAuthenticatorDataBytes();
         byte[] composite = ByteBuffer.allocate(authenticatorData.length + clientDataHash.length)
                 .put(authenticatorData).put(clientDataHash).array();
-        byte[] expectedNonce = MessageDigestUtil.createSHA256().digest(composite);
+        byte[] expectedNonce = MessageDigestUtil.digestSHA256(composite);
 
         // As nonce is known data to client side(potential attacker), there is no risk of timing attack and it is OK to use `Arrays.equals` instead of `MessageDigest.isEqual`
         if (!Arrays.equals(actualNonce, expectedNonce)) {
@@ -109,7 +109,7 @@ public class AppleAppAttestAttestationStatementValidator extends AbstractStateme
         byte[] keyId = dcRegistrationObject.getKeyId();
         // As publicKey is known data to client side(potential attacker) because it is calculated from parts of a message,
         // there is no need to prevent timing attack and it is OK to use `Arrays.equals` instead of `MessageDigest.isEqual` here.
-        if (!Arrays.equals(MessageDigestUtil.createSHA256().digest(publicKey), keyId)) {
+        if (!Arrays.equals(MessageDigestUtil.digestSHA256(publicKey), keyId)) {
             throw new BadAttestationStatementException("key identifier doesn't match SHA-256 of the publickey");
         }
     }
@@ -17,6 +17,7 @@
 package com.webauthn4j.appattest.server;
 
 import com.webauthn4j.data.client.challenge.Challenge;
+import com.webauthn4j.server.RelyingPartyContext;
 import com.webauthn4j.test.TestDataUtil;
 import org.junit.jupiter.api.Test;
 
@@ -35,4 +36,15 @@ class DCServerPropertyTest {
                 .hasSameHashCodeAs(instanceB);
     }
 
-}
\ No newline at end of file
+    @Test
+    void constructor_with_relyingPartyContext_test() {
+        Challenge challenge = TestDataUtil.createChallenge();
+        RelyingPartyContext relyingPartyContext = new RelyingPartyContext("8YE23NZS57.com.kayak.travel");
+        DCServerProperty instanceA = new DCServerProperty(relyingPartyContext, challenge);
+        DCServerProperty instanceB = new DCServerProperty("8YE23NZS57", "com.kayak.travel", challenge);
+
+        assertThat(instanceA).isEqualTo(instanceB);
+        assertThat(instanceA.getRpIdHash()).isEqualTo(relyingPartyContext.getRpIdHash());
+    }
+
+}
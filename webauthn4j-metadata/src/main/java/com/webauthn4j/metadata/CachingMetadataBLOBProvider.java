@@ -14,43 +14,302 @@
  * limitations under the License.
  */
 
+
 package com.webauthn4j.metadata;
 
 import com.webauthn4j.metadata.data.MetadataBLOB;
+import com.webauthn4j.util.AssertUtil;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * An abstract {@link MetadataBLOBProvider} that caches the {@link MetadataBLOB} until its nextUpdate.
+ * <p>
+ * By default an expired {@link MetadataBLOB} is refreshed synchronously in {@link #provide()}.
+ * Once {@link #startBackgroundRefresh(ScheduledExecutorService)} is called, the {@link MetadataBLOB} is refreshed
+ * on the given scheduler ahead of its nextUpdate instead, and {@link #provide()} keeps serving the previous
+ * {@link MetadataBLOB} while refreshing or after a failed refresh. Failed background refreshes are retried with
+ * jittered exponential backoff.
+ */
 public abstract class CachingMetadataBLOBProvider implements MetadataBLOBProvider {
 
-    private MetadataBLOB cachedMetadataBLOB;
-    private LocalDate cachedMetadataBLOBLastUpdate = null;
+    public static final Duration DEFAULT_PREFETCH_AHEAD = Duration.ofDays(1);
+    public static final Duration DEFAULT_MIN_REFRESH_INTERVAL = Duration.ofHours(1);
+    public static final Duration DEFAULT_INITIAL_RETRY_BACKOFF = Duration.ofMinutes(1);
+    public static final Duration DEFAULT_MAX_RETRY_BACKOFF = Duration.ofHours(1);
+
+    private final Logger logger = LoggerFactory.getLogger(CachingMetadataBLOBProvider.class);
+
+    private volatile MetadataBLOB cachedMetadataBLOB;
+    private volatile LocalDate cachedMetadataBLOBLastUpdate = null;
     private final Object cachedMetadataBLOBLock = new Object();
 
+    // background refresh
+    private Duration prefetchAhead = DEFAULT_PREFETCH_AHEAD;
+    private Duration minRefreshInterval = DEFAULT_MIN_REFRESH_INTERVAL;
+    private Duration initialRetryBackoff = DEFAULT_INITIAL_RETRY_BACKOFF;
+    private Duration maxRetryBackoff = DEFAULT_MAX_RETRY_BACKOFF;
+    private volatile ScheduledExecutorService backgroundRefreshScheduler;
+    private ScheduledFuture<?> scheduledRefresh;
+    // incremented on start and stop, so that a refresh already running from a previous start doesn't reschedule itself
+    private long backgroundRefreshGeneration = 0;
+    private final Object backgroundRefreshLock = new Object();
+
+    // refresh metrics
+    private final AtomicLong refreshSuccessCount = new AtomicLong();
+    private final AtomicLong refreshFailureCount = new AtomicLong();
+    private volatile int consecutiveRefreshFailures = 0;
+    private volatile Instant lastRefreshAttemptTime;
+    private volatile Instant lastSuccessfulRefreshTime;
+    private volatile Duration lastRefreshDuration;
+    private volatile RuntimeException lastRefreshFailure;
+    private volatile Instant nextScheduledRefreshTime;
+
     @Override
     public @NonNull MetadataBLOB provide(){
-        synchronized (cachedMetadataBLOBLock){
-            if(cachedMetadataBLOB == null){
-                refresh();
+        MetadataBLOB metadataBLOB = cachedMetadataBLOB;
+        if(metadataBLOB == null){
+            synchronized (cachedMetadataBLOBLock){
+                if(cachedMetadataBLOB == null){
+                    refresh();
+                }
+                metadataBLOB = cachedMetadataBLOB;
             }
         }
-        LocalDate today = LocalDate.now();
-        LocalDate nextUpdate = cachedMetadataBLOB.getPayload().getNextUpdate();
-        if((nextUpdate.isBefore(today) || nextUpdate.isEqual(today)) && cachedMetadataBLOBLastUpdate.isBefore(today)){
-            refresh();
+        if(isBackgroundRefreshEnabled()){
+            return metadataBLOB;
         }
 
-        return cachedMetadataBLOB;
+        LocalDate today = LocalDate.now();
+        if(isExpired(metadataBLOB, today)){
+            synchronized (cachedMetadataBLOBLock){
+                // another thread may have refreshed while this thread was waiting for the lock
+                if(isExpired(cachedMetadataBLOB, today)){
+                    refresh();
+                }
+                metadataBLOB = cachedMetadataBLOB;
+            }
+        }
+        return metadataBLOB;
     }
 
     public void refresh(){
         synchronized (cachedMetadataBLOBLock){
-            cachedMetadataBLOB = doProvide();
+            long start = System.nanoTime();
+            lastRefreshAttemptTime = Instant.now();
+            try {
+                cachedMetadataBLOB = doProvide();
+            } catch (RuntimeException e) {
+                refreshFailureCount.incrementAndGet();
+                consecutiveRefreshFailures++;
+                lastRefreshFailure = e;
+                throw e;
+            } finally {
+                lastRefreshDuration = Duration.ofNanos(System.nanoTime() - start);
+            }
             cachedMetadataBLOBLastUpdate = LocalDate.now();
+            refreshSuccessCount.incrementAndGet();
+            consecutiveRefreshFailures = 0;
+            lastSuccessfulRefreshTime = Instant.now();
         }
     }
 
     protected abstract @NonNull MetadataBLOB doProvide();
 
+    /**
+     * Returns the cached {@link MetadataBLOB}
+     *
+     * @return the cached {@link MetadataBLOB}, or null if nothing has been loaded yet
+     */
+    protected @Nullable MetadataBLOB getCachedMetadataBLOB() {
+        return cachedMetadataBLOB;
+    }
+
+    /**
+     * Starts refreshing the {@link MetadataBLOB} in background on the given scheduler. The first refresh is scheduled immediately.
+     *
+     * @param scheduler scheduler that runs refreshes. It is not shut down by this provider
+     */
+    public void startBackgroundRefresh(@NonNull ScheduledExecutorService scheduler){
+        AssertUtil.notNull(scheduler, "scheduler must not be null");
+        synchronized (backgroundRefreshLock){
+            cancelScheduledRefresh();
+            backgroundRefreshGeneration++;
+            backgroundRefreshScheduler = scheduler;
+            scheduleRefresh(Duration.ZERO, backgroundRefreshGeneration);
+        }
+    }
 
+    /**
+     * Stops refreshing in background, and goes back to synchronous refresh in {@link #provide()}
+     */
+    public void stopBackgroundRefresh(){
+        synchronized (backgroundRefreshLock){
+            cancelScheduledRefresh();
+            backgroundRefreshGeneration++;
+            backgroundRefreshScheduler = null;
+        }
+    }
+
+    public boolean isBackgroundRefreshEnabled(){
+        return backgroundRefreshScheduler != null;
+    }
+
+    private void runBackgroundRefresh(long generation){
+        synchronized (backgroundRefreshLock){
+            if(generation != backgroundRefreshGeneration){
+                return;
+            }
+        }
+        Duration delay;
+        try {
+            refresh();
+            delay = computeDelayUntilNextRefresh(cachedMetadataBLOB, Instant.now());
+        } catch (RuntimeException e) {
+            delay = computeRetryBackoff(consecutiveRefreshFailures);
+            logger.warn("Failed to refresh MetadataBLOB. Serving the previous one and retrying in {}", delay, e);
+        }
+        synchronized (backgroundRefreshLock){
+            if(generation == backgroundRefreshGeneration){
+                scheduleRefresh(delay, generation);
+            }
+        }
+    }
+
+    private void scheduleRefresh(@NonNull Duration delay, long generation){
+        try {
+            scheduledRefresh = backgroundRefreshScheduler.schedule(() -> runBackgroundRefresh(generation), delay.toMillis(), TimeUnit.MILLISECONDS);
+            nextScheduledRefreshTime = Instant.now().plus(delay);
+        } catch (RejectedExecutionException e) {
+            scheduledRefresh = null;
+            nextScheduledRefreshTime = null;
+            logger.error("Failed to schedule MetadataBLOB refresh. Background refresh is stopped until it is started again", e);
+        }
+    }
+
+    private void cancelScheduledRefresh(){
+        if(scheduledRefresh != null){
+            scheduledRefresh.cancel(false);
+            scheduledRefresh = null;
+        }
+        nextScheduledRefreshTime = null;
+    }
+
+    /**
+     * Refreshes at a random point within the first half of the prefetch window before nextUpdate, so that a fleet of
+     * servers doesn't hit the metadata service at once. If the window is already reached (the service has not
+     * published a newer BLOB yet), tries again after the minimum refresh interval.
+     */
+    @NonNull Duration computeDelayUntilNextRefresh(@NonNull MetadataBLOB metadataBLOB, @NonNull Instant now){
+        Instant nextUpdate = metadataBLOB.getPayload().getNextUpdate().atStartOfDay(ZoneOffset.UTC).toInstant();
+        Instant windowStart = nextUpdate.minus(prefetchAhead);
+        Duration delay = Duration.between(now, windowStart).plusMillis(ThreadLocalRandom.current().nextLong(prefetchAhead.toMillis() / 2 + 1));
+        if(delay.compareTo(minRefreshInterval) < 0){
+            return minRefreshInterval.plusMillis(ThreadLocalRandom.current().nextLong(minRefreshInterval.toMillis() / 2 + 1));
+        }
+        return delay;
+    }
+
+    /**
+     * Exponential backoff capped by maxRetryBackoff, with "equal jitter": a random delay between half and all of it
+     */
+    @NonNull Duration computeRetryBackoff(int failures){
+        long backoffMillis = initialRetryBackoff.toMillis();
+        for(int i = 1; i < failures && backoffMillis < maxRetryBackoff.toMillis(); i++){
+            backoffMillis *= 2;
+        }
+        backoffMillis = Math.min(backoffMillis, maxRetryBackoff.toMillis());
+        long half = backoffMillis / 2;
+        return Duration.ofMillis(half + ThreadLocalRandom.current().nextLong(backoffMillis - half + 1));
+    }
+
+    private boolean isExpired(@NonNull MetadataBLOB metadataBLOB, @NonNull LocalDate today){
+        LocalDate nextUpdate = metadataBLOB.getPayload().getNextUpdate();
+        return (nextUpdate.isBefore(today) || nextUpdate.isEqual(today)) && cachedMetadataBLOBLastUpdate.isBefore(today);
+    }
+
+    public @NonNull Duration getPrefetchAhead() {
+        return prefetchAhead;
+    }
+
+    public void setPrefetchAhead(@NonNull Duration prefetchAhead) {
+        AssertUtil.notNull(prefetchAhead, "prefetchAhead must not be null");
+        AssertUtil.isTrue(!prefetchAhead.isNegative(), "prefetchAhead must not be negative");
+        this.prefetchAhead = prefetchAhead;
+    }
+
+    public @NonNull Duration getMinRefreshInterval() {
+        return minRefreshInterval;
+    }
+
+    public void setMinRefreshInterval(@NonNull Duration minRefreshInterval) {
+        AssertUtil.notNull(minRefreshInterval, "minRefreshInterval must not be null");
+        AssertUtil.isTrue(!minRefreshInterval.isNegative() && !minRefreshInterval.isZero(), "minRefreshInterval must be positive");
+        this.minRefreshInterval = minRefreshInterval;
+    }
+
+    public @NonNull Duration getInitialRetryBackoff() {
+        return initialRetryBackoff;
+    }
+
+    public void setInitialRetryBackoff(@NonNull Duration initialRetryBackoff) {
+        AssertUtil.notNull(initialRetryBackoff, "initialRetryBackoff must not be null");
+        AssertUtil.isTrue(!initialRetryBackoff.isNegative() && !initialRetryBackoff.isZero(), "initialRetryBackoff must be positive");
+        this.initialRetryBackoff = initialRetryBackoff;
+    }
+
+    public @NonNull Duration getMaxRetryBackoff() {
+        return maxRetryBackoff;
+    }
+
+    public void setMaxRetryBackoff(@NonNull Duration maxRetryBackoff) {
+        AssertUtil.notNull(maxRetryBackoff, "maxRetryBackoff must not be null");
+        AssertUtil.isTrue(!maxRetryBackoff.isNegative() && !maxRetryBackoff.isZero(), "maxRetryBackoff must be positive");
+        this.maxRetryBackoff = maxRetryBackoff;
+    }
+
+    public long getRefreshSuccessCount() {
+        return refreshSuccessCount.get();
+    }
+
+    public long getRefreshFailureCount() {
+        return refreshFailureCount.get();
+    }
+
+    public int getConsecutiveRefreshFailures() {
+        return consecutiveRefreshFailures;
+    }
+
+    public @Nullable Instant getLastRefreshAttemptTime() {
+        return lastRefreshAttemptTime;
+    }
+
+    public @Nullable Instant getLastSuccessfulRefreshTime() {
+        return lastSuccessfulRefreshTime;
+    }
+
+    public @Nullable Duration getLastRefreshDuration() {
+        return lastRefreshDuration;
+    }
+
+    public @Nullable RuntimeException getLastRefreshFailure() {
+        return lastRefreshFailure;
+    }
+
+    public @Nullable Instant getNextScheduledRefreshTime() {
+        return nextScheduledRefreshTime;
+    }
 }
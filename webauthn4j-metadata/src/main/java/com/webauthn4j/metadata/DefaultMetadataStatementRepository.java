@@ -19,38 +19,28 @@ package com.webauthn4j.metadata;
 import com.webauthn4j.data.AuthenticatorAttestationType;
 import com.webauthn4j.data.attestation.authenticator.AAGUID;
 import com.webauthn4j.metadata.data.statement.MetadataStatement;
-import com.webauthn4j.util.HexUtil;
 
-import java.util.Arrays;
-import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 public class DefaultMetadataStatementRepository implements MetadataStatementRepository{
 
-    private final MetadataStatementsProvider metadataStatementsProvider;
+    private final MetadataStatementsIndexProvider metadataStatementsIndexProvider;
 
     public DefaultMetadataStatementRepository(MetadataStatementsProvider metadataStatementsProvider) {
-        this.metadataStatementsProvider = metadataStatementsProvider;
+        this.metadataStatementsIndexProvider = new MetadataStatementsIndexProvider(metadataStatementsProvider);
     }
 
     @Override
     public Set<MetadataStatement> find(AAGUID aaguid) {
-        return metadataStatementsProvider.provide().stream()
-                .filter(entry -> Objects.equals(entry.getAaguid(), aaguid))
+        return metadataStatementsIndexProvider.provide().findByAAGUID(aaguid).stream()
                 .filter(this::checkSurrogateMetadataStatementAttestationRootCertificate)
                 .collect(Collectors.toSet());
     }
 
     @Override
     public Set<MetadataStatement> find(byte[] attestationCertificateKeyIdentifier) {
-        return metadataStatementsProvider.provide().stream()
-                .filter(entry -> {
-                    if(entry == null || entry.getAttestationCertificateKeyIdentifiers() == null){
-                        return false;
-                    }
-                    return entry.getAttestationCertificateKeyIdentifiers().stream().anyMatch(identifier -> Arrays.equals(HexUtil.decode(identifier), attestationCertificateKeyIdentifier));
-                })
+        return metadataStatementsIndexProvider.provide().findByAttestationCertificateKeyIdentifier(attestationCertificateKeyIdentifier).stream()
                 .filter(this::checkSurrogateMetadataStatementAttestationRootCertificate)
                 .collect(Collectors.toSet());
     }
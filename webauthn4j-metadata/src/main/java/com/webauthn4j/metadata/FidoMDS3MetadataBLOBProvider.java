@@ -22,9 +22,20 @@ import com.webauthn4j.metadata.data.MetadataBLOBFactory;
 import com.webauthn4j.metadata.exception.MDSException;
 import com.webauthn4j.util.CertificateUtil;
 import org.checkerframework.checker.nullness.qual.NonNull;
-
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.security.InvalidAlgorithmParameterException;
 import java.security.cert.*;
+import java.time.LocalDate;
 import java.util.Collections;
 import java.util.EnumSet;
 import java.util.Set;
@@ -35,12 +46,16 @@ import java.util.Set;
 public class FidoMDS3MetadataBLOBProvider extends CachingMetadataBLOBProvider{
 
     private static final String DEFAULT_BLOB_ENDPOINT = "https://mds.fidoalliance.org/";
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Logger logger = LoggerFactory.getLogger(FidoMDS3MetadataBLOBProvider.class);
 
     private final MetadataBLOBFactory metadataBLOBFactory;
     private final String blobEndpoint;
     private final HttpClient httpClient;
     private final Set<TrustAnchor> trustAnchors;
     private boolean revocationCheckEnabled = true;
+    private Path snapshotPath;
 
     public FidoMDS3MetadataBLOBProvider(@NonNull ObjectConverter objectConverter, @NonNull String blobEndpoint, @NonNull HttpClient httpClient, @NonNull Set<TrustAnchor> trustAnchors) {
         this.metadataBLOBFactory = new MetadataBLOBFactory(objectConverter);
@@ -67,16 +82,90 @@ public class FidoMDS3MetadataBLOBProvider extends CachingMetadataBLOBProvider{
 
     @Override
     protected @NonNull MetadataBLOB doProvide() {
-        String responseBody = httpClient.fetch(blobEndpoint);
+        // the snapshot only speeds up the first load. Later refreshes, including prefetches ahead of nextUpdate, always fetch
+        if(snapshotPath != null && getCachedMetadataBLOB() == null){
+            MetadataBLOB snapshot = loadSnapshot(snapshotPath);
+            if(snapshot != null){
+                return snapshot;
+            }
+        }
+        byte[] responseBody = fetch(blobEndpoint);
         MetadataBLOB metadataBLOB = metadataBLOBFactory.parse(responseBody);
+        validate(metadataBLOB, revocationCheckEnabled);
+        if(snapshotPath != null){
+            saveSnapshot(snapshotPath, responseBody);
+        }
+        return metadataBLOB;
+    }
+
+    /**
+     * Loads the snapshot if it is not past its nextUpdate. The snapshot was fully validated when it was fetched,
+     * so only its signature and certificate path are validated again, without the costly revocation check.
+     */
+    private @Nullable MetadataBLOB loadSnapshot(@NonNull Path path){
+        if(!Files.exists(path)){
+            return null;
+        }
+        try {
+            MetadataBLOB metadataBLOB = metadataBLOBFactory.parse(Files.readAllBytes(path));
+            if(!metadataBLOB.getPayload().getNextUpdate().isAfter(LocalDate.now())){
+                logger.debug("MetadataBLOB snapshot is past its nextUpdate. Fetching from {}", blobEndpoint);
+                return null;
+            }
+            validate(metadataBLOB, false);
+            return metadataBLOB;
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Failed to load MetadataBLOB snapshot. Fetching from {}", blobEndpoint, e);
+            return null;
+        }
+    }
+
+    private @NonNull byte[] fetch(@NonNull String uri){
+        try (InputStream inputStream = httpClient.fetchAsStream(uri)) {
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream(BUFFER_SIZE);
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int length;
+            while ((length = inputStream.read(buffer)) != -1) {
+                outputStream.write(buffer, 0, length);
+            }
+            return outputStream.toByteArray();
+        } catch (IOException e) {
+            throw new MDSException("failed to fetch " + uri, e);
+        }
+    }
+
+    private void saveSnapshot(@NonNull Path path, @NonNull byte[] value){
+        Path tempPath = null;
+        try {
+            Path directory = path.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            tempPath = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+            Files.write(tempPath, value);
+            try {
+                Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Failed to save MetadataBLOB snapshot", e);
+            if(tempPath != null){
+                try {
+                    Files.deleteIfExists(tempPath);
+                } catch (IOException suppressed) {
+                    e.addSuppressed(suppressed);
+                }
+            }
+        }
+    }
+
+    private void validate(@NonNull MetadataBLOB metadataBLOB, boolean revocationCheckEnabled){
         if(!metadataBLOB.isValidSignature()){
             throw new MDSException("MetadataBLOB signature is invalid");
         }
-        validateCertPath(metadataBLOB);
-        return metadataBLOB;
+        validateCertPath(metadataBLOB, revocationCheckEnabled);
     }
 
-    private void validateCertPath(@NonNull MetadataBLOB metadataBLOB) {
+    private void validateCertPath(@NonNull MetadataBLOB metadataBLOB, boolean revocationCheckEnabled) {
         CertPath certPath = metadataBLOB.getHeader().getX5c();
 
         CertPathValidator certPathValidator = CertificateUtil.createCertPathValidator();
@@ -103,4 +192,19 @@ public class FidoMDS3MetadataBLOBProvider extends CachingMetadataBLOBProvider{
     public void setRevocationCheckEnabled(boolean revocationCheckEnabled) {
         this.revocationCheckEnabled = revocationCheckEnabled;
     }
+
+    public @Nullable Path getSnapshotPath() {
+        return snapshotPath;
+    }
+
+    /**
+     * Sets the path of the on-disk snapshot of the last fetched MetadataBLOB. While the snapshot is not past its
+     * nextUpdate, it is used for the first load instead of fetching from the endpoint, which speeds up cold starts.
+     * Later refreshes always fetch from the endpoint.
+     *
+     * @param snapshotPath snapshot file path, or null to disable the snapshot
+     */
+    public void setSnapshotPath(@Nullable Path snapshotPath) {
+        this.snapshotPath = snapshotPath;
+    }
 }
@@ -19,6 +19,10 @@ package com.webauthn4j.metadata;
 import com.webauthn4j.metadata.exception.MDSException;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
 /**
  * HTTP Client for FIDO MetadataItemImpl Service
  */
@@ -26,4 +30,16 @@ public interface HttpClient {
 
     @NonNull String fetch(@NonNull String uri) throws MDSException;
 
+    /**
+     * Fetches the resource as a stream. Implementations should override this to return the response body stream
+     * without buffering it into a {@link String}. The caller closes the returned stream.
+     *
+     * @param uri resource uri
+     * @return response body stream
+     * @throws MDSException if it fails to fetch the resource
+     */
+    default @NonNull InputStream fetchAsStream(@NonNull String uri) throws MDSException {
+        return new ByteArrayInputStream(fetch(uri).getBytes(StandardCharsets.UTF_8));
+    }
+
 }
@@ -18,6 +18,7 @@ package com.webauthn4j.metadata;
 
 import com.webauthn4j.converter.util.ObjectConverter;
 import com.webauthn4j.metadata.data.statement.MetadataStatement;
+import com.webauthn4j.util.AssertUtil;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
 import java.io.IOException;
@@ -25,15 +26,31 @@ import java.io.InputStream;
 import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
+/**
+ * A {@link MetadataStatementsProvider} that loads {@link MetadataStatement}s from local JSON files.
+ * <p>
+ * Parsed statements are cached and the same list instance is returned until a file changes. The last modified time
+ * and size of the files are checked at most once per {@link #getUpdateCheckInterval() update check interval}, so in
+ * the steady state {@link #provide()} doesn't touch the filesystem.
+ */
 public class LocalFilesMetadataStatementsProvider implements MetadataStatementsProvider {
 
+    public static final Duration DEFAULT_UPDATE_CHECK_INTERVAL = Duration.ofSeconds(60);
+
     private final ObjectConverter objectConverter;
     private final Path[] paths;
 
+    private Duration updateCheckInterval = DEFAULT_UPDATE_CHECK_INTERVAL;
+    private volatile Snapshot snapshot;
+    private final Object snapshotLock = new Object();
+
     public LocalFilesMetadataStatementsProvider(ObjectConverter objectConverter, Path... paths){
         this.objectConverter = objectConverter;
         this.paths = paths;
@@ -41,12 +58,114 @@ public class LocalFilesMetadataStatementsProvider implements MetadataStatementsP
 
     @Override
     public @NonNull List<MetadataStatement> provide() {
-        return Arrays.stream(paths).map(path ->{
+        long now = System.nanoTime();
+        Snapshot current = snapshot;
+        if (current != null && !current.isUpdateCheckDue(now, updateCheckInterval)) {
+            return current.metadataStatements;
+        }
+        synchronized (snapshotLock) {
+            current = snapshot;
+            if (current != null && !current.isUpdateCheckDue(now, updateCheckInterval)) {
+                return current.metadataStatements;
+            }
+            FileStamp[] fileStamps = readFileStamps();
+            List<MetadataStatement> metadataStatements;
+            if (current != null && Arrays.equals(current.fileStamps, fileStamps)) {
+                metadataStatements = current.metadataStatements;
+            }
+            else {
+                metadataStatements = load();
+            }
+            snapshot = new Snapshot(metadataStatements, fileStamps, now);
+            return metadataStatements;
+        }
+    }
+
+    /**
+     * Drops the cached statements, so that the next {@link #provide()} call reloads all the files
+     */
+    public void refresh() {
+        synchronized (snapshotLock) {
+            snapshot = null;
+        }
+    }
+
+    public @NonNull Duration getUpdateCheckInterval() {
+        return updateCheckInterval;
+    }
+
+    /**
+     * Sets the minimum interval between checks of file changes. {@link Duration#ZERO} checks on every call.
+     *
+     * @param updateCheckInterval update check interval
+     */
+    public void setUpdateCheckInterval(@NonNull Duration updateCheckInterval) {
+        AssertUtil.notNull(updateCheckInterval, "updateCheckInterval must not be null");
+        AssertUtil.isTrue(!updateCheckInterval.isNegative(), "updateCheckInterval must not be negative");
+        this.updateCheckInterval = updateCheckInterval;
+    }
+
+    private @NonNull List<MetadataStatement> load() {
+        return Collections.unmodifiableList(Arrays.stream(paths).map(path ->{
             try (InputStream inputStream = Files.newInputStream(path)) {
                 return objectConverter.getJsonConverter().readValue(inputStream, MetadataStatement.class);
             } catch (IOException e) {
                 throw new UncheckedIOException("Failed to load a MetadataStatements file", e);
             }
-        }).collect(Collectors.toList());
+        }).collect(Collectors.toList()));
+    }
+
+    private @NonNull FileStamp[] readFileStamps() {
+        FileStamp[] fileStamps = new FileStamp[paths.length];
+        for (int i = 0; i < paths.length; i++) {
+            try {
+                BasicFileAttributes attributes = Files.readAttributes(paths[i], BasicFileAttributes.class);
+                fileStamps[i] = new FileStamp(attributes.lastModifiedTime().toMillis(), attributes.size());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to load a MetadataStatements file", e);
+            }
+        }
+        return fileStamps;
+    }
+
+    private static class Snapshot {
+
+        private final List<MetadataStatement> metadataStatements;
+        private final FileStamp[] fileStamps;
+        private final long checkedAt;
+
+        Snapshot(@NonNull List<MetadataStatement> metadataStatements, @NonNull FileStamp[] fileStamps, long checkedAt) {
+            this.metadataStatements = metadataStatements;
+            this.fileStamps = fileStamps;
+            this.checkedAt = checkedAt;
+        }
+
+        boolean isUpdateCheckDue(long now, @NonNull Duration updateCheckInterval) {
+            return now - checkedAt >= updateCheckInterval.toNanos();
+        }
+    }
+
+    private static class FileStamp {
+
+        private final long lastModified;
+        private final long size;
+
+        FileStamp(long lastModified, long size) {
+            this.lastModified = lastModified;
+            this.size = size;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            FileStamp that = (FileStamp) o;
+            return lastModified == that.lastModified && size == that.size;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Long.hashCode(lastModified) + Long.hashCode(size);
+        }
     }
 }
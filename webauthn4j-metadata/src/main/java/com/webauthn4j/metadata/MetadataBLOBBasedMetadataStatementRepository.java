@@ -18,34 +18,36 @@ package com.webauthn4j.metadata;
 
 import com.webauthn4j.data.AuthenticatorAttestationType;
 import com.webauthn4j.data.attestation.authenticator.AAGUID;
+import com.webauthn4j.metadata.data.MetadataBLOB;
 import com.webauthn4j.metadata.data.MetadataBLOBPayloadEntry;
 import com.webauthn4j.metadata.data.statement.MetadataStatement;
 import com.webauthn4j.metadata.data.toc.StatusReport;
-import com.webauthn4j.util.HexUtil;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
 import java.util.Arrays;
 import java.util.List;
-import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.stream.Collectors;
 
 public class MetadataBLOBBasedMetadataStatementRepository implements MetadataStatementRepository {
 
     private final List<MetadataBLOBProvider> metadataBLOBProviders;
+    // index of the BLOB last provided by the provider at the same position, rebuilt when the provider hands out a new BLOB
+    private final AtomicReferenceArray<MetadataBLOBIndex> metadataBLOBIndexes;
 
     private boolean notFidoCertifiedAllowed = false;
     private boolean selfAssertionSubmittedAllowed = false;
 
     public MetadataBLOBBasedMetadataStatementRepository(MetadataBLOBProvider... metadataBLOBProviders) {
         this.metadataBLOBProviders = Arrays.asList(metadataBLOBProviders);
+        this.metadataBLOBIndexes = new AtomicReferenceArray<>(metadataBLOBProviders.length);
     }
 
     @Override
     public Set<MetadataStatement> find(AAGUID aaguid) {
-        return metadataBLOBProviders.stream()
-                .flatMap(provider -> provider.provide().getPayload().getEntries().stream())
-                .filter(entry -> Objects.equals(entry.getAaguid(), aaguid))
+        return resolveMetadataBLOBIndexes().stream()
+                .flatMap(index -> index.findByAAGUID(aaguid).stream())
                 .filter(this::checkMetadataBLOBPayloadEntry)
                 .map(MetadataBLOBPayloadEntry::getMetadataStatement)
                 .filter(this::checkSurrogateMetadataStatementAttestationRootCertificate)
@@ -54,15 +56,8 @@ public class MetadataBLOBBasedMetadataStatementRepository implements MetadataSta
 
     @Override
     public Set<MetadataStatement> find(byte[] attestationCertificateKeyIdentifier) {
-        return metadataBLOBProviders.stream()
-                .flatMap(provider -> provider.provide().getPayload().getEntries().stream())
-                .filter(entry -> {
-                    MetadataStatement metadataStatement = entry.getMetadataStatement();
-                    if(metadataStatement == null || metadataStatement.getAttestationCertificateKeyIdentifiers() == null){
-                        return false;
-                    }
-                    return metadataStatement.getAttestationCertificateKeyIdentifiers().stream().anyMatch(identifier -> Arrays.equals(HexUtil.decode(identifier), attestationCertificateKeyIdentifier));
-                })
+        return resolveMetadataBLOBIndexes().stream()
+                .flatMap(index -> index.findByAttestationCertificateKeyIdentifier(attestationCertificateKeyIdentifier).stream())
                 .map(MetadataBLOBPayloadEntry::getMetadataStatement)
                 .filter(this::checkSurrogateMetadataStatementAttestationRootCertificate)
                 .collect(Collectors.toSet());
@@ -85,6 +80,20 @@ public class MetadataBLOBBasedMetadataStatementRepository implements MetadataSta
         this.selfAssertionSubmittedAllowed = selfAssertionSubmittedAllowed;
     }
 
+    private @NonNull List<MetadataBLOBIndex> resolveMetadataBLOBIndexes() {
+        MetadataBLOBIndex[] indexes = new MetadataBLOBIndex[metadataBLOBProviders.size()];
+        for (int i = 0; i < indexes.length; i++) {
+            MetadataBLOB metadataBLOB = metadataBLOBProviders.get(i).provide();
+            MetadataBLOBIndex index = metadataBLOBIndexes.get(i);
+            if (index == null || index.getMetadataBLOB() != metadataBLOB) {
+                index = new MetadataBLOBIndex(metadataBLOB);
+                metadataBLOBIndexes.set(i, index);
+            }
+            indexes[i] = index;
+        }
+        return Arrays.asList(indexes);
+    }
+
     private boolean checkMetadataBLOBPayloadEntry(@NonNull MetadataBLOBPayloadEntry metadataBLOBPayloadEntry) {
         List<StatusReport> statusReports = metadataBLOBPayloadEntry.getStatusReports();
         for (StatusReport report : statusReports) {
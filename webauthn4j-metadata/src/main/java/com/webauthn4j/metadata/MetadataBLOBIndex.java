@@ -0,0 +1,71 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.webauthn4j.metadata;
+
+import com.webauthn4j.data.attestation.authenticator.AAGUID;
+import com.webauthn4j.metadata.data.MetadataBLOB;
+import com.webauthn4j.metadata.data.MetadataBLOBPayloadEntry;
+import com.webauthn4j.metadata.data.statement.MetadataStatement;
+import com.webauthn4j.util.AssertUtil;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.List;
+
+/**
+ * Immutable lookup tables over the entries of a {@link MetadataBLOB}.
+ * <p>
+ * Built once per {@link MetadataBLOB} so that looking up entries by {@link AAGUID} or attestation certificate key
+ * identifier doesn't scan and hex-decode every entry of the BLOB.
+ */
+public class MetadataBLOBIndex {
+
+    private final MetadataBLOB metadataBLOB;
+    private final MetadataIndex<MetadataBLOBPayloadEntry> index;
+
+    public MetadataBLOBIndex(@NonNull MetadataBLOB metadataBLOB) {
+        AssertUtil.notNull(metadataBLOB, "metadataBLOB must not be null");
+        this.metadataBLOB = metadataBLOB;
+        this.index = new MetadataIndex<>(metadataBLOB.getPayload().getEntries(), MetadataBLOBPayloadEntry::getAaguid, entry -> {
+            MetadataStatement metadataStatement = entry.getMetadataStatement();
+            return metadataStatement == null ? null : metadataStatement.getAttestationCertificateKeyIdentifiers();
+        });
+    }
+
+    public @NonNull MetadataBLOB getMetadataBLOB() {
+        return metadataBLOB;
+    }
+
+    /**
+     * Returns the entries of the {@link AAGUID} in the order of the BLOB
+     *
+     * @param aaguid aaguid
+     * @return unmodifiable list of entries
+     */
+    public @NonNull List<MetadataBLOBPayloadEntry> findByAAGUID(@NonNull AAGUID aaguid) {
+        return index.findByAAGUID(aaguid);
+    }
+
+    /**
+     * Returns the entries whose metadata statement lists the attestation certificate key identifier, in the order of the BLOB
+     *
+     * @param attestationCertificateKeyIdentifier attestation certificate key identifier
+     * @return unmodifiable list of entries
+     */
+    public @NonNull List<MetadataBLOBPayloadEntry> findByAttestationCertificateKeyIdentifier(@NonNull byte[] attestationCertificateKeyIdentifier) {
+        return index.findByAttestationCertificateKeyIdentifier(attestationCertificateKeyIdentifier);
+    }
+}
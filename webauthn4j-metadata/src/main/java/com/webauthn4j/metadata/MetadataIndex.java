@@ -0,0 +1,95 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.webauthn4j.metadata;
+
+import com.webauthn4j.data.attestation.authenticator.AAGUID;
+import com.webauthn4j.util.AssertUtil;
+import com.webauthn4j.util.HexUtil;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Immutable lookup tables by {@link AAGUID} and attestation certificate key identifier, shared by
+ * {@link MetadataBLOBIndex} and {@link MetadataStatementsIndex}.
+ *
+ * @param <T> indexed item type
+ */
+class MetadataIndex<T> {
+
+    private final Map<AAGUID, List<T>> itemsByAAGUID;
+    private final Map<ByteBuffer, List<T>> itemsByAttestationCertificateKeyIdentifier;
+
+    MetadataIndex(@NonNull List<T> items,
+                  @NonNull Function<T, @Nullable AAGUID> aaguidGetter,
+                  @NonNull Function<T, @Nullable List<String>> attestationCertificateKeyIdentifiersGetter) {
+        Map<AAGUID, List<T>> byAAGUID = new HashMap<>();
+        Map<ByteBuffer, List<T>> byAttestationCertificateKeyIdentifier = new HashMap<>();
+        for (T item : items) {
+            if (item == null) {
+                continue;
+            }
+            AAGUID aaguid = aaguidGetter.apply(item);
+            if (aaguid != null) {
+                byAAGUID.computeIfAbsent(aaguid, key -> new ArrayList<>()).add(item);
+            }
+            List<String> identifiers = attestationCertificateKeyIdentifiersGetter.apply(item);
+            if (identifiers == null) {
+                continue;
+            }
+            for (String identifier : identifiers) {
+                ByteBuffer key;
+                try {
+                    key = ByteBuffer.wrap(HexUtil.decode(identifier));
+                } catch (IllegalArgumentException e) {
+                    // a malformed identifier can never match, and must not break lookups of the other items
+                    continue;
+                }
+                List<T> list = byAttestationCertificateKeyIdentifier.computeIfAbsent(key, k -> new ArrayList<>());
+                // a statement may list the same identifier twice
+                if (list.isEmpty() || list.get(list.size() - 1) != item) {
+                    list.add(item);
+                }
+            }
+        }
+        this.itemsByAAGUID = freeze(byAAGUID);
+        this.itemsByAttestationCertificateKeyIdentifier = freeze(byAttestationCertificateKeyIdentifier);
+    }
+
+    @NonNull List<T> findByAAGUID(@NonNull AAGUID aaguid) {
+        return itemsByAAGUID.getOrDefault(aaguid, Collections.emptyList());
+    }
+
+    @NonNull List<T> findByAttestationCertificateKeyIdentifier(@NonNull byte[] attestationCertificateKeyIdentifier) {
+        AssertUtil.notNull(attestationCertificateKeyIdentifier, "attestationCertificateKeyIdentifier must not be null");
+        return itemsByAttestationCertificateKeyIdentifier.getOrDefault(ByteBuffer.wrap(attestationCertificateKeyIdentifier), Collections.emptyList());
+    }
+
+    private static <K, T> @NonNull Map<K, List<T>> freeze(@NonNull Map<K, List<T>> map) {
+        for (Map.Entry<K, List<T>> entry : map.entrySet()) {
+            entry.setValue(Collections.unmodifiableList(entry.getValue()));
+        }
+        return Collections.unmodifiableMap(map);
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.webauthn4j.metadata;
+
+import com.webauthn4j.data.attestation.authenticator.AAGUID;
+import com.webauthn4j.metadata.data.statement.MetadataStatement;
+import com.webauthn4j.util.AssertUtil;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.List;
+
+/**
+ * Immutable lookup tables over a {@link MetadataStatement} list provided by a {@link MetadataStatementsProvider}.
+ * <p>
+ * Built once per list, see {@link MetadataStatementsIndexProvider}, so that looking up statements by {@link AAGUID} or
+ * attestation certificate key identifier doesn't scan and hex-decode every statement.
+ */
+public class MetadataStatementsIndex {
+
+    private final List<MetadataStatement> metadataStatements;
+    private final int size;
+    private final MetadataIndex<MetadataStatement> index;
+
+    public MetadataStatementsIndex(@NonNull List<MetadataStatement> metadataStatements) {
+        AssertUtil.notNull(metadataStatements, "metadataStatements must not be null");
+        this.metadataStatements = metadataStatements;
+        this.size = metadataStatements.size();
+        this.index = new MetadataIndex<>(metadataStatements, MetadataStatement::getAaguid, MetadataStatement::getAttestationCertificateKeyIdentifiers);
+    }
+
+    /**
+     * Returns the indexed list as is, so that callers can check whether it is still the list the provider hands out
+     *
+     * @return indexed list
+     */
+    public @NonNull List<MetadataStatement> getMetadataStatements() {
+        return metadataStatements;
+    }
+
+    /**
+     * Checks whether this index was built from the list. A list with statements added or removed in place since then
+     * is detected by its size; other in-place changes are not detected.
+     *
+     * @param metadataStatements list handed out by the provider
+     * @return true if this index is up to date with the list
+     */
+    public boolean isIndexOf(@NonNull List<MetadataStatement> metadataStatements) {
+        return this.metadataStatements == metadataStatements && size == metadataStatements.size();
+    }
+
+    public @NonNull List<MetadataStatement> findByAAGUID(@NonNull AAGUID aaguid) {
+        return index.findByAAGUID(aaguid);
+    }
+
+    public @NonNull List<MetadataStatement> findByAttestationCertificateKeyIdentifier(@NonNull byte[] attestationCertificateKeyIdentifier) {
+        return index.findByAttestationCertificateKeyIdentifier(attestationCertificateKeyIdentifier);
+    }
+}
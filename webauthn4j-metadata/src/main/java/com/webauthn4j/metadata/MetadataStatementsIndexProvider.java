@@ -0,0 +1,50 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.webauthn4j.metadata;
+
+import com.webauthn4j.metadata.data.statement.MetadataStatement;
+import com.webauthn4j.util.AssertUtil;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.List;
+
+/**
+ * Provides the {@link MetadataStatementsIndex} of the list returned by a {@link MetadataStatementsProvider}.
+ * <p>
+ * The index is rebuilt only when the provider returns another list instance, or when statements were added to or
+ * removed from the list in place. Providers should return a new list whenever their statements change.
+ */
+public class MetadataStatementsIndexProvider {
+
+    private final MetadataStatementsProvider metadataStatementsProvider;
+    private volatile MetadataStatementsIndex metadataStatementsIndex;
+
+    public MetadataStatementsIndexProvider(@NonNull MetadataStatementsProvider metadataStatementsProvider) {
+        AssertUtil.notNull(metadataStatementsProvider, "metadataStatementsProvider must not be null");
+        this.metadataStatementsProvider = metadataStatementsProvider;
+    }
+
+    public @NonNull MetadataStatementsIndex provide() {
+        List<MetadataStatement> metadataStatements = metadataStatementsProvider.provide();
+        MetadataStatementsIndex index = metadataStatementsIndex;
+        if (index == null || !index.isIndexOf(metadataStatements)) {
+            index = new MetadataStatementsIndex(metadataStatements);
+            metadataStatementsIndex = index;
+        }
+        return index;
+    }
+}
@@ -23,5 +23,12 @@ import java.util.List;
 
 public interface MetadataStatementsProvider {
 
+    /**
+     * Provides the metadata statements.
+     * Repositories index the returned list and keep the index while the same list instance is returned, so
+     * implementations must return a new list whenever the statements change, instead of modifying the list in place.
+     *
+     * @return metadata statements
+     */
     @NonNull List<MetadataStatement> provide();
 }
@@ -17,46 +17,179 @@
 package com.webauthn4j.metadata;
 
 import com.webauthn4j.metadata.exception.MDSException;
+import com.webauthn4j.util.AssertUtil;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
 import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.HttpURLConnection;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPInputStream;
 
 /**
  * Tiny implementation of {@link HttpClient}. If you prefer more powerful one, implement {@link HttpClient} with
  * your favorite HTTP client library.
+ * <p>
+ * Connections are kept alive and reused by the JDK as long as response bodies are read to the end and closed.
+ * Responses are requested with gzip compression. When conditional requests are enabled, the last response of each
+ * url is kept with its ETag and Last-Modified headers, and is revalidated with If-None-Match and If-Modified-Since,
+ * so that an unchanged resource is not transferred again.
  */
 public class SimpleHttpClient implements HttpClient {
 
+    private static final int BUFFER_SIZE = 8192;
+    private static final Duration DEFAULT_CONNECT_TIMEOUT = Duration.ofSeconds(10);
+    private static final Duration DEFAULT_READ_TIMEOUT = Duration.ofSeconds(30);
+
+    private final Map<String, CachedResponse> cachedResponses = new ConcurrentHashMap<>();
+
+    private Duration connectTimeout = DEFAULT_CONNECT_TIMEOUT;
+    private Duration readTimeout = DEFAULT_READ_TIMEOUT;
+    private boolean conditionalRequestEnabled = false;
+
     @Override
     public @NonNull String fetch(@NonNull String url) {
+        try (InputStream inputStream = fetchAsStream(url)) {
+            return new String(readAllBytes(inputStream), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new MDSException("failed to fetch " + url, e);
+        }
+    }
+
+    @Override
+    public @NonNull InputStream fetchAsStream(@NonNull String url) {
+        CachedResponse cachedResponse = conditionalRequestEnabled ? cachedResponses.get(url) : null;
         try {
             URL fetchUrl = new URL(url);
             HttpURLConnection urlConnection = (HttpURLConnection) fetchUrl.openConnection();
             urlConnection.setRequestMethod("GET");
+            urlConnection.setConnectTimeout((int) connectTimeout.toMillis());
+            urlConnection.setReadTimeout((int) readTimeout.toMillis());
+            urlConnection.setRequestProperty("Accept-Encoding", "gzip");
+            if (cachedResponse != null) {
+                if (cachedResponse.eTag != null) {
+                    urlConnection.setRequestProperty("If-None-Match", cachedResponse.eTag);
+                }
+                if (cachedResponse.lastModified != null) {
+                    urlConnection.setRequestProperty("If-Modified-Since", cachedResponse.lastModified);
+                }
+            }
             urlConnection.connect();
 
             int status = urlConnection.getResponseCode();
 
+            if (status == HttpURLConnection.HTTP_NOT_MODIFIED && cachedResponse != null) {
+                drain(urlConnection);
+                return new ByteArrayInputStream(cachedResponse.body);
+            }
             if (status == HttpURLConnection.HTTP_OK) {
-                InputStream inputStream = urlConnection.getInputStream();
-                BufferedInputStream bis = new BufferedInputStream(inputStream);
-                ByteArrayOutputStream buf = new ByteArrayOutputStream();
-                int result = bis.read();
-                while (result != -1) {
-                    buf.write((byte) result);
-                    result = bis.read();
+                InputStream inputStream = new BufferedInputStream(urlConnection.getInputStream(), BUFFER_SIZE);
+                if ("gzip".equalsIgnoreCase(urlConnection.getContentEncoding())) {
+                    inputStream = new GZIPInputStream(inputStream, BUFFER_SIZE);
+                }
+                String eTag = urlConnection.getHeaderField("ETag");
+                String lastModified = urlConnection.getHeaderField("Last-Modified");
+                if (!conditionalRequestEnabled || (eTag == null && lastModified == null)) {
+                    cachedResponses.remove(url);
+                    return inputStream;
                 }
-                bis.close();
-                return buf.toString("UTF-8");
+                byte[] body;
+                try (InputStream closeable = inputStream) {
+                    body = readAllBytes(closeable);
+                }
+                cachedResponses.put(url, new CachedResponse(eTag, lastModified, body));
+                return new ByteArrayInputStream(body);
             }
+            drain(urlConnection);
             throw new MDSException("failed to fetch " + url);
         } catch (IOException e) {
             throw new MDSException("failed to fetch " + url, e);
         }
     }
+
+    public @NonNull Duration getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public void setConnectTimeout(@NonNull Duration connectTimeout) {
+        AssertUtil.notNull(connectTimeout, "connectTimeout must not be null");
+        AssertUtil.isTrue(!connectTimeout.isNegative(), "connectTimeout must not be negative");
+        this.connectTimeout = connectTimeout;
+    }
+
+    public @NonNull Duration getReadTimeout() {
+        return readTimeout;
+    }
+
+    public void setReadTimeout(@NonNull Duration readTimeout) {
+        AssertUtil.notNull(readTimeout, "readTimeout must not be null");
+        AssertUtil.isTrue(!readTimeout.isNegative(), "readTimeout must not be negative");
+        this.readTimeout = readTimeout;
+    }
+
+    public boolean isConditionalRequestEnabled() {
+        return conditionalRequestEnabled;
+    }
+
+    /**
+     * Enables conditional requests. As the last response body of each url is kept on heap to serve "304 Not Modified"
+     * responses, this is disabled by default.
+     *
+     * @param conditionalRequestEnabled true to enable conditional requests
+     */
+    public void setConditionalRequestEnabled(boolean conditionalRequestEnabled) {
+        this.conditionalRequestEnabled = conditionalRequestEnabled;
+        if (!conditionalRequestEnabled) {
+            cachedResponses.clear();
+        }
+    }
+
+    private static byte[] readAllBytes(InputStream inputStream) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(BUFFER_SIZE);
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int length;
+        while ((length = inputStream.read(buffer)) != -1) {
+            outputStream.write(buffer, 0, length);
+        }
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * Reads and closes the response body so that the underlying connection can be reused.
+     */
+    private static void drain(HttpURLConnection urlConnection) {
+        try {
+            InputStream inputStream = urlConnection.getResponseCode() < HttpURLConnection.HTTP_BAD_REQUEST ? urlConnection.getInputStream() : urlConnection.getErrorStream();
+            if (inputStream != null) {
+                try (InputStream closeable = inputStream) {
+                    byte[] buffer = new byte[BUFFER_SIZE];
+                    //noinspection StatementWithEmptyBody
+                    while (closeable.read(buffer) != -1) {
+                    }
+                }
+            }
+        } catch (IOException e) {
+            urlConnection.disconnect();
+        }
+    }
+
+    private static class CachedResponse {
+
+        private final String eTag;
+        private final String lastModified;
+        private final byte[] body;
+
+        CachedResponse(String eTag, String lastModified, byte[] body) {
+            this.eTag = eTag;
+            this.lastModified = lastModified;
+            this.body = body;
+        }
+    }
 }
@@ -19,31 +19,101 @@ package com.webauthn4j.metadata.anchor;
 import com.webauthn4j.anchor.TrustAnchorRepository;
 import com.webauthn4j.data.attestation.authenticator.AAGUID;
 
+import java.nio.ByteBuffer;
 import java.security.cert.TrustAnchor;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Merges the results of several {@link TrustAnchorRepository}s.
+ * <p>
+ * Merged results are memoized together with snapshots of the sets returned by each repository, and reused while every
+ * repository keeps returning sets with the same trust anchors. As repositories may change their sets in place, the
+ * snapshots are compared by contents, not by identity.
+ */
 public class AggregatingTrustAnchorRepository implements TrustAnchorRepository {
 
+    private static final int MAX_MEMOIZED_RESULTS = 1024;
+
     List<TrustAnchorRepository> repositories;
 
+    private final Map<AAGUID, MergedResult> mergedResultsByAAGUID = new ConcurrentHashMap<>();
+    private final Map<ByteBuffer, MergedResult> mergedResultsByAttestationCertificateKeyIdentifier = new ConcurrentHashMap<>();
+
     public AggregatingTrustAnchorRepository(TrustAnchorRepository... repositories) {
         this.repositories = Arrays.asList(repositories);
     }
 
     @Override
     public Set<TrustAnchor> find(AAGUID aaguid) {
-        return repositories.stream()
-                .flatMap(repository -> repository.find(aaguid).stream())
-                .collect(Collectors.toSet());
+        List<Set<TrustAnchor>> results = new ArrayList<>(repositories.size());
+        for (TrustAnchorRepository repository : repositories) {
+            results.add(repository.find(aaguid));
+        }
+        return merge(mergedResultsByAAGUID, aaguid, results);
     }
 
     @Override
     public Set<TrustAnchor> find(byte[] attestationCertificateKeyIdentifier) {
-        return repositories.stream()
-                .flatMap(repository -> repository.find(attestationCertificateKeyIdentifier).stream())
-                .collect(Collectors.toSet());
+        List<Set<TrustAnchor>> results = new ArrayList<>(repositories.size());
+        for (TrustAnchorRepository repository : repositories) {
+            results.add(repository.find(attestationCertificateKeyIdentifier));
+        }
+        // copy the key as the caller owns the array
+        ByteBuffer key = ByteBuffer.wrap(Arrays.copyOf(attestationCertificateKeyIdentifier, attestationCertificateKeyIdentifier.length));
+        return merge(mergedResultsByAttestationCertificateKeyIdentifier, key, results);
+    }
+
+    private static <K> Set<TrustAnchor> merge(Map<K, MergedResult> mergedResults, K key, List<Set<TrustAnchor>> results) {
+        MergedResult mergedResult = mergedResults.get(key);
+        if (mergedResult != null && mergedResult.isMergedFrom(results)) {
+            return mergedResult.merged;
+        }
+        Set<TrustAnchor> merged = new HashSet<>();
+        for (Set<TrustAnchor> result : results) {
+            merged.addAll(result);
+        }
+        if (merged.isEmpty()) {
+            // empty results are not memoized, as keys come from authenticators
+            return Collections.emptySet();
+        }
+        merged = Collections.unmodifiableSet(merged);
+        if (mergedResult != null || mergedResults.size() < MAX_MEMOIZED_RESULTS) {
+            mergedResults.put(key, new MergedResult(results, merged));
+        }
+        return merged;
+    }
+
+    private static class MergedResult {
+
+        private final List<Set<TrustAnchor>> results;
+        private final Set<TrustAnchor> merged;
+
+        MergedResult(List<Set<TrustAnchor>> results, Set<TrustAnchor> merged) {
+            List<Set<TrustAnchor>> snapshots = new ArrayList<>(results.size());
+            for (Set<TrustAnchor> result : results) {
+                snapshots.add(new HashSet<>(result));
+            }
+            this.results = snapshots;
+            this.merged = merged;
+        }
+
+        boolean isMergedFrom(List<Set<TrustAnchor>> results) {
+            if (this.results.size() != results.size()) {
+                return false;
+            }
+            for (int i = 0; i < results.size(); i++) {
+                if (!this.results.get(i).equals(results.get(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
     }
 }
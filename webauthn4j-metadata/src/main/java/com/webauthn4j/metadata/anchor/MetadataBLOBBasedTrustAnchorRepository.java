@@ -22,32 +22,31 @@ import com.webauthn4j.metadata.MetadataBLOBBasedMetadataStatementRepository;
 import com.webauthn4j.metadata.MetadataBLOBProvider;
 
 import java.security.cert.TrustAnchor;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 public class MetadataBLOBBasedTrustAnchorRepository implements TrustAnchorRepository {
 
+    private final List<MetadataBLOBProvider> metadataBLOBProviders;
     private final MetadataBLOBBasedMetadataStatementRepository metadataBLOBBasedMetadataStatementRepository;
+    private volatile TrustAnchorsSnapshot trustAnchorsSnapshot;
 
     public MetadataBLOBBasedTrustAnchorRepository(MetadataBLOBProvider... metadataBLOBProviders) {
+        this.metadataBLOBProviders = Arrays.asList(metadataBLOBProviders);
         this.metadataBLOBBasedMetadataStatementRepository = new MetadataBLOBBasedMetadataStatementRepository(metadataBLOBProviders);
     }
 
     @Override
     public Set<TrustAnchor> find(AAGUID aaguid) {
-        return metadataBLOBBasedMetadataStatementRepository.find(aaguid).stream()
-                .flatMap(item -> item.getAttestationRootCertificates().stream())
-                .map(item -> new TrustAnchor(item, null))
-                .collect(Collectors.toSet());
+        return resolveTrustAnchorsSnapshot().findByAAGUID(aaguid, () -> metadataBLOBBasedMetadataStatementRepository.find(aaguid).stream()
+                .flatMap(item -> item.getAttestationRootCertificates().stream()));
     }
 
     @Override
     public Set<TrustAnchor> find(byte[] attestationCertificateKeyIdentifier) {
-        return metadataBLOBBasedMetadataStatementRepository.find(attestationCertificateKeyIdentifier).stream()
-                .flatMap(item -> item.getAttestationRootCertificates().stream())
-                .map(item -> new TrustAnchor(item, null))
-                .collect(Collectors.toSet());
+        return resolveTrustAnchorsSnapshot().findByAttestationCertificateKeyIdentifier(attestationCertificateKeyIdentifier, () -> metadataBLOBBasedMetadataStatementRepository.find(attestationCertificateKeyIdentifier).stream()
+                .flatMap(item -> item.getAttestationRootCertificates().stream()));
     }
 
     public boolean isNotFidoCertifiedAllowed() {
@@ -65,4 +64,20 @@ public class MetadataBLOBBasedTrustAnchorRepository implements TrustAnchorReposi
     public void setSelfAssertionSubmittedAllowed(boolean selfAssertionSubmittedAllowed) {
         metadataBLOBBasedMetadataStatementRepository.setSelfAssertionSubmittedAllowed(selfAssertionSubmittedAllowed);
     }
+
+    private TrustAnchorsSnapshot resolveTrustAnchorsSnapshot() {
+        // results depend on the status report filtering flags as well as on the provided BLOBs
+        Object[] sources = new Object[metadataBLOBProviders.size() + 2];
+        for (int i = 0; i < metadataBLOBProviders.size(); i++) {
+            sources[i] = metadataBLOBProviders.get(i).provide();
+        }
+        sources[sources.length - 2] = Boolean.valueOf(isNotFidoCertifiedAllowed());
+        sources[sources.length - 1] = Boolean.valueOf(isSelfAssertionSubmittedAllowed());
+        TrustAnchorsSnapshot snapshot = trustAnchorsSnapshot;
+        if (snapshot == null || !snapshot.isDerivedFrom(sources)) {
+            snapshot = new TrustAnchorsSnapshot(sources);
+            trustAnchorsSnapshot = snapshot;
+        }
+        return snapshot;
+    }
 }
@@ -20,22 +20,21 @@ import com.webauthn4j.anchor.TrustAnchorRepository;
 import com.webauthn4j.converter.util.ObjectConverter;
 import com.webauthn4j.data.attestation.authenticator.AAGUID;
 import com.webauthn4j.metadata.LocalFilesMetadataStatementsProvider;
+import com.webauthn4j.metadata.MetadataStatementsIndex;
+import com.webauthn4j.metadata.MetadataStatementsIndexProvider;
 import com.webauthn4j.metadata.MetadataStatementsProvider;
-import com.webauthn4j.util.HexUtil;
 
 import java.nio.file.Path;
 import java.security.cert.TrustAnchor;
-import java.util.Arrays;
-import java.util.Objects;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 public class MetadataStatementsBasedTrustAnchorRepository implements TrustAnchorRepository {
 
-    private final MetadataStatementsProvider metadataStatementsProvider;
+    private final MetadataStatementsIndexProvider metadataStatementsIndexProvider;
+    private volatile TrustAnchorsSnapshot trustAnchorsSnapshot;
 
     public MetadataStatementsBasedTrustAnchorRepository(MetadataStatementsProvider metadataStatementsProvider) {
-        this.metadataStatementsProvider = metadataStatementsProvider;
+        this.metadataStatementsIndexProvider = new MetadataStatementsIndexProvider(metadataStatementsProvider);
     }
 
     public MetadataStatementsBasedTrustAnchorRepository(ObjectConverter objectConverter, Path... paths) {
@@ -44,18 +43,24 @@ public class MetadataStatementsBasedTrustAnchorRepository implements TrustAnchor
 
     @Override
     public Set<TrustAnchor> find(AAGUID aaguid) {
-        return metadataStatementsProvider.provide().stream()
-                .filter(metadataStatement -> Objects.equals(aaguid, metadataStatement.getAaguid()))
-                .flatMap(metadataStatement -> metadataStatement.getAttestationRootCertificates().stream())
-                .map(item -> new TrustAnchor(item, null))
-                .collect(Collectors.toSet());
+        MetadataStatementsIndex index = metadataStatementsIndexProvider.provide();
+        return resolveTrustAnchorsSnapshot(index).findByAAGUID(aaguid, () -> index.findByAAGUID(aaguid).stream()
+                .flatMap(metadataStatement -> metadataStatement.getAttestationRootCertificates().stream()));
     }
 
     @Override
     public Set<TrustAnchor> find(byte[] attestationCertificateKeyIdentifier) {
-        return metadataStatementsProvider.provide().stream()
-                .filter(metadataStatement -> metadataStatement.getAttestationCertificateKeyIdentifiers() != null && metadataStatement.getAttestationCertificateKeyIdentifiers().stream().anyMatch(identifier -> Arrays.equals(HexUtil.decode(identifier), attestationCertificateKeyIdentifier)))
-                .map(metadataStatement -> new TrustAnchor(metadataStatement.getAttestationRootCertificates().get(0), null))
-                .collect(Collectors.toSet());
+        MetadataStatementsIndex index = metadataStatementsIndexProvider.provide();
+        return resolveTrustAnchorsSnapshot(index).findByAttestationCertificateKeyIdentifier(attestationCertificateKeyIdentifier, () -> index.findByAttestationCertificateKeyIdentifier(attestationCertificateKeyIdentifier).stream()
+                .map(metadataStatement -> metadataStatement.getAttestationRootCertificates().get(0)));
     }
-}
\ No newline at end of file
+
+    private TrustAnchorsSnapshot resolveTrustAnchorsSnapshot(MetadataStatementsIndex index) {
+        TrustAnchorsSnapshot snapshot = trustAnchorsSnapshot;
+        if (snapshot == null || !snapshot.isDerivedFrom(index)) {
+            snapshot = new TrustAnchorsSnapshot(index);
+            trustAnchorsSnapshot = snapshot;
+        }
+        return snapshot;
+    }
+}
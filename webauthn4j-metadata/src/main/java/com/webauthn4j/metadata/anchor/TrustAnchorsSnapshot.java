@@ -0,0 +1,98 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.webauthn4j.metadata.anchor;
+
+import com.webauthn4j.data.attestation.authenticator.AAGUID;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.nio.ByteBuffer;
+import java.security.cert.TrustAnchor;
+import java.security.cert.X509Certificate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * {@link TrustAnchor}s materialized from one metadata snapshot.
+ * <p>
+ * A {@link TrustAnchor} is created once per root certificate, and non-empty lookup results are kept as immutable sets,
+ * so that repeated lookups return the same instances and identity-keyed caches downstream can hit. Empty results are
+ * not kept, as lookup keys come from authenticators and would otherwise grow the snapshot without bound.
+ */
+class TrustAnchorsSnapshot {
+
+    private final Object[] sources;
+    private final Map<X509Certificate, TrustAnchor> trustAnchors = new ConcurrentHashMap<>();
+    private final Map<AAGUID, Set<TrustAnchor>> trustAnchorsByAAGUID = new ConcurrentHashMap<>();
+    private final Map<ByteBuffer, Set<TrustAnchor>> trustAnchorsByAttestationCertificateKeyIdentifier = new ConcurrentHashMap<>();
+
+    /**
+     * @param sources objects the snapshot is derived from, compared by identity
+     */
+    TrustAnchorsSnapshot(@NonNull Object... sources) {
+        this.sources = sources;
+    }
+
+    boolean isDerivedFrom(@NonNull Object... sources) {
+        if (this.sources.length != sources.length) {
+            return false;
+        }
+        for (int i = 0; i < sources.length; i++) {
+            if (this.sources[i] != sources[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @NonNull Set<TrustAnchor> findByAAGUID(@NonNull AAGUID aaguid, @NonNull Supplier<Stream<X509Certificate>> rootCertificates) {
+        Set<TrustAnchor> cached = trustAnchorsByAAGUID.get(aaguid);
+        if (cached != null) {
+            return cached;
+        }
+        Set<TrustAnchor> result = materialize(rootCertificates.get());
+        if (!result.isEmpty()) {
+            trustAnchorsByAAGUID.putIfAbsent(aaguid, result);
+        }
+        return result;
+    }
+
+    @NonNull Set<TrustAnchor> findByAttestationCertificateKeyIdentifier(@NonNull byte[] attestationCertificateKeyIdentifier, @NonNull Supplier<Stream<X509Certificate>> rootCertificates) {
+        Set<TrustAnchor> cached = trustAnchorsByAttestationCertificateKeyIdentifier.get(ByteBuffer.wrap(attestationCertificateKeyIdentifier));
+        if (cached != null) {
+            return cached;
+        }
+        Set<TrustAnchor> result = materialize(rootCertificates.get());
+        if (!result.isEmpty()) {
+            // copy the key as the caller owns the array
+            trustAnchorsByAttestationCertificateKeyIdentifier.putIfAbsent(ByteBuffer.wrap(Arrays.copyOf(attestationCertificateKeyIdentifier, attestationCertificateKeyIdentifier.length)), result);
+        }
+        return result;
+    }
+
+    private @NonNull Set<TrustAnchor> materialize(@NonNull Stream<X509Certificate> rootCertificates) {
+        Set<TrustAnchor> result = rootCertificates
+                .map(certificate -> trustAnchors.computeIfAbsent(certificate, key -> new TrustAnchor(key, null)))
+                .collect(Collectors.toSet());
+        return result.isEmpty() ? Collections.emptySet() : Collections.unmodifiableSet(result);
+    }
+}
@@ -21,6 +21,8 @@ import com.webauthn4j.data.jws.JWS;
 import com.webauthn4j.data.jws.JWSFactory;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
+import java.io.InputStream;
+
 public class MetadataBLOBFactory {
 
     @NonNull
@@ -35,4 +37,14 @@ public class MetadataBLOBFactory {
         return new MetadataBLOB(jws);
     }
 
+    public @NonNull MetadataBLOB parse(@NonNull byte[] value){
+        JWS<MetadataBLOBPayload> jws = jwsFactory.parse(value, MetadataBLOBPayload.class);
+        return new MetadataBLOB(jws);
+    }
+
+    public @NonNull MetadataBLOB parse(@NonNull InputStream inputStream){
+        JWS<MetadataBLOBPayload> jws = jwsFactory.parse(inputStream, MetadataBLOBPayload.class);
+        return new MetadataBLOB(jws);
+    }
+
 }
@@ -49,12 +49,19 @@ import java.security.cert.*;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 @Deprecated
 public class FidoMdsMetadataItemsProvider implements MetadataItemsProvider {
 
     private static final String DEFAULT_FIDO_METADATA_SERVICE_ENDPOINT = "https://mds2.fidoalliance.org/";
+    private static final int DEFAULT_FETCH_PARALLELISM = 4;
     private final Logger logger = LoggerFactory.getLogger(FidoMdsMetadataItemsProvider.class);
     private final JsonConverter jsonConverter;
     private final JWSFactory jwsFactory;
@@ -66,6 +73,8 @@ public class FidoMdsMetadataItemsProvider implements MetadataItemsProvider {
     OffsetDateTime nextUpdate;
     OffsetDateTime lastRefresh;
     private String fidoMetadataServiceEndpoint = DEFAULT_FIDO_METADATA_SERVICE_ENDPOINT;
+    private Executor fetchExecutor;
+    private int fetchParallelism = DEFAULT_FETCH_PARALLELISM;
 
     public FidoMdsMetadataItemsProvider(ObjectConverter objectConverter, String token, HttpClient httpClient, X509Certificate rootCertificate) {
         this.jsonConverter = objectConverter.getJsonConverter();
@@ -139,18 +148,57 @@ public class FidoMdsMetadataItemsProvider implements MetadataItemsProvider {
         this.fidoMetadataServiceEndpoint = fidoMetadataServiceEndpoint;
     }
 
+    public Executor getFetchExecutor() {
+        return fetchExecutor;
+    }
+
+    /**
+     * Sets the executor used to fetch metadata statements of TOC entries. If it is not set, a dedicated thread pool
+     * bounded by fetchParallelism is created for each refresh, instead of occupying the common fork-join pool.
+     *
+     * @param fetchExecutor executor, or null to use a dedicated thread pool
+     */
+    public void setFetchExecutor(Executor fetchExecutor) {
+        this.fetchExecutor = fetchExecutor;
+    }
+
+    public int getFetchParallelism() {
+        return fetchParallelism;
+    }
+
+    public void setFetchParallelism(int fetchParallelism) {
+        if (fetchParallelism < 1) {
+            throw new IllegalArgumentException("fetchParallelism must be positive.");
+        }
+        this.fetchParallelism = fetchParallelism;
+    }
+
     private void refresh() {
         MetadataTOCPayload tocPayload = fetchMetadataTOCPayload(false);
 
+        ExecutorService dedicatedExecutor = fetchExecutor == null ? createFetchExecutorService() : null;
+        Executor executor = fetchExecutor == null ? dedicatedExecutor : fetchExecutor;
+        List<MetadataItem> metadataItems;
+        try {
+            List<CompletableFuture<MetadataItem>> futures = tocPayload.getEntries().stream()
+                    .map(entry -> CompletableFuture.supplyAsync(() -> {
+                        try {
+                            return fetchFidoMdsMetadataItem(entry);
+                        } catch (RuntimeException e) {
+                            logger.warn("Failed to fetch MetadataTOCPayLoad", e);
+                            return null;
+                        }
+                    }, executor))
+                    .collect(Collectors.toList());
+            metadataItems = futures.stream().map(CompletableFuture::join).collect(Collectors.toList());
+        } finally {
+            if (dedicatedExecutor != null) {
+                dedicatedExecutor.shutdown();
+            }
+        }
+
         cachedMetadataItemMap =
-                tocPayload.getEntries().parallelStream().map(entry -> {
-                    try {
-                        return fetchFidoMdsMetadataItem(entry);
-                    } catch (RuntimeException e) {
-                        logger.warn("Failed to fetch MetadataTOCPayLoad", e);
-                        return null;
-                    }
-                })
+                metadataItems.stream()
                         .filter(Objects::nonNull)
                         .distinct()
                         .collect(Collectors.groupingBy(MetadataItem::getAaguid))
@@ -162,6 +210,16 @@ public class FidoMdsMetadataItemsProvider implements MetadataItemsProvider {
         lastRefresh = OffsetDateTime.now(ZoneOffset.UTC);
     }
 
+    private ExecutorService createFetchExecutorService() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "webauthn4j-mds-fetch-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return Executors.newFixedThreadPool(fetchParallelism, threadFactory);
+    }
+
     boolean needsRefresh() {
         OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
         return cachedMetadataItemMap == null || (nextUpdate.isBefore(now) && lastRefresh.isBefore(now.minusHours(1)));
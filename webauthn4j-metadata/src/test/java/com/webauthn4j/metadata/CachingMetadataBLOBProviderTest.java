@@ -8,12 +8,21 @@ import com.webauthn4j.data.jws.JWSHeader;
 import com.webauthn4j.metadata.data.MetadataBLOB;
 import com.webauthn4j.metadata.data.MetadataBLOBPayload;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.ZoneOffset;
 import java.util.Collections;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
 
 class CachingMetadataBLOBProviderTest {
@@ -66,6 +75,128 @@ class CachingMetadataBLOBProviderTest {
         }
     }
 
+    @Test
+    void background_refresh_test(){
+        MetadataBLOB metadataBLOB = createMetadataBLOB(LocalDate.now(ZoneOffset.UTC).plusDays(30));
+        CachingMetadataBLOBProvider target = spy(CachingMetadataBLOBProvider.class);
+        when(target.doProvide()).thenReturn(metadataBLOB);
+        ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+        ArgumentCaptor<Runnable> taskCaptor = ArgumentCaptor.forClass(Runnable.class);
+        ArgumentCaptor<Long> delayCaptor = ArgumentCaptor.forClass(Long.class);
+
+        target.startBackgroundRefresh(scheduler);
+        verify(scheduler).schedule(taskCaptor.capture(), delayCaptor.capture(), eq(TimeUnit.MILLISECONDS));
+        assertThat(delayCaptor.getValue()).isZero();
+        assertThat(target.isBackgroundRefreshEnabled()).isTrue();
+
+        taskCaptor.getValue().run();
+        verify(scheduler, times(2)).schedule(taskCaptor.capture(), delayCaptor.capture(), eq(TimeUnit.MILLISECONDS));
+        assertThat(delayCaptor.getValue()).isGreaterThan(Duration.ofDays(28).toMillis());
+        assertThat(target.provide()).isSameAs(metadataBLOB);
+        verify(target, times(1)).doProvide();
+        assertThat(target.getRefreshSuccessCount()).isEqualTo(1);
+        assertThat(target.getLastSuccessfulRefreshTime()).isNotNull();
+        assertThat(target.getLastRefreshDuration()).isNotNull();
+        assertThat(target.getNextScheduledRefreshTime()).isAfter(Instant.now());
+
+        target.stopBackgroundRefresh();
+        assertThat(target.isBackgroundRefreshEnabled()).isFalse();
+        assertThat(target.getNextScheduledRefreshTime()).isNull();
+    }
+
+    @Test
+    void background_refresh_failure_serves_previous_metadataBLOB_test(){
+        MetadataBLOB metadataBLOB = createMetadataBLOB(LocalDate.now(ZoneOffset.UTC).minusDays(1));
+        CachingMetadataBLOBProvider target = spy(CachingMetadataBLOBProvider.class);
+        IllegalStateException exception = new IllegalStateException("network failure");
+        when(target.doProvide()).thenReturn(metadataBLOB).thenThrow(exception);
+        ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+        ArgumentCaptor<Runnable> taskCaptor = ArgumentCaptor.forClass(Runnable.class);
+        ArgumentCaptor<Long> delayCaptor = ArgumentCaptor.forClass(Long.class);
+
+        target.provide();
+        target.startBackgroundRefresh(scheduler);
+        verify(scheduler).schedule(taskCaptor.capture(), anyLong(), eq(TimeUnit.MILLISECONDS));
+        taskCaptor.getValue().run();
+
+        verify(scheduler, times(2)).schedule(any(Runnable.class), delayCaptor.capture(), eq(TimeUnit.MILLISECONDS));
+        assertThat(delayCaptor.getValue()).isBetween(Duration.ofSeconds(30).toMillis(), Duration.ofMinutes(1).toMillis());
+        assertThat(target.provide()).isSameAs(metadataBLOB);
+        assertThat(target.getRefreshFailureCount()).isEqualTo(1);
+        assertThat(target.getConsecutiveRefreshFailures()).isEqualTo(1);
+        assertThat(target.getLastRefreshFailure()).isSameAs(exception);
+    }
+
+    @Test
+    void background_refresh_restarted_while_running_drops_stale_chain_test(){
+        MetadataBLOB metadataBLOB = createMetadataBLOB(LocalDate.now(ZoneOffset.UTC).plusDays(30));
+        CachingMetadataBLOBProvider target = spy(CachingMetadataBLOBProvider.class);
+        when(target.doProvide()).thenReturn(metadataBLOB);
+        ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+        ArgumentCaptor<Runnable> taskCaptor = ArgumentCaptor.forClass(Runnable.class);
+
+        target.startBackgroundRefresh(scheduler);
+        verify(scheduler).schedule(taskCaptor.capture(), anyLong(), eq(TimeUnit.MILLISECONDS));
+        Runnable staleTask = taskCaptor.getValue();
+        target.stopBackgroundRefresh();
+        target.startBackgroundRefresh(scheduler);
+        verify(scheduler, times(2)).schedule(any(Runnable.class), anyLong(), eq(TimeUnit.MILLISECONDS));
+
+        staleTask.run();
+        verify(scheduler, times(2)).schedule(any(Runnable.class), anyLong(), eq(TimeUnit.MILLISECONDS));
+        verify(target, never()).doProvide();
+    }
+
+    @Test
+    void background_refresh_rejected_by_scheduler_test(){
+        MetadataBLOB metadataBLOB = createMetadataBLOB(LocalDate.now(ZoneOffset.UTC).plusDays(30));
+        CachingMetadataBLOBProvider target = spy(CachingMetadataBLOBProvider.class);
+        when(target.doProvide()).thenReturn(metadataBLOB);
+        ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+        ArgumentCaptor<Runnable> taskCaptor = ArgumentCaptor.forClass(Runnable.class);
+
+        target.startBackgroundRefresh(scheduler);
+        verify(scheduler).schedule(taskCaptor.capture(), anyLong(), eq(TimeUnit.MILLISECONDS));
+        when(scheduler.schedule(any(Runnable.class), anyLong(), any(TimeUnit.class))).thenThrow(new RejectedExecutionException());
+
+        taskCaptor.getValue().run();
+        assertThat(target.provide()).isSameAs(metadataBLOB);
+        assertThat(target.getNextScheduledRefreshTime()).isNull();
+    }
+
+    @Test
+    void computeRetryBackoff_test(){
+        CachingMetadataBLOBProvider target = spy(CachingMetadataBLOBProvider.class);
+        target.setInitialRetryBackoff(Duration.ofSeconds(10));
+        target.setMaxRetryBackoff(Duration.ofSeconds(60));
+
+        assertThat(target.computeRetryBackoff(1)).isBetween(Duration.ofSeconds(5), Duration.ofSeconds(10));
+        assertThat(target.computeRetryBackoff(3)).isBetween(Duration.ofSeconds(20), Duration.ofSeconds(40));
+        assertThat(target.computeRetryBackoff(100)).isBetween(Duration.ofSeconds(30), Duration.ofSeconds(60));
+    }
+
+    @Test
+    void computeDelayUntilNextRefresh_test(){
+        CachingMetadataBLOBProvider target = spy(CachingMetadataBLOBProvider.class);
+        target.setPrefetchAhead(Duration.ofDays(1));
+        target.setMinRefreshInterval(Duration.ofHours(1));
+        Instant now = Instant.parse("2020-01-01T00:00:00Z");
+
+        assertThat(target.computeDelayUntilNextRefresh(createMetadataBLOB(LocalDate.of(2020, 1, 11)), now))
+                .isBetween(Duration.ofDays(9), Duration.ofDays(9).plusHours(12));
+        assertThat(target.computeDelayUntilNextRefresh(createMetadataBLOB(LocalDate.of(2019, 12, 31)), now))
+                .isBetween(Duration.ofHours(1), Duration.ofMinutes(90));
+    }
+
+    @Test
+    void setter_validation_test(){
+        CachingMetadataBLOBProvider target = spy(CachingMetadataBLOBProvider.class);
+        Duration negative = Duration.ofSeconds(-1);
+        assertThrows(IllegalArgumentException.class, () -> target.setPrefetchAhead(negative));
+        assertThrows(IllegalArgumentException.class, () -> target.setMinRefreshInterval(Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> target.setInitialRetryBackoff(Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> target.setMaxRetryBackoff(negative));
+    }
 
     private MetadataBLOB createMetadataBLOB(LocalDate nextUpdate){
         JWSFactory factory = new JWSFactory(new ObjectConverter());
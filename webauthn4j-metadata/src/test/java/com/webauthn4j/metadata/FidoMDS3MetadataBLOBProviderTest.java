@@ -17,12 +17,28 @@
 package com.webauthn4j.metadata;
 
 import com.webauthn4j.converter.util.ObjectConverter;
+import com.webauthn4j.data.jws.JWAIdentifier;
+import com.webauthn4j.data.jws.JWS;
+import com.webauthn4j.data.jws.JWSFactory;
+import com.webauthn4j.data.jws.JWSHeader;
 import com.webauthn4j.metadata.data.MetadataBLOB;
+import com.webauthn4j.metadata.data.MetadataBLOBPayload;
+import com.webauthn4j.test.TestAttestationUtil;
 import com.webauthn4j.util.Base64Util;
 import com.webauthn4j.util.CertificateUtil;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.cert.TrustAnchor;
 import java.security.cert.X509Certificate;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -55,4 +71,94 @@ class FidoMDS3MetadataBLOBProviderTest {
         assertThat(metadataBLOB).isNotNull();
     }
 
+    @Test
+    void provide_with_snapshotPath_test(@TempDir Path tempDir){
+        Path snapshotPath = tempDir.resolve("blob.jwt");
+        String blob = createBLOB(LocalDate.now().plusDays(30));
+        AtomicInteger fetchCount = new AtomicInteger();
+
+        FidoMDS3MetadataBLOBProvider first = createProvider(uri -> {
+            fetchCount.incrementAndGet();
+            return blob;
+        });
+        first.setSnapshotPath(snapshotPath);
+        assertThat(first.provide().getPayload().getNo()).isEqualTo(1);
+        assertThat(fetchCount).hasValue(1);
+        assertThat(snapshotPath).exists();
+
+        FidoMDS3MetadataBLOBProvider second = createProvider(uri -> {
+            fetchCount.incrementAndGet();
+            throw new MDSException("must not be called");
+        });
+        second.setSnapshotPath(snapshotPath);
+        assertThat(second.provide().getPayload().getNo()).isEqualTo(1);
+        assertThat(fetchCount).hasValue(1);
+    }
+
+    @Test
+    void refresh_with_snapshotPath_fetches_test(@TempDir Path tempDir) throws IOException {
+        Path snapshotPath = tempDir.resolve("blob.jwt");
+        Files.write(snapshotPath, createBLOB(LocalDate.now().plusDays(30)).getBytes(StandardCharsets.UTF_8));
+        AtomicInteger fetchCount = new AtomicInteger();
+
+        FidoMDS3MetadataBLOBProvider target = createProvider(uri -> {
+            fetchCount.incrementAndGet();
+            return createBLOB(LocalDate.now().plusDays(30));
+        });
+        target.setSnapshotPath(snapshotPath);
+        target.provide();
+        assertThat(fetchCount).hasValue(0);
+
+        target.refresh();
+        assertThat(fetchCount).hasValue(1);
+    }
+
+    @Test
+    void provide_with_expired_snapshot_test(@TempDir Path tempDir) throws IOException {
+        Path snapshotPath = tempDir.resolve("blob.jwt");
+        Files.write(snapshotPath, createBLOB(LocalDate.now().minusDays(1)).getBytes(StandardCharsets.UTF_8));
+        String blob = createBLOB(LocalDate.now().plusDays(30));
+        AtomicInteger fetchCount = new AtomicInteger();
+
+        FidoMDS3MetadataBLOBProvider target = createProvider(uri -> {
+            fetchCount.incrementAndGet();
+            return blob;
+        });
+        target.setSnapshotPath(snapshotPath);
+        assertThat(target.provide().getPayload().getNextUpdate()).isAfter(LocalDate.now());
+        assertThat(fetchCount).hasValue(1);
+        assertThat(new String(Files.readAllBytes(snapshotPath), StandardCharsets.UTF_8)).isEqualTo(blob);
+    }
+
+    @Test
+    void provide_with_corrupted_snapshot_test(@TempDir Path tempDir) throws IOException {
+        Path snapshotPath = tempDir.resolve("blob.jwt");
+        Files.write(snapshotPath, "corrupted".getBytes(StandardCharsets.UTF_8));
+        String blob = createBLOB(LocalDate.now().plusDays(30));
+        AtomicInteger fetchCount = new AtomicInteger();
+
+        FidoMDS3MetadataBLOBProvider target = createProvider(uri -> {
+            fetchCount.incrementAndGet();
+            return blob;
+        });
+        target.setSnapshotPath(snapshotPath);
+        assertThat(target.provide()).isNotNull();
+        assertThat(fetchCount).hasValue(1);
+        assertThat(new String(Files.readAllBytes(snapshotPath), StandardCharsets.UTF_8)).isEqualTo(blob);
+    }
+
+    private FidoMDS3MetadataBLOBProvider createProvider(HttpClient httpClient){
+        Set<TrustAnchor> trustAnchors = Collections.singleton(new TrustAnchor(TestAttestationUtil.load3tierTestRootCACertificate(), null));
+        FidoMDS3MetadataBLOBProvider provider = new FidoMDS3MetadataBLOBProvider(new ObjectConverter(), "https://example.com/", httpClient, trustAnchors);
+        provider.setRevocationCheckEnabled(false);
+        return provider;
+    }
+
+    private String createBLOB(LocalDate nextUpdate){
+        JWSHeader header = new JWSHeader(JWAIdentifier.ES256, TestAttestationUtil.load3tierTestAttestationCertificatePath().createCertPath());
+        MetadataBLOBPayload payload = new MetadataBLOBPayload("", 1, nextUpdate, Collections.emptyList());
+        JWS<MetadataBLOBPayload> jws = new JWSFactory(new ObjectConverter()).create(header, payload, TestAttestationUtil.load3tierTestAuthenticatorAttestationPrivateKey());
+        return jws.toString();
+    }
+
 }
@@ -23,6 +23,7 @@ import org.junit.jupiter.api.io.TempDir;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 
@@ -43,4 +44,20 @@ class LocalFileMetadataBLOBProviderTest {
         assertThat(metadataBLOB).isNotNull();
     }
 
+    @Test
+    void wrapped_file_test() throws IOException {
+        Path blobPath = new File("src/test/resources/integration/component/blob.jwt").toPath();
+        String blob = new String(Files.readAllBytes(blobPath), StandardCharsets.US_ASCII).trim();
+        StringBuilder wrapped = new StringBuilder();
+        for (int i = 0; i < blob.length(); i += 76) {
+            wrapped.append(blob, i, Math.min(i + 76, blob.length())).append("\r\n");
+        }
+        Path dstPath = tempDir.resolve("blob.jwt");
+        Files.write(dstPath, wrapped.toString().getBytes(StandardCharsets.US_ASCII));
+        LocalFileMetadataBLOBProvider target = new LocalFileMetadataBLOBProvider(new ObjectConverter(), dstPath);
+        MetadataBLOB metadataBLOB = target.provide();
+        assertThat(metadataBLOB).isNotNull();
+        assertThat(metadataBLOB.getHeader()).isNotNull();
+    }
+
 }
\ No newline at end of file
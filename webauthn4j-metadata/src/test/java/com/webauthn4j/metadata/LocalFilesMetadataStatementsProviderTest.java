@@ -0,0 +1,91 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.webauthn4j.metadata;
+
+import com.webauthn4j.converter.util.ObjectConverter;
+import com.webauthn4j.metadata.data.statement.MetadataStatement;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LocalFilesMetadataStatementsProviderTest {
+
+    private final ObjectConverter objectConverter = new ObjectConverter();
+    private final Path fido2JsonFilePath = new File("src/test/resources/com/webauthn4j/metadata/JsonMetadataItem_fido2.json").toPath();
+    private final Path u2fJsonFilePath = new File("src/test/resources/com/webauthn4j/metadata/JsonMetadataItem_u2f.json").toPath();
+
+    @Test
+    void provide_returns_cached_statements_test() {
+        LocalFilesMetadataStatementsProvider target = new LocalFilesMetadataStatementsProvider(objectConverter, fido2JsonFilePath);
+
+        List<MetadataStatement> first = target.provide();
+        List<MetadataStatement> second = target.provide();
+
+        assertThat(first).hasSize(1);
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    void provide_reloads_changed_file_test(@TempDir Path tempDir) throws IOException {
+        Path path = tempDir.resolve("metadata.json");
+        Files.copy(fido2JsonFilePath, path);
+        LocalFilesMetadataStatementsProvider target = new LocalFilesMetadataStatementsProvider(objectConverter, path);
+        target.setUpdateCheckInterval(Duration.ZERO);
+
+        List<MetadataStatement> first = target.provide();
+        assertThat(target.provide()).isSameAs(first);
+
+        Files.copy(u2fJsonFilePath, path, StandardCopyOption.REPLACE_EXISTING);
+        List<MetadataStatement> reloaded = target.provide();
+
+        assertThat(reloaded).isNotSameAs(first);
+        assertThat(reloaded.get(0).getAttestationCertificateKeyIdentifiers()).isNotEmpty();
+    }
+
+    @Test
+    void provide_does_not_check_files_within_interval_test(@TempDir Path tempDir) throws IOException {
+        Path path = tempDir.resolve("metadata.json");
+        Files.copy(fido2JsonFilePath, path);
+        LocalFilesMetadataStatementsProvider target = new LocalFilesMetadataStatementsProvider(objectConverter, path);
+        target.setUpdateCheckInterval(Duration.ofHours(1));
+
+        List<MetadataStatement> first = target.provide();
+        Files.delete(path);
+
+        assertThat(target.provide()).isSameAs(first);
+        target.refresh();
+        assertThrows(RuntimeException.class, target::provide);
+    }
+
+    @Test
+    void setUpdateCheckInterval_with_negative_value_test() {
+        LocalFilesMetadataStatementsProvider target = new LocalFilesMetadataStatementsProvider(objectConverter, fido2JsonFilePath);
+        Duration interval = Duration.ofSeconds(-1);
+        assertThrows(IllegalArgumentException.class, () -> target.setUpdateCheckInterval(interval));
+    }
+}
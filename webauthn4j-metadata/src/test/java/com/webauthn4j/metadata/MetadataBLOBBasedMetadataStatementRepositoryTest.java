@@ -18,6 +18,9 @@ package com.webauthn4j.metadata;
 
 import com.webauthn4j.converter.util.ObjectConverter;
 import com.webauthn4j.data.attestation.authenticator.AAGUID;
+import com.webauthn4j.metadata.data.MetadataBLOB;
+import com.webauthn4j.metadata.data.MetadataBLOBPayload;
+import com.webauthn4j.metadata.data.MetadataBLOBPayloadEntry;
 import com.webauthn4j.metadata.data.statement.MetadataStatement;
 import com.webauthn4j.test.TestDataUtil;
 import com.webauthn4j.util.HexUtil;
@@ -30,11 +33,38 @@ import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Collections;
 import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 class MetadataBLOBBasedMetadataStatementRepositoryTest {
 
+    @Test
+    void find_after_metadataBLOB_refresh_test() {
+        AAGUID aaguid = new AAGUID("fbfc3007-154e-4ecc-8c0b-6e020557d7bd");
+        MetadataStatement metadataStatementA = mock(MetadataStatement.class);
+        MetadataStatement metadataStatementB = mock(MetadataStatement.class);
+        MetadataBLOB metadataBLOBA = createMetadataBLOB(aaguid, metadataStatementA);
+        MetadataBLOB metadataBLOBB = createMetadataBLOB(aaguid, metadataStatementB);
+        MetadataBLOBProvider metadataBLOBProvider = mock(MetadataBLOBProvider.class);
+        when(metadataBLOBProvider.provide()).thenReturn(metadataBLOBA, metadataBLOBA, metadataBLOBB);
+        MetadataBLOBBasedMetadataStatementRepository target = new MetadataBLOBBasedMetadataStatementRepository(metadataBLOBProvider);
+
+        assertThat(target.find(aaguid)).containsExactly(metadataStatementA);
+        assertThat(target.find(aaguid)).containsExactly(metadataStatementA);
+        assertThat(target.find(aaguid)).containsExactly(metadataStatementB);
+        assertThat(target.find(AAGUID.ZERO)).isEmpty();
+    }
+
+    private MetadataBLOB createMetadataBLOB(AAGUID aaguid, MetadataStatement metadataStatement) {
+        MetadataBLOBPayloadEntry entry = new MetadataBLOBPayloadEntry(null, aaguid, null, metadataStatement, null, Collections.emptyList(), LocalDate.of(2020, 1, 1), null, null);
+        MetadataBLOB metadataBLOB = mock(MetadataBLOB.class);
+        when(metadataBLOB.getPayload()).thenReturn(new MetadataBLOBPayload("", 0, LocalDate.of(2020, 1, 2), Collections.singletonList(entry)));
+        return metadataBLOB;
+    }
 
 }
\ No newline at end of file
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.webauthn4j.metadata;
+
+import com.webauthn4j.data.attestation.authenticator.AAGUID;
+import com.webauthn4j.metadata.data.MetadataBLOB;
+import com.webauthn4j.metadata.data.MetadataBLOBPayload;
+import com.webauthn4j.metadata.data.MetadataBLOBPayloadEntry;
+import com.webauthn4j.metadata.data.statement.MetadataStatement;
+import com.webauthn4j.util.HexUtil;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MetadataBLOBIndexTest {
+
+    private final AAGUID aaguid = new AAGUID("fbfc3007-154e-4ecc-8c0b-6e020557d7bd");
+
+    @Test
+    void findByAAGUID_test() {
+        MetadataBLOBPayloadEntry entryA = createEntry(aaguid, null);
+        MetadataBLOBPayloadEntry entryB = createEntry(new AAGUID("d41f5a69-b817-4144-a13c-9ebd6d9254d6"), null);
+        MetadataBLOBPayloadEntry entryC = createEntry(aaguid, null);
+        MetadataBLOBIndex target = new MetadataBLOBIndex(createMetadataBLOB(entryA, entryB, entryC));
+
+        assertThat(target.findByAAGUID(aaguid)).containsExactly(entryA, entryC);
+        assertThat(target.findByAAGUID(AAGUID.ZERO)).isEmpty();
+    }
+
+    @Test
+    void findByAttestationCertificateKeyIdentifier_test() {
+        MetadataBLOBPayloadEntry entryA = createEntry(null, Arrays.asList("7c0903708b87115b0b422def3138c3c864e44573", "7C0903708B87115B0B422DEF3138C3C864E44573"));
+        MetadataBLOBPayloadEntry entryB = createEntry(null, Arrays.asList("odd", "4d41190c"));
+        MetadataBLOBIndex target = new MetadataBLOBIndex(createMetadataBLOB(entryA, entryB));
+
+        assertThat(target.findByAttestationCertificateKeyIdentifier(HexUtil.decode("7c0903708b87115b0b422def3138c3c864e44573"))).containsExactly(entryA);
+        assertThat(target.findByAttestationCertificateKeyIdentifier(HexUtil.decode("4d41190c"))).containsExactly(entryB);
+        assertThat(target.findByAttestationCertificateKeyIdentifier(new byte[4])).isEmpty();
+    }
+
+    private MetadataBLOBPayloadEntry createEntry(AAGUID aaguid, List<String> attestationCertificateKeyIdentifiers) {
+        MetadataStatement metadataStatement = mock(MetadataStatement.class);
+        when(metadataStatement.getAttestationCertificateKeyIdentifiers()).thenReturn(attestationCertificateKeyIdentifiers);
+        return new MetadataBLOBPayloadEntry(null, aaguid, attestationCertificateKeyIdentifiers, metadataStatement, null, Collections.emptyList(), LocalDate.of(2020, 1, 1), null, null);
+    }
+
+    private MetadataBLOB createMetadataBLOB(MetadataBLOBPayloadEntry... entries) {
+        MetadataBLOB metadataBLOB = mock(MetadataBLOB.class);
+        when(metadataBLOB.getPayload()).thenReturn(new MetadataBLOBPayload("", 0, LocalDate.of(2020, 1, 2), Arrays.asList(entries)));
+        return metadataBLOB;
+    }
+}
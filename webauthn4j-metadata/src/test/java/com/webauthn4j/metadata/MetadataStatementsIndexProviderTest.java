@@ -0,0 +1,71 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.webauthn4j.metadata;
+
+import com.webauthn4j.data.attestation.authenticator.AAGUID;
+import com.webauthn4j.metadata.data.statement.MetadataStatement;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MetadataStatementsIndexProviderTest {
+
+    private final AAGUID aaguid = new AAGUID("fbfc3007-154e-4ecc-8c0b-6e020557d7bd");
+
+    @Test
+    void provide_reuses_index_of_same_list_test() {
+        List<MetadataStatement> metadataStatements = Collections.singletonList(createMetadataStatement());
+        MetadataStatementsProvider metadataStatementsProvider = mock(MetadataStatementsProvider.class);
+        when(metadataStatementsProvider.provide()).thenReturn(metadataStatements);
+        MetadataStatementsIndexProvider target = new MetadataStatementsIndexProvider(metadataStatementsProvider);
+
+        MetadataStatementsIndex first = target.provide();
+        assertThat(target.provide()).isSameAs(first);
+
+        when(metadataStatementsProvider.provide()).thenReturn(Collections.emptyList());
+        assertThat(target.provide()).isNotSameAs(first);
+        assertThat(target.provide().findByAAGUID(aaguid)).isEmpty();
+    }
+
+    @Test
+    void provide_rebuilds_index_of_list_changed_in_place_test() {
+        List<MetadataStatement> metadataStatements = new ArrayList<>();
+        MetadataStatementsProvider metadataStatementsProvider = mock(MetadataStatementsProvider.class);
+        when(metadataStatementsProvider.provide()).thenReturn(metadataStatements);
+        MetadataStatementsIndexProvider target = new MetadataStatementsIndexProvider(metadataStatementsProvider);
+        assertThat(target.provide().findByAAGUID(aaguid)).isEmpty();
+
+        MetadataStatement metadataStatement = createMetadataStatement();
+        metadataStatements.add(metadataStatement);
+        assertThat(target.provide().findByAAGUID(aaguid)).containsExactly(metadataStatement);
+
+        metadataStatements.remove(metadataStatement);
+        assertThat(target.provide().findByAAGUID(aaguid)).isEmpty();
+    }
+
+    private MetadataStatement createMetadataStatement() {
+        MetadataStatement metadataStatement = mock(MetadataStatement.class);
+        when(metadataStatement.getAaguid()).thenReturn(aaguid);
+        return metadataStatement;
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.webauthn4j.metadata;
+
+import com.webauthn4j.data.attestation.authenticator.AAGUID;
+import com.webauthn4j.metadata.data.statement.MetadataStatement;
+import com.webauthn4j.util.HexUtil;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MetadataStatementsIndexTest {
+
+    private final AAGUID aaguid = new AAGUID("fbfc3007-154e-4ecc-8c0b-6e020557d7bd");
+
+    @Test
+    void findByAAGUID_test() {
+        MetadataStatement metadataStatementA = createMetadataStatement(aaguid, null);
+        MetadataStatement metadataStatementB = createMetadataStatement(null, null);
+        List<MetadataStatement> metadataStatements = Arrays.asList(metadataStatementA, metadataStatementB, null);
+        MetadataStatementsIndex target = new MetadataStatementsIndex(metadataStatements);
+
+        assertThat(target.getMetadataStatements()).isSameAs(metadataStatements);
+        assertThat(target.findByAAGUID(aaguid)).containsExactly(metadataStatementA);
+        assertThat(target.findByAAGUID(AAGUID.ZERO)).isEmpty();
+    }
+
+    @Test
+    void findByAttestationCertificateKeyIdentifier_test() {
+        MetadataStatement metadataStatementA = createMetadataStatement(null, Arrays.asList("7c0903708b87115b0b422def3138c3c864e44573", "7C0903708B87115B0B422DEF3138C3C864E44573"));
+        MetadataStatement metadataStatementB = createMetadataStatement(null, Arrays.asList("odd", "4d41190c"));
+        MetadataStatementsIndex target = new MetadataStatementsIndex(Arrays.asList(metadataStatementA, metadataStatementB));
+
+        assertThat(target.findByAttestationCertificateKeyIdentifier(HexUtil.decode("7c0903708b87115b0b422def3138c3c864e44573"))).containsExactly(metadataStatementA);
+        assertThat(target.findByAttestationCertificateKeyIdentifier(HexUtil.decode("4d41190c"))).containsExactly(metadataStatementB);
+        assertThat(target.findByAttestationCertificateKeyIdentifier(new byte[4])).isEmpty();
+    }
+
+    @Test
+    void empty_test() {
+        MetadataStatementsIndex target = new MetadataStatementsIndex(Collections.emptyList());
+        assertThat(target.findByAAGUID(aaguid)).isEmpty();
+    }
+
+    private MetadataStatement createMetadataStatement(AAGUID aaguid, List<String> attestationCertificateKeyIdentifiers) {
+        MetadataStatement metadataStatement = mock(MetadataStatement.class);
+        when(metadataStatement.getAaguid()).thenReturn(aaguid);
+        when(metadataStatement.getAttestationCertificateKeyIdentifiers()).thenReturn(attestationCertificateKeyIdentifiers);
+        return metadataStatement;
+    }
+}
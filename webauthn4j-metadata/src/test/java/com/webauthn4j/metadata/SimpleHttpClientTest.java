@@ -0,0 +1,166 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.webauthn4j.metadata;
+
+import com.sun.net.httpserver.HttpServer;
+import com.webauthn4j.metadata.exception.MDSException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SimpleHttpClientTest {
+
+    private static final byte[] BODY = "response body".getBytes(StandardCharsets.UTF_8);
+
+    private final AtomicInteger requestCount = new AtomicInteger();
+    private final AtomicInteger notModifiedCount = new AtomicInteger();
+    private HttpServer server;
+    private String baseUrl;
+
+    @BeforeEach
+    void setup() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/plain", exchange -> {
+            requestCount.incrementAndGet();
+            exchange.sendResponseHeaders(200, BODY.length);
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write(BODY);
+            }
+        });
+        server.createContext("/gzip", exchange -> {
+            requestCount.incrementAndGet();
+            String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+            if (acceptEncoding == null || !acceptEncoding.contains("gzip")) {
+                exchange.sendResponseHeaders(406, -1);
+                exchange.close();
+                return;
+            }
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(compressed)) {
+                gzipOutputStream.write(BODY);
+            }
+            exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+            exchange.sendResponseHeaders(200, compressed.size());
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                compressed.writeTo(outputStream);
+            }
+        });
+        server.createContext("/etag", exchange -> {
+            requestCount.incrementAndGet();
+            if ("\"v1\"".equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                notModifiedCount.incrementAndGet();
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+                return;
+            }
+            exchange.getResponseHeaders().add("ETag", "\"v1\"");
+            exchange.sendResponseHeaders(200, BODY.length);
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write(BODY);
+            }
+        });
+        server.createContext("/error", exchange -> {
+            requestCount.incrementAndGet();
+            exchange.sendResponseHeaders(500, -1);
+            exchange.close();
+        });
+        server.createContext("/slow", exchange -> {
+            try {
+                Thread.sleep(2000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(200, BODY.length);
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write(BODY);
+            }
+        });
+        server.start();
+        baseUrl = "http://localhost:" + server.getAddress().getPort();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void fetch_test() {
+        SimpleHttpClient target = new SimpleHttpClient();
+        assertThat(target.fetch(baseUrl + "/plain")).isEqualTo("response body");
+    }
+
+    @Test
+    void fetch_gzip_encoded_response_test() {
+        SimpleHttpClient target = new SimpleHttpClient();
+        assertThat(target.fetch(baseUrl + "/gzip")).isEqualTo("response body");
+    }
+
+    @Test
+    void fetch_with_conditional_request_test() {
+        SimpleHttpClient target = new SimpleHttpClient();
+        target.setConditionalRequestEnabled(true);
+        assertThat(target.fetch(baseUrl + "/etag")).isEqualTo("response body");
+        assertThat(target.fetch(baseUrl + "/etag")).isEqualTo("response body");
+        assertThat(requestCount).hasValue(2);
+        assertThat(notModifiedCount).hasValue(1);
+    }
+
+    @Test
+    void fetch_without_conditional_request_test() {
+        SimpleHttpClient target = new SimpleHttpClient();
+        assertThat(target.fetch(baseUrl + "/etag")).isEqualTo("response body");
+        assertThat(target.fetch(baseUrl + "/etag")).isEqualTo("response body");
+        assertThat(notModifiedCount).hasValue(0);
+    }
+
+    @Test
+    void fetch_error_response_test() {
+        SimpleHttpClient target = new SimpleHttpClient();
+        String url = baseUrl + "/error";
+        assertThatThrownBy(() -> target.fetch(url)).isInstanceOf(MDSException.class);
+    }
+
+    @Test
+    void fetch_with_read_timeout_test() {
+        SimpleHttpClient target = new SimpleHttpClient();
+        target.setReadTimeout(Duration.ofMillis(100));
+        String url = baseUrl + "/slow";
+        assertThatThrownBy(() -> target.fetch(url)).isInstanceOf(MDSException.class);
+    }
+
+    @Test
+    void setReadTimeout_with_negative_value_test() {
+        SimpleHttpClient target = new SimpleHttpClient();
+        Duration timeout = Duration.ofSeconds(-1);
+        assertThatThrownBy(() -> target.setReadTimeout(timeout)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+}
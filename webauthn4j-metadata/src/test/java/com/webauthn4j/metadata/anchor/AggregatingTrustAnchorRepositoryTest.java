@@ -21,7 +21,10 @@ import com.webauthn4j.data.attestation.authenticator.AAGUID;
 import org.junit.jupiter.api.Test;
 
 import java.security.cert.TrustAnchor;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -56,4 +59,52 @@ class AggregatingTrustAnchorRepositoryTest {
         assertThat(target.find(attestationCertificateKeyIdentifier)).containsExactlyInAnyOrder(trustAnchorA, trustAnchorB);
     }
 
-}
\ No newline at end of file
+    @Test
+    void find_by_aaguid_memoizes_merged_result_test(){
+        AAGUID aaguid = new AAGUID(UUID.randomUUID());
+        TrustAnchor trustAnchorA = mock(TrustAnchor.class);
+        TrustAnchor trustAnchorB = mock(TrustAnchor.class);
+        TrustAnchorRepository mockA = mock(TrustAnchorRepository.class);
+        TrustAnchorRepository mockB = mock(TrustAnchorRepository.class);
+        when(mockA.find(aaguid)).thenReturn(Collections.singleton(trustAnchorA));
+        when(mockB.find(aaguid)).thenReturn(Collections.singleton(trustAnchorB));
+        TrustAnchorRepository target = new AggregatingTrustAnchorRepository(mockA, mockB);
+
+        Set<TrustAnchor> first = target.find(aaguid);
+        assertThat(target.find(aaguid)).isSameAs(first);
+
+        // a repository moving to a new snapshot returns a new set instance
+        when(mockB.find(aaguid)).thenReturn(Collections.singleton(trustAnchorA));
+        assertThat(target.find(aaguid)).isNotSameAs(first).containsExactly(trustAnchorA);
+    }
+
+    @Test
+    void find_by_aaguid_does_not_memoize_trust_anchor_removed_in_place_test(){
+        AAGUID aaguid = new AAGUID(UUID.randomUUID());
+        TrustAnchor trustAnchorA = mock(TrustAnchor.class);
+        TrustAnchor compromisedTrustAnchor = mock(TrustAnchor.class);
+        Set<TrustAnchor> trustAnchors = new HashSet<>(Arrays.asList(trustAnchorA, compromisedTrustAnchor));
+        TrustAnchorRepository mockA = mock(TrustAnchorRepository.class);
+        when(mockA.find(aaguid)).thenReturn(trustAnchors);
+        TrustAnchorRepository target = new AggregatingTrustAnchorRepository(mockA);
+
+        assertThat(target.find(aaguid)).containsExactlyInAnyOrder(trustAnchorA, compromisedTrustAnchor);
+
+        // the repository keeps returning the same set instance
+        trustAnchors.remove(compromisedTrustAnchor);
+        assertThat(target.find(aaguid)).containsExactly(trustAnchorA);
+    }
+
+    @Test
+    void find_by_attestationCertificateKeyIdentifier_memoizes_merged_result_test(){
+        byte[] attestationCertificateKeyIdentifier = new byte[32];
+        TrustAnchor trustAnchorA = mock(TrustAnchor.class);
+        TrustAnchorRepository mockA = mock(TrustAnchorRepository.class);
+        when(mockA.find(attestationCertificateKeyIdentifier)).thenReturn(Collections.singleton(trustAnchorA));
+        TrustAnchorRepository target = new AggregatingTrustAnchorRepository(mockA);
+
+        Set<TrustAnchor> first = target.find(attestationCertificateKeyIdentifier);
+        assertThat(target.find(attestationCertificateKeyIdentifier)).isSameAs(first).containsExactly(trustAnchorA);
+    }
+
+}
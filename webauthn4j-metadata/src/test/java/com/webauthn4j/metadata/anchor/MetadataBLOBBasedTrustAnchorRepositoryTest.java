@@ -19,6 +19,8 @@ package com.webauthn4j.metadata.anchor;
 import com.webauthn4j.converter.util.ObjectConverter;
 import com.webauthn4j.data.attestation.authenticator.AAGUID;
 import com.webauthn4j.metadata.LocalFileMetadataBLOBProvider;
+import com.webauthn4j.metadata.data.MetadataBLOB;
+import com.webauthn4j.metadata.data.MetadataBLOBFactory;
 import com.webauthn4j.test.TestDataUtil;
 import com.webauthn4j.util.HexUtil;
 import com.webauthn4j.validator.RegistrationObject;
@@ -32,6 +34,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.security.cert.TrustAnchor;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -97,6 +100,24 @@ class MetadataBLOBBasedTrustAnchorRepositoryTest {
         assertThat(target.isSelfAssertionSubmittedAllowed()).isTrue();
     }
 
+    @Test
+    void find_returns_same_trustAnchors_while_blob_is_unchanged_test() throws IOException {
+        MetadataBLOBFactory metadataBLOBFactory = new MetadataBLOBFactory(new ObjectConverter());
+        byte[] blob = Files.readAllBytes(new File("src/test/resources/integration/component/blob.jwt").toPath());
+        AtomicReference<MetadataBLOB> metadataBLOB = new AtomicReference<>(metadataBLOBFactory.parse(blob));
+        MetadataBLOBBasedTrustAnchorRepository target = new MetadataBLOBBasedTrustAnchorRepository(metadataBLOB::get);
+        AAGUID aaguid = new AAGUID("08987058-CADC-4B81-B6E1-30DE50DCBE96");
+
+        Set<TrustAnchor> first = target.find(aaguid);
+        assertThat(first).isNotEmpty().isSameAs(target.find(aaguid));
+        assertThat(target.find(HexUtil.decode("2fea8f357c7a54a57f45cda72fafb34d1d449fd4")))
+                .isSameAs(target.find(HexUtil.decode("2fea8f357c7a54a57f45cda72fafb34d1d449fd4")));
+
+        metadataBLOB.set(metadataBLOBFactory.parse(blob));
+        Set<TrustAnchor> refreshed = target.find(aaguid);
+        assertThat(refreshed).isNotSameAs(first).hasSameSizeAs(first);
+    }
+
     private MetadataBLOBBasedTrustAnchorRepository createWithBlob(String filePath){
         try {
             Path blobPath = new File(filePath).toPath();
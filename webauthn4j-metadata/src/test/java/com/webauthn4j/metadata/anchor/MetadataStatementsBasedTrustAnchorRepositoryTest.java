@@ -27,6 +27,7 @@ import java.security.cert.TrustAnchor;
 import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class MetadataStatementsBasedTrustAnchorRepositoryTest {
 
@@ -46,4 +47,21 @@ class MetadataStatementsBasedTrustAnchorRepositoryTest {
         assertThat(trustAnchors).hasSize(1);
     }
 
-}
\ No newline at end of file
+    @Test
+    void find_returns_same_trustAnchors_for_same_snapshot_test(){
+        Path jsonFilePath = new File("src/test/resources/com/webauthn4j/metadata/JsonMetadataItem_fido2.json").toPath();
+        MetadataStatementsBasedTrustAnchorRepository repository = new MetadataStatementsBasedTrustAnchorRepository(new ObjectConverter(), jsonFilePath);
+        AAGUID aaguid = new AAGUID("0132d110-bf4e-4208-a403-ab4f5f12efe5");
+        Set<TrustAnchor> trustAnchors = repository.find(aaguid);
+        assertThat(repository.find(aaguid)).isSameAs(trustAnchors);
+        assertThatThrownBy(() -> trustAnchors.add(null)).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void find_with_unknown_aaguid_test(){
+        Path jsonFilePath = new File("src/test/resources/com/webauthn4j/metadata/JsonMetadataItem_fido2.json").toPath();
+        MetadataStatementsBasedTrustAnchorRepository repository = new MetadataStatementsBasedTrustAnchorRepository(new ObjectConverter(), jsonFilePath);
+        assertThat(repository.find(new AAGUID("00000000-0000-0000-0000-000000000001"))).isEmpty();
+    }
+
+}
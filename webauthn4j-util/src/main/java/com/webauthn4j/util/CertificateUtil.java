@@ -63,6 +63,25 @@ public class CertificateUtil {
         }
     }
 
+    /**
+     * Validates the {@link CertPath} with a PKIX {@link CertPathValidator} reused per thread
+     *
+     * @param certPath           certificate path to validate
+     * @param certPathParameters parameters of the validation
+     * @return validation result
+     * @throws CertPathValidatorException if the certificate path is not valid
+     * @throws InvalidAlgorithmParameterException if the parameters are not appropriate for PKIX
+     */
+    public static @NonNull CertPathValidatorResult validateCertPath(@NonNull CertPath certPath, @NonNull CertPathParameters certPathParameters) throws CertPathValidatorException, InvalidAlgorithmParameterException {
+        CertPathValidator certPathValidator;
+        try {
+            certPathValidator = CryptoPrimitivePool.getCertPathValidator("PKIX");
+        } catch (NoSuchAlgorithmException e) {
+            throw new UnexpectedCheckedException(e);
+        }
+        return certPathValidator.validate(certPath, certPathParameters);
+    }
+
     public static @NonNull PKIXParameters createPKIXParameters(@NonNull Set<TrustAnchor> trustAnchors) {
         AssertUtil.notEmpty(trustAnchors, "trustAnchors is required; it must not be empty");
         try {
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.webauthn4j.util;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import javax.crypto.Mac;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.Signature;
+import java.security.cert.CertPathValidator;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A per-thread pool of {@link Signature}, {@link MessageDigest} and {@link CertPathValidator} instances.
+ * <p>
+ * JCA provider lookup in {@code getInstance} is costly compared to the actual operation on small inputs,
+ * so utility methods which complete a whole operation within a single call reuse instances from this pool.
+ * A pooled instance is handed out again to the next caller on the same thread, so it must not escape the borrowing method.
+ * Pooling can be disabled to create a new instance on every call.
+ * <p>
+ * {@link Mac} instances are not pooled, as they would keep the last secret key for the lifetime of the thread.
+ * {@link Mac#reset()} doesn't discard the key.
+ */
+public class CryptoPrimitivePool {
+
+    private static final ThreadLocal<Map<String, Signature>> signatures = ThreadLocal.withInitial(HashMap::new);
+    private static final ThreadLocal<Map<String, MessageDigest>> messageDigests = ThreadLocal.withInitial(HashMap::new);
+    private static final ThreadLocal<Map<String, CertPathValidator>> certPathValidators = ThreadLocal.withInitial(HashMap::new);
+
+    private static volatile boolean enabled = true;
+
+    private CryptoPrimitivePool() {
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enables or disables pooling. When disabled, a new instance is created on every call.
+     *
+     * @param enabled true to reuse instances per thread
+     */
+    public static void setEnabled(boolean enabled) {
+        CryptoPrimitivePool.enabled = enabled;
+    }
+
+    static @NonNull Signature getSignature(@NonNull String algorithm) throws NoSuchAlgorithmException {
+        if (!enabled) {
+            return Signature.getInstance(algorithm);
+        }
+        Map<String, Signature> pool = signatures.get();
+        Signature signature = pool.get(algorithm);
+        if (signature == null) {
+            signature = Signature.getInstance(algorithm);
+            pool.put(algorithm, signature);
+        }
+        return signature;
+    }
+
+    static @NonNull MessageDigest getMessageDigest(@NonNull String algorithm) throws NoSuchAlgorithmException {
+        if (!enabled) {
+            return MessageDigest.getInstance(algorithm);
+        }
+        Map<String, MessageDigest> pool = messageDigests.get();
+        MessageDigest messageDigest = pool.get(algorithm);
+        if (messageDigest == null) {
+            messageDigest = MessageDigest.getInstance(algorithm);
+            pool.put(algorithm, messageDigest);
+        }
+        else {
+            // discard any state left by an operation aborted with an exception
+            messageDigest.reset();
+        }
+        return messageDigest;
+    }
+
+    static @NonNull CertPathValidator getCertPathValidator(@NonNull String algorithm) throws NoSuchAlgorithmException {
+        if (!enabled) {
+            return CertPathValidator.getInstance(algorithm);
+        }
+        Map<String, CertPathValidator> pool = certPathValidators.get();
+        CertPathValidator certPathValidator = pool.get(algorithm);
+        if (certPathValidator == null) {
+            certPathValidator = CertPathValidator.getInstance(algorithm);
+            pool.put(algorithm, certPathValidator);
+        }
+        return certPathValidator;
+    }
+
+    /**
+     * Removes the pooled instances of the current thread
+     */
+    public static void clear() {
+        signatures.remove();
+        messageDigests.remove();
+        certPathValidators.remove();
+    }
+
+}
@@ -32,16 +32,7 @@ public class MessageDigestUtil {
 
     public static @NonNull MessageDigest createMessageDigest(@NonNull String hashAlgorithm) {
         try {
-            switch (hashAlgorithm) {
-                case "S256":
-                    return MessageDigest.getInstance("SHA-256");
-                case "S384":
-                    return MessageDigest.getInstance("SHA-384");
-                case "S512":
-                    return MessageDigest.getInstance("SHA-512");
-                default:
-                    return MessageDigest.getInstance(hashAlgorithm);
-            }
+            return MessageDigest.getInstance(resolveAlgorithmName(hashAlgorithm));
         } catch (NoSuchAlgorithmException e) {
             throw new IllegalArgumentException(e);
         }
@@ -51,4 +42,36 @@ public class MessageDigestUtil {
         return createMessageDigest("SHA-256");
     }
 
+    /**
+     * Calculates the digest with a {@link MessageDigest} instance borrowed from {@link CryptoPrimitivePool}
+     *
+     * @param hashAlgorithm hash algorithm name
+     * @param data          data to digest
+     * @return digest
+     */
+    public static @NonNull byte[] digest(@NonNull String hashAlgorithm, @NonNull byte[] data) {
+        try {
+            return CryptoPrimitivePool.getMessageDigest(resolveAlgorithmName(hashAlgorithm)).digest(data);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    public static @NonNull byte[] digestSHA256(@NonNull byte[] data) {
+        return digest("SHA-256", data);
+    }
+
+    private static @NonNull String resolveAlgorithmName(@NonNull String hashAlgorithm) {
+        switch (hashAlgorithm) {
+            case "S256":
+                return "SHA-256";
+            case "S384":
+                return "SHA-384";
+            case "S512":
+                return "SHA-512";
+            default:
+                return hashAlgorithm;
+        }
+    }
+
 }
@@ -18,8 +18,11 @@ package com.webauthn4j.util;
 
 import org.checkerframework.checker.nullness.qual.NonNull;
 
+import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
+import java.security.PublicKey;
 import java.security.Signature;
+import java.security.SignatureException;
 
 /**
  * A Utility class for signature calculation
@@ -46,4 +49,30 @@ public class SignatureUtil {
         }
     }
 
+    /**
+     * Verifies the signature with a {@link Signature} instance borrowed from {@link CryptoPrimitivePool}
+     *
+     * @param algorithm JCA signature algorithm name
+     * @param publicKey public key to verify with
+     * @param data      signed data
+     * @param signature signature to verify
+     * @return true if the signature is valid
+     * @throws InvalidKeyException      if the public key is invalid
+     * @throws SignatureException       if the signature is malformed
+     * @throws IllegalArgumentException if the algorithm is not available
+     */
+    public static boolean verify(@NonNull String algorithm, @NonNull PublicKey publicKey, @NonNull byte[] data, @NonNull byte[] signature) throws InvalidKeyException, SignatureException {
+        AssertUtil.notNull(algorithm, "algorithm is required; it must not be null");
+        Signature verifier;
+        try {
+            verifier = CryptoPrimitivePool.getSignature(algorithm);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalArgumentException(e);
+        }
+        // initVerify resets any state left by a previous operation on the pooled instance
+        verifier.initVerify(publicKey);
+        verifier.update(data);
+        return verifier.verify(signature);
+    }
+
 }
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.webauthn4j.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CryptoPrimitivePoolTest {
+
+    @AfterEach
+    void tearDown() {
+        CryptoPrimitivePool.setEnabled(true);
+        CryptoPrimitivePool.clear();
+    }
+
+    @Test
+    void getSignature_returns_same_instance_within_thread_test() throws Exception {
+        assertThat(CryptoPrimitivePool.getSignature("SHA256withECDSA")).isSameAs(CryptoPrimitivePool.getSignature("SHA256withECDSA"));
+        assertThat(CryptoPrimitivePool.getMessageDigest("SHA-256")).isSameAs(CryptoPrimitivePool.getMessageDigest("SHA-256"));
+    }
+
+    @Test
+    void getSignature_returns_different_instance_across_threads_test() throws Exception {
+        Object[] other = new Object[1];
+        Thread thread = new Thread(() -> {
+            try {
+                other[0] = CryptoPrimitivePool.getMessageDigest("SHA-256");
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        thread.start();
+        thread.join();
+        assertThat(CryptoPrimitivePool.getMessageDigest("SHA-256")).isNotSameAs(other[0]);
+    }
+
+    @Test
+    void disabled_test() throws Exception {
+        CryptoPrimitivePool.setEnabled(false);
+        assertThat(CryptoPrimitivePool.isEnabled()).isFalse();
+        assertThat(CryptoPrimitivePool.getSignature("SHA256withECDSA")).isNotSameAs(CryptoPrimitivePool.getSignature("SHA256withECDSA"));
+        assertThat(CryptoPrimitivePool.getMessageDigest("SHA-256")).isNotSameAs(CryptoPrimitivePool.getMessageDigest("SHA-256"));
+    }
+}
@@ -18,6 +18,7 @@ package com.webauthn4j.util;
 
 import org.junit.jupiter.api.Test;
 
+import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -51,4 +52,22 @@ class MessageDigestUtilTest {
                 () -> MessageDigestUtil.createMessageDigest("wrong-arg")
         );
     }
+
+    @Test
+    void digest_test() {
+        byte[] data = "data".getBytes(StandardCharsets.UTF_8);
+        assertAll(
+                () -> assertThat(MessageDigestUtil.digest("S256", data)).isEqualTo(MessageDigestUtil.createMessageDigest("SHA-256").digest(data)),
+                () -> assertThat(MessageDigestUtil.digest("S384", data)).isEqualTo(MessageDigestUtil.createMessageDigest("SHA-384").digest(data)),
+                () -> assertThat(MessageDigestUtil.digestSHA256(data)).isEqualTo(MessageDigestUtil.createSHA256().digest(data)),
+                () -> assertThat(MessageDigestUtil.digestSHA256(data)).isEqualTo(MessageDigestUtil.digestSHA256(data))
+        );
+    }
+
+    @Test
+    void digest_test_with_wrong_arg() {
+        assertThrows(IllegalArgumentException.class,
+                () -> MessageDigestUtil.digest("wrong-arg", new byte[0])
+        );
+    }
 }
@@ -18,6 +18,10 @@ package com.webauthn4j.util;
 
 import org.junit.jupiter.api.Test;
 
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.Signature;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -54,4 +58,27 @@ class SignatureUtilTest {
         );
         assertThat(t).hasMessageContaining("dummyAlg Signature not available");
     }
+
+    @Test
+    void verify_test() throws Exception {
+        KeyPair keyPair = ECUtil.createKeyPair();
+        byte[] data = "data".getBytes(StandardCharsets.UTF_8);
+        Signature signer = SignatureUtil.createES256();
+        signer.initSign(keyPair.getPrivate());
+        signer.update(data);
+        byte[] signature = signer.sign();
+
+        assertThat(SignatureUtil.verify("SHA256withECDSA", keyPair.getPublic(), data, signature)).isTrue();
+        assertThat(SignatureUtil.verify("SHA256withECDSA", keyPair.getPublic(), "tampered".getBytes(StandardCharsets.UTF_8), signature)).isFalse();
+        // pooled instance must not carry over state from previous verification
+        assertThat(SignatureUtil.verify("SHA256withECDSA", keyPair.getPublic(), data, signature)).isTrue();
+    }
+
+    @Test
+    void verify_test_with_illegal_argument() {
+        KeyPair keyPair = ECUtil.createKeyPair();
+        assertThrows(IllegalArgumentException.class,
+                () -> SignatureUtil.verify("dummyAlg", keyPair.getPublic(), new byte[0], new byte[0])
+        );
+    }
 }